@@ -0,0 +1,310 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.ndarray;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.BooleanArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+
+import java.util.Iterator;
+
+/**
+ * 类{@code BooleanNDArray}用于表征一个{@code boolean}型n维数组视图，
+ * 视图由一个{@code BooleanArray}和一个布局{@code NDLayout}组成。
+ * <p>
+ * 切片、选取、转置和广播只创建新的视图而不复制数据，新视图与原视图共享同一个{@code BooleanArray}，
+ * 例如，以{@code BooleanArray}按行主序保存的“时间 × 通道 × 像素”数据立方体，
+ * 可以通过{@code select(2, pixel)}直接得到某一像素的“时间 × 通道”视图，而无需复制到临时数组中。
+ * 广播视图中的多个索引可能对应同一个元素，因此广播视图是只读的，
+ * 对其写入将抛出{@code java.lang.UnsupportedOperationException}异常。
+ * <p>
+ * 批量方法（{@code fill}、{@code assign}）按行处理元素，
+ * 当元素总数较多时各行在公共的{@code ForkJoinPool}中并行处理。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class BooleanNDArray implements INDArray<Boolean> {
+
+    /**
+     * 视图关联的一维数组。
+     */
+    private final BooleanArray base;
+
+    /**
+     * 指向一维数组起始位置的指针。
+     */
+    private final IBooleanPointer data;
+
+    /**
+     * 视图的布局。
+     */
+    private final NDLayout layout;
+
+    /**
+     * 类{@code BooleanNDArray}的主构造函数，以指定的布局创建一维数组上的视图。<p>
+     * 注意：布局所能访问的所有位置都应在数组的容量范围内，
+     * 否则，抛出{@code java.lang.ArrayIndexOutOfBoundsException} 异常。
+     *
+     * @param base   一维数组。
+     * @param layout 视图的布局。
+     */
+    public BooleanNDArray(final BooleanArray base, final NDLayout layout) {
+        layout.checkBounds(base.getCapacity());
+        this.base = base;
+        this.data = base.createPointer();
+        this.layout = layout;
+    }
+
+    /**
+     * 类{@code BooleanNDArray}次级构造函数，以行主序连续布局创建一维数组上的视图。
+     *
+     * @param base  一维数组。
+     * @param shape 各轴的长度。
+     */
+    public BooleanNDArray(final BooleanArray base, int... shape) {
+        this(base, NDLayout.rowMajor(shape));
+    }
+
+    /**
+     * 类{@code BooleanNDArray}次级构造函数，创建一个新的行主序连续数组，所有元素的值为{@code false}。
+     *
+     * @param shape 各轴的长度。
+     */
+    public BooleanNDArray(int... shape) {
+        this(new BooleanArray(NDLayout.rowMajor(shape).getSize()), shape);
+    }
+
+    /**
+     * 检查视图是否可写，广播视图（见{@code NDLayout.isBroadcast}）是只读的。
+     */
+    private void checkWritable() {
+        if (layout.isBroadcast()) {
+            throw new UnsupportedOperationException("A broadcast BooleanNDArray view is read-only.");
+        }
+    }
+
+    /**
+     * 获取视图关联的一维数组。
+     *
+     * @return 视图关联的一维数组。
+     */
+    public BooleanArray getBase() {
+        return base;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NDLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * 获取指定索引处的元素。
+     *
+     * @param indexes 各轴上的索引。
+     * @return 指定索引处的元素。
+     */
+    public boolean get(int... indexes) {
+        return data.get(layout.index(indexes));
+    }
+
+    /**
+     * 设置指定索引处的元素。
+     *
+     * @param value   元素的值。
+     * @param indexes 各轴上的索引。
+     */
+    public void set(boolean value, int... indexes) {
+        checkWritable();
+        data.set(layout.index(indexes), value);
+    }
+
+    /**
+     * 沿指定轴切片，保留该轴上索引在{@code [from, to)}范围内的元素。
+     *
+     * @param axis 轴的序号。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 切片视图。
+     */
+    public BooleanNDArray slice(int axis, int from, int to) {
+        return new BooleanNDArray(base, layout.slice(axis, from, to, 1));
+    }
+
+    /**
+     * 沿指定轴以指定步长切片，见{@code NDLayout.slice}。
+     *
+     * @param axis 轴的序号。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @param step 步长，不能为{@code 0}。
+     * @return 切片视图。
+     */
+    public BooleanNDArray slice(int axis, int from, int to, int step) {
+        return new BooleanNDArray(base, layout.slice(axis, from, to, step));
+    }
+
+    /**
+     * 选取指定轴上的一个索引，结果视图的维数减少{@code 1}。
+     *
+     * @param axis  轴的序号。
+     * @param index 该轴上的索引。
+     * @return 选取后的视图。
+     */
+    public BooleanNDArray select(int axis, int index) {
+        return new BooleanNDArray(base, layout.select(axis, index));
+    }
+
+    /**
+     * 逆序排列各轴。
+     *
+     * @return 转置视图。
+     */
+    public BooleanNDArray transpose() {
+        return new BooleanNDArray(base, layout.transpose());
+    }
+
+    /**
+     * 按指定的顺序重排各轴，见{@code NDLayout.transpose}。
+     *
+     * @param axes 轴的排列。
+     * @return 转置视图。
+     */
+    public BooleanNDArray transpose(int... axes) {
+        return new BooleanNDArray(base, layout.transpose(axes));
+    }
+
+    /**
+     * 将视图广播到指定的形状，见{@code NDLayout.broadcast}。
+     * 广播视图中的多个索引可能对应同一个元素，因此广播视图是只读的。
+     *
+     * @param shape 目标形状。
+     * @return 广播视图。
+     */
+    public BooleanNDArray broadcast(int... shape) {
+        return new BooleanNDArray(base, layout.broadcast(shape));
+    }
+
+    /**
+     * 将视图中所有元素的值设置为{@code value}。
+     *
+     * @param value 元素的值。
+     * @return 本视图。
+     */
+    public BooleanNDArray fill(boolean value) {
+        checkWritable();
+        final int length = layout.getRowLength();
+        final int stride = layout.getRowStride();
+        NDRows.forEach(layout, row -> {
+            int p = layout.rowStart(row);
+            for (int k = 0; k < length; k++, p += stride) {
+                data.set(p, value);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 将{@code source}广播到本视图的形状后，复制到本视图中。<p>
+     * 注意：{@code source}与本视图不应共享有重叠的存储位置。
+     *
+     * @param source 源视图。
+     * @return 本视图。
+     */
+    public BooleanNDArray assign(final BooleanNDArray source) {
+        checkWritable();
+        final NDLayout from = source.layout.broadcast(layout.getShape());
+        final IBooleanPointer src = source.data;
+        final int length = layout.getRowLength();
+        final int stride = layout.getRowStride();
+        final int srcStride = from.getRowStride();
+        NDRows.forEach(layout, row -> {
+            int p = layout.rowStart(row);
+            int q = from.rowStart(row);
+            for (int k = 0; k < length; k++, p += stride, q += srcStride) {
+                data.set(p, src.get(q));
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 将视图复制为一个新的行主序连续数组。
+     *
+     * @return 新的数组。
+     */
+    public BooleanNDArray copy() {
+        return new BooleanNDArray(layout.getShape()).assign(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Boolean> iterator() {
+        final NDRows.PositionIterator positions = new NDRows.PositionIterator(layout);
+        return new Iterator<Boolean>() {
+            @Override
+            public boolean hasNext() {
+                return positions.hasNext();
+            }
+
+            @Override
+            public Boolean next() {
+                return data.get(positions.nextPosition());
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "BooleanNDArray{" +
+                "capacity=" + base.getCapacity() +
+                ", layout=" + layout +
+                '}';
+    }
+}
@@ -1,5 +1,101 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
 package cn.edu.gxust.jiweihuang.java.ndarray;
 
-public interface INDArray<T> extends Iterable<T>{
+/**
+ * 接口{@code INDArray}用于表征一个n维数组视图，
+ * 视图由一个一维数组（如{@code DoubleArray}）和一个布局{@code NDLayout}组成，
+ * 切片、选取、转置和广播只创建新的视图而不复制数据。
+ * <p>
+ * 视图按行主序（row-major）遍历元素，遍历时元素被装箱为{@code T}型对象，
+ * 仅适用于便捷的访问，大量数据的运算应使用各实现类提供的批量方法。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @param <T> 元素的装箱类型。
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public interface INDArray<T> extends Iterable<T> {
 
+    /**
+     * 获取视图的布局。
+     *
+     * @return 视图的布局。
+     */
+    NDLayout getLayout();
+
+    /**
+     * 获取视图的维数。
+     *
+     * @return 视图的维数。
+     */
+    default int getRank() {
+        return getLayout().getRank();
+    }
+
+    /**
+     * 获取视图的形状。
+     *
+     * @return 各轴的长度。
+     */
+    default int[] getShape() {
+        return getLayout().getShape();
+    }
+
+    /**
+     * 获取指定轴的长度。
+     *
+     * @param axis 轴的序号。
+     * @return 轴的长度。
+     */
+    default int getShape(int axis) {
+        return getLayout().getShape(axis);
+    }
+
+    /**
+     * 获取视图的元素总数。
+     *
+     * @return 元素总数。
+     */
+    default int getSize() {
+        return getLayout().getSize();
+    }
 }
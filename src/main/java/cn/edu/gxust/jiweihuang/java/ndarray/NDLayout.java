@@ -0,0 +1,495 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.ndarray;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 类{@code NDLayout}用于表征n维数组在一维存储上的布局，由形状（shape）、步长（strides）和偏移量（offset）组成，
+ * 索引为{@code (i0, i1, ..., ik)}的元素位于一维存储的
+ * {@code offset + i0 * strides[0] + i1 * strides[1] + ... + ik * strides[k]}处。
+ * <p>
+ * 切片、选取、转置和广播只改变布局而不复制数据：
+ * 切片的步长可以为负数，广播的轴步长为{@code 0}。
+ * 布局对象是不可变的。
+ * <p>
+ * 为便于按行并行处理，布局将除最后一个轴之外的所有轴视为“外层轴”，
+ * 其索引的组合按行主序（row-major）编号为“行”，
+ * 每一行包含最后一个轴上的{@code getRowLength()}个元素，相邻元素相距{@code getRowStride()}。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class NDLayout {
+
+    /**
+     * 各轴的长度。
+     */
+    private final int[] shape;
+
+    /**
+     * 各轴的步长。
+     */
+    private final int[] strides;
+
+    /**
+     * 索引全为{@code 0}的元素在一维存储中的位置。
+     */
+    private final int offset;
+
+    /**
+     * 元素的总数。
+     */
+    private final int size;
+
+    /**
+     * 类{@code NDLayout}的主构造函数。
+     *
+     * @param shape   各轴的长度，均应大于等于{@code 0}。
+     * @param strides 各轴的步长，个数应与{@code shape}相同。
+     * @param offset  索引全为{@code 0}的元素在一维存储中的位置。
+     */
+    public NDLayout(int[] shape, int[] strides, int offset) {
+        if (shape.length != strides.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {shape.length == strides.length}, but got {%d, %d}.",
+                    shape.length, strides.length));
+        }
+        long count = 1;
+        for (int length : shape) {
+            if (length < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected parameters {shape[i] >= 0}, but got {%s}.", Arrays.toString(shape)));
+            }
+            count *= length;
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format(
+                        "The size of shape %s exceeds %d.", Arrays.toString(shape), Integer.MAX_VALUE));
+            }
+        }
+        this.shape = shape.clone();
+        this.strides = strides.clone();
+        this.offset = offset;
+        this.size = (int) count;
+    }
+
+    /**
+     * 创建一个形状为{@code shape}、偏移量为{@code 0}的行主序（C order）连续布局。
+     *
+     * @param shape 各轴的长度。
+     * @return 行主序连续布局。
+     */
+    public static NDLayout rowMajor(int... shape) {
+        int[] strides = new int[shape.length];
+        int stride = 1;
+        for (int axis = shape.length - 1; axis >= 0; axis--) {
+            strides[axis] = stride;
+            stride *= Math.max(shape[axis], 1);
+        }
+        return new NDLayout(shape, strides, 0);
+    }
+
+    /**
+     * 获取布局的维数（轴的个数）。
+     *
+     * @return 布局的维数。
+     */
+    public int getRank() {
+        return shape.length;
+    }
+
+    /**
+     * 获取布局的形状。
+     *
+     * @return 各轴的长度，返回的是副本。
+     */
+    public int[] getShape() {
+        return shape.clone();
+    }
+
+    /**
+     * 获取指定轴的长度。
+     *
+     * @param axis 轴的序号。
+     * @return 轴的长度。
+     */
+    public int getShape(int axis) {
+        return shape[axis];
+    }
+
+    /**
+     * 获取布局的步长。
+     *
+     * @return 各轴的步长，返回的是副本。
+     */
+    public int[] getStrides() {
+        return strides.clone();
+    }
+
+    /**
+     * 获取指定轴的步长。
+     *
+     * @param axis 轴的序号。
+     * @return 轴的步长。
+     */
+    public int getStride(int axis) {
+        return strides[axis];
+    }
+
+    /**
+     * 获取索引全为{@code 0}的元素在一维存储中的位置。
+     *
+     * @return 偏移量。
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * 获取元素的总数。
+     *
+     * @return 元素的总数。
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断布局是否为偏移量任意的行主序连续布局。
+     *
+     * @return {@code true} 如果布局为行主序连续布局。
+     */
+    public boolean isContiguous() {
+        int stride = 1;
+        for (int axis = shape.length - 1; axis >= 0; axis--) {
+            if (shape[axis] != 1 && strides[axis] != stride) {
+                return false;
+            }
+            stride *= shape[axis];
+        }
+        return true;
+    }
+
+    /**
+     * 判断布局是否含有广播轴，即长度大于{@code 1}且步长为{@code 0}的轴，
+     * 这样的布局中多个索引对应同一个存储位置。
+     *
+     * @return {@code true} 如果布局含有广播轴。
+     */
+    public boolean isBroadcast() {
+        for (int axis = 0; axis < shape.length; axis++) {
+            if (shape[axis] > 1 && strides[axis] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算n维索引对应的一维存储位置。
+     *
+     * @param indexes 各轴上的索引，个数应与维数相同。
+     * @return 一维存储位置。
+     */
+    public int index(int... indexes) {
+        if (indexes.length != shape.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d indexes, but got %d.", shape.length, indexes.length));
+        }
+        int position = offset;
+        for (int axis = 0; axis < shape.length; axis++) {
+            int i = indexes[axis];
+            if (i < 0 || i >= shape[axis]) {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {0 <= indexes[%d] < %d}, but got {%d}.", axis, shape[axis], i));
+            }
+            position += i * strides[axis];
+        }
+        return position;
+    }
+
+    /**
+     * 检查布局所能访问的所有一维存储位置是否都在{@code [0, capacity)}范围内。
+     *
+     * @param capacity 一维存储的容量。
+     */
+    public void checkBounds(int capacity) {
+        if (size == 0) {
+            return;
+        }
+        long min = offset;
+        long max = offset;
+        for (int axis = 0; axis < shape.length; axis++) {
+            long extent = (long) (shape[axis] - 1) * strides[axis];
+            if (extent > 0) {
+                max += extent;
+            } else {
+                min += extent;
+            }
+        }
+        if (min < 0 || max >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "The layout %s addresses {%d, %d}, expected {0 <= index < %d}.", this, min, max, capacity));
+        }
+    }
+
+    private int checkAxis(int axis) {
+        if (axis < 0 || axis >= shape.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {0 <= axis < %d}, but got {%d}.", shape.length, axis));
+        }
+        return axis;
+    }
+
+    /**
+     * 沿指定轴切片，保留该轴上的索引{@code from, from + step, ...}（小于{@code to}，或当步长为负数时大于{@code to}）。
+     *
+     * @param axis 轴的序号。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含），步长为负数时可以为{@code -1}。
+     * @param step 步长，不能为{@code 0}。
+     * @return 切片后的布局。
+     */
+    public NDLayout slice(int axis, int from, int to, int step) {
+        checkAxis(axis);
+        if (step == 0) {
+            throw new IllegalArgumentException("Expected the parameter {step != 0}.");
+        }
+        int length;
+        if (step > 0) {
+            if (from < 0 || to > shape[axis] || from > to) {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {0 <= from <= to <= %d}, but got {%d, %d}.", shape[axis], from, to));
+            }
+            length = (to - from + step - 1) / step;
+        } else {
+            if (to < -1 || from >= shape[axis] || from < to) {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {-1 <= to <= from < %d}, but got {%d, %d}.", shape[axis], from, to));
+            }
+            length = (from - to - step - 1) / -step;
+        }
+        int[] newShape = shape.clone();
+        int[] newStrides = strides.clone();
+        newShape[axis] = length;
+        newStrides[axis] = strides[axis] * step;
+        return new NDLayout(newShape, newStrides, length == 0 ? offset : offset + from * strides[axis]);
+    }
+
+    /**
+     * 选取指定轴上的一个索引，结果布局的维数减少{@code 1}。
+     *
+     * @param axis  轴的序号。
+     * @param index 该轴上的索引。
+     * @return 选取后的布局。
+     */
+    public NDLayout select(int axis, int index) {
+        checkAxis(axis);
+        if (index < 0 || index >= shape[axis]) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= index < %d}, but got {%d}.", shape[axis], index));
+        }
+        return new NDLayout(remove(shape, axis), remove(strides, axis), offset + index * strides[axis]);
+    }
+
+    /**
+     * 按指定的顺序重排各轴，结果布局的第{@code i}个轴为原布局的第{@code axes[i]}个轴。
+     *
+     * @param axes 轴的排列，应为{@code [0, getRank())}的一个排列。
+     * @return 转置后的布局。
+     */
+    public NDLayout transpose(int... axes) {
+        if (axes.length != shape.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d axes, but got %d.", shape.length, axes.length));
+        }
+        boolean[] seen = new boolean[shape.length];
+        int[] newShape = new int[shape.length];
+        int[] newStrides = new int[shape.length];
+        for (int i = 0; i < axes.length; i++) {
+            int axis = checkAxis(axes[i]);
+            if (seen[axis]) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected the parameter {axes} to be a permutation, but got %s.", Arrays.toString(axes)));
+            }
+            seen[axis] = true;
+            newShape[i] = shape[axis];
+            newStrides[i] = strides[axis];
+        }
+        return new NDLayout(newShape, newStrides, offset);
+    }
+
+    /**
+     * 逆序排列各轴，对二维布局即为矩阵转置。
+     *
+     * @return 转置后的布局。
+     */
+    public NDLayout transpose() {
+        int[] axes = new int[shape.length];
+        for (int i = 0; i < axes.length; i++) {
+            axes[i] = shape.length - 1 - i;
+        }
+        return transpose(axes);
+    }
+
+    /**
+     * 按NumPy的规则将布局广播到指定的形状：
+     * 从最后一个轴开始对齐，长度为{@code 1}的轴和新增的前导轴的步长为{@code 0}。
+     *
+     * @param target 目标形状，维数不小于本布局的维数。
+     * @return 广播后的布局。
+     */
+    public NDLayout broadcast(int... target) {
+        int extra = target.length - shape.length;
+        if (extra < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot broadcast shape %s to %s.", Arrays.toString(shape), Arrays.toString(target)));
+        }
+        int[] newStrides = new int[target.length];
+        for (int axis = 0; axis < shape.length; axis++) {
+            int length = shape[axis];
+            if (length == target[axis + extra]) {
+                newStrides[axis + extra] = strides[axis];
+            } else if (length != 1) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot broadcast shape %s to %s.", Arrays.toString(shape), Arrays.toString(target)));
+            }
+        }
+        return new NDLayout(target, newStrides, offset);
+    }
+
+    /**
+     * 获取行（除最后一个轴之外所有轴的索引组合）的个数。
+     *
+     * @return 行的个数。
+     */
+    public int getRowCount() {
+        if (shape.length == 0) {
+            return 1;
+        }
+        int length = shape[shape.length - 1];
+        return length == 0 ? 0 : size / length;
+    }
+
+    /**
+     * 获取每一行的元素个数，即最后一个轴的长度，零维布局为{@code 1}。
+     *
+     * @return 每一行的元素个数。
+     */
+    public int getRowLength() {
+        return shape.length == 0 ? 1 : shape[shape.length - 1];
+    }
+
+    /**
+     * 获取行内相邻元素的步长，即最后一个轴的步长，零维布局为{@code 0}。
+     *
+     * @return 行内相邻元素的步长。
+     */
+    public int getRowStride() {
+        return shape.length == 0 ? 0 : strides[strides.length - 1];
+    }
+
+    /**
+     * 计算第{@code row}行第一个元素的一维存储位置，行按外层轴的行主序编号。
+     *
+     * @param row 行的序号，应在{@code [0, getRowCount())}范围内。
+     * @return 一维存储位置。
+     */
+    public int rowStart(int row) {
+        int position = offset;
+        int rest = row;
+        for (int axis = shape.length - 2; axis >= 0; axis--) {
+            int length = shape[axis];
+            position += (rest % length) * strides[axis];
+            rest /= length;
+        }
+        return position;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof NDLayout)) {
+            return false;
+        }
+        NDLayout that = (NDLayout) obj;
+        return offset == that.offset &&
+                Arrays.equals(shape, that.shape) &&
+                Arrays.equals(strides, that.strides);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(offset);
+        result = 31 * result + Arrays.hashCode(shape);
+        result = 31 * result + Arrays.hashCode(strides);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "NDLayout{" +
+                "shape=" + Arrays.toString(shape) +
+                ", strides=" + Arrays.toString(strides) +
+                ", offset=" + offset +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.ndarray;
+
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.ForkJoinBlocks;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * 类{@code NDRows}用于按行处理n维数组视图，行的含义见{@code NDLayout}。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+final class NDRows {
+
+    private NDRows() {
+    }
+
+    /**
+     * 对布局的每一行调用{@code body}，参数为行的序号。
+     * 当元素总数较多时，各行被分块并在公共的{@code ForkJoinPool}中并行处理，
+     * 因此{@code body}对不同行的处理应相互独立。
+     *
+     * @param layout 布局。
+     * @param body   处理一行的函数。
+     */
+    static void forEach(NDLayout layout, IntConsumer body) {
+        int rows = layout.getRowCount();
+        if (rows == 0 || layout.getRowLength() == 0) {
+            return;
+        }
+        int blocks = Math.min(ForkJoinBlocks.blockCount(layout.getSize()), rows);
+        int size = ForkJoinBlocks.blockSize(rows, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(rows, b * size + size);
+            for (int row = b * size; row < to; row++) {
+                body.accept(row);
+            }
+        });
+    }
+
+    /**
+     * 类{@code PositionIterator}按行主序依次给出布局中各元素的一维存储位置。
+     */
+    static final class PositionIterator implements Iterator<Integer> {
+
+        private final NDLayout layout;
+
+        private final int rows;
+
+        private final int length;
+
+        private final int stride;
+
+        private int row;
+
+        private int column;
+
+        private int start;
+
+        PositionIterator(NDLayout layout) {
+            this.layout = layout;
+            this.length = layout.getRowLength();
+            this.rows = length == 0 ? 0 : layout.getRowCount();
+            this.stride = layout.getRowStride();
+            this.start = rows == 0 ? 0 : layout.rowStart(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < rows;
+        }
+
+        /**
+         * 获取下一个元素的一维存储位置。
+         *
+         * @return 一维存储位置。
+         */
+        int nextPosition() {
+            if (row >= rows) {
+                throw new NoSuchElementException();
+            }
+            int position = start + column * stride;
+            if (++column == length) {
+                column = 0;
+                if (++row < rows) {
+                    start = layout.rowStart(row);
+                }
+            }
+            return position;
+        }
+
+        @Override
+        public Integer next() {
+            return nextPosition();
+        }
+    }
+}
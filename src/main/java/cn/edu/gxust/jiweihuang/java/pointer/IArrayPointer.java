@@ -141,6 +141,19 @@ public interface IArrayPointer extends IPointer {
         return getPoint() == (getCapacity() - 1);
     }
 
+    /**
+     * 检查指针是否关联着一个数组对象，即其{@code getBase()}方法是否可用，
+     * 如果“是”返回 {@code true}，否则返回 {@code false}。<p>
+     * 由普通数组创建的指针总是关联着数组对象；稀疏数组等不以普通数组存储数据的指针没有关联的数组对象，
+     * 其{@code getBase()}将抛出{@code java.lang.UnsupportedOperationException}异常。
+     * 需要通过{@code getBase()}访问底层数组的调用者应先检查此方法，而不是捕获异常。
+     *
+     * @return {@code true} 如果指针关联着一个数组对象。
+     */
+    default boolean hasBase() {
+        return true;
+    }
+
     /**
      * 移动指针的指向，内部实现为 {@code point = getPoint() + offset}。
      *
@@ -43,16 +43,19 @@ package cn.edu.gxust.jiweihuang.java.pointer;
  * 使Java对象实现此空接口（empty interface）的目的是构建统一的类型系统，
  * 即可将任何实现了此接口的Java对象作为{@code IPointer}使用。<p>
  * 例如：{@code IPointer method(IPointer ...pointerArgs);}
- * 其参数和返回值可以是任何实现了{@code IPointer}的对象。
+ * 其参数和返回值可以是任何实现了{@code IPointer}的对象。<p>
+ * 类型参数{@code T}用于表征指针所指向对象的类型，
+ * 例如，指向{@code ObjectArray<T>}的指针均实现了{@code IObjectPointer<T>}。
  * <p>
  * Development status：Finished     # Developing, Finished  <p>
  * Javadoc status: Finished         # Missing, Developing, Finished  <p>
  * Test status: None                # None, Missing, Developing, Finished  <p>
- * Last revision date: 2019-12-31 <p>
+ * Last revision date: 2026-10-19 <p>
  *
+ * @param <T> 指针所指向对象的类型。
  * @author JiweiHuang
  * @since 20191205
  */
-public interface IObjectPointer extends IPointer {
+public interface IObjectPointer<T> extends IPointer {
     //用于表征'对象指针'的空接口。
 }
@@ -0,0 +1,525 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.accounting;
+
+import jdk.jfr.FlightRecorder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * 类{@code ArrayAccounting}提供数组的分配与占用统计，按元素类型和存储后端（堆内、堆外、映射文件）分类，
+ * 统计当前存活的字节数与实例数、累计分配的字节数与实例数（用于计算分配速率）以及存活字节数的最高值，
+ * 并可按分配点标签（tag）统计累计分配的字节数。
+ * <p>
+ * 统计默认是关闭的，可以调用{@code enable()}开启，
+ * 或在启动时设置系统属性{@code -Dcn.edu.gxust.jiweihuang.java.pointer.accounting=true}。
+ * 关闭时，数组构造函数中的统计只读取一个{@code volatile}标记，开销可以忽略；
+ * 开启时，每个数组实例注册一个{@code Cleaner}，在其被回收后扣减存活统计。
+ * <p>
+ * 统计的字节数是数组存储的有效载荷（元素个数乘以元素的字节数），不含对象头；
+ * {@code String}和{@code Object}型数组的堆内存储按每个引用{@code REFERENCE_BYTES}字节估计，不含被引用的对象。
+ * <p>
+ * 统计结果可以通过JMX（{@code registerMBean()}注册的{@code ArrayAccountingMXBean}）查看，
+ * 也可以通过JFR记录：事件{@code cn.edu.gxust.jiweihuang.java.pointer.ArrayFootprint}周期性地记录各类的占用，
+ * 事件{@code cn.edu.gxust.jiweihuang.java.pointer.ArrayAllocation}（默认不启用）记录每次分配及其调用栈，
+ * 可用于定位分配点。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class ArrayAccounting {
+
+    /**
+     * 开启统计的系统属性名。
+     */
+    public static final String PROPERTY = "cn.edu.gxust.jiweihuang.java.pointer.accounting";
+
+    /**
+     * MBean的名称。
+     */
+    public static final String OBJECT_NAME = "cn.edu.gxust.jiweihuang.java.pointer:type=ArrayAccounting";
+
+    /**
+     * 估计堆内存储中每个引用的字节数（压缩指针）。
+     */
+    public static final int REFERENCE_BYTES = 4;
+
+    /**
+     * 未设置标签时的分配点标签。
+     */
+    public static final String UNTAGGED = "";
+
+    /**
+     * 数组的元素类型。
+     */
+    public enum ElementType {
+        BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, OBJECT
+    }
+
+    /**
+     * 数组的存储后端。
+     */
+    public enum Backend {
+        /**
+         * 堆内存储。
+         */
+        HEAP,
+        /**
+         * 堆外存储（如{@code ByteBuffer.allocateDirect}）。
+         */
+        OFF_HEAP,
+        /**
+         * 映射文件存储（如{@code /dev/shm}上的共享数组）。
+         */
+        MAPPED
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final Footprint[][] FOOTPRINTS = new Footprint[ElementType.values().length][Backend.values().length];
+
+    private static final Footprint TOTAL = new Footprint();
+
+    private static final Map<String, LongAdder> TAGGED_BYTES = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<String> TAG = ThreadLocal.withInitial(() -> UNTAGGED);
+
+    private static volatile boolean periodicEventRegistered;
+
+    static {
+        for (Footprint[] row : FOOTPRINTS) {
+            for (int k = 0; k < row.length; k++) {
+                row[k] = new Footprint();
+            }
+        }
+        if (enabled) {
+            registerPeriodicEvent();
+        }
+    }
+
+    private ArrayAccounting() {
+    }
+
+    /**
+     * 开启统计，只有开启之后创建的数组才被统计。
+     */
+    public static void enable() {
+        enabled = true;
+        registerPeriodicEvent();
+    }
+
+    /**
+     * 关闭统计，已统计的数组在被回收后仍会扣减存活统计。
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * 判断统计是否开启。
+     *
+     * @return {@code true} 如果统计已开启。
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static synchronized void registerPeriodicEvent() {
+        if (!periodicEventRegistered) {
+            FlightRecorder.addPeriodicEvent(ArrayFootprintEvent.class, ArrayAccounting::emitFootprintEvents);
+            periodicEventRegistered = true;
+        }
+    }
+
+    private static void emitFootprintEvents() {
+        for (ElementType type : ElementType.values()) {
+            for (Backend backend : Backend.values()) {
+                Footprint footprint = FOOTPRINTS[type.ordinal()][backend.ordinal()];
+                if (footprint.allocatedCount.sum() == 0) {
+                    continue;
+                }
+                ArrayFootprintEvent event = new ArrayFootprintEvent();
+                event.elementType = type.name();
+                event.backend = backend.name();
+                event.liveBytes = footprint.liveBytes.get();
+                event.liveCount = footprint.liveCount.get();
+                event.highWaterBytes = footprint.highWaterBytes.get();
+                event.allocatedBytes = footprint.allocatedBytes.sum();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 记录一个数组的分配，由数组的构造函数调用；统计关闭时直接返回。
+     *
+     * @param array   被分配的数组对象。
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @param bytes   存储的字节数。
+     */
+    public static void record(Object array, ElementType type, Backend backend, long bytes) {
+        if (!enabled) {
+            return;
+        }
+        Footprint footprint = FOOTPRINTS[type.ordinal()][backend.ordinal()];
+        footprint.allocate(bytes);
+        TOTAL.allocate(bytes);
+        String tag = TAG.get();
+        TAGGED_BYTES.computeIfAbsent(tag, t -> new LongAdder()).add(bytes);
+        CLEANER.register(array, new Release(footprint, bytes));
+        ArrayAllocationEvent event = new ArrayAllocationEvent();
+        if (event.shouldCommit()) {
+            event.elementType = type.name();
+            event.backend = backend.name();
+            event.bytes = bytes;
+            event.tag = tag;
+            event.commit();
+        }
+    }
+
+    /**
+     * 为当前线程设置分配点标签，直到返回的对象被关闭时恢复原来的标签：
+     * <pre>{@code
+     * try (ArrayAccounting.Tag tag = ArrayAccounting.tag("fit")) {
+     *     ...
+     * }
+     * }</pre>
+     *
+     * @param name 标签。
+     * @return 用于恢复原标签的对象。
+     */
+    public static Tag tag(String name) {
+        String previous = TAG.get();
+        TAG.set(name == null ? UNTAGGED : name);
+        return new Tag(previous);
+    }
+
+    /**
+     * 类{@code Tag}用于在关闭时恢复线程原来的分配点标签。
+     */
+    public static final class Tag implements AutoCloseable {
+
+        private final String previous;
+
+        private Tag(String previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * 恢复原来的分配点标签。
+         */
+        @Override
+        public void close() {
+            TAG.set(previous);
+        }
+    }
+
+    /**
+     * 获取当前存活的字节数。
+     *
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @return 当前存活的字节数。
+     */
+    public static long getLiveBytes(ElementType type, Backend backend) {
+        return FOOTPRINTS[type.ordinal()][backend.ordinal()].liveBytes.get();
+    }
+
+    /**
+     * 获取当前存活的实例数。
+     *
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @return 当前存活的实例数。
+     */
+    public static long getLiveCount(ElementType type, Backend backend) {
+        return FOOTPRINTS[type.ordinal()][backend.ordinal()].liveCount.get();
+    }
+
+    /**
+     * 获取累计分配的字节数。
+     *
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @return 累计分配的字节数。
+     */
+    public static long getAllocatedBytes(ElementType type, Backend backend) {
+        return FOOTPRINTS[type.ordinal()][backend.ordinal()].allocatedBytes.sum();
+    }
+
+    /**
+     * 获取累计分配的实例数。
+     *
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @return 累计分配的实例数。
+     */
+    public static long getAllocatedCount(ElementType type, Backend backend) {
+        return FOOTPRINTS[type.ordinal()][backend.ordinal()].allocatedCount.sum();
+    }
+
+    /**
+     * 获取存活字节数的最高值。
+     *
+     * @param type    元素类型。
+     * @param backend 存储后端。
+     * @return 存活字节数的最高值。
+     */
+    public static long getHighWaterBytes(ElementType type, Backend backend) {
+        return FOOTPRINTS[type.ordinal()][backend.ordinal()].highWaterBytes.get();
+    }
+
+    /**
+     * 获取所有数组当前存活的字节数。
+     *
+     * @return 当前存活的字节数。
+     */
+    public static long getLiveBytes() {
+        return TOTAL.liveBytes.get();
+    }
+
+    /**
+     * 获取所有数组存活字节数的最高值。
+     *
+     * @return 存活字节数的最高值。
+     */
+    public static long getHighWaterBytes() {
+        return TOTAL.highWaterBytes.get();
+    }
+
+    /**
+     * 获取所有数组累计分配的字节数。
+     *
+     * @return 累计分配的字节数。
+     */
+    public static long getAllocatedBytes() {
+        return TOTAL.allocatedBytes.sum();
+    }
+
+    /**
+     * 获取各分配点标签累计分配的字节数，未设置标签的分配以{@code UNTAGGED}为键。
+     *
+     * @return 标签到累计分配字节数的映射。
+     */
+    public static Map<String, Long> getAllocatedBytesByTag() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        TAGGED_BYTES.forEach((tag, bytes) -> result.put(tag, bytes.sum()));
+        return result;
+    }
+
+    /**
+     * 将存活字节数的最高值重置为当前的存活字节数。
+     */
+    public static void resetHighWaterMarks() {
+        for (Footprint[] row : FOOTPRINTS) {
+            for (Footprint footprint : row) {
+                footprint.highWaterBytes.set(footprint.liveBytes.get());
+            }
+        }
+        TOTAL.highWaterBytes.set(TOTAL.liveBytes.get());
+    }
+
+    /**
+     * 以{@code OBJECT_NAME}在平台MBean服务器中注册{@code ArrayAccountingMXBean}，已注册时不重复注册。
+     *
+     * @return MBean的名称。
+     */
+    public static ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), name);
+            } catch (InstanceAlreadyExistsException e) {
+                // 已注册。
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register the array accounting MBean.", e);
+        }
+    }
+
+    /**
+     * 类{@code Footprint}保存一类数组的统计值。
+     */
+    private static final class Footprint {
+
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private final LongAdder allocatedCount = new LongAdder();
+
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        private final AtomicLong liveCount = new AtomicLong();
+
+        private final AtomicLong highWaterBytes = new AtomicLong();
+
+        void allocate(long bytes) {
+            allocatedBytes.add(bytes);
+            allocatedCount.increment();
+            liveCount.incrementAndGet();
+            long live = liveBytes.addAndGet(bytes);
+            highWaterBytes.accumulateAndGet(live, Math::max);
+        }
+
+        void release(long bytes) {
+            liveBytes.addAndGet(-bytes);
+            liveCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 类{@code Release}在数组被回收后扣减存活统计，不持有数组的引用。
+     */
+    private static final class Release implements Runnable {
+
+        private final Footprint footprint;
+
+        private final long bytes;
+
+        Release(Footprint footprint, long bytes) {
+            this.footprint = footprint;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void run() {
+            footprint.release(bytes);
+            TOTAL.release(bytes);
+        }
+    }
+
+    /**
+     * 类{@code Bean}是{@code ArrayAccountingMXBean}的实现。
+     */
+    private static final class Bean implements ArrayAccountingMXBean {
+
+        private static Map<String, Long> collect(ToLongFunction<Footprint> getter) {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (ElementType type : ElementType.values()) {
+                for (Backend backend : Backend.values()) {
+                    Footprint footprint = FOOTPRINTS[type.ordinal()][backend.ordinal()];
+                    if (footprint.allocatedCount.sum() > 0) {
+                        result.put(type + "/" + backend, getter.applyAsLong(footprint));
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return ArrayAccounting.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean value) {
+            if (value) {
+                enable();
+            } else {
+                disable();
+            }
+        }
+
+        @Override
+        public long getLiveBytes() {
+            return ArrayAccounting.getLiveBytes();
+        }
+
+        @Override
+        public long getHighWaterBytes() {
+            return ArrayAccounting.getHighWaterBytes();
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return ArrayAccounting.getAllocatedBytes();
+        }
+
+        @Override
+        public Map<String, Long> getLiveBytesByKind() {
+            return collect(footprint -> footprint.liveBytes.get());
+        }
+
+        @Override
+        public Map<String, Long> getLiveCountByKind() {
+            return collect(footprint -> footprint.liveCount.get());
+        }
+
+        @Override
+        public Map<String, Long> getAllocatedBytesByKind() {
+            return collect(footprint -> footprint.allocatedBytes.sum());
+        }
+
+        @Override
+        public Map<String, Long> getAllocatedCountByKind() {
+            return collect(footprint -> footprint.allocatedCount.sum());
+        }
+
+        @Override
+        public Map<String, Long> getHighWaterBytesByKind() {
+            return collect(footprint -> footprint.highWaterBytes.get());
+        }
+
+        @Override
+        public Map<String, Long> getAllocatedBytesByTag() {
+            return ArrayAccounting.getAllocatedBytesByTag();
+        }
+
+        @Override
+        public void resetHighWaterMarks() {
+            ArrayAccounting.resetHighWaterMarks();
+        }
+    }
+}
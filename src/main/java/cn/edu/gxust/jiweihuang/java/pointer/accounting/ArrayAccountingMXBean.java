@@ -0,0 +1,137 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.accounting;
+
+import java.util.Map;
+
+/**
+ * 接口{@code ArrayAccountingMXBean}是数组分配与占用统计的管理接口，
+ * 由{@code ArrayAccounting.registerMBean()}注册。
+ * 按类别统计的结果以{@code "元素类型/存储后端"}（如{@code "DOUBLE/HEAP"}）为键，只包含分配过数组的类别。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public interface ArrayAccountingMXBean {
+
+    /**
+     * 判断统计是否开启。
+     *
+     * @return {@code true} 如果统计已开启。
+     */
+    boolean isEnabled();
+
+    /**
+     * 开启或关闭统计。
+     *
+     * @param enabled {@code true} 表示开启统计。
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * 获取所有数组当前存活的字节数。
+     *
+     * @return 当前存活的字节数。
+     */
+    long getLiveBytes();
+
+    /**
+     * 获取所有数组存活字节数的最高值。
+     *
+     * @return 存活字节数的最高值。
+     */
+    long getHighWaterBytes();
+
+    /**
+     * 获取所有数组累计分配的字节数。
+     *
+     * @return 累计分配的字节数。
+     */
+    long getAllocatedBytes();
+
+    /**
+     * 获取各类数组当前存活的字节数。
+     *
+     * @return 类别到存活字节数的映射。
+     */
+    Map<String, Long> getLiveBytesByKind();
+
+    /**
+     * 获取各类数组当前存活的实例数。
+     *
+     * @return 类别到存活实例数的映射。
+     */
+    Map<String, Long> getLiveCountByKind();
+
+    /**
+     * 获取各类数组累计分配的字节数。
+     *
+     * @return 类别到累计分配字节数的映射。
+     */
+    Map<String, Long> getAllocatedBytesByKind();
+
+    /**
+     * 获取各类数组累计分配的实例数。
+     *
+     * @return 类别到累计分配实例数的映射。
+     */
+    Map<String, Long> getAllocatedCountByKind();
+
+    /**
+     * 获取各类数组存活字节数的最高值。
+     *
+     * @return 类别到存活字节数最高值的映射。
+     */
+    Map<String, Long> getHighWaterBytesByKind();
+
+    /**
+     * 获取各分配点标签累计分配的字节数。
+     *
+     * @return 标签到累计分配字节数的映射。
+     */
+    Map<String, Long> getAllocatedBytesByTag();
+
+    /**
+     * 将存活字节数的最高值重置为当前的存活字节数。
+     */
+    void resetHighWaterMarks();
+}
@@ -0,0 +1,338 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.arena;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * 类{@code ArrayArena}是线程局部的数组分配区（arena），
+ * 用于为求解器及其回调函数提供短期使用的{@code DoubleArray}和{@code IntArray}工作数组。
+ * <p>
+ * 每个线程拥有一个分配区，{@code open()}打开一个作用域，{@code close()}关闭最近打开的作用域，
+ * 并将该作用域内分配的所有数组归还到按容量分类的池中，以便之后的分配重用，作用域可以嵌套：
+ * <pre>{@code
+ * try (ArrayArena arena = ArrayArena.open()) {
+ *     IDoublePointer wa = arena.doubles(n).createPointer();
+ *     IIntPointer flag = arena.ints(1).createPointer();
+ *     ...
+ * }
+ * }</pre>
+ * 由于{@code DoubleArray}等数组的容量是固定的，分配区按精确的容量分类保存数组，
+ * 同一线程以相同的规模反复调用时，稳定状态下不再分配新的数组；
+ * 分配得到的数组已被重置为{@code 0}（或指定的值），与新建的数组相同。
+ * 对于跨越作用域、生命期较长的缓冲区，可以使用{@code acquireDoubles}、{@code acquireInts}取得，
+ * 用毕以{@code release}归还。
+ * <p>
+ * 作用域关闭后，不应再使用其中分配的数组，分配区不做检查。
+ * 池中保留的数组总元素个数不超过{@code MAX_POOLED_ELEMENTS}，每个容量不超过{@code MAX_POOLED_PER_CAPACITY}个，
+ * 超出的数组直接丢弃，交由垃圾回收器回收。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class ArrayArena implements AutoCloseable {
+
+    /**
+     * 每个容量在池中保留的数组的最大个数。
+     */
+    public static final int MAX_POOLED_PER_CAPACITY = 16;
+
+    /**
+     * 池中保留的数组的最大总元素个数（每个线程、每种类型）。
+     */
+    public static final long MAX_POOLED_ELEMENTS = 1L << 22;
+
+    /**
+     * 池中容量种类的最大个数。
+     */
+    private static final int MAX_CAPACITY_CLASSES = 64;
+
+    private static final ThreadLocal<ArrayArena> ARENAS = ThreadLocal.withInitial(ArrayArena::new);
+
+    /**
+     * 拥有分配区的线程。
+     */
+    private final Thread owner = Thread.currentThread();
+
+    private final Pool<DoubleArray> doublePool = new Pool<>();
+
+    private final Pool<IntArray> intPool = new Pool<>();
+
+    /**
+     * 已打开的作用域中分配的数组，按分配的顺序排列。
+     */
+    private final ArrayList<DoubleArray> liveDoubles = new ArrayList<>();
+
+    private final ArrayList<IntArray> liveInts = new ArrayList<>();
+
+    /**
+     * 各作用域打开时{@code liveDoubles}和{@code liveInts}的长度。
+     */
+    private int[] marks = new int[16];
+
+    /**
+     * 已打开的作用域的个数。
+     */
+    private int depth;
+
+    private ArrayArena() {
+    }
+
+    /**
+     * 在当前线程的分配区中打开一个新的作用域。
+     *
+     * @return 当前线程的分配区。
+     */
+    public static ArrayArena open() {
+        ArrayArena arena = ARENAS.get();
+        if (2 * arena.depth + 2 > arena.marks.length) {
+            arena.marks = Arrays.copyOf(arena.marks, arena.marks.length * 2);
+        }
+        arena.marks[2 * arena.depth] = arena.liveDoubles.size();
+        arena.marks[2 * arena.depth + 1] = arena.liveInts.size();
+        arena.depth++;
+        return arena;
+    }
+
+    /**
+     * 从当前线程的池中取得一个{@code double}型数组，其生命期不受作用域限制，用毕以{@code release}归还。
+     *
+     * @param capacity 数组的容量。
+     * @return 元素均为{@code 0}的数组。
+     */
+    public static DoubleArray acquireDoubles(int capacity) {
+        return ARENAS.get().takeDoubles(capacity);
+    }
+
+    /**
+     * 从当前线程的池中取得一个{@code int}型数组，其生命期不受作用域限制，用毕以{@code release}归还。
+     *
+     * @param capacity 数组的容量。
+     * @return 元素均为{@code 0}的数组。
+     */
+    public static IntArray acquireInts(int capacity) {
+        return ARENAS.get().takeInts(capacity);
+    }
+
+    /**
+     * 将数组归还到当前线程的池中，归还后不应再使用该数组。
+     *
+     * @param array 由{@code acquireDoubles}取得的数组。
+     */
+    public static void release(DoubleArray array) {
+        ARENAS.get().doublePool.offer(array.getCapacity(), array);
+    }
+
+    /**
+     * 将数组归还到当前线程的池中，归还后不应再使用该数组。
+     *
+     * @param array 由{@code acquireInts}取得的数组。
+     */
+    public static void release(IntArray array) {
+        ARENAS.get().intPool.offer(array.getCapacity(), array);
+    }
+
+    private void checkScope() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException(String.format(
+                    "The arena is owned by thread %s, but accessed from thread %s.",
+                    owner.getName(), Thread.currentThread().getName()));
+        }
+        if (depth == 0) {
+            throw new IllegalStateException("No arena scope is open, call ArrayArena.open() first.");
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {capacity >= 0}, but got {%d}.", capacity));
+        }
+    }
+
+    private DoubleArray takeDoubles(int capacity) {
+        checkCapacity(capacity);
+        DoubleArray array = doublePool.poll(capacity);
+        return array == null ? new DoubleArray(capacity) : array.reset();
+    }
+
+    private IntArray takeInts(int capacity) {
+        checkCapacity(capacity);
+        IntArray array = intPool.poll(capacity);
+        return array == null ? new IntArray(capacity) : array.reset();
+    }
+
+    /**
+     * 在当前作用域中分配一个{@code double}型数组，作用域关闭时自动归还。
+     *
+     * @param capacity 数组的容量。
+     * @return 元素均为{@code 0}的数组。
+     */
+    public DoubleArray doubles(int capacity) {
+        checkScope();
+        DoubleArray array = takeDoubles(capacity);
+        liveDoubles.add(array);
+        return array;
+    }
+
+    /**
+     * 在当前作用域中分配一个{@code double}型数组，作用域关闭时自动归还。
+     *
+     * @param capacity 数组的容量。
+     * @param value    元素的初始值。
+     * @return 元素均为{@code value}的数组。
+     */
+    public DoubleArray doubles(int capacity, double value) {
+        return doubles(capacity).reset(value);
+    }
+
+    /**
+     * 在当前作用域中分配一个{@code int}型数组，作用域关闭时自动归还。
+     *
+     * @param capacity 数组的容量。
+     * @return 元素均为{@code 0}的数组。
+     */
+    public IntArray ints(int capacity) {
+        checkScope();
+        IntArray array = takeInts(capacity);
+        liveInts.add(array);
+        return array;
+    }
+
+    /**
+     * 在当前作用域中分配一个{@code int}型数组，作用域关闭时自动归还。
+     *
+     * @param capacity 数组的容量。
+     * @param value    元素的初始值。
+     * @return 元素均为{@code value}的数组。
+     */
+    public IntArray ints(int capacity, int value) {
+        return ints(capacity).reset(value);
+    }
+
+    /**
+     * 获取已打开的作用域的个数。
+     *
+     * @return 已打开的作用域的个数。
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 关闭最近打开的作用域，并将其中分配的所有数组归还到池中。
+     */
+    @Override
+    public void close() {
+        checkScope();
+        depth--;
+        int doubleMark = marks[2 * depth];
+        for (int k = liveDoubles.size() - 1; k >= doubleMark; k--) {
+            DoubleArray array = liveDoubles.remove(k);
+            doublePool.offer(array.getCapacity(), array);
+        }
+        int intMark = marks[2 * depth + 1];
+        for (int k = liveInts.size() - 1; k >= intMark; k--) {
+            IntArray array = liveInts.remove(k);
+            intPool.offer(array.getCapacity(), array);
+        }
+    }
+
+    /**
+     * 类{@code Pool}按精确的容量分类保存空闲的数组，容量的种类通常很少，故以线性查找定位，
+     * 查找过程不装箱、不分配内存。
+     */
+    private static final class Pool<T> {
+
+        private int[] capacities = new int[8];
+
+        private final ArrayList<ArrayList<T>> stacks = new ArrayList<>();
+
+        private long elements;
+
+        private int indexOf(int capacity) {
+            for (int k = 0; k < stacks.size(); k++) {
+                if (capacities[k] == capacity) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        T poll(int capacity) {
+            int k = indexOf(capacity);
+            if (k < 0 || stacks.get(k).isEmpty()) {
+                return null;
+            }
+            ArrayList<T> stack = stacks.get(k);
+            elements -= capacity;
+            return stack.remove(stack.size() - 1);
+        }
+
+        void offer(int capacity, T array) {
+            if (elements + capacity > MAX_POOLED_ELEMENTS) {
+                return;
+            }
+            int k = indexOf(capacity);
+            if (k < 0) {
+                if (stacks.size() == MAX_CAPACITY_CLASSES) {
+                    return;
+                }
+                k = stacks.size();
+                if (k == capacities.length) {
+                    capacities = Arrays.copyOf(capacities, k * 2);
+                }
+                capacities[k] = capacity;
+                stacks.add(new ArrayList<>());
+            }
+            ArrayList<T> stack = stacks.get(k);
+            if (stack.size() < MAX_POOLED_PER_CAPACITY) {
+                stack.add(array);
+                elements += capacity;
+            }
+        }
+    }
+}
@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
 
@@ -80,6 +81,7 @@ public class BooleanArray {
         //必须大于等于0
         this.capacity = capacity;
         this.values = new boolean[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.BOOLEAN, ArrayAccounting.Backend.HEAP, capacity);
     }
 
     /**
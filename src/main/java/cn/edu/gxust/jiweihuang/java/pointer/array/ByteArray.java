@@ -37,9 +37,12 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBytePointer;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -79,6 +82,8 @@ public class ByteArray {
     public ByteArray(final int capacity) {
         this.capacity = capacity;
         this.values = new byte[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.BYTE, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Byte.BYTES);
     }
 
     /**
@@ -211,6 +216,17 @@ public class ByteArray {
         return copy(0, getCapacity());
     }
 
+    /**
+     * 创建一个包装该数组存储的只读{@code ByteBuffer}，不复制数据，字节序为{@code ByteOrder.LITTLE_ENDIAN}，
+     * 可用于以机器字（如{@code getLong}）批量读取数组。<p>
+     * 注意：缓冲区与数组共享存储，数组元素的修改对缓冲区可见。
+     *
+     * @return 只读的缓冲区。
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(values).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
     /**
      * 创建一个指向该数组的指针。
      *
@@ -37,9 +37,11 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharPointer;
 
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -79,6 +81,8 @@ public class CharArray {
     public CharArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new char[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.CHAR, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Character.BYTES);
     }
 
     /**
@@ -211,6 +215,17 @@ public class CharArray {
         return copy(0, getCapacity());
     }
 
+    /**
+     * 创建一个包装该数组存储的只读{@code CharBuffer}，不复制数据，
+     * 可用于批量读取数组。<p>
+     * 注意：缓冲区与数组共享存储，数组元素的修改对缓冲区可见。
+     *
+     * @return 只读的缓冲区。
+     */
+    public CharBuffer asReadOnlyBuffer() {
+        return CharBuffer.wrap(values).asReadOnlyBuffer();
+    }
+
     /**
      * 创建一个指向该数组的指针。
      *
@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
 
@@ -79,6 +80,8 @@ public class DoubleArray {
     public DoubleArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new double[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.DOUBLE, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Double.BYTES);
     }
 
     /**
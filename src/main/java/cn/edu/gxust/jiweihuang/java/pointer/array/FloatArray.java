@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatPointer;
 
@@ -78,6 +79,8 @@ public class FloatArray {
     public FloatArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new float[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.FLOAT, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Float.BYTES);
     }
 
     /**
@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
 
@@ -79,6 +80,8 @@ public class IntArray {
     public IntArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new int[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.INT, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Integer.BYTES);
     }
 
     /**
@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
 
@@ -79,6 +80,8 @@ public class LongArray {
     public LongArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new long[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.LONG, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Long.BYTES);
     }
 
     /**
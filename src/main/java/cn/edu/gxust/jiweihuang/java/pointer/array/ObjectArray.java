@@ -0,0 +1,645 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IObjectArrayPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IObjectConstPointer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 类{@code ObjectArray}用于表征对象型数组，数组元素的类型由类型参数{@code T}指定。
+ * <p>
+ * 数组有两种存储方式：<p>
+ * （1）堆内存储（缺省），数组元素以对象引用的形式保存在{@code Object[]}中；<p>
+ * （2）堆外存储，对于所有字段均为基本类型的记录（record）类型，
+ * 可通过{@code IObjectArrayCodec}将每个元素编码为固定长度的字节，
+ * 并保存在一块连续的直接内存（{@code ByteBuffer.allocateDirect}）中，
+ * 此时数组内不保存任何对象引用，读取元素时按需解码。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @param <T> 数组元素的类型。
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class ObjectArray<T> {
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 数组的堆内存储，采用堆外存储时为{@code null}。
+     */
+    private final Object[] values;
+
+    /**
+     * 数组的堆外存储，采用堆内存储时为{@code null}。
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 数组元素的编解码器，采用堆内存储时为{@code null}。
+     */
+    private final IObjectArrayCodec<T> codec;
+
+    /**
+     * 每个元素在堆外存储中所占的字节数，采用堆内存储时为{@code 0}。
+     */
+    private final int stride;
+
+    /**
+     * 类{@code ObjectArray}的主构造函数。<p>
+     * 通过指定数组的容量创建采用堆内存储的数组对象，
+     * 并将数组内所有元素的值设置为 {@code null}。
+     * <p>
+     * 注意：参数 {@code capacity}必须大于等于{@code 0}，
+     * 否则，抛出{@code java.lang.NegativeArraySizeException} 异常。
+     *
+     * @param capacity 数组的容量。
+     */
+    public ObjectArray(final int capacity) {
+        //必须大于等于0
+        this.capacity = capacity;
+        this.values = new Object[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.OBJECT, ArrayAccounting.Backend.HEAP,
+                (long) capacity * ArrayAccounting.REFERENCE_BYTES);
+        this.buffer = null;
+        this.codec = null;
+        this.stride = 0;
+    }
+
+    /**
+     * 类{@code ObjectArray}次级构造函数。<p>
+     * 首先，通过指定数组的容量创建数组对象，
+     * 然后，将数组内所有元素的值设置为参数{@code value}的值。
+     *
+     * @param capacity 数组的容量。
+     * @param value    用于初始化数组的值。
+     */
+    public ObjectArray(final int capacity, final T value) {
+        this(capacity);
+        Arrays.fill(this.values, value);
+    }
+
+    /**
+     * 类{@code ObjectArray}次级构造函数，
+     * 首先，通过指定数组的容量创建数组对象，
+     * 然后，并利用基于索引的函数指针初始化数组内元素的值。
+     *
+     * @param capacity     数组的容量。
+     * @param initFunction 用于初始化数组内元素值的函数指针。
+     */
+    public ObjectArray(final int capacity, final IObjectArrayInitFunction<T> initFunction) {
+        this(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.values[i] = initFunction.call(i);
+        }
+    }
+
+    /**
+     * 类{@code ObjectArray}次级构造函数，
+     * 创建一个采用堆外存储的数组对象，数组内所有字节均被初始化为{@code 0}。
+     * <p>
+     * 注意：参数 {@code capacity}必须大于等于{@code 0}，
+     * 且{@code capacity * codec.getSize()}不能超过{@code Integer.MAX_VALUE}，
+     * 否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param capacity 数组的容量。
+     * @param codec    数组元素的编解码器。
+     */
+    public ObjectArray(final int capacity, final IObjectArrayCodec<T> codec) {
+        Objects.requireNonNull(codec, "Expected the parameter {codec != null}.");
+        int size = codec.getSize();
+        if (capacity < 0 || size <= 0 || (long) capacity * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {capacity >= 0, codec.getSize() > 0, " +
+                            "capacity * codec.getSize() <= %d}, but got {%d, %d}.",
+                    Integer.MAX_VALUE, capacity, size));
+        }
+        this.capacity = capacity;
+        this.values = null;
+        this.codec = codec;
+        this.stride = size;
+        this.buffer = ByteBuffer.allocateDirect(capacity * size).order(ByteOrder.nativeOrder());
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.OBJECT, ArrayAccounting.Backend.OFF_HEAP,
+                (long) capacity * size);
+    }
+
+    /**
+     * 接口{@code IObjectArrayInitFunction}是一个函数指针，
+     * 用于初始化数组内元素的值。
+     * 根据预定，函数指针所指向的函数名为 {@code call},
+     * 函数的参数 {@code index}表示数组的索引，
+     * 函数返回值为数组内相应索引的初始化值。
+     *
+     * @param <T> 数组元素的类型。
+     */
+    public interface IObjectArrayInitFunction<T> extends IFunctionPointer {
+        /**
+         * 用于初始化数组内元素值的函数。
+         *
+         * @param index 数组的索引
+         * @return 数组的初始化值
+         */
+        T call(int index);
+    }
+
+    /**
+     * 接口{@code IObjectArrayCodec}用于将数组元素编码为固定长度的字节，
+     * 或从字节中解码出数组元素，仅适用于所有字段均为基本类型的记录类型。<p>
+     * 编解码时，参数{@code offset}为元素在存储中的绝对字节偏移量，
+     * 实现类应只使用{@code ByteBuffer}的绝对读写方法，
+     * 且读写的字节不能超出{@code [offset, offset + getSize())}。
+     *
+     * @param <T> 数组元素的类型。
+     */
+    public interface IObjectArrayCodec<T> {
+        /**
+         * 获取每个元素编码后的字节数。
+         *
+         * @return 每个元素编码后的字节数，必须大于{@code 0}。
+         */
+        int getSize();
+
+        /**
+         * 将元素编码并写入存储。
+         *
+         * @param buffer 存储。
+         * @param offset 元素的绝对字节偏移量。
+         * @param value  需要写入的元素。
+         */
+        void write(ByteBuffer buffer, int offset, T value);
+
+        /**
+         * 从存储中读取并解码元素。
+         *
+         * @param buffer 存储。
+         * @param offset 元素的绝对字节偏移量。
+         * @return 解码得到的元素。
+         */
+        T read(ByteBuffer buffer, int offset);
+    }
+
+    /**
+     * 获取数组的容量。
+     *
+     * @return 数组的容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 判断数组是否采用堆外存储。
+     *
+     * @return {@code true} 如果数组采用堆外存储。
+     */
+    public boolean isDirect() {
+        return codec != null;
+    }
+
+    /**
+     * 读取数组索引{@code i}处的元素，不做边界检查。
+     */
+    @SuppressWarnings("unchecked")
+    private T load(int i) {
+        if (codec == null) {
+            return (T) values[i];
+        }
+        return codec.read(buffer, i * stride);
+    }
+
+    /**
+     * 设置数组索引{@code i}处的元素，不做边界检查。
+     */
+    private void store(int i, T value) {
+        if (codec == null) {
+            values[i] = value;
+        } else {
+            codec.write(buffer, i * stride, value);
+        }
+    }
+
+    /**
+     * 检查数组索引范围{@code [from, from + length)}是否合法。
+     */
+    private void checkRange(int from, int length) {
+        if (from < 0 || length < 0 || from > capacity - length) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= from <= from + length <= %d}, but got {%d, %d}.",
+                    capacity, from, length));
+        }
+    }
+
+    /**
+     * 重置数组的值至其缺省值，
+     * 采用堆内存储时为{@code null}，采用堆外存储时所有字节为{@code 0}。
+     *
+     * @return 元素值重置后的数组。
+     */
+    public ObjectArray<T> reset() {
+        if (codec == null) {
+            Arrays.fill(values, null);
+        } else {
+            int limit = capacity * stride;
+            int i = 0;
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                buffer.putLong(i, 0L);
+            }
+            for (; i < limit; i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 将数组元素的值均重置为参数{@code value}。
+     *
+     * @param value 用于重置数组的值。
+     * @return 值被重置后的数组对象。
+     */
+    public ObjectArray<T> reset(T value) {
+        fill(0, capacity, value);
+        return this;
+    }
+
+    /**
+     * 用一个函数指针重置数组的值。
+     *
+     * @param initFunction 用于重置数组值的函数指针。
+     * @return 值被重置后的数组对象
+     */
+    public ObjectArray<T> reset(IObjectArrayInitFunction<T> initFunction) {
+        for (int i = 0; i < capacity; i++) {
+            store(i, initFunction.call(i));
+        }
+        return this;
+    }
+
+    /**
+     * 将数组索引范围{@code [from, to)}内元素的值均设置为参数{@code value}。
+     *
+     * @param from  起始索引，（包含该点）。
+     * @param to    终点索引，（不包含该点）。
+     * @param value 需要设置的值。
+     */
+    public void fill(int from, int to, T value) {
+        checkRange(from, to - from);
+        if (codec == null) {
+            Arrays.fill(values, from, to, value);
+        } else {
+            for (int i = from; i < to; i++) {
+                codec.write(buffer, i * stride, value);
+            }
+        }
+    }
+
+    /**
+     * 批量读取数组元素，相当于
+     * {@code dst[offset + k] = arr[from + k], 0 <= k < length}。
+     *
+     * @param from   数组的起始索引。
+     * @param dst    目标数组。
+     * @param offset 目标数组的起始索引。
+     * @param length 读取元素的数量。
+     */
+    public void get(int from, T[] dst, int offset, int length) {
+        checkRange(from, length);
+        if (codec == null) {
+            System.arraycopy(values, from, dst, offset, length);
+        } else {
+            Objects.checkFromIndexSize(offset, length, dst.length);
+            for (int k = 0; k < length; k++) {
+                dst[offset + k] = codec.read(buffer, (from + k) * stride);
+            }
+        }
+    }
+
+    /**
+     * 批量设置数组元素，相当于
+     * {@code arr[from + k] = src[offset + k], 0 <= k < length}。
+     *
+     * @param from   数组的起始索引。
+     * @param src    源数组。
+     * @param offset 源数组的起始索引。
+     * @param length 设置元素的数量。
+     */
+    public void set(int from, T[] src, int offset, int length) {
+        checkRange(from, length);
+        if (codec == null) {
+            System.arraycopy(src, offset, values, from, length);
+        } else {
+            Objects.checkFromIndexSize(offset, length, src.length);
+            for (int k = 0; k < length; k++) {
+                codec.write(buffer, (from + k) * stride, src[offset + k]);
+            }
+        }
+    }
+
+    /**
+     * 在两个数组间批量拷贝元素，语义与{@code System.arraycopy}一致，
+     * 允许源数组与目标数组为同一数组且拷贝范围重叠。<p>
+     * 当两个数组均采用堆外存储且元素字节数相同时，直接拷贝字节，不做任何编解码。
+     *
+     * @param src     源数组。
+     * @param srcPos  源数组的起始索引。
+     * @param dst     目标数组。
+     * @param dstPos  目标数组的起始索引。
+     * @param length  拷贝元素的数量。
+     * @param <T>     数组元素的类型。
+     */
+    public static <T> void arraycopy(ObjectArray<T> src, int srcPos,
+                                     ObjectArray<T> dst, int dstPos, int length) {
+        src.checkRange(srcPos, length);
+        dst.checkRange(dstPos, length);
+        if (src.codec == null && dst.codec == null) {
+            System.arraycopy(src.values, srcPos, dst.values, dstPos, length);
+        } else if (src.codec != null && dst.codec != null && src.stride == dst.stride
+                && src != dst) {
+            int stride = src.stride;
+            ByteBuffer from = src.buffer.duplicate();
+            from.limit((srcPos + length) * stride).position(srcPos * stride);
+            ByteBuffer to = dst.buffer.duplicate();
+            to.position(dstPos * stride);
+            to.put(from);
+        } else if (src == dst && srcPos < dstPos) {
+            for (int k = length - 1; k >= 0; k--) {
+                dst.store(dstPos + k, src.load(srcPos + k));
+            }
+        } else {
+            for (int k = 0; k < length; k++) {
+                dst.store(dstPos + k, src.load(srcPos + k));
+            }
+        }
+    }
+
+    /**
+     * 通过拷贝创建一个新的数组对象，新数组的存储方式与本数组一致。<p>
+     * 注意：参数from和to应在{@code [0, getCapacity()]}范围内，
+     * 且必须满足 {@code to >= from}，如果 {@code to == from}，
+     * 将会得到一个容量为0的数组。
+     *
+     * @param from 所需要拷贝数组的起始索引，（包含该点）。
+     * @param to   所需要拷贝数组的终点索引，（不包含该点）。
+     * @return 一个新的数组对象。
+     */
+    public ObjectArray<T> copy(int from, int to) {
+        checkRange(from, to - from);
+        ObjectArray<T> array = codec == null
+                ? new ObjectArray<>(to - from) : new ObjectArray<>(to - from, codec);
+        arraycopy(this, from, array, 0, to - from);
+        return array;
+    }
+
+    /**
+     * 通过拷贝创建一个新的数组对象。
+     *
+     * @param from 所需要拷贝数组对象的起始索引，（包含该点）。
+     * @return 一个新的数组对象。
+     */
+    public ObjectArray<T> copy(int from) {
+        return copy(from, getCapacity());
+    }
+
+    /**
+     * 通过拷贝创建一个新的数组对象。
+     *
+     * @return 一个新的数组对象。
+     */
+    public ObjectArray<T> copy() {
+        return copy(0, getCapacity());
+    }
+
+    /**
+     * 创建一个指向该数组的指针。
+     *
+     * @return 一个指向该数组的指针。
+     */
+    public IObjectArrayPointer<T> createPointer() {
+        return new ObjectPointer();
+    }
+
+    /**
+     * 创建一个指向该数组的常量指针。
+     *
+     * @return 一个指向数组的常量指针。
+     */
+    public IObjectConstPointer<T> createConstPointer() {
+        return new ObjectConstPointer();
+    }
+
+    /**
+     * 通过指定值组的方式创建采用堆内存储的数组对象。
+     *
+     * @param values 用于创建数组的值。
+     * @param <T>    数组元素的类型。
+     * @return 一个新的数组对象。
+     */
+    @SafeVarargs
+    public static <T> ObjectArray<T> of(T... values) {
+        Objects.requireNonNull(values, "Expected the parameter {values != null}.");
+        int len = values.length;
+        ObjectArray<T> array = new ObjectArray<>(len);
+        for (int i = 0; i < len; i++) {
+            array.values[i] = values[i];
+        }
+        return array;
+    }
+
+    /**
+     * 类{@code ObjectConstPointer}是{@code IObjectConstPointer}的实现，
+     * 用于表征一个指向对象型数组的指针。<p>
+     * 因为是私有类，所以此类的外部无法访问，
+     * 因为是内部类，故其拥有对其外部类数据的引用。
+     */
+    private class ObjectConstPointer implements IObjectConstPointer<T> {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * 类{@code ObjectConstPointer}的主构造器，也是唯一的构造器。
+         * 该构造器将指针的指向设置为0，
+         * 构造器是私有的，意味着该类不能被外部初始化。
+         */
+        private ObjectConstPointer() {
+            this.point = 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T get(int index) {
+            int i = index + getPoint();
+            if (i >= 0 && i < capacity) {
+                return load(i);
+            } else {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {%d <= index < %d}.", -getPoint(),
+                        capacity - getPoint()));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ObjectArray<T> getBase() {
+            return ObjectArray.this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    private final class ObjectPointer extends ObjectConstPointer implements IObjectArrayPointer<T> {
+
+        private ObjectPointer() {
+            super();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(int index, T value) {
+            int i = index + getPoint();
+            if (i >= 0 && i < capacity) {
+                store(i, value);
+            } else {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {%d <= index < %d}.", -getPoint(),
+                        capacity - getPoint()));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ObjectArray)) {
+            return false;
+        }
+        ObjectArray<?> that = (ObjectArray<?>) obj;
+        if (getCapacity() != that.getCapacity()) {
+            return false;
+        }
+        for (int i = 0; i < getCapacity(); i++) {
+            if (!Objects.equals(load(i), that.load(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(getCapacity());
+        for (int i = 0; i < getCapacity(); i++) {
+            result = 31 * result + Objects.hashCode(load(i));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ObjectArray{capacity=")
+                .append(capacity).append(", direct=").append(isDirect()).append(", values=[");
+        for (int i = 0; i < capacity; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(load(i));
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.GatherScatter;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBytePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortPointer;
+
+import java.util.Objects;
+
+/**
+ * 类{@code Permutation}表征{@code [0, n)}上的一个置换，以{@code IntArray}保存，
+ * 其中{@code get(i)}表示置换后位置{@code i}处的元素来自置换前的位置{@code get(i)}，
+ * 即{@code apply}执行{@code data[i] = data'[get(i)]}，{@code data'}为置换前的数据。
+ * <p>
+ * 构造时检查置换的有效性，此后置换只能通过{@code swap}和{@code invert}修改，因此总是有效的。
+ * {@code apply}和{@code applyInverse}委托{@code GatherScatter.permute}与{@code GatherScatter.permuteInverse}，
+ * 以循环跟踪（cycle-following）的方式就地重排数据，以当前线程分配区中的位图标记已访问的位置，
+ * 不修改置换本身，因此同一个置换可以被多个线程同时用于重排不同的数据。
+ * {@code invert}就地修改置换，运算过程中以按位取反临时标记已访问的位置，返回前还原，
+ * 与{@code swap}一样不能与其他操作同时进行。
+ * <p>
+ * MINPACK中的主元置换（如{@code qrfac}的{@code ipvt}）是从{@code 1}开始的，
+ * 可以用{@code fromOneBased}和{@code copyToOneBased}相互转换。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class Permutation {
+
+    /**
+     * 置换的值。
+     */
+    private final IntArray values;
+
+    /**
+     * 指向置换值的指针。
+     */
+    private final IIntPointer pointer;
+
+    private Permutation(IntArray values) {
+        this.values = values;
+        this.pointer = values.createPointer();
+    }
+
+    /**
+     * 创建{@code [0, size)}上的恒等置换。
+     *
+     * @param size 置换的长度。
+     */
+    public Permutation(int size) {
+        this(new IntArray(checkSize(size), i -> i));
+    }
+
+    /**
+     * 以给定的值（从{@code 0}开始）创建置换，值被复制。
+     * 如果给定的值不是{@code [0, values.getCapacity())}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常。
+     *
+     * @param values 置换的值。
+     * @return 一个新的置换。
+     */
+    public static Permutation of(IntArray values) {
+        Objects.requireNonNull(values, "Expected the parameter {values != null}.");
+        return new Permutation(check(values.copy()));
+    }
+
+    /**
+     * 以给定的值（从{@code 0}开始）创建置换。
+     *
+     * @param values 置换的值。
+     * @return 一个新的置换。
+     */
+    public static Permutation of(int... values) {
+        return new Permutation(check(IntArray.of(values)));
+    }
+
+    /**
+     * 由从{@code 1}开始的置换值（如MINPACK的{@code ipvt}）创建置换。
+     *
+     * @param indices 从{@code 1}开始的置换值的指针。
+     * @param size    置换的长度。
+     * @return 一个新的置换。
+     */
+    public static Permutation fromOneBased(IIntConstPointer indices, int size) {
+        Objects.requireNonNull(indices, "Expected the parameter {indices != null}.");
+        return new Permutation(check(new IntArray(checkSize(size), i -> indices.get(i) - 1)));
+    }
+
+    private static int checkSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {size >= 0}, but got {%d}.", size));
+        }
+        return size;
+    }
+
+    /**
+     * 检查数组是否为{@code [0, n)}的一个置换。
+     */
+    private static IntArray check(IntArray values) {
+        int n = values.getCapacity();
+        IIntConstPointer p = values.createConstPointer();
+        BooleanArray seen = new BooleanArray(n);
+        IBooleanPointer s = seen.createPointer();
+        for (int i = 0; i < n; i++) {
+            int k = p.get(i);
+            if (k < 0 || k >= n || s.get(k)) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected the parameter {values} to be a permutation of [0, %d), but got {%d} at %d.",
+                        n, k, i));
+            }
+            s.set(k, true);
+        }
+        return values;
+    }
+
+    /**
+     * 获取置换的长度。
+     *
+     * @return 置换的长度。
+     */
+    public int getSize() {
+        return values.getCapacity();
+    }
+
+    /**
+     * 获取位置{@code index}处元素在置换前的位置。
+     *
+     * @param index 位置，在{@code [0, getSize())}范围内。
+     * @return 置换前的位置。
+     */
+    public int get(int index) {
+        return pointer.get(index);
+    }
+
+    /**
+     * 获取置换值（从{@code 0}开始）的拷贝。
+     *
+     * @return 置换值的拷贝。
+     */
+    public IntArray toIntArray() {
+        return values.copy();
+    }
+
+    /**
+     * 将置换值加{@code 1}后写入{@code target[0, getSize())}，得到从{@code 1}开始的置换值（如MINPACK的{@code ipvt}）。
+     *
+     * @param target 目标指针。
+     */
+    public void copyToOneBased(IIntPointer target) {
+        for (int i = 0; i < getSize(); i++) {
+            target.set(i, pointer.get(i) + 1);
+        }
+    }
+
+    /**
+     * 判断是否为恒等置换。
+     *
+     * @return {@code true} 如果是恒等置换。
+     */
+    public boolean isIdentity() {
+        for (int i = 0; i < getSize(); i++) {
+            if (pointer.get(i) != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 交换位置{@code i}和{@code j}处的置换值，相当于在置换之后再交换这两个位置上的元素，
+     * 与主元选取时交换两列的操作一致。
+     *
+     * @param i 第一个位置。
+     * @param j 第二个位置。
+     * @return 本对象。
+     */
+    public Permutation swap(int i, int j) {
+        int k = pointer.get(i);
+        pointer.set(i, pointer.get(j));
+        pointer.set(j, k);
+        return this;
+    }
+
+    /**
+     * 创建逆置换。
+     *
+     * @return 一个新的置换，其{@code apply}等价于本置换的{@code applyInverse}。
+     */
+    public Permutation inverse() {
+        Permutation inverse = new Permutation(values.copy());
+        inverse.invert();
+        return inverse;
+    }
+
+    /**
+     * 将本置换就地变为其逆置换。
+     *
+     * @return 本对象。
+     */
+    public Permutation invert() {
+        int n = getSize();
+        for (int i = 0; i < n; i++) {
+            if (pointer.get(i) < 0) {
+                continue;
+            }
+            int previous = i;
+            int j = pointer.get(i);
+            while (j != i) {
+                int next = pointer.get(j);
+                pointer.set(j, ~previous);
+                previous = j;
+                j = next;
+            }
+            pointer.set(i, ~previous);
+        }
+        restore();
+        return this;
+    }
+
+    /**
+     * 复合置换：返回的置换{@code r}满足{@code r.get(i) == get(other.get(i))}，
+     * 即先应用本置换、再应用{@code other}的结果。
+     *
+     * @param other 后应用的置换。
+     * @return 一个新的置换。
+     */
+    public Permutation compose(Permutation other) {
+        Objects.requireNonNull(other, "Expected the parameter {other != null}.");
+        if (other.getSize() != getSize()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {other.getSize() == %d}, but got {%d}.", getSize(), other.getSize()));
+        }
+        return new Permutation(new IntArray(getSize(), i -> pointer.get(other.pointer.get(i))));
+    }
+
+    private void checkData(int offset, int capacity) {
+        if (offset < 0 || (long) offset + getSize() > capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected the pointer to cover [0, %d), but got {point = %d, capacity = %d}.",
+                    getSize(), offset, capacity));
+        }
+    }
+
+    /**
+     * 还原以按位取反临时标记的置换值。
+     */
+    private void restore() {
+        for (int i = 0; i < getSize(); i++) {
+            int k = pointer.get(i);
+            if (k < 0) {
+                pointer.set(i, ~k);
+            }
+        }
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IBooleanPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IBooleanPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IBytePointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IBytePointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(ICharPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(ICharPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IShortPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IShortPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IIntPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IIntPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(ILongPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(ILongPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IFloatPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IFloatPointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[get(i)]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation apply(IDoublePointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permute(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * 就地逆置换：{@code data[get(i)] = data'[i]}，{@code 0 <= i < getSize()}，其中{@code data'}为置换前的数据。
+     *
+     * @param data 指针。
+     * @return 本对象。
+     */
+    public Permutation applyInverse(IDoublePointer data) {
+        checkData(data.getPoint(), data.getCapacity());
+        GatherScatter.permuteInverse(data, pointer, getSize());
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Permutation)) {
+            return false;
+        }
+        Permutation that = (Permutation) obj;
+        return values.equals(that.values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Permutation{size=").append(getSize()).append(", values=[");
+        for (int i = 0; i < getSize(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(pointer.get(i));
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -37,6 +37,7 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortPointer;
 
@@ -84,6 +85,8 @@ public class ShortArray implements Serializable {
     public ShortArray(final int capacity) {
         this.capacity = capacity; //必须大于等于0
         this.values = new short[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.SHORT, ArrayAccounting.Backend.HEAP,
+                (long) capacity * Short.BYTES);
     }
 
     /**
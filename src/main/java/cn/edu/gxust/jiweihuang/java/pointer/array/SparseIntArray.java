@@ -0,0 +1,601 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 类{@code SparseIntArray}用于表征以稀疏方式存储的{@code int}型数组，
+ * 适用于绝大多数元素为{@code 0}的数组（如带掩码的残差、稀疏的权重）。<p>
+ * 数组只保存非零元素，非零元素的索引按升序保存在一个{@code int[]}中，
+ * 其值保存在与之平行的{@code int[]}中，按索引读取元素时采用二分查找，
+ * 没有被保存的元素的值为{@code 0}。<p>
+ * 数组的指针实现了{@code IIntConstPointer}和{@code IIntPointer}，
+ * 可以像普通数组的指针一样使用，指针会记住上一次访问的位置，
+ * 因此顺序访问时的开销接近常数；但指针没有对应的{@code IntArray}，
+ * 其{@code hasBase()}返回{@code false}，{@code getBase()}方法将抛出{@code java.lang.UnsupportedOperationException}异常。<p>
+ * 方法{@code createCursor}可创建一个只遍历非零元素的游标，用于跳过零元素的计算。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class SparseIntArray {
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 非零元素的索引，按升序排列，只有前{@code size}个有效。
+     */
+    private int[] indices;
+
+    /**
+     * 非零元素的值，与{@code indices}一一对应。
+     */
+    private int[] values;
+
+    /**
+     * 非零元素的数量。
+     */
+    private int size;
+
+    /**
+     * 类{@code SparseIntArray}的主构造函数。<p>
+     * 通过指定数组的容量创建数组对象，数组内所有元素的值均为{@code 0}。
+     * <p>
+     * 注意：参数 {@code capacity}必须大于等于{@code 0}，
+     * 否则，抛出{@code java.lang.NegativeArraySizeException} 异常。
+     *
+     * @param capacity 数组的容量。
+     */
+    public SparseIntArray(final int capacity) {
+        this(capacity, 8);
+    }
+
+    /**
+     * 类{@code SparseIntArray}次级构造函数。<p>
+     * 通过指定数组的容量及预计的非零元素数量创建数组对象。
+     *
+     * @param capacity      数组的容量。
+     * @param expectedCount 预计的非零元素数量。
+     */
+    public SparseIntArray(final int capacity, final int expectedCount) {
+        if (capacity < 0) {
+            throw new NegativeArraySizeException(String.format(
+                    "Expected the parameter {capacity >= 0}, but got {%d}.", capacity));
+        }
+        this.capacity = capacity;
+        int initial = Math.max(1, Math.min(expectedCount, capacity));
+        this.indices = new int[initial];
+        this.values = new int[initial];
+        this.size = 0;
+    }
+
+    /**
+     * 获取数组的容量。
+     *
+     * @return 数组的容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取非零元素的数量。
+     *
+     * @return 非零元素的数量。
+     */
+    public int getNonZeroCount() {
+        return size;
+    }
+
+    /**
+     * 重置数组的值至其缺省值，即移除所有非零元素。
+     *
+     * @return 元素值重置后的数组。
+     */
+    public SparseIntArray reset() {
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * 检查数组索引是否越界。
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= index < %d}, but got {%d}.", capacity, index));
+        }
+    }
+
+    /**
+     * 在非零元素中查找数组索引，语义与{@code Arrays.binarySearch}一致。
+     */
+    private int search(int index) {
+        return Arrays.binarySearch(indices, 0, size, index);
+    }
+
+    /**
+     * 获取数组索引{@code index}处的元素值。
+     *
+     * @param index 数组的索引。
+     * @return 元素的值，没有被保存的元素为{@code 0}。
+     */
+    public int get(int index) {
+        checkIndex(index);
+        int pos = search(index);
+        return pos >= 0 ? values[pos] : 0;
+    }
+
+    /**
+     * 设置数组索引{@code index}处的元素值。<p>
+     * 如果{@code value == 0}，则移除该元素；
+     * 如果该元素不存在且{@code value != 0}，则插入该元素，
+     * 插入与移除的开销与非零元素的数量成正比。
+     *
+     * @param index 数组的索引。
+     * @param value 需要设置的值。
+     */
+    public void set(int index, int value) {
+        checkIndex(index);
+        int pos = search(index);
+        if (pos >= 0) {
+            if (value != 0) {
+                values[pos] = value;
+            } else {
+                System.arraycopy(indices, pos + 1, indices, pos, size - pos - 1);
+                System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+                size--;
+            }
+        } else if (value != 0) {
+            pos = -pos - 1;
+            if (size == indices.length) {
+                int grown = Math.min(Math.max(size + (size >> 1), size + 1), Math.max(capacity, 1));
+                indices = Arrays.copyOf(indices, grown);
+                values = Arrays.copyOf(values, grown);
+            }
+            System.arraycopy(indices, pos, indices, pos + 1, size - pos);
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            indices[pos] = index;
+            values[pos] = value;
+            size++;
+        }
+    }
+
+    /**
+     * 将稀疏数组转换为稠密的{@code IntArray}。
+     *
+     * @return 一个新的稠密数组对象。
+     */
+    public IntArray toDense() {
+        IntArray dense = new IntArray(capacity);
+        IIntPointer pointer = dense.createPointer();
+        for (int k = 0; k < size; k++) {
+            pointer.set(indices[k], values[k]);
+        }
+        return dense;
+    }
+
+    /**
+     * 由稠密数组创建稀疏数组，只保存其中的非零元素。
+     *
+     * @param dense  指向稠密数组的指针。
+     * @param length 稠密数组元素的数量，即读取{@code dense.get(0)}至{@code dense.get(length - 1)}。
+     * @return 一个新的稀疏数组对象。
+     */
+    public static SparseIntArray of(IIntConstPointer dense, int length) {
+        Objects.requireNonNull(dense, "Expected the parameter {dense != null}.");
+        SparseIntArray array = new SparseIntArray(length);
+        for (int i = 0; i < length; i++) {
+            int value = dense.get(i);
+            if (value != 0) {
+                array.append(i, value);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * 在末尾追加一个非零元素，要求{@code index}大于所有已保存的索引。
+     */
+    private void append(int index, int value) {
+        if (size == indices.length) {
+            int grown = Math.min(Math.max(size << 1, 1), Math.max(capacity, 1));
+            indices = Arrays.copyOf(indices, grown);
+            values = Arrays.copyOf(values, grown);
+        }
+        indices[size] = index;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * 计算该稀疏数组与一个稠密向量的点积，只访问非零元素，以{@code long}型累加以避免溢出。
+     *
+     * @param dense 指向稠密向量的指针，{@code dense.get(i)}与本数组索引{@code i}处的元素对应。
+     * @return 点积。
+     */
+    public long dot(IIntConstPointer dense) {
+        long sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += (long) values[k] * dense.get(indices[k]);
+        }
+        return sum;
+    }
+
+    /**
+     * 计算两个稀疏数组的点积，只访问两者共同的非零元素（归并遍历），以{@code long}型累加以避免溢出。
+     *
+     * @param that 另一个稀疏数组，其容量应与本数组一致。
+     * @return 点积。
+     */
+    public long dot(SparseIntArray that) {
+        long sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < that.size) {
+            int a = indices[i];
+            int b = that.indices[j];
+            if (a == b) {
+                sum += (long) values[i++] * that.values[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 创建一个遍历所有非零元素的游标。
+     *
+     * @return 一个新的游标。
+     */
+    public NonZeroCursor createCursor() {
+        return new NonZeroCursor(0, capacity);
+    }
+
+    /**
+     * 创建一个遍历数组索引范围{@code [from, to)}内非零元素的游标。
+     *
+     * @param from 起始索引，（包含该点）。
+     * @param to   终点索引，（不包含该点）。
+     * @return 一个新的游标。
+     */
+    public NonZeroCursor createCursor(int from, int to) {
+        if (from < 0 || to > capacity || from > to) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= from <= to <= %d}, but got {%d, %d}.",
+                    capacity, from, to));
+        }
+        return new NonZeroCursor(from, to);
+    }
+
+    /**
+     * 类{@code NonZeroCursor}用于按索引升序遍历稀疏数组中的非零元素。<p>
+     * 使用方式：{@code while (cursor.next()) { cursor.getIndex(); cursor.getValue(); }}<p>
+     * 注意：遍历期间不应插入或移除元素，否则遍历结果不确定。
+     */
+    public final class NonZeroCursor {
+
+        /**
+         * 起始索引，（包含该点）。
+         */
+        private final int from;
+
+        /**
+         * 终点索引，（不包含该点）。
+         */
+        private final int to;
+
+        /**
+         * 当前非零元素在存储中的位置。
+         */
+        private int position;
+
+        /**
+         * 终点在存储中的位置，（不包含该点）。
+         */
+        private int end;
+
+        private NonZeroCursor(int from, int to) {
+            this.from = from;
+            this.to = to;
+            reset();
+        }
+
+        /**
+         * 将游标重置到起始位置，重置后需要调用{@code next()}才能读取第一个元素。
+         */
+        public void reset() {
+            int start = search(from);
+            this.position = (start >= 0 ? start : -start - 1) - 1;
+            int stop = search(to);
+            this.end = stop >= 0 ? stop : -stop - 1;
+        }
+
+        /**
+         * 将游标移动到下一个非零元素。
+         *
+         * @return {@code true} 如果存在下一个非零元素。
+         */
+        public boolean next() {
+            if (position + 1 < end) {
+                position++;
+                return true;
+            }
+            position = end;
+            return false;
+        }
+
+        /**
+         * 获取当前非零元素的数组索引。
+         *
+         * @return 当前非零元素的数组索引。
+         */
+        public int getIndex() {
+            return indices[position];
+        }
+
+        /**
+         * 获取当前非零元素的值。
+         *
+         * @return 当前非零元素的值。
+         */
+        public int getValue() {
+            return values[position];
+        }
+    }
+
+    /**
+     * 创建一个指向该数组的指针。
+     *
+     * @return 一个指向该数组的指针。
+     */
+    public IIntPointer createPointer() {
+        return new SparseIntPointer();
+    }
+
+    /**
+     * 创建一个指向该数组的常量指针。
+     *
+     * @return 一个指向该数组的常量指针。
+     */
+    public IIntConstPointer createConstPointer() {
+        return new SparseIntConstPointer();
+    }
+
+    /**
+     * 类{@code SparseIntConstPointer}是{@code IIntConstPointer}的实现。<p>
+     * 因为是私有类，所以此类的外部无法访问，
+     * 因为是内部类，故其拥有对其外部类数据的引用。
+     */
+    private class SparseIntConstPointer implements IIntConstPointer {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * 上一次访问的非零元素在存储中的位置，用于加速顺序访问。
+         */
+        private int hint;
+
+        private SparseIntConstPointer() {
+            this.point = 0;
+            this.hint = 0;
+        }
+
+        /**
+         * 将相对于指针指向的索引转换为数组索引，并检查其是否越界。
+         */
+        final int arrayIndex(int index) {
+            int i = index + point;
+            if (i >= 0 && i < capacity) {
+                return i;
+            }
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= index < %d}.", -point, capacity - point));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int get(int index) {
+            int i = arrayIndex(index);
+            int h = hint;
+            if (h < size) {
+                int current = indices[h];
+                if (current == i) {
+                    return values[h];
+                }
+                if (current < i) {
+                    if (h + 1 == size || indices[h + 1] > i) {
+                        return 0;
+                    }
+                    if (indices[h + 1] == i) {
+                        hint = h + 1;
+                        return values[h + 1];
+                    }
+                }
+            }
+            int pos = search(i);
+            if (pos >= 0) {
+                hint = pos;
+                return values[pos];
+            }
+            hint = Math.max(0, -pos - 2);
+            return 0;
+        }
+
+        /**
+         * 稀疏数组没有对应的{@code IntArray}。
+         *
+         * @return {@code false}。
+         */
+        @Override
+        public boolean hasBase() {
+            return false;
+        }
+
+        /**
+         * 稀疏数组没有对应的{@code IntArray}，
+         * 该方法总是抛出{@code java.lang.UnsupportedOperationException}异常。
+         *
+         * @return 无。
+         */
+        @Override
+        public IntArray getBase() {
+            throw new UnsupportedOperationException(
+                    "A sparse array has no dense base array, use toDense() instead.");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    private final class SparseIntPointer extends SparseIntConstPointer implements IIntPointer {
+
+        private SparseIntPointer() {
+            super();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(int index, int value) {
+            SparseIntArray.this.set(arrayIndex(index), value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SparseIntArray)) {
+            return false;
+        }
+        SparseIntArray that = (SparseIntArray) obj;
+        if (getCapacity() != that.getCapacity() || size != that.size) {
+            return false;
+        }
+        for (int k = 0; k < size; k++) {
+            if (indices[k] != that.indices[k] || values[k] != that.values[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(getCapacity());
+        for (int k = 0; k < size; k++) {
+            result = 31 * result + indices[k];
+            result = 31 * result + Integer.hashCode(values[k]);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("SparseIntArray{capacity=")
+                .append(capacity).append(", values={");
+        for (int k = 0; k < size; k++) {
+            if (k > 0) {
+                builder.append(", ");
+            }
+            builder.append(indices[k]).append('=').append(values[k]);
+        }
+        return builder.append("}}").toString();
+    }
+}
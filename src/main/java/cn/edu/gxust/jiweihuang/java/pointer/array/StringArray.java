@@ -37,19 +37,35 @@
 package cn.edu.gxust.jiweihuang.java.pointer.array;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IStringConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IStringPointer;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * 类{@code StringArray}用于表征{@code String}型数组。
  * <p>
+ * 数组有两种存储模式：<p>
+ * （1）普通模式（缺省），元素以{@code String}对象的形式保存在{@code String[]}中；<p>
+ * （2）UTF-8紧凑模式，由{@code toUtf8}创建，所有元素的UTF-8编码依次相连，
+ * 保存在一块连续的字节存储（堆内或堆外）中，并以一个{@code IntArray}记录各元素的起始偏移量。
+ * 该模式下不保存任何{@code String}对象，只有在{@code get}时才按需解码，
+ * 而{@code compareUtf8}、{@code startsWithUtf8}、{@code utf8HashCode}等方法
+ * 直接在字节上计算，无需创建{@code String}对象。
+ * UTF-8紧凑模式的数组是只读的，修改元素将抛出{@code java.lang.UnsupportedOperationException}异常。
+ * <p>
  * Development status：Finished     # Developing, Finished  <p>
  * Javadoc status: Finished         # Missing, Developing, Finished  <p>
  * Test status: None                # None, Missing, Developing, Finished  <p>
- * Last revision date: 2019-12-25 <p>
+ * Last revision date: 2026-10-19 <p>
  *
  * @author JiweiHuang
  * @since 20191205
@@ -62,10 +78,27 @@ public class StringArray {
     private final int capacity;
 
     /**
-     * 数组的存储。
+     * 数组的存储，UTF-8紧凑模式下为{@code null}。
      */
     private final String[] values;
 
+    /**
+     * UTF-8紧凑模式下数组的存储，所有元素的UTF-8编码依次相连，普通模式下为{@code null}。
+     */
+    private final ByteBuffer utf8;
+
+    /**
+     * UTF-8紧凑模式下各元素的起始偏移量，共{@code capacity + 1}个，
+     * 第{@code i}个元素的编码占据{@code [offsets[i], offsets[i + 1])}，普通模式下为{@code null}。
+     */
+    private final IIntConstPointer offsets;
+
+    /**
+     * UTF-8紧凑模式下用于标记{@code null}元素的常量指针，在构造时创建一次，以免每次读取都创建指针；
+     * 如果数组中没有{@code null}元素，则为{@code null}。
+     */
+    private final IBooleanConstPointer nulls;
+
     /**
      * 类{@code StringArray}的主构造函数。<p>
      * 通过指定数组的容量创建数组对象，
@@ -80,6 +113,30 @@ public class StringArray {
         //必须大于等于0
         this.capacity = capacity;
         this.values = new String[capacity];
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.STRING, ArrayAccounting.Backend.HEAP,
+                (long) capacity * ArrayAccounting.REFERENCE_BYTES);
+        this.utf8 = null;
+        this.offsets = null;
+        this.nulls = null;
+    }
+
+    /**
+     * 类{@code StringArray}的私有构造函数，用于创建UTF-8紧凑模式的数组。
+     *
+     * @param capacity 数组的容量。
+     * @param utf8     所有元素的UTF-8编码。
+     * @param offsets  各元素的起始偏移量，共{@code capacity + 1}个。
+     * @param nulls    用于标记{@code null}元素，可以为{@code null}。
+     */
+    private StringArray(final int capacity, final ByteBuffer utf8,
+                        final IntArray offsets, final BooleanArray nulls) {
+        this.capacity = capacity;
+        this.values = null;
+        this.utf8 = utf8;
+        this.offsets = offsets.createConstPointer();
+        this.nulls = nulls == null ? null : nulls.createConstPointer();
+        ArrayAccounting.record(this, ArrayAccounting.ElementType.STRING,
+                utf8.isDirect() ? ArrayAccounting.Backend.OFF_HEAP : ArrayAccounting.Backend.HEAP, utf8.capacity());
     }
 
     /**
@@ -147,6 +204,7 @@ public class StringArray {
      * @return 元素值重置后的数组。
      */
     public StringArray reset() {
+        checkWritable();
         for (int i = 0; i < capacity; i++) {
             this.values[i] = null;
         }
@@ -160,6 +218,7 @@ public class StringArray {
      * @return 值被重置后的数组对象。
      */
     public StringArray reset(String value) {
+        checkWritable();
         for (int i = 0; i < capacity; i++) {
             this.values[i] = value;
         }
@@ -173,6 +232,7 @@ public class StringArray {
      * @return 值被重置后的数组对象
      */
     public StringArray reset(IStringArrayInitFunction initFunction) {
+        checkWritable();
         for (int i = 0; i < capacity; i++) {
             this.values[i] = initFunction.call(i);
         }
@@ -180,7 +240,7 @@ public class StringArray {
     }
 
     /**
-     * 通过拷贝创建一个新的数组对象。<p>
+     * 通过拷贝创建一个新的数组对象，新数组的存储模式与本数组一致。<p>
      * 注意：参数from和to应在{@code [0, getCapacity()]}范围内，
      * 且必须满足 {@code to >= from}，如果 {@code to == from}，
      * 将会得到一个容量为0的数组。
@@ -190,7 +250,34 @@ public class StringArray {
      * @return 一个新的数组对象。
      */
     public StringArray copy(int from, int to) {
-        return of(Arrays.copyOfRange(this.values, from, to));
+        if (utf8 == null) {
+            return of(Arrays.copyOfRange(this.values, from, to));
+        }
+        if (from < 0 || to > capacity || from > to) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= from <= to <= %d}, but got {%d, %d}.",
+                    capacity, from, to));
+        }
+        int base = offsets.get(from);
+        int length = offsets.get(to) - base;
+        ByteBuffer bytes = utf8.isDirect() ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+        ByteBuffer source = utf8.duplicate();
+        source.limit(base + length).position(base);
+        bytes.put(source).clear();
+        IntArray starts = new IntArray(to - from + 1);
+        IIntPointer startPointer = starts.createPointer();
+        for (int i = from; i <= to; i++) {
+            startPointer.set(i - from, offsets.get(i) - base);
+        }
+        BooleanArray flags = null;
+        if (nulls != null) {
+            flags = new BooleanArray(to - from);
+            IBooleanPointer flagPointer = flags.createPointer();
+            for (int i = from; i < to; i++) {
+                flagPointer.set(i - from, isNull(i));
+            }
+        }
+        return new StringArray(to - from, bytes, starts, flags);
     }
 
     /**
@@ -212,6 +299,351 @@ public class StringArray {
         return copy(0, getCapacity());
     }
 
+    /**
+     * 判断数组是否为UTF-8紧凑模式。
+     *
+     * @return {@code true} 如果数组为UTF-8紧凑模式。
+     */
+    public boolean isUtf8() {
+        return utf8 != null;
+    }
+
+    /**
+     * 检查数组是否可写，UTF-8紧凑模式的数组是只读的。
+     */
+    private void checkWritable() {
+        if (utf8 != null) {
+            throw new UnsupportedOperationException("A packed UTF-8 StringArray is read-only.");
+        }
+    }
+
+    /**
+     * 检查数组索引是否越界。
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= index < %d}, but got {%d}.", capacity, index));
+        }
+    }
+
+    /**
+     * 判断UTF-8紧凑模式下数组索引{@code i}处的元素是否为{@code null}。
+     */
+    private boolean isNull(int i) {
+        return nulls != null && nulls.get(i);
+    }
+
+    /**
+     * 读取数组索引{@code i}处的元素，UTF-8紧凑模式下按需解码，不做边界检查。
+     */
+    private String load(int i) {
+        if (utf8 == null) {
+            return values[i];
+        }
+        if (isNull(i)) {
+            return null;
+        }
+        int start = offsets.get(i);
+        int length = offsets.get(i + 1) - start;
+        if (utf8.hasArray()) {
+            return new String(utf8.array(), utf8.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        for (int k = 0; k < length; k++) {
+            bytes[k] = utf8.get(start + k);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 创建一个与本数组元素相同的UTF-8紧凑模式数组。<p>
+     * 所有元素的UTF-8编码依次保存在一块连续的字节存储中，
+     * 未配对的代理字符（surrogate）被编码为{@code '?'}，与{@code String.getBytes(UTF_8)}一致。
+     * 由于偏移量以{@code int}型保存，所有元素编码后的总字节数不能超过{@code Integer.MAX_VALUE}，
+     * 否则，抛出{@code java.lang.IllegalStateException} 异常。
+     *
+     * @param direct 如果为{@code true}，则字节存储位于堆外。
+     * @return 一个新的UTF-8紧凑模式数组。
+     */
+    public StringArray toUtf8(boolean direct) {
+        IntArray starts = new IntArray(capacity + 1);
+        IIntPointer startPointer = starts.createPointer();
+        BooleanArray flags = null;
+        long total = 0;
+        for (int i = 0; i < capacity; i++) {
+            startPointer.set(i, (int) total);
+            String value = load(i);
+            if (value == null) {
+                if (flags == null) {
+                    flags = new BooleanArray(capacity);
+                }
+                flags.createPointer().set(i, true);
+            } else {
+                total += utf8Length(value);
+                if (total > Integer.MAX_VALUE) {
+                    throw new IllegalStateException(String.format(
+                            "The UTF-8 encoded size of the array exceeds %d bytes.", Integer.MAX_VALUE));
+                }
+            }
+        }
+        startPointer.set(capacity, (int) total);
+        ByteBuffer bytes = direct ? ByteBuffer.allocateDirect((int) total) : ByteBuffer.allocate((int) total);
+        for (int i = 0; i < capacity; i++) {
+            String value = load(i);
+            if (value != null) {
+                encodeUtf8(value, bytes, startPointer.get(i));
+            }
+        }
+        return new StringArray(capacity, bytes, starts, flags);
+    }
+
+    /**
+     * 计算字符串UTF-8编码后的字节数。
+     */
+    private static int utf8Length(String value) {
+        int length = 0;
+        int n = value.length();
+        for (int k = 0; k < n; k++) {
+            char c = value.charAt(k);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && k + 1 < n
+                    && Character.isLowSurrogate(value.charAt(k + 1))) {
+                length += 4;
+                k++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 将字符串的UTF-8编码写入字节存储的{@code offset}处。
+     */
+    private static void encodeUtf8(String value, ByteBuffer bytes, int offset) {
+        int p = offset;
+        int n = value.length();
+        for (int k = 0; k < n; k++) {
+            char c = value.charAt(k);
+            if (c < 0x80) {
+                bytes.put(p++, (byte) c);
+            } else if (c < 0x800) {
+                bytes.put(p++, (byte) (0xC0 | (c >> 6)));
+                bytes.put(p++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && k + 1 < n
+                    && Character.isLowSurrogate(value.charAt(k + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++k));
+                bytes.put(p++, (byte) (0xF0 | (cp >> 18)));
+                bytes.put(p++, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+                bytes.put(p++, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+                bytes.put(p++, (byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                bytes.put(p++, (byte) '?');
+            } else {
+                bytes.put(p++, (byte) (0xE0 | (c >> 12)));
+                bytes.put(p++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                bytes.put(p++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * 获取数组索引{@code index}处元素UTF-8编码后的字节数，
+     * 如果该元素为{@code null}，返回{@code -1}。
+     *
+     * @param index 数组的索引。
+     * @return 元素UTF-8编码后的字节数。
+     */
+    public int getUtf8Length(int index) {
+        checkIndex(index);
+        if (utf8 == null) {
+            return values[index] == null ? -1 : utf8Length(values[index]);
+        }
+        return isNull(index) ? -1 : offsets.get(index + 1) - offsets.get(index);
+    }
+
+    /**
+     * 按UTF-8编码的无符号字节序比较两个元素，{@code null}小于任何非{@code null}元素。<p>
+     * UTF-8字节序与Unicode码点序一致，但对于增补字符（supplementary character），
+     * 与{@code String.compareTo}的UTF-16代码单元序可能不同。<p>
+     * 对于UTF-8紧凑模式的数组，比较直接在字节上进行，每次比较8个字节，不创建{@code String}对象。
+     *
+     * @param i 第一个元素的数组索引。
+     * @param j 第二个元素的数组索引。
+     * @return 负数、零或正数，分别表示第一个元素小于、等于或大于第二个元素。
+     */
+    public int compareUtf8(int i, int j) {
+        checkIndex(i);
+        checkIndex(j);
+        if (utf8 == null) {
+            if (values[i] == null || values[j] == null) {
+                return Boolean.compare(values[i] != null, values[j] != null);
+            }
+            byte[] a = values[i].getBytes(StandardCharsets.UTF_8);
+            byte[] b = values[j].getBytes(StandardCharsets.UTF_8);
+            return compareBytes(ByteBuffer.wrap(a), 0, a.length, ByteBuffer.wrap(b), 0, b.length);
+        }
+        if (isNull(i) || isNull(j)) {
+            return Boolean.compare(!isNull(i), !isNull(j));
+        }
+        int a = offsets.get(i);
+        int b = offsets.get(j);
+        return compareBytes(utf8, a, offsets.get(i + 1) - a, utf8, b, offsets.get(j + 1) - b);
+    }
+
+    /**
+     * 按UTF-8编码的无符号字节序比较一个元素与给定的UTF-8字节，{@code null}元素小于任何字节序列。
+     *
+     * @param index 元素的数组索引。
+     * @param bytes 用于比较的UTF-8字节，如{@code key.getBytes(StandardCharsets.UTF_8)}。
+     * @return 负数、零或正数，分别表示元素小于、等于或大于给定的字节。
+     */
+    public int compareUtf8(int index, byte[] bytes) {
+        checkIndex(index);
+        Objects.requireNonNull(bytes, "Expected the parameter {bytes != null}.");
+        if (utf8 == null) {
+            if (values[index] == null) {
+                return -1;
+            }
+            byte[] a = values[index].getBytes(StandardCharsets.UTF_8);
+            return compareBytes(ByteBuffer.wrap(a), 0, a.length, ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+        if (isNull(index)) {
+            return -1;
+        }
+        int a = offsets.get(index);
+        return compareBytes(utf8, a, offsets.get(index + 1) - a,
+                ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * 判断一个元素的UTF-8编码是否以给定的字节开头，{@code null}元素总是返回{@code false}。
+     *
+     * @param index  元素的数组索引。
+     * @param prefix 前缀的UTF-8字节，如{@code prefix.getBytes(StandardCharsets.UTF_8)}。
+     * @return {@code true} 如果元素以给定的前缀开头。
+     */
+    public boolean startsWithUtf8(int index, byte[] prefix) {
+        checkIndex(index);
+        Objects.requireNonNull(prefix, "Expected the parameter {prefix != null}.");
+        if (utf8 == null) {
+            if (values[index] == null) {
+                return false;
+            }
+            byte[] a = values[index].getBytes(StandardCharsets.UTF_8);
+            return a.length >= prefix.length && compareBytes(ByteBuffer.wrap(a), 0, prefix.length,
+                    ByteBuffer.wrap(prefix), 0, prefix.length) == 0;
+        }
+        if (isNull(index)) {
+            return false;
+        }
+        int a = offsets.get(index);
+        return offsets.get(index + 1) - a >= prefix.length
+                && compareBytes(utf8, a, prefix.length, ByteBuffer.wrap(prefix), 0, prefix.length) == 0;
+    }
+
+    /**
+     * 计算一个元素UTF-8编码的散列值，
+     * 其值与{@code Arrays.hashCode(value.getBytes(StandardCharsets.UTF_8))}一致，
+     * {@code null}元素的散列值为{@code 0}。
+     *
+     * @param index 元素的数组索引。
+     * @return 元素UTF-8编码的散列值。
+     */
+    public int utf8HashCode(int index) {
+        checkIndex(index);
+        if (utf8 == null) {
+            return values[index] == null ? 0
+                    : Arrays.hashCode(values[index].getBytes(StandardCharsets.UTF_8));
+        }
+        if (isNull(index)) {
+            return 0;
+        }
+        int result = 1;
+        int end = offsets.get(index + 1);
+        for (int k = offsets.get(index); k < end; k++) {
+            result = 31 * result + utf8.get(k);
+        }
+        return result;
+    }
+
+    /**
+     * 按UTF-8编码的无符号字节序（与{@code compareUtf8}一致）对元素做稳定的MSD基数排序，
+     * 返回排序索引（argsort），即排序后依次排列的元素的数组索引，{@code null}元素排在最前面。<p>
+     * 普通模式的数组先编码为UTF-8紧凑模式再排序；排序只比较字节，不创建{@code String}对象，
+     * 数组较大时，首字节分配后的各个桶并行排序。
+     *
+     * @return 排序索引。
+     */
+    public IntArray argsortUtf8() {
+        int[] order = (utf8 == null ? toUtf8(false) : this).createSorter().argsort();
+        return new IntArray(capacity, i -> order[i]);
+    }
+
+    /**
+     * 按UTF-8编码的无符号字节序对元素排序，并将相等的元素划分为组，
+     * 用于去重、计数和以字符串为键的分组（group-by）。
+     *
+     * @return 分组结果。
+     */
+    public StringArrayGroups groupUtf8() {
+        Utf8RadixSort sorter = (utf8 == null ? toUtf8(false) : this).createSorter();
+        int[] order = sorter.argsort();
+        return new StringArrayGroups(this, order, sorter.groupStarts(order));
+    }
+
+    /**
+     * 获取所有不同的元素，按UTF-8编码的无符号字节序排列，如果数组含有{@code null}，则{@code null}排在最前面。
+     *
+     * @return 由不同的元素组成的新数组。
+     */
+    public StringArray distinctUtf8() {
+        return groupUtf8().getKeys();
+    }
+
+    /**
+     * 创建UTF-8紧凑模式数组的基数排序器。
+     */
+    private Utf8RadixSort createSorter() {
+        int[] starts = new int[capacity];
+        int[] lengths = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            starts[i] = offsets.get(i);
+            lengths[i] = isNull(i) ? -1 : offsets.get(i + 1) - starts[i];
+        }
+        return new Utf8RadixSort(utf8, starts, lengths);
+    }
+
+    /**
+     * 按无符号字节序比较两段字节，每次比较8个字节（大端序读取，故无符号长整型的大小关系即字节序）。
+     */
+    static int compareBytes(ByteBuffer a, int aFrom, int aLength,
+                            ByteBuffer b, int bFrom, int bLength) {
+        int n = Math.min(aLength, bLength);
+        int k = 0;
+        for (; k + Long.BYTES <= n; k += Long.BYTES) {
+            long x = a.getLong(aFrom + k);
+            long y = b.getLong(bFrom + k);
+            if (x != y) {
+                return Long.compareUnsigned(x, y);
+            }
+        }
+        for (; k < n; k++) {
+            int x = a.get(aFrom + k) & 0xFF;
+            int y = b.get(bFrom + k) & 0xFF;
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return Integer.compare(aLength, bLength);
+    }
+
     /**
      * 创建一个指向该数组的指针。
      *
@@ -279,7 +711,7 @@ public class StringArray {
         public String get(int index) {
             int i = index + getPoint();
             if (i >= 0 && i < capacity) {
-                return values[i];
+                return load(i);
             } else {
                 throw new ArrayIndexOutOfBoundsException(String.format(
                         "Expected parameters {%d <= index < %d}.", -getPoint(),
@@ -337,6 +769,7 @@ public class StringArray {
          */
         @Override
         public void set(int index, String value) {
+            checkWritable();
             int i = index + getPoint();
             if (i >= 0 && i < capacity) {
                 values[i] = value;
@@ -365,7 +798,7 @@ public class StringArray {
         }
         IStringConstPointer thatPointer = that.createPointer();
         for (int i = 0; i < getCapacity(); i++) {
-            if (!Objects.equals(values[i], thatPointer.get(i))) {
+            if (!Objects.equals(load(i), thatPointer.get(i))) {
                 return false;
             }
         }
@@ -378,7 +811,15 @@ public class StringArray {
     @Override
     public int hashCode() {
         int result = Objects.hash(getCapacity());
-        result = 31 * result + Arrays.hashCode(values);
+        if (utf8 == null) {
+            result = 31 * result + Arrays.hashCode(values);
+        } else {
+            int valuesHash = 1;
+            for (int i = 0; i < capacity; i++) {
+                valuesHash = 31 * valuesHash + Objects.hashCode(load(i));
+            }
+            result = 31 * result + valuesHash;
+        }
         return result;
     }
 
@@ -387,9 +828,16 @@ public class StringArray {
      */
     @Override
     public String toString() {
+        String[] strings = values;
+        if (utf8 != null) {
+            strings = new String[capacity];
+            for (int i = 0; i < capacity; i++) {
+                strings[i] = load(i);
+            }
+        }
         return "StringArray{" +
                 "capacity=" + capacity +
-                ", values=" + Arrays.toString(values) +
+                ", values=" + Arrays.toString(strings) +
                 '}';
     }
 }
@@ -0,0 +1,184 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IStringConstPointer;
+
+/**
+ * 类{@code StringArrayGroups}表征{@code StringArray}排序后的分组结果（run-length grouping），
+ * 由{@code StringArray.groupUtf8()}创建。
+ * <p>
+ * 元素按UTF-8编码的无符号字节序稳定排序，相等的元素在排序后相邻，组成一个组，
+ * 组按键的大小依次编号为{@code [0, getGroupCount())}，如果数组含有{@code null}，则其组的序号为{@code 0}；
+ * 同一组内的元素按数组索引从小到大排列。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class StringArrayGroups {
+
+    /**
+     * 被分组的数组。
+     */
+    private final StringArray source;
+
+    /**
+     * 排序索引。
+     */
+    private final int[] order;
+
+    /**
+     * 各组在排序索引中的起始位置，最后附加排序索引的长度。
+     */
+    private final int[] groupStarts;
+
+    StringArrayGroups(StringArray source, int[] order, int[] groupStarts) {
+        this.source = source;
+        this.order = order;
+        this.groupStarts = groupStarts;
+    }
+
+    private void checkGroup(int group) {
+        if (group < 0 || group >= getGroupCount()) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= group < %d}, but got {%d}.", getGroupCount(), group));
+        }
+    }
+
+    /**
+     * 获取组的个数，即不同元素的个数。
+     *
+     * @return 组的个数。
+     */
+    public int getGroupCount() {
+        return groupStarts.length - 1;
+    }
+
+    /**
+     * 获取排序索引，即排序后依次排列的元素的数组索引。
+     *
+     * @return 排序索引。
+     */
+    public IntArray getOrder() {
+        return new IntArray(order.length, i -> order[i]);
+    }
+
+    /**
+     * 获取组在排序索引中的起始位置，该组的元素为{@code getOrder()}的
+     * {@code [getGroupStart(group), getGroupStart(group) + getGroupSize(group))}。
+     *
+     * @param group 组的序号。
+     * @return 组在排序索引中的起始位置。
+     */
+    public int getGroupStart(int group) {
+        checkGroup(group);
+        return groupStarts[group];
+    }
+
+    /**
+     * 获取组中元素的个数。
+     *
+     * @param group 组的序号。
+     * @return 组中元素的个数。
+     */
+    public int getGroupSize(int group) {
+        checkGroup(group);
+        return groupStarts[group + 1] - groupStarts[group];
+    }
+
+    /**
+     * 获取组中第一个元素（数组索引最小的元素）的数组索引。
+     *
+     * @param group 组的序号。
+     * @return 组中第一个元素的数组索引。
+     */
+    public int getFirstIndex(int group) {
+        checkGroup(group);
+        return order[groupStarts[group]];
+    }
+
+    /**
+     * 获取组的键，即组中的元素。
+     *
+     * @param group 组的序号。
+     * @return 组的键。
+     */
+    public String getKey(int group) {
+        return source.createConstPointer().get(getFirstIndex(group));
+    }
+
+    /**
+     * 获取所有组的键，即按序排列的所有不同元素。
+     *
+     * @return 由各组的键组成的新数组。
+     */
+    public StringArray getKeys() {
+        IStringConstPointer pointer = source.createConstPointer();
+        return new StringArray(getGroupCount(), g -> pointer.get(order[groupStarts[g]]));
+    }
+
+    /**
+     * 获取各组中元素的个数。
+     *
+     * @return 由各组中元素的个数组成的新数组。
+     */
+    public IntArray getCounts() {
+        return new IntArray(getGroupCount(), g -> groupStarts[g + 1] - groupStarts[g]);
+    }
+
+    /**
+     * 获取每个元素所在组的序号，可作为以字符串为键的分组运算的整数编码。
+     *
+     * @return 与被分组的数组等长的新数组，其数组索引{@code i}处为元素{@code i}所在组的序号。
+     */
+    public IntArray getGroupIds() {
+        IntArray ids = new IntArray(order.length);
+        IIntPointer pointer = ids.createPointer();
+        for (int g = 0; g < getGroupCount(); g++) {
+            for (int k = groupStarts[g]; k < groupStarts[g + 1]; k++) {
+                pointer.set(order[k], g);
+            }
+        }
+        return ids;
+    }
+}
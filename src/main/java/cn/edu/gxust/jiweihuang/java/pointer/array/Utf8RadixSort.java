@@ -0,0 +1,259 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.ForkJoinBlocks;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 类{@code Utf8RadixSort}对UTF-8紧凑存储的字符串做最高位优先（MSD）的基数排序，
+ * 得到按无符号字节序排列的稳定的索引序（argsort）。
+ * <p>
+ * 每一轮按第{@code depth}个字节将区间分配到257个桶中（桶{@code 0}表示字符串已结束），
+ * 已结束的字符串彼此相等，不再继续划分；
+ * 如果整个区间都落入同一个桶（即共同前缀），则直接比较下一个字节，不做分配；
+ * 较短的区间改用从{@code depth}开始比较的插入排序。
+ * 待处理的区间保存在显式的栈中，因此很长的共同前缀不会导致栈溢出。
+ * 区间较长时，首字节分配后的各个桶在公共的{@code ForkJoinPool}中并行排序。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+final class Utf8RadixSort {
+
+    /**
+     * 改用插入排序的区间长度。
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * 桶的个数：256个字节值，以及表示字符串已结束的桶{@code 0}。
+     */
+    private static final int BUCKETS = 257;
+
+    /**
+     * 字符串的UTF-8字节存储。
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * 各字符串在字节存储中的起始位置。
+     */
+    private final int[] starts;
+
+    /**
+     * 各字符串的字节数，{@code null}为{@code -1}。
+     */
+    private final int[] lengths;
+
+    /**
+     * 创建排序器。
+     *
+     * @param bytes   字符串的UTF-8字节存储。
+     * @param starts  各字符串的起始位置。
+     * @param lengths 各字符串的字节数，{@code null}为{@code -1}。
+     */
+    Utf8RadixSort(ByteBuffer bytes, int[] starts, int[] lengths) {
+        this.bytes = bytes;
+        this.starts = starts;
+        this.lengths = lengths;
+    }
+
+    /**
+     * 计算字符串的稳定排序索引，{@code null}排在最前面。
+     *
+     * @return 排序后依次排列的字符串序号。
+     */
+    int[] argsort() {
+        int n = lengths.length;
+        int[] order = new int[n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (lengths[i] < 0) {
+                order[k++] = i;
+            }
+        }
+        int lo = k;
+        for (int i = 0; i < n; i++) {
+            if (lengths[i] >= 0) {
+                order[k++] = i;
+            }
+        }
+        sort(order, lo, n);
+        return order;
+    }
+
+    /**
+     * 将排序后相等的相邻字符串划分为组（run-length），
+     * 返回各组在{@code order}中的起始位置，最后附加{@code order.length}。
+     *
+     * @param order 排序索引。
+     * @return 各组的起始位置。
+     */
+    int[] groupStarts(int[] order) {
+        int n = order.length;
+        int[] groups = new int[n + 1];
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            if (k == 0 || !equal(order[k - 1], order[k])) {
+                groups[count++] = k;
+            }
+        }
+        groups[count++] = n;
+        return Arrays.copyOf(groups, count);
+    }
+
+    private boolean equal(int a, int b) {
+        if (lengths[a] != lengths[b]) {
+            return false;
+        }
+        return lengths[a] < 0 || compare(a, b, 0) == 0;
+    }
+
+    private int key(int element, int depth) {
+        return depth < lengths[element] ? (bytes.get(starts[element] + depth) & 0xFF) + 1 : 0;
+    }
+
+    private void sort(int[] order, int lo, int hi) {
+        int[] buffer = new int[order.length];
+        if (ForkJoinBlocks.blockCount(hi - lo) == 1) {
+            sort(order, buffer, lo, hi, 0);
+            return;
+        }
+        int[] count = new int[BUCKETS + 1];
+        distribute(order, buffer, lo, hi, 0, count);
+        ForkJoinBlocks.invoke(BUCKETS - 1, b -> {
+            int from = lo + count[b + 1];
+            int to = lo + count[b + 2];
+            if (to - from > 1) {
+                sort(order, buffer, from, to, 1);
+            }
+        });
+    }
+
+    /**
+     * 按第{@code depth}个字节将{@code order[lo, hi)}稳定地分配到各个桶中，
+     * 分配后桶{@code b}位于{@code [lo + count[b], lo + count[b + 1])}。
+     */
+    private void distribute(int[] order, int[] buffer, int lo, int hi, int depth, int[] count) {
+        Arrays.fill(count, 0);
+        for (int i = lo; i < hi; i++) {
+            count[key(order[i], depth) + 1]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            count[b + 1] += count[b];
+        }
+        for (int i = lo; i < hi; i++) {
+            int element = order[i];
+            buffer[lo + count[key(element, depth)]++] = element;
+        }
+        System.arraycopy(buffer, lo, order, lo, hi - lo);
+        System.arraycopy(count, 0, count, 1, BUCKETS);
+        count[0] = 0;
+    }
+
+    private void sort(int[] order, int[] buffer, int lo, int hi, int depth) {
+        int[] count = new int[BUCKETS + 1];
+        int[] stack = new int[3 * BUCKETS];
+        int top = 0;
+        stack[top++] = lo;
+        stack[top++] = hi;
+        stack[top++] = depth;
+        while (top > 0) {
+            int d = stack[--top];
+            int to = stack[--top];
+            int from = stack[--top];
+            if (to - from < INSERTION_THRESHOLD) {
+                insertionSort(order, from, to, d);
+                continue;
+            }
+            int first = key(order[from], d);
+            int same = from + 1;
+            while (same < to && key(order[same], d) == first) {
+                same++;
+            }
+            if (same == to) {
+                if (first != 0) {
+                    stack[top++] = from;
+                    stack[top++] = to;
+                    stack[top++] = d + 1;
+                }
+                continue;
+            }
+            distribute(order, buffer, from, to, d, count);
+            for (int b = 1; b < BUCKETS; b++) {
+                int start = from + count[b];
+                int end = from + count[b + 1];
+                if (end - start > 1) {
+                    if (top + 3 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = start;
+                    stack[top++] = end;
+                    stack[top++] = d + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 稳定的插入排序，区间内的字符串前{@code depth}个字节均相同。
+     */
+    private void insertionSort(int[] order, int lo, int hi, int depth) {
+        for (int i = lo + 1; i < hi; i++) {
+            int element = order[i];
+            int j = i - 1;
+            while (j >= lo && compare(order[j], element, depth) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = element;
+        }
+    }
+
+    private int compare(int a, int b, int depth) {
+        return StringArray.compareBytes(bytes, starts[a] + depth, lengths[a] - depth,
+                bytes, starts[b] + depth, lengths[b] - depth);
+    }
+}
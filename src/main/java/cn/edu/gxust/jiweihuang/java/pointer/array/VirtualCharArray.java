@@ -0,0 +1,359 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharConstPointer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 类{@code VirtualCharArray}用于表征一个虚拟的{@code char}型数组，
+ * 数组元素的值不预先计算，而是在访问时由函数指针{@code CharArray.ICharArrayInitFunction}按索引计算。
+ * 适用于规模很大、但只有一小部分元素会被读取的参数化网格等数据，
+ * 其常量指针可以直接传给以{@code ICharConstPointer}为参数的函数（如{@code JavaMinpack.enorm}），
+ * 而无需分配完整的数组。
+ * <p>
+ * 数组有两种模式：<p>
+ * （1）纯虚拟模式，每次访问都调用函数指针，不占用与容量相关的内存；<p>
+ * （2）缓存模式，数组被划分为长度为{@code chunkSize}的块，
+ * 访问某个元素时计算并缓存其所在的整个块。缓存是一个有{@code maxChunks}个槽的直接映射表，
+ * 第{@code id}个块存放在第{@code id % maxChunks}个槽中，新计算的块覆盖槽中原有的块；
+ * 查询与更新都不加锁，也不装箱块的序号。每个指针还记住最近访问的块，
+ * 因此顺序访问时几乎不需要查询缓存。<p>
+ * 函数指针应是无副作用的纯函数，缓存模式下它可能在多个线程中被并发调用，
+ * 同一个块也可能被计算不止一次。<p>
+ * 虚拟数组没有关联的{@code CharArray}，其指针的{@code hasBase()}返回{@code false}。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class VirtualCharArray {
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 用于计算元素值的函数指针。
+     */
+    private final CharArray.ICharArrayInitFunction function;
+
+    /**
+     * 缓存模式下每个块的长度，纯虚拟模式下为{@code 0}。
+     */
+    private final int chunkSize;
+
+    /**
+     * 缓存模式下的直接映射表，纯虚拟模式下为{@code null}。
+     */
+    private final AtomicReferenceArray<Chunk> chunks;
+
+    /**
+     * 类{@code VirtualCharArray}的主构造函数，创建纯虚拟模式的数组。
+     * <p>
+     * 注意：参数 {@code capacity}必须大于等于{@code 0}，
+     * 否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param capacity 数组的容量。
+     * @param function 用于计算元素值的函数指针。
+     */
+    public VirtualCharArray(final int capacity, final CharArray.ICharArrayInitFunction function) {
+        this(capacity, function, 0, 0);
+    }
+
+    /**
+     * 类{@code VirtualCharArray}次级构造函数，创建缓存模式的数组。
+     * 如果{@code chunkSize}为{@code 0}，则创建纯虚拟模式的数组。
+     *
+     * @param capacity  数组的容量。
+     * @param function  用于计算元素值的函数指针。
+     * @param chunkSize 每个块的长度。
+     * @param maxChunks 直接映射表的槽数，即最多缓存的块数，缓存模式下应大于{@code 0}。
+     */
+    public VirtualCharArray(final int capacity, final CharArray.ICharArrayInitFunction function,
+                            final int chunkSize, final int maxChunks) {
+        if (capacity < 0 || chunkSize < 0 || (chunkSize > 0 && maxChunks <= 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {capacity >= 0, chunkSize >= 0, maxChunks > 0}, but got {%d, %d, %d}.",
+                    capacity, chunkSize, maxChunks));
+        }
+        if (function == null) {
+            throw new IllegalArgumentException("Expected the parameter {function != null}.");
+        }
+        this.capacity = capacity;
+        this.function = function;
+        this.chunkSize = chunkSize;
+        this.chunks = chunkSize == 0 ? null : new AtomicReferenceArray<>(maxChunks);
+    }
+
+    /**
+     * 获取数组的容量。
+     *
+     * @return 数组的容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 判断数组是否为缓存模式。
+     *
+     * @return {@code true} 如果数组为缓存模式。
+     */
+    public boolean isMemoized() {
+        return chunks != null;
+    }
+
+    /**
+     * 获取当前缓存的块数，纯虚拟模式下为{@code 0}。
+     *
+     * @return 当前缓存的块数。
+     */
+    public int getCachedChunkCount() {
+        int count = 0;
+        if (chunks != null) {
+            for (int k = 0; k < chunks.length(); k++) {
+                if (chunks.get(k) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 清空缓存。
+     */
+    public void clearCache() {
+        if (chunks != null) {
+            for (int k = 0; k < chunks.length(); k++) {
+                chunks.set(k, null);
+            }
+        }
+    }
+
+    /**
+     * 获取指定索引处的元素。
+     *
+     * @param index 数组的索引。
+     * @return 指定索引处的元素。
+     */
+    public char get(int index) {
+        checkIndex(index);
+        if (chunks == null) {
+            return function.call(index);
+        }
+        return chunk(index / chunkSize)[index % chunkSize];
+    }
+
+    /**
+     * 获取第{@code id}个块，如果未被缓存，则计算并缓存它。
+     */
+    private char[] chunk(int id) {
+        int slot = id % chunks.length();
+        Chunk chunk = chunks.get(slot);
+        if (chunk != null && chunk.id == id) {
+            return chunk.values;
+        }
+        int from = id * chunkSize;
+        char[] values = new char[Math.min(chunkSize, capacity - from)];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = function.call(from + k);
+        }
+        chunks.set(slot, new Chunk(id, values));
+        return values;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= index < %d}, but got {%d}.", capacity, index));
+        }
+    }
+
+    /**
+     * 计算所有元素的值，创建一个普通数组。
+     *
+     * @return 一个新的数组对象。
+     */
+    public CharArray toArray() {
+        return new CharArray(capacity, this::get);
+    }
+
+    /**
+     * 创建一个指向该数组的常量指针。
+     *
+     * @return 指向该数组的常量指针。
+     */
+    public ICharConstPointer createConstPointer() {
+        return new VirtualCharConstPointer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "VirtualCharArray{" +
+                "capacity=" + capacity +
+                ", chunkSize=" + chunkSize +
+                ", cachedChunks=" + getCachedChunkCount() +
+                '}';
+    }
+
+    /**
+     * 类{@code Chunk}表征一个已缓存的块，块的序号与值一起发布，读取时不会得到不匹配的序号与值。
+     */
+    private static final class Chunk {
+
+        /**
+         * 块的序号。
+         */
+        private final int id;
+
+        /**
+         * 块中元素的值。
+         */
+        private final char[] values;
+
+        Chunk(int id, char[] values) {
+            this.id = id;
+            this.values = values;
+        }
+    }
+
+    /**
+     * 类{@code VirtualCharConstPointer}表征指向虚拟数组的常量指针。<p>
+     * 注意：虚拟数组没有关联的{@code CharArray}，{@code hasBase()}返回{@code false}，
+     * 调用{@code getBase()}将抛出{@code java.lang.UnsupportedOperationException}异常。
+     */
+    private final class VirtualCharConstPointer implements ICharConstPointer {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * 最近访问的块的序号。
+         */
+        private int lastId = -1;
+
+        /**
+         * 最近访问的块。
+         */
+        private char[] last;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public char get(int index) {
+            int i = index + getPoint();
+            if (i < 0 || i >= capacity) {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {%d <= index < %d}", -getPoint(),
+                        capacity - getPoint()));
+            }
+            if (chunks == null) {
+                return function.call(i);
+            }
+            int id = i / chunkSize;
+            if (id != lastId) {
+                last = chunk(id);
+                lastId = id;
+            }
+            return last[i - id * chunkSize];
+        }
+
+        /**
+         * 虚拟数组没有关联的{@code CharArray}，总是抛出异常。
+         */
+        @Override
+        public CharArray getBase() {
+            throw new UnsupportedOperationException("A VirtualCharArray has no backing CharArray.");
+        }
+
+        /**
+         * 虚拟数组没有关联的{@code CharArray}。
+         *
+         * @return {@code false}。
+         */
+        @Override
+        public boolean hasBase() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+
+import java.util.Arrays;
+
+/**
+ * 类{@code JacobianSparsity}表征{@code m×n}雅可比矩阵的稀疏结构及其列着色，
+ * 供{@code JavaMinpack.fdjac1}、{@code fdjac2}以及{@code hybrd}、{@code lmdif}等求解器以较少的函数调用计算前向差分近似的雅可比矩阵。
+ * <p>
+ * 如果两列在任何一行中都不同时为非零元素，则称这两列是结构正交的。
+ * 结构正交的列可以同时扰动，只需调用一次函数就能得到这一组中每一列的差分。
+ * 结构在构造时按列压缩保存，并立即在列相交图上进行贪心着色，同色的列组成一组：
+ * 分别按自然顺序（即Curtis-Powell-Reid算法）和按列中非零元素的个数从多到少的顺序着色，取颜色较少的结果。
+ * 计算一次雅可比矩阵所需的函数调用次数由{@code n}降为颜色数{@code getColorCount()}，
+ * 对每个函数只依赖少数几个变量的问题，颜色数通常远小于{@code n}。
+ * <p>
+ * 结构可以由使用者按行（{@code ofRows}）或按列（{@code ofColumns}）给出，
+ * 也可以由{@code probe}在给定点上逐列扰动变量自动探测。
+ * 如果给出的结构遗漏了非零元素，那么同组中其他列的扰动会混入差分，计算得到的雅可比矩阵是错误的；
+ * 只要结构正确，得到的雅可比矩阵与逐列计算的{@code fdjac2}逐位相同。
+ * <p>
+ * 此类的对象是不可变的，可以在多个线程和多次求解之间共享。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class JacobianSparsity {
+
+    /**
+     * 探测时相对于{@code max(|x[j]|, 1)}的扰动步长。
+     * 它远大于差分的步长，使得在{@code x}处导数恰好为零的元素也能被探测到。
+     */
+    public static final double PROBE_STEP = 1e-3;
+
+    private static final IPointer[] NO_POINTERS = new IPointer[0];
+
+    /**
+     * 函数的个数（行数）。
+     */
+    private final int m;
+
+    /**
+     * 变量的个数（列数）。
+     */
+    private final int n;
+
+    /**
+     * 第{@code j}列的非零元素的行号保存在{@code rows[columnStarts[j]]}至{@code rows[columnStarts[j + 1] - 1]}中。
+     */
+    private final int[] columnStarts;
+
+    /**
+     * 按列排列的非零元素的行号，每列中按升序排列。
+     */
+    private final int[] rows;
+
+    /**
+     * 每列的颜色，取值为{@code [0, colorCount)}。
+     */
+    private final int[] colors;
+
+    /**
+     * 颜色为{@code c}的列保存在{@code groupColumns[groupStarts[c]]}至{@code groupColumns[groupStarts[c + 1] - 1]}中。
+     */
+    private final int[] groupStarts;
+
+    /**
+     * 按颜色排列的列号。
+     */
+    private final int[] groupColumns;
+
+    private JacobianSparsity(int m, int n, int[] columnStarts, int[] rows) {
+        this.m = m;
+        this.n = n;
+        this.columnStarts = columnStarts;
+        this.rows = rows;
+        this.colors = color(m, n, columnStarts, rows);
+        int colorCount = 0;
+        for (int color : colors) {
+            colorCount = Math.max(colorCount, color + 1);
+        }
+        this.groupStarts = new int[colorCount + 1];
+        for (int color : colors) {
+            groupStarts[color + 1]++;
+        }
+        for (int c = 0; c < colorCount; c++) {
+            groupStarts[c + 1] += groupStarts[c];
+        }
+        this.groupColumns = new int[n];
+        int[] next = Arrays.copyOf(groupStarts, colorCount);
+        for (int j = 0; j < n; j++) {
+            groupColumns[next[colors[j]]++] = j;
+        }
+    }
+
+    /**
+     * 由每列的非零元素的行号创建稀疏结构。
+     *
+     * @param m       函数的个数。
+     * @param n       变量的个数。
+     * @param columns 长度为{@code n}的数组，{@code columns[j]}是第{@code j}列中非零元素的行号（从{@code 0}开始），
+     *                可以无序或重复。
+     * @return 稀疏结构。
+     */
+    public static JacobianSparsity ofColumns(int m, int n, int[][] columns) {
+        checkSize(m, n);
+        checkLength(columns, n);
+        int[] columnStarts = new int[n + 1];
+        int[][] sorted = new int[n][];
+        for (int j = 0; j < n; j++) {
+            sorted[j] = distinct(columns[j], m);
+            columnStarts[j + 1] = columnStarts[j] + sorted[j].length;
+        }
+        int[] rows = new int[columnStarts[n]];
+        for (int j = 0; j < n; j++) {
+            System.arraycopy(sorted[j], 0, rows, columnStarts[j], sorted[j].length);
+        }
+        return new JacobianSparsity(m, n, columnStarts, rows);
+    }
+
+    /**
+     * 由每个函数所依赖的变量创建稀疏结构。
+     *
+     * @param m    函数的个数。
+     * @param n    变量的个数。
+     * @param rows 长度为{@code m}的数组，{@code rows[i]}是第{@code i}个函数所依赖的变量的序号（从{@code 0}开始），
+     *             可以无序或重复。
+     * @return 稀疏结构。
+     */
+    public static JacobianSparsity ofRows(int m, int n, int[][] rows) {
+        checkSize(m, n);
+        checkLength(rows, m);
+        int[][] distinctRows = new int[m][];
+        int[] counts = new int[n];
+        for (int i = 0; i < m; i++) {
+            distinctRows[i] = distinct(rows[i], n);
+            for (int j : distinctRows[i]) {
+                counts[j]++;
+            }
+        }
+        int[][] columns = new int[n][];
+        for (int j = 0; j < n; j++) {
+            columns[j] = new int[counts[j]];
+            counts[j] = 0;
+        }
+        for (int i = 0; i < m; i++) {
+            for (int j : distinctRows[i]) {
+                columns[j][counts[j]++] = i;
+            }
+        }
+        return ofColumns(m, n, columns);
+    }
+
+    /**
+     * 创建稠密的稀疏结构，每一列单独成组，与逐列计算的{@code fdjac2}等价。
+     *
+     * @param m 函数的个数。
+     * @param n 变量的个数。
+     * @return 稀疏结构。
+     */
+    public static JacobianSparsity dense(int m, int n) {
+        checkSize(m, n);
+        int[] column = new int[m];
+        Arrays.setAll(column, i -> i);
+        int[][] columns = new int[n][];
+        Arrays.fill(columns, column);
+        return ofColumns(m, n, columns);
+    }
+
+    /**
+     * 在{@code x}处逐列扰动变量，探测非线性最小二乘问题的雅可比矩阵的稀疏结构，共调用函数{@code n + 1}次，
+     * 调用时{@code iflag = 2}。第{@code j}个变量的扰动步长为{@code PROBE_STEP * max(|x[j]|, 1)}，
+     * 函数值发生变化的行即为第{@code j}列的非零元素。
+     * <p>
+     * 如果某个函数对某个变量的依赖在{@code x}与扰动后的点上恰好都不改变函数值（例如分段常数的函数），
+     * 则该元素会被遗漏，此时应使用{@code ofRows}或{@code ofColumns}给出结构。
+     *
+     * @param fcn 计算函数值的函数。
+     * @param m   函数的个数。
+     * @param n   变量的个数。
+     * @param x   长度为{@code n}的数组，探测的位置，不被修改。
+     * @return 稀疏结构。
+     * @throws IllegalStateException 如果函数返回负值以终止计算。
+     */
+    public static JacobianSparsity probe(JavaMinpack.IMNNonlinearLeastSquares fcn,
+                                         int m, int n, IDoubleConstPointer x) {
+        checkSize(m, n);
+        return probe(m, n, x, (xp, fvec) -> fcn.call(m, n, xp, fvec, 2, NO_POINTERS));
+    }
+
+    /**
+     * 在{@code x}处逐列扰动变量，探测非线性方程组的雅可比矩阵的稀疏结构，
+     * 探测的方法与非线性最小二乘问题的{@code probe}相同。
+     *
+     * @param fcn 计算函数值的函数。
+     * @param n   变量和方程的个数。
+     * @param x   长度为{@code n}的数组，探测的位置，不被修改。
+     * @return 稀疏结构。
+     * @throws IllegalStateException 如果函数返回负值以终止计算。
+     */
+    public static JacobianSparsity probe(JavaMinpack.INNonlinearEquations fcn,
+                                         int n, IDoubleConstPointer x) {
+        checkSize(n, n);
+        return probe(n, n, x, (xp, fvec) -> fcn.call(n, xp, fvec, 2, NO_POINTERS));
+    }
+
+    /**
+     * 一次函数调用，供{@code probe}统一两种函数接口。
+     */
+    private interface Evaluation {
+        int call(IDoublePointer x, IDoublePointer fvec);
+    }
+
+    private static JacobianSparsity probe(int m, int n, IDoubleConstPointer x, Evaluation evaluation) {
+        IDoublePointer xp = new DoubleArray(n, x::get).createPointer();
+        IDoublePointer f0 = new DoubleArray(m).createPointer();
+        IDoublePointer f1 = new DoubleArray(m).createPointer();
+        checkFlag(evaluation.call(xp, f0));
+        int[][] columns = new int[n][];
+        int[] buffer = new int[m];
+        for (int j = 0; j < n; j++) {
+            double temp = xp.get(j);
+            xp.set(j, temp + PROBE_STEP * Math.max(Math.abs(temp), 1.));
+            int iflag = evaluation.call(xp, f1);
+            xp.set(j, temp);
+            checkFlag(iflag);
+            int count = 0;
+            for (int i = 0; i < m; i++) {
+                if (Double.compare(f1.get(i), f0.get(i)) != 0) {
+                    buffer[count++] = i;
+                }
+            }
+            columns[j] = Arrays.copyOf(buffer, count);
+        }
+        return ofColumns(m, n, columns);
+    }
+
+    private static void checkFlag(int iflag) {
+        if (iflag < 0) {
+            throw new IllegalStateException(String.format(
+                    "The function terminated the sparsity probe with iflag = %d.", iflag));
+        }
+    }
+
+    private static void checkSize(int m, int n) {
+        if (n <= 0 || m <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {m > 0, n > 0}, but got {m = %d, n = %d}.", m, n));
+        }
+    }
+
+    private static void checkLength(int[][] lists, int length) {
+        if (lists.length != length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d index lists, but got %d.", length, lists.length));
+        }
+    }
+
+    /**
+     * 检查下标的范围，并返回升序排列、去除重复后的拷贝。
+     */
+    private static int[] distinct(int[] indices, int bound) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int index : sorted) {
+            if (index < 0 || index >= bound) {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {0 <= index < %d}, but got {%d}.", bound, index));
+            }
+            if (count == 0 || sorted[count - 1] != index) {
+                sorted[count++] = index;
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * 在列相交图上进行贪心着色，分别尝试自然顺序和非零元素个数递减的顺序，返回颜色较少的着色。
+     */
+    private static int[] color(int m, int n, int[] columnStarts, int[] rows) {
+        /* 按行压缩的结构，用于查找与某列共享某行的所有列。 */
+        int[] rowStarts = new int[m + 1];
+        for (int row : rows) {
+            rowStarts[row + 1]++;
+        }
+        for (int i = 0; i < m; i++) {
+            rowStarts[i + 1] += rowStarts[i];
+        }
+        int[] rowColumns = new int[rows.length];
+        int[] next = Arrays.copyOf(rowStarts, m);
+        for (int j = 0; j < n; j++) {
+            for (int p = columnStarts[j]; p < columnStarts[j + 1]; p++) {
+                rowColumns[next[rows[p]]++] = j;
+            }
+        }
+
+        int[] natural = new int[n];
+        Arrays.setAll(natural, j -> j);
+        int[] byCount = Arrays.stream(natural).boxed()
+                .sorted((a, b) -> Integer.compare(columnStarts[b + 1] - columnStarts[b],
+                        columnStarts[a + 1] - columnStarts[a]))
+                .mapToInt(Integer::intValue).toArray();
+
+        int[] colorsNatural = greedy(n, natural, columnStarts, rows, rowStarts, rowColumns);
+        int[] colorsByCount = greedy(n, byCount, columnStarts, rows, rowStarts, rowColumns);
+        return count(colorsByCount) < count(colorsNatural) ? colorsByCount : colorsNatural;
+    }
+
+    private static int[] greedy(int n, int[] order,
+                                int[] columnStarts, int[] rows,
+                                int[] rowStarts, int[] rowColumns) {
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        /* forbidden[c] == j 表示颜色c已被与第j列相交的某列使用。 */
+        int[] forbidden = new int[n];
+        Arrays.fill(forbidden, -1);
+        for (int j : order) {
+            for (int p = columnStarts[j]; p < columnStarts[j + 1]; p++) {
+                int row = rows[p];
+                for (int q = rowStarts[row]; q < rowStarts[row + 1]; q++) {
+                    int color = colors[rowColumns[q]];
+                    if (color >= 0) {
+                        forbidden[color] = j;
+                    }
+                }
+            }
+            int color = 0;
+            while (forbidden[color] == j) {
+                color++;
+            }
+            colors[j] = color;
+        }
+        return colors;
+    }
+
+    private static int count(int[] colors) {
+        int count = 0;
+        for (int color : colors) {
+            count = Math.max(count, color + 1);
+        }
+        return count;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * 获取非零元素的个数。
+     *
+     * @return 非零元素的个数。
+     */
+    public int getNonZeros() {
+        return rows.length;
+    }
+
+    /**
+     * 获取颜色数，即计算一次雅可比矩阵所需的函数调用次数。
+     *
+     * @return 颜色数。
+     */
+    public int getColorCount() {
+        return groupStarts.length - 1;
+    }
+
+    /**
+     * 获取第{@code j}列的颜色。
+     *
+     * @param j 列号，{@code 0 <= j < n}。
+     * @return 颜色，取值为{@code [0, getColorCount())}。
+     */
+    public int getColor(int j) {
+        if (j < 0 || j >= n) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= index < %d}, but got {%d}.", n, j));
+        }
+        return colors[j];
+    }
+
+    /**
+     * 判断第{@code i}行第{@code j}列是否是非零元素。
+     *
+     * @param i 行号，{@code 0 <= i < m}。
+     * @param j 列号，{@code 0 <= j < n}。
+     * @return 是否是非零元素。
+     */
+    public boolean isNonZero(int i, int j) {
+        if (i < 0 || i >= m || j < 0 || j >= n) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= i < %d, 0 <= j < %d}, but got {%d, %d}.", m, n, i, j));
+        }
+        return Arrays.binarySearch(rows, columnStarts[j], columnStarts[j + 1], i) >= 0;
+    }
+
+    /*
+     * 以下方法直接返回内部数组，仅供同一个包中的差分计算使用，调用者不得修改。
+     */
+
+    int[] columnStarts() {
+        return columnStarts;
+    }
+
+    int[] rows() {
+        return rows;
+    }
+
+    int[] groupStarts() {
+        return groupStarts;
+    }
+
+    int[] groupColumns() {
+        return groupColumns;
+    }
+
+    @Override
+    public String toString() {
+        return "JacobianSparsity{" +
+                "m=" + m +
+                ", n=" + n +
+                ", nonZeros=" + rows.length +
+                ", colors=" + getColorCount() +
+                '}';
+    }
+}
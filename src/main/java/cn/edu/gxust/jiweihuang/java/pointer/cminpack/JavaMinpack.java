@@ -38,13 +38,21 @@ package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
 
 import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.IPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.arena.ArrayArena;
 import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
 import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.SparseDoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.GatherScatter;
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.Reductions;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
 import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 import static java.lang.Math.*;
 
 /**
@@ -292,6 +300,11 @@ public class JavaMinpack {
     }
     //=========================================================================
 
+    /**
+     * 调用函数指针时传递的空的附加参数，避免每次调用都创建一个新的可变参数数组。
+     */
+    private static final IPointer[] NO_POINTERS = new IPointer[0];
+
     //========================== boolean value in c/cpp language ===============
     /**
      * 在c/cpp语言中，非{@code 0}是"真"，即{@code true}。
@@ -415,19 +428,84 @@ public class JavaMinpack {
     public static double enorm(final int n,
                                final IDoubleConstPointer x,
                                final int startIndex) {
-        double s1 = 0.;
-        double s2 = 0.;
-        double s3 = 0.;
-        double x1max = 0.;
-        double x3max = 0.;
-        double agiant = DOUBLE_GIANT / (double) n;
-        double xabs, d1, ret_val;
+        EuclideanNorm norm = new EuclideanNorm(n);
+        //以相对索引读取子向量，不移动调用者的指针。
+        for (int i = 0; i < n; i++) {
+            norm.add(abs(x.get(startIndex + i)));
+        }
+        return norm.get();
+    }
+
+    /**
+     * 重载函数{@code enorm(int n, double[] x, int startIndex)}，
+     * 其中，参数{@code startIndex}被设置为{@code 0}。
+     *
+     * @param n 一个正整数值，输入型变量，用于指出所需计算子向量的元素个数。
+     * @param x 一个数组，输入型变量，其长度应{@code >= n}。
+     * @return 向量{@code x}或其子向量的欧几里得范数。
+     */
+    public static double enorm(final int n,
+                               final IDoubleConstPointer x) {
+        return enorm(n, x, 0);
+    }
 
-        //将指针指到指定的起始索引的位置。
-        x.move(startIndex);
+    /**
+     * 重载函数{@code enorm(int n, double[] x, int startIndex)}，
+     * 其中，参数{@code startIndex}被设置为{@code 0}，参数{@code n}
+     * 被设置为{@code x}的长度，即{@code x.length}。
+     *
+     * @param x 一个数组，输入型变量，其长度应{@code >= n}。
+     * @return 向量{@code x}或其子向量的欧几里得范数。
+     */
+    public static double enorm(final IDoubleConstPointer x) {
+        return enorm(x.getCapacity() - x.getPoint(), x, 0);
+    }
 
-        for (int i = 0; i < n; i++) {
-            xabs = abs(x.get(i));
+    /**
+     * 重载函数{@code enorm(int n, double[] x, int startIndex)}，用于计算稀疏向量的欧几里得范数，
+     * 其中，参数{@code n}被设置为{@code x.getCapacity()}。<p>
+     * 零元素对三个分段累加和均没有贡献，所以这里只遍历非零元素，
+     * 计算结果与对稠密向量调用{@code enorm}完全一致。
+     *
+     * @param x 一个稀疏向量，输入型变量。
+     * @return 向量{@code x}的欧几里得范数。
+     */
+    public static double enorm(final SparseDoubleArray x) {
+        EuclideanNorm norm = new EuclideanNorm(x.getCapacity());
+        SparseDoubleArray.NonZeroCursor cursor = x.createCursor();
+        while (cursor.next()) {
+            norm.add(abs(cursor.getValue()));
+        }
+        return norm.get();
+    }
+
+    /**
+     * 类{@code EuclideanNorm}是{@code enorm}的分段累加过程：大、小元素分别以当前的最大值缩放后累加，
+     * 中间元素直接累加平方，以避免上溢和下溢。稠密向量与稀疏向量的{@code enorm}共用此过程，
+     * 对象只在方法内部使用，即时编译后不产生分配。
+     */
+    private static final class EuclideanNorm {
+
+        private final double agiant;
+
+        private double s1;
+        private double s2;
+        private double s3;
+        private double x1max;
+        private double x3max;
+
+        /**
+         * @param n 向量的长度，用于确定大元素的界限。
+         */
+        EuclideanNorm(int n) {
+            this.agiant = DOUBLE_GIANT / (double) n;
+        }
+
+        /**
+         * 累加一个元素的绝对值。
+         */
+        void add(double xabs) {
+            double d1;
             if (xabs >= agiant) {
                 /* sum for large components. */
                 if (xabs > x1max) {
@@ -459,44 +537,23 @@ public class JavaMinpack {
             }
         }
 
-        /* calculation of norm. */
-        if (s1 != 0.) {
-            ret_val = x1max * Math.sqrt(s1 + (s2 / x1max) / x1max);
-        } else if (s2 != 0.) {
-            if (s2 >= x3max) {
-                ret_val = Math.sqrt(s2 * (1. + (x3max / s2) * (x3max * s3)));
+        /**
+         * 由累加和计算范数。
+         */
+        double get() {
+            /* calculation of norm. */
+            if (s1 != 0.) {
+                return x1max * Math.sqrt(s1 + (s2 / x1max) / x1max);
+            } else if (s2 != 0.) {
+                if (s2 >= x3max) {
+                    return Math.sqrt(s2 * (1. + (x3max / s2) * (x3max * s3)));
+                } else {
+                    return Math.sqrt(x3max * ((s2 / x3max) + (x3max * s3)));
+                }
             } else {
-                ret_val = Math.sqrt(x3max * ((s2 / x3max) + (x3max * s3)));
+                return x3max * Math.sqrt(s3);
             }
-        } else {
-            ret_val = x3max * Math.sqrt(s3);
         }
-        return ret_val;
-    }
-
-    /**
-     * 重载函数{@code enorm(int n, double[] x, int startIndex)}，
-     * 其中，参数{@code startIndex}被设置为{@code 0}。
-     *
-     * @param n 一个正整数值，输入型变量，用于指出所需计算子向量的元素个数。
-     * @param x 一个数组，输入型变量，其长度应{@code >= n}。
-     * @return 向量{@code x}或其子向量的欧几里得范数。
-     */
-    public static double enorm(final int n,
-                               final IDoubleConstPointer x) {
-        return enorm(n, x, 0);
-    }
-
-    /**
-     * 重载函数{@code enorm(int n, double[] x, int startIndex)}，
-     * 其中，参数{@code startIndex}被设置为{@code 0}，参数{@code n}
-     * 被设置为{@code x}的长度，即{@code x.length}。
-     *
-     * @param x 一个数组，输入型变量，其长度应{@code >= n}。
-     * @return 向量{@code x}或其子向量的欧几里得范数。
-     */
-    public static double enorm(final IDoubleConstPointer x) {
-        return enorm(x.getCapacity() - x.getPoint(), x, 0);
     }
 
     //======================== rwupdt.c =====================================
@@ -575,6 +632,13 @@ public class JavaMinpack {
                 b.set(j, temp);
             }
         }
+
+        /* Restore parameter adjustments */
+        sin.move(1);
+        cos.move(1);
+        b.move(1);
+        w.move(1);
+        r.move(r_offset);
         /* last card of subroutine rwupdt. */
     }
 
@@ -743,6 +807,11 @@ public class JavaMinpack {
             sing.set(1); //TRUE_;
         }
 
+        /* Restore parameter adjustments */
+        w.move(1);
+        u.move(1);
+        v.move(1);
+        s.move(1);
         /* last card of subroutine r1updt. */
     }
 
@@ -776,6 +845,9 @@ public class JavaMinpack {
 
         nm1 = n - 1;
         if (nm1 < 1) {
+            w.move(1);
+            v.move(1);
+            a.move(a_offset);
             return;
         }
         for (nmj = 1; nmj <= nm1; ++nmj) {
@@ -810,6 +882,11 @@ public class JavaMinpack {
                 a.set(i + j * a_dim1, temp);
             }
         }
+
+        /* Restore parameter adjustments */
+        w.move(1);
+        v.move(1);
+        a.move(a_offset);
         /* last card of subroutine r1mpyq. */
     }
 
@@ -935,10 +1012,9 @@ public class JavaMinpack {
         }
 
         /* permute the components of z back to components of x. */
-        for (j = 0; j < n; ++j) {
-            l = ipvt.get(j) - 1;
-            x.set(l, wa.get(j));
-        }
+        x.move(-1); //ipvt is 1-based.
+        GatherScatter.scatter(wa, ipvt, x, n);
+        x.move(1);
         /* last card of subroutine qrsolv. */
     }
 
@@ -975,9 +1051,7 @@ public class JavaMinpack {
 
         /* compute the initial column norms and initialize several arrays. */
         for (j = 0; j < n; ++j) {
-            IDoublePointer ap1 = a.getBase().createPointer();
-            ap1.move(j * lda);
-            acnorm.set(j, enorm(m, ap1));
+            acnorm.set(j, enorm(m, a, j * lda));
             rdiag.set(j, acnorm.get(j));
             wa.set(j, rdiag.get(j));
             if (pivot != 0) {
@@ -991,12 +1065,7 @@ public class JavaMinpack {
         for (j = 0; j < minmn; ++j) {
             if (pivot != 0) {
                 /* bring the column of largest norm into the pivot position. */
-                int kmax = j;
-                for (k = j; k < n; ++k) {
-                    if (rdiag.get(k) > rdiag.get(kmax)) {
-                        kmax = k;
-                    }
-                }
+                int kmax = Reductions.argmax(rdiag, j, n);
                 if (kmax != j) {
                     for (i = 0; i < m; ++i) {
                         temp = a.get(i + j * lda);
@@ -1013,9 +1082,7 @@ public class JavaMinpack {
 
             /* compute the householder transformation to reduce the */
             /* j-th column of a to a multiple of the j-th unit vector. */
-            IDoublePointer ap2 = a.getBase().createPointer();
-            ap2.move(j + j * lda);
-            ajnorm = enorm(m - (j + 1) + 1, ap2);
+            ajnorm = enorm(m - (j + 1) + 1, a, j + j * lda);
             if (ajnorm != 0.) {
                 if (a.get(j + j * lda) < 0.) {
                     ajnorm = -ajnorm;
@@ -1047,9 +1114,7 @@ public class JavaMinpack {
                             /* Computing 2nd power */
                             d1 = rdiag.get(k) / wa.get(k);
                             if (p05 * (d1 * d1) <= epsmch) {
-                                IDoublePointer ap = a.getBase().createPointer();
-                                ap.move(jp1 + k * lda);
-                                rdiag.set(k, enorm(m - (j + 1), ap));
+                                rdiag.set(k, enorm(m - (j + 1), a, jp1 + k * lda));
                                 wa.set(k, rdiag.get(k));
                             }
                         }
@@ -1079,7 +1144,7 @@ public class JavaMinpack {
         wa.move(-1); //--wa;
         q_dim1 = ldq;
         q_offset = 1 + q_dim1;
-        q.move(q_offset);
+        q.move(-q_offset);
         //q -= q_offset;
 
         /* Function Body */
@@ -1130,6 +1195,10 @@ public class JavaMinpack {
                 }
             }
         }
+
+        /* Restore parameter adjustments */
+        wa.move(1);
+        q.move(q_offset);
         /* last card of subroutine qform. */
     }
 
@@ -1268,7 +1337,7 @@ public class JavaMinpack {
                 if (sing) {
                     r.set(i + j * ldr, 0.);
                 }
-                ii = ipvt.get(j) - 1;
+                ii = ipvt.get(i) - 1;
                 if (ii > jj) {
                     r.set(ii + jj * ldr, r.get(i + j * ldr));
                 } else if (ii < jj) {
@@ -1462,10 +1531,14 @@ public class JavaMinpack {
             wa1.set(j, 0.);
             wa2.set(j, diag.get(j) * x.get(j));
         }
-        IDoublePointer wa2p = wa2.getBase().createPointer();
-        wa2p.move(1);
-        qnorm = enorm(n, wa2p);
+        qnorm = enorm(n, wa2, 1);
         if (qnorm <= delta) {
+            wa2.move(1);
+            wa1.move(1);
+            x.move(1);
+            qtb.move(1);
+            diag.move(1);
+            r.move(1);
             return;
         }
 
@@ -1485,9 +1558,7 @@ public class JavaMinpack {
         /*calculate the norm of the scaled gradient and test for */
         /*the special case in which the scaled gradient is zero. */
 
-        IDoublePointer wa1p = wa1.getBase().createPointer();
-        wa1p.move(1);
-        gnorm = enorm(n, wa1p);
+        gnorm = enorm(n, wa1, 1);
         sgnorm = 0.;
         alpha = delta / qnorm;
         if (gnorm != 0.) {
@@ -1507,9 +1578,7 @@ public class JavaMinpack {
                 }
                 wa2.set(j, sum);
             }
-            IDoublePointer wa2p2 = wa2.getBase().createPointer();
-            wa2p.move(1);
-            temp = enorm(n, wa2p2);
+            temp = enorm(n, wa2, 1);
             sgnorm = gnorm / temp / temp;
 
             /* test whether the scaled gradient direction is acceptable. */
@@ -1520,9 +1589,7 @@ public class JavaMinpack {
                 /* the scaled gradient direction is not acceptable. */
                 /* finally, calculate the point along the dogleg */
                 /* at which the quadratic is minimized. */
-                IDoublePointer qtbp = qtb.getBase().createPointer();
-                qtbp.move(1);
-                bnorm = enorm(n, qtbp);
+                bnorm = enorm(n, qtb, 1);
                 temp = bnorm / gnorm * (bnorm / qnorm) * (sgnorm / delta);
                 /* Computing 2nd power */
                 d1 = sgnorm / delta;
@@ -1549,6 +1616,13 @@ public class JavaMinpack {
             x.set(j, temp * wa1.get(j) + alpha * x.get(j));
         }
 
+        /* Restore parameter adjustments */
+        wa2.move(1);
+        wa1.move(1);
+        x.move(1);
+        qtb.move(1);
+        diag.move(1);
+        r.move(1);
         /* last card of subroutine dogleg. */
     }
 
@@ -1613,12 +1687,17 @@ public class JavaMinpack {
                  * the Jacobian (see fcn() in examples/hybdrv.c, and how njev
                  * is used to compute the number of Jacobian evaluations)
                  */
-                IDoublePointer xp = x.getBase().createPointer();
-                xp.move(1);
-                IDoublePointer wa1p = wa1.getBase().createPointer();
-                wa1p.move(1);
-                iflag = fcn.call(n, xp, wa1p, 2);
+                x.move(1);
+                wa1.move(1);
+                iflag = fcn.call(n, x, wa1, 2, NO_POINTERS);
+                x.move(-1);
+                wa1.move(-1);
                 if (iflag < 0) {
+                    wa2.move(1);
+                    wa1.move(1);
+                    fvec.move(1);
+                    x.move(1);
+                    fjac.move(fjac_offset);
                     return iflag;
                 }
                 x.set(j, temp);
@@ -1626,6 +1705,11 @@ public class JavaMinpack {
                     fjac.set(i + j * fjac_dim1, (wa1.get(i) - fvec.get(i)) / h);
                 }
             }
+            wa2.move(1);
+            wa1.move(1);
+            fvec.move(1);
+            x.move(1);
+            fjac.move(fjac_offset);
             return 0;
         }
 
@@ -1640,12 +1724,17 @@ public class JavaMinpack {
                 }
                 x.set(j, wa2.get(j) + h);
             }
-            IDoublePointer xp = x.getBase().createPointer();
-            xp.move(1);
-            IDoublePointer wa1p = wa1.getBase().createPointer();
-            wa1p.move(1);
-            iflag = fcn.call(n, xp, wa1p, 1);
+            x.move(1);
+            wa1.move(1);
+            iflag = fcn.call(n, x, wa1, 1, NO_POINTERS);
+            x.move(-1);
+            wa1.move(-1);
             if (iflag < 0) {
+                wa2.move(1);
+                wa1.move(1);
+                fvec.move(1);
+                x.move(1);
+                fjac.move(fjac_offset);
                 return iflag;
             }
             for (j = k; j <= n; j += msum) {
@@ -1662,10 +1751,95 @@ public class JavaMinpack {
                 }
             }
         }
+        wa2.move(1);
+        wa1.move(1);
+        fvec.move(1);
+        x.move(1);
+        fjac.move(fjac_offset);
         return 0;
         /* last card of subroutine fdjac1. */
     }
 
+    /**
+     * 利用雅可比矩阵的稀疏结构计算方程组的前向差分近似的雅可比矩阵，
+     * 参数{@code sparsity}代替带状的{@code fdjac1}中的{@code ml}和{@code mu}，其余参数的含义相同。
+     * <p>
+     * 同一颜色的结构正交的列同时扰动，每组只调用一次函数（{@code iflag = 2}），
+     * 共调用{@code sparsity.getColorCount()}次，结构之外的元素置为零。
+     * 返回前{@code x}总是恢复为原来的值。
+     *
+     * @param fcn      计算函数值的函数。
+     * @param n        变量和方程的个数。
+     * @param x        长度为{@code n}的数组，求导的位置。
+     * @param fvec     长度为{@code n}的数组，函数在{@code x}处的值。
+     * @param fjac     输出的{@code n×n}数组。
+     * @param ldfjac   {@code fjac}的主维数，{@code ldfjac >= n}。
+     * @param sparsity {@code n×n}的稀疏结构。
+     * @param epsfcn   函数值的相对误差，用于确定步长。
+     * @param wa1      长度为{@code n}的工作数组，保存扰动后的函数值。
+     * @param wa2      长度为{@code n}的工作数组，保存扰动前的{@code x}。
+     * @return 函数调用返回的负值，或者{@code 0}。
+     */
+    public static int fdjac1(final INNonlinearEquations fcn,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoubleConstPointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final JacobianSparsity sparsity,
+                             final double epsfcn,
+                             final IDoublePointer wa1,
+                             final IDoublePointer wa2) {
+        checkSparsity(sparsity, n, n);
+        int[] columnStarts = sparsity.columnStarts();
+        int[] rows = sparsity.rows();
+        int[] groupStarts = sparsity.groupStarts();
+        int[] groupColumns = sparsity.groupColumns();
+        double eps = sqrt((max(epsfcn, DPMPAR1)));
+        for (int g = 1; g < groupStarts.length; ++g) {
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                double temp = x.get(j);
+                wa2.set(j, temp);
+                double h = eps * abs(temp);
+                if (h == 0.) {
+                    h = eps;
+                }
+                x.set(j, temp + h);
+            }
+            int iflag = fcn.call(n, x, wa1, 2, NO_POINTERS);
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                x.set(j, wa2.get(j));
+            }
+            if (iflag < 0) {
+                return iflag;
+            }
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                double h = eps * abs(wa2.get(j));
+                if (h == 0.) {
+                    h = eps;
+                }
+                for (int i = 0; i < n; ++i) {
+                    fjac.set(i + j * ldfjac, 0.);
+                }
+                for (int p = columnStarts[j]; p < columnStarts[j + 1]; ++p) {
+                    int i = rows[p];
+                    fjac.set(i + j * ldfjac, (wa1.get(i) - fvec.get(i)) / h);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void checkSparsity(final JacobianSparsity sparsity, final int m, final int n) {
+        if (sparsity.getM() != m || sparsity.getN() != n) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected a %d×%d sparsity pattern, but got %d×%d.", m, n, sparsity.getM(), sparsity.getN()));
+        }
+    }
+
     //======================== fdjac2.c =====================================
     public static int fdjac2(final IMNNonlinearLeastSquares fcn,
                              final int m,
@@ -1697,7 +1871,7 @@ public class JavaMinpack {
            calls made to compute the function from calls made to compute
            the Jacobian (see fcn() in examples/lmfdrv.c, and how njev
            is used to compute the number of Jacobian evaluations) */
-            iflag = fcn.call(m, n, x, wa, 2);
+            iflag = fcn.call(m, n, x, wa, 2, NO_POINTERS);
             if (iflag < 0) {
                 return iflag;
             }
@@ -1709,6 +1883,170 @@ public class JavaMinpack {
         return 0;
         /* last card of subroutine fdjac2. */
     }
+
+    /**
+     * 并行地计算前向差分近似的雅可比矩阵，参数的含义与串行的{@code fdjac2}相同。
+     * <p>
+     * 雅可比矩阵的{@code n}列被分成{@code min(n, parallelism)}组连续的列，每组作为一个任务交给{@code executor}执行，
+     * 每个任务使用{@code x}和{@code wa}各自的拷贝，因此函数{@code fcn}必须能被多个线程同时调用。
+     * 每一列的计算过程与串行的{@code fdjac2}完全相同，所以在{@code fcn}是确定性函数的前提下，
+     * 得到的雅可比矩阵与串行计算逐位相同，参数{@code x}和{@code wa}本身不被修改。
+     * 当某列的函数调用返回负值时，返回列号最小的组中的该值，此时雅可比矩阵的内容是不确定的。
+     * <p>
+     * 当{@code executor}为{@code null}或{@code parallelism <= 1}时，直接调用串行的{@code fdjac2}。
+     *
+     * @param fcn         计算函数值的函数，必须是线程安全的。
+     * @param m           函数的个数。
+     * @param n           变量的个数。
+     * @param x           长度为{@code n}的数组，求导的位置。
+     * @param fvec        长度为{@code m}的数组，函数在{@code x}处的值。
+     * @param fjac        输出的{@code m×n}数组。
+     * @param ldfjac      {@code fjac}的主维数，{@code ldfjac >= m}。
+     * @param epsfcn      函数值的相对误差，用于确定步长。
+     * @param wa          长度为{@code m}的工作数组，仅在串行计算时使用。
+     * @param executor    执行各组任务的执行器。
+     * @param parallelism 同时执行的任务数的上限。
+     * @return 函数调用返回的负值，或者{@code 0}。
+     */
+    public static int fdjac2(final IMNNonlinearLeastSquares fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoubleConstPointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final double epsfcn,
+                             final IDoublePointer wa,
+                             final Executor executor,
+                             final int parallelism) {
+        int tasks = min(n, parallelism);
+        if (executor == null || tasks <= 1) {
+            return fdjac2(fcn, m, n, x, fvec, fjac, ldfjac, epsfcn, wa);
+        }
+        double eps = sqrt((max(epsfcn, DPMPAR1)));
+        int[] iflags = new int[tasks];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int t = 0; t < tasks; t++) {
+            final int task = t;
+            final int from = (int) ((long) n * t / tasks);
+            final int to = (int) ((long) n * (t + 1) / tasks);
+            final IDoublePointer xc = new DoubleArray(n, x::get).createPointer();
+            final IDoublePointer wac = new DoubleArray(m).createPointer();
+            futures[t] = CompletableFuture.runAsync(() -> {
+                for (int j = from; j < to; ++j) {
+                    double temp = xc.get(j);
+                    double h = eps * abs(temp);
+                    if (h == 0.) {
+                        h = eps;
+                    }
+                    xc.set(j, temp + h);
+                    int iflag = fcn.call(m, n, xc, wac, 2, NO_POINTERS);
+                    if (iflag < 0) {
+                        iflags[task] = iflag;
+                        return;
+                    }
+                    xc.set(j, temp);
+                    for (int i = 0; i < m; ++i) {
+                        fjac.set(i + j * ldfjac, (wac.get(i) - fvec.get(i)) / h);
+                    }
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        for (int iflag : iflags) {
+            if (iflag < 0) {
+                return iflag;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 利用雅可比矩阵的稀疏结构计算前向差分近似的雅可比矩阵，其余参数的含义与串行的{@code fdjac2}相同。
+     * <p>
+     * 同一颜色的结构正交的列同时扰动，每组只调用一次函数（{@code iflag = 2}），
+     * 共调用{@code sparsity.getColorCount()}次，结构之外的元素置为零。
+     * 只要结构正确，得到的雅可比矩阵与串行的{@code fdjac2}逐位相同。
+     * 返回前{@code x}总是恢复为原来的值。
+     *
+     * @param fcn      计算函数值的函数。
+     * @param m        函数的个数。
+     * @param n        变量的个数。
+     * @param x        长度为{@code n}的数组，求导的位置。
+     * @param fvec     长度为{@code m}的数组，函数在{@code x}处的值。
+     * @param fjac     输出的{@code m×n}数组。
+     * @param ldfjac   {@code fjac}的主维数，{@code ldfjac >= m}。
+     * @param sparsity {@code m×n}的稀疏结构。
+     * @param epsfcn   函数值的相对误差，用于确定步长。
+     * @param wa       长度为{@code m}的工作数组，保存扰动后的函数值。
+     * @param wa2      长度为{@code n}的工作数组，保存扰动前的{@code x}。
+     * @return 函数调用返回的负值，或者{@code 0}。
+     */
+    public static int fdjac2(final IMNNonlinearLeastSquares fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoubleConstPointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final JacobianSparsity sparsity,
+                             final double epsfcn,
+                             final IDoublePointer wa,
+                             final IDoublePointer wa2) {
+        checkSparsity(sparsity, m, n);
+        int[] columnStarts = sparsity.columnStarts();
+        int[] rows = sparsity.rows();
+        int[] groupStarts = sparsity.groupStarts();
+        int[] groupColumns = sparsity.groupColumns();
+        double eps = sqrt((max(epsfcn, DPMPAR1)));
+        for (int g = 1; g < groupStarts.length; ++g) {
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                double temp = x.get(j);
+                wa2.set(j, temp);
+                double h = eps * abs(temp);
+                if (h == 0.) {
+                    h = eps;
+                }
+                x.set(j, temp + h);
+            }
+            int iflag = fcn.call(m, n, x, wa, 2, NO_POINTERS);
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                x.set(j, wa2.get(j));
+            }
+            if (iflag < 0) {
+                return iflag;
+            }
+            for (int k = groupStarts[g - 1]; k < groupStarts[g]; ++k) {
+                int j = groupColumns[k];
+                double h = eps * abs(wa2.get(j));
+                if (h == 0.) {
+                    h = eps;
+                }
+                for (int i = 0; i < m; ++i) {
+                    fjac.set(i + j * ldfjac, 0.);
+                }
+                for (int p = columnStarts[j]; p < columnStarts[j + 1]; ++p) {
+                    int i = rows[p];
+                    fjac.set(i + j * ldfjac, (wa.get(i) - fvec.get(i)) / h);
+                }
+            }
+        }
+        return 0;
+    }
+
     //======================== lmpar.c =====================================
 
     /**
@@ -1789,10 +2127,9 @@ public class JavaMinpack {
                 }
             }
         }
-        for (j = 0; j < n; ++j) {
-            l = ipvt.get(j) - 1;
-            x.set(l, wa1.get(j));
-        }
+        x.move(-1); //ipvt is 1-based.
+        GatherScatter.scatter(wa1, ipvt, x, n);
+        x.move(1);
 
         /* initialize the iteration counter. */
         /* evaluate the function at the origin, and test */
@@ -1959,6 +2296,79 @@ public class JavaMinpack {
                             final IDoublePointer wa2,
                             final IDoublePointer wa3,
                             final IDoublePointer wa4) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return hybrd(fcn, n, x, fvec, xtol, maxfev, ml, mu, epsfcn, diag, mode, factor,
+                    nprint, nfev, fjac, ldfjac, r, lr, qtf, wa1, wa2, wa3, wa4,
+                    arena.ints(1).createPointer(), arena.ints(1).createPointer(), null);
+        }
+    }
+
+    /**
+     * 与{@code hybrd}相同，但雅可比矩阵由稀疏的{@code fdjac1}按{@code sparsity}的列着色计算，
+     * 参数{@code sparsity}代替{@code ml}和{@code mu}，
+     * 每次计算雅可比矩阵调用函数{@code sparsity.getColorCount()}次。
+     * 当{@code sparsity}不是{@code n×n}的结构时，返回{@code info = 0}。
+     */
+    public static int hybrd(final INNonlinearEquations fcn,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final double xtol,
+                            final int maxfev,
+                            final JacobianSparsity sparsity,
+                            final double epsfcn,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final IDoublePointer r,
+                            final int lr,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return hybrd(fcn, n, x, fvec, xtol, maxfev, n - 1, n - 1, epsfcn, diag, mode, factor,
+                    nprint, nfev, fjac, ldfjac, r, lr, qtf, wa1, wa2, wa3, wa4,
+                    arena.ints(1).createPointer(), arena.ints(1).createPointer(), sparsity);
+        }
+    }
+
+    /**
+     * 与{@code hybrd}相同，但由调用者提供整型单元{@code iwa}和{@code singp}，
+     * 以便{@code PowellHybridWorkspace}重复调用时不产生任何分配；
+     * {@code sparsity}不为{@code null}时按其列着色计算雅可比矩阵，此时忽略{@code ml}和{@code mu}。
+     */
+    static int hybrd(final INNonlinearEquations fcn,
+                     final int n,
+                     final IDoublePointer x,
+                     final IDoublePointer fvec,
+                     final double xtol,
+                     final int maxfev,
+                     final int ml,
+                     final int mu,
+                     final double epsfcn,
+                     final IDoublePointer diag,
+                     final int mode,
+                     final double factor,
+                     final int nprint,
+                     final IIntPointer nfev,
+                     final IDoublePointer fjac,
+                     final int ldfjac,
+                     final IDoublePointer r,
+                     final int lr,
+                     final IDoublePointer qtf,
+                     final IDoublePointer wa1,
+                     final IDoublePointer wa2,
+                     final IDoublePointer wa3,
+                     final IDoublePointer wa4,
+                     final IIntPointer iwa,
+                     final IIntPointer singp,
+                     final JacobianSparsity sparsity) {
 
         /* Initialized data */
         final double p1 = .1;
@@ -1967,12 +2377,10 @@ public class JavaMinpack {
         final double p0001 = 1e-4;
 
         /* System generated locals */
-        int fjac_dim1, fjac_offset, i1;
         double d1, d2;
 
         /* Local variables */
-        int i, j, l, jm1;
-        IIntPointer iwa = new IntArray(1).createPointer();
+        int i, j, l;
         double sum;
         int sing;
         int iter;
@@ -1989,59 +2397,35 @@ public class JavaMinpack {
         double actred, epsmch, prered;
         int info;
 
-        /* Parameter adjustments */
-        // --wa4;
-        wa4.move(-1);
-        // --wa3;
-        wa3.move(-1);
-        // --wa2;
-        wa2.move(-1);
-        // --wa1;
-        wa1.move(-1);
-        // --qtf;
-        qtf.move(-1);
-        // --diag;
-        diag.move(-1);
-        // --fvec;
-        fvec.move(-1);
-        //--x;
-        x.move(-1);
-        fjac_dim1 = ldfjac;
-        fjac_offset = 1 + fjac_dim1 * 1;
-        // fjac -= fjac_offset;
-        fjac.move(-fjac_offset);
-        // --r;
-        r.move(-1);
-
-
-        /* Function Body */
-
         /* epsmch is the machine precision. */
-
         epsmch = DPMPAR1;
 
         info = 0;
         iflag = 0;
-
-        //*nfev = 0;
         nfev.set(0);
 
         /* check the input parameters for errors. */
-
         if (n <= 0 || xtol < 0. || maxfev <= 0 || ml < 0 || mu < 0 ||
-                factor <= 0. || ldfjac < n || lr < n * (n + 1) / 2) {
-
+                factor <= 0. || ldfjac < n || lr < n * (n + 1) / 2 ||
+                (sparsity != null && (sparsity.getM() != n || sparsity.getN() != n))) {
+            // goto TERMINATE;
+            if (iflag < 0) {
+                info = iflag;
+            }
             if (nprint > 0) {
-                fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                fcn.call(n, x, fvec, 0, NO_POINTERS);
             }
             return info;
         }
         if (mode == 2) {
-            for (j = 1; j <= n; ++j) {
+            for (j = 0; j < n; ++j) {
                 if (diag.get(j) <= 0.) {
-
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
                     if (nprint > 0) {
-                        fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                        fcn.call(n, x, fvec, 0, NO_POINTERS);
                     }
                     return info;
                 }
@@ -2050,29 +2434,27 @@ public class JavaMinpack {
 
         /* evaluate the function at the starting point */
         /* and calculate its norm. */
-        iflag = fcn.call(n, x.getBase().createPointer(),
-                fvec.getBase().createPointer(), 1);
-        // *nfev = 1;
+        iflag = fcn.call(n, x, fvec, 1, NO_POINTERS);
         nfev.set(1);
-
         if (iflag < 0) {
-
+            // goto TERMINATE;
+            if (iflag < 0) {
+                info = iflag;
+            }
             if (nprint > 0) {
-                fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                fcn.call(n, x, fvec, 0, NO_POINTERS);
             }
             return info;
         }
-        fnorm = enorm(n, fvec.getBase().createPointer());
+        fnorm = enorm(n, fvec);
 
         /* determine the number of calls to fcn needed to compute */
         /* the jacobian matrix. */
 
         /* Computing MIN */
-        i1 = ml + mu + 1;
-        msum = min(i1, n);
+        msum = sparsity == null ? min(ml + mu + 1, n) : sparsity.getColorCount();
 
         /* initialize iteration counter and monitors. */
-
         iter = 1;
         ncsuc = 0;
         ncfail = 0;
@@ -2080,53 +2462,48 @@ public class JavaMinpack {
         nslow2 = 0;
 
         /* beginning of the outer loop. */
-
         for (; ; ) {
             jeval = TRUE;
 
             /* calculate the jacobian matrix. */
-            iflag = fdjac1(fcn, n, x.getBase().createPointer(),
-                    fvec.getBase().createPointer(),
-                    fjac.getBase().createPointer(), ldfjac,
-                    ml, mu, epsfcn, wa1.getBase().createPointer(),
-                    wa2.getBase().createPointer());
-
-            // *nfev += msum;
+            if (sparsity == null) {
+                iflag = fdjac1(fcn, n, x, fvec, fjac, ldfjac, ml, mu, epsfcn, wa1, wa2);
+            } else {
+                iflag = fdjac1(fcn, n, x, fvec, fjac, ldfjac, sparsity, epsfcn, wa1, wa2);
+            }
             nfev.set(nfev.get() + msum);
-
             if (iflag < 0) {
+                // goto TERMINATE;
+                if (iflag < 0) {
+                    info = iflag;
+                }
                 if (nprint > 0) {
-                    fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                    fcn.call(n, x, fvec, 0, NO_POINTERS);
                 }
                 return info;
             }
 
             /* compute the qr factorization of the jacobian. */
-            qrfac(n, n, fjac.getBase().createPointer(),
-                    ldfjac, FALSE, iwa, 1,
-                    wa1.getBase().createPointer(),
-                    wa2.getBase().createPointer(),
-                    wa3.getBase().createPointer());
+            qrfac(n, n, fjac, ldfjac, FALSE, iwa, 1, wa1, wa2, wa3);
 
             /* on the first iteration and if mode is 1, scale according */
             /* to the norms of the columns of the initial jacobian. */
             if (iter == 1) {
                 if (mode != 2) {
-                    for (j = 1; j <= n; ++j) {
+                    for (j = 0; j < n; ++j) {
                         diag.set(j, wa2.get(j));
                         if (wa2.get(j) == 0.) {
-                            diag.set(j, 1.0);
+                            diag.set(j, 1.);
                         }
                     }
                 }
 
                 /* on the first iteration, calculate the norm of the scaled x */
                 /* and initialize the step bound delta. */
-
-                for (j = 1; j <= n; ++j) {
+                for (j = 0; j < n; ++j) {
                     wa3.set(j, diag.get(j) * x.get(j));
                 }
-                xnorm = enorm(n, wa3.getBase().createPointer());
+                xnorm = enorm(n, wa3);
                 delta = factor * xnorm;
                 if (delta == 0.) {
                     delta = factor;
@@ -2134,33 +2511,29 @@ public class JavaMinpack {
             }
 
             /* form (q transpose)*fvec and store in qtf. */
-            for (i = 1; i <= n; ++i) {
+            for (i = 0; i < n; ++i) {
                 qtf.set(i, fvec.get(i));
             }
-            for (j = 1; j <= n; ++j) {
-                if (fjac.get(j + j * fjac_dim1) != 0.) {
+            for (j = 0; j < n; ++j) {
+                if (fjac.get(j + j * ldfjac) != 0.) {
                     sum = 0.;
-                    for (i = j; i <= n; ++i) {
-                        sum += fjac.get(i + j * fjac_dim1) * qtf.get(i);
+                    for (i = j; i < n; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * qtf.get(i);
                     }
-                    temp = -sum / fjac.get(j + j * fjac_dim1);
-                    for (i = j; i <= n; ++i) {
-                        qtf.set(i, qtf.get(i) + fjac.get(i + j * fjac_dim1) * temp);
+                    temp = -sum / fjac.get(j + j * ldfjac);
+                    for (i = j; i < n; ++i) {
+                        qtf.set(i, qtf.get(i) + fjac.get(i + j * ldfjac) * temp);
                     }
                 }
             }
 
             /* copy the triangular factor of the qr factorization into r. */
-
             sing = FALSE;
-            for (j = 1; j <= n; ++j) {
+            for (j = 0; j < n; ++j) {
                 l = j;
-                jm1 = j - 1;
-                if (jm1 >= 1) {
-                    for (i = 1; i <= jm1; ++i) {
-                        r.set(l, fjac.get(i + j * fjac_dim1));
-                        l = l + n - i;
-                    }
+                for (i = 0; i < j; ++i) {
+                    r.set(l, fjac.get(i + j * ldfjac));
+                    l = l + n - i - 1;
                 }
                 r.set(l, wa1.get(j));
                 if (wa1.get(j) == 0.) {
@@ -2169,13 +2542,11 @@ public class JavaMinpack {
             }
 
             /* accumulate the orthogonal factor in fjac. */
-
-            qform(n, n, fjac.getBase().createPointer(), ldfjac, wa1.getBase().createPointer());
+            qform(n, n, fjac, ldfjac, wa1);
 
             /* rescale if necessary. */
-
             if (mode != 2) {
-                for (j = 1; j <= n; ++j) {
+                for (j = 0; j < n; ++j) {
                     /* Computing MAX */
                     d1 = diag.get(j);
                     d2 = wa2.get(j);
@@ -2184,59 +2555,58 @@ public class JavaMinpack {
             }
 
             /* beginning of the inner loop. */
-
             for (; ; ) {
 
                 /* if requested, call fcn to enable printing of iterates. */
-
                 if (nprint > 0) {
                     iflag = 0;
                     if ((iter - 1) % nprint == 0) {
-                        iflag = fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                        iflag = fcn.call(n, x, fvec, 0, NO_POINTERS);
                     }
                     if (iflag < 0) {
-                        fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                        // goto TERMINATE;
+                        if (iflag < 0) {
+                            info = iflag;
+                        }
+                        if (nprint > 0) {
+                            fcn.call(n, x, fvec, 0, NO_POINTERS);
+                        }
                         return info;
                     }
                 }
 
                 /* determine the direction p. */
-
-                dogleg(n, r.getBase().createPointer(), lr, diag.getBase().createPointer(),
-                        qtf.getBase().createPointer(), delta, wa1.getBase().createPointer(),
-                        wa2.getBase().createPointer(), wa3.getBase().createPointer());
+                dogleg(n, r, lr, diag, qtf, delta, wa1, wa2, wa3);
 
                 /* store the direction p and x + p. calculate the norm of p. */
-
-                for (j = 1; j <= n; ++j) {
+                for (j = 0; j < n; ++j) {
                     wa1.set(j, -wa1.get(j));
                     wa2.set(j, x.get(j) + wa1.get(j));
                     wa3.set(j, diag.get(j) * wa1.get(j));
                 }
-                pnorm = enorm(n, wa3.getBase().createPointer());
+                pnorm = enorm(n, wa3);
 
                 /* on the first iteration, adjust the initial step bound. */
-
                 if (iter == 1) {
                     delta = min(delta, pnorm);
                 }
 
                 /* evaluate the function at x + p and calculate its norm. */
-
-                iflag = fcn.call(n, wa2.getBase().createPointer(),
-                        wa4.getBase().createPointer(), 1);
+                iflag = fcn.call(n, wa2, wa4, 1, NO_POINTERS);
                 nfev.set(nfev.get() + 1);
                 if (iflag < 0) {
-
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
                     if (nprint > 0) {
-                        fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
+                        fcn.call(n, x, fvec, 0, NO_POINTERS);
                     }
                     return info;
                 }
-                fnorm1 = enorm(n, wa4.getBase().createPointer());
+                fnorm1 = enorm(n, wa4);
 
                 /* compute the scaled actual reduction. */
-
                 actred = -1.;
                 if (fnorm1 < fnorm) {
                     /* Computing 2nd power */
@@ -2245,17 +2615,16 @@ public class JavaMinpack {
                 }
 
                 /* compute the scaled predicted reduction. */
-
-                l = 1;
-                for (i = 1; i <= n; ++i) {
+                l = 0;
+                for (i = 0; i < n; ++i) {
                     sum = 0.;
-                    for (j = i; j <= n; ++j) {
+                    for (j = i; j < n; ++j) {
                         sum += r.get(l) * wa1.get(j);
                         ++l;
                     }
                     wa3.set(i, qtf.get(i) + sum);
                 }
-                temp = enorm(n, wa3.getBase().createPointer());
+                temp = enorm(n, wa3);
                 prered = 0.;
                 if (temp < fnorm) {
                     /* Computing 2nd power */
@@ -2265,14 +2634,12 @@ public class JavaMinpack {
 
                 /* compute the ratio of the actual to the predicted */
                 /* reduction. */
-
                 ratio = 0.;
                 if (prered > 0.) {
                     ratio = actred / prered;
                 }
 
                 /* update the step bound. */
-
                 if (ratio < p1) {
                     ncsuc = 0;
                     ++ncfail;
@@ -2285,242 +2652,1739 @@ public class JavaMinpack {
                         d1 = pnorm / p5;
                         delta = max(delta, d1);
                     }
-                    if (abs(ratio - 1.) <= p1) {
+                    if (abs(ratio - 1.) <= p1) {
+                        delta = pnorm / p5;
+                    }
+                }
+
+                /* test for successful iteration. */
+                if (ratio >= p0001) {
+
+                    /* successful iteration. update x, fvec, and their norms. */
+                    for (j = 0; j < n; ++j) {
+                        x.set(j, wa2.get(j));
+                        wa2.set(j, diag.get(j) * x.get(j));
+                        fvec.set(j, wa4.get(j));
+                    }
+                    xnorm = enorm(n, wa2);
+                    fnorm = fnorm1;
+                    ++iter;
+                }
+
+                /* determine the progress of the iteration. */
+                ++nslow1;
+                if (actred >= p001) {
+                    nslow1 = 0;
+                }
+                if (jeval == TRUE) {
+                    ++nslow2;
+                }
+                if (actred >= p1) {
+                    nslow2 = 0;
+                }
+
+                /* test for convergence. */
+                if (delta <= xtol * xnorm || fnorm == 0.) {
+                    info = 1;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+
+                /* tests for termination and stringent tolerances. */
+                if (nfev.get() >= maxfev) {
+                    info = 2;
+                }
+                /* Computing MAX */
+                d1 = p1 * delta;
+                if (p1 * max(d1, pnorm) <= epsmch * xnorm) {
+                    info = 3;
+                }
+                if (nslow2 == 5) {
+                    info = 4;
+                }
+                if (nslow1 == 10) {
+                    info = 5;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+
+                /* criterion for recalculating jacobian approximation. */
+                if (ncfail == 2) {
+                    break;
+                }
+
+                /* calculate the rank one modification to the jacobian */
+                /* and update qtf if necessary. */
+                for (j = 0; j < n; ++j) {
+                    sum = 0.;
+                    for (i = 0; i < n; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * wa4.get(i);
+                    }
+                    wa2.set(j, (sum - wa3.get(j)) / pnorm);
+                    wa1.set(j, diag.get(j) * (diag.get(j) * wa1.get(j) / pnorm));
+                    if (ratio >= p0001) {
+                        qtf.set(j, sum);
+                    }
+                }
+
+                /* compute the qr factorization of the updated jacobian. */
+                r1updt(n, n, r, lr, wa1, wa2, wa3, singp);
+                sing = singp.get();
+                r1mpyq(n, n, fjac, ldfjac, wa2, wa3);
+                r1mpyq(1, n, qtf, 1, wa2, wa3);
+
+                /* end of the inner loop. */
+                jeval = FALSE;
+            }
+
+            /* end of the outer loop. */
+        }
+
+        /* TERMINATE: termination, either normal or user imposed. */
+
+        /* last card of subroutine hybrd. */
+    }
+
+    //======================== hybrd1.c =====================================
+    public static int hybrd1(final INNonlinearEquations fcn,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final double tol,
+                             final IDoublePointer wa,
+                             final int lwa) {
+
+        /* Initialized data */
+        final double factor = 100.;
+
+        /* Local variables */
+        int j, lr, index;
+        int ml, mu, mode;
+        double xtol;
+        int maxfev, nprint;
+        double epsfcn;
+        int info;
+
+        info = 0;
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || tol < 0. || lwa < n * (n * 3 + 13) / 2) {
+            return info;
+        }
+
+        /* call hybrd. */
+        maxfev = (n + 1) * 200;
+        xtol = tol;
+        ml = n - 1;
+        mu = n - 1;
+        epsfcn = 0.;
+        mode = 2;
+        for (j = 0; j < n; ++j) {
+            wa.set(j, 1.);
+        }
+        nprint = 0;
+        lr = n * (n + 1) / 2;
+        index = n * 6 + lr;
+
+        IDoublePointer fjac = wa.getBase().createPointer();
+        fjac.move(wa.getPoint() + index);
+        IDoublePointer r = wa.getBase().createPointer();
+        r.move(wa.getPoint() + n * 6);
+        IDoublePointer qtf = wa.getBase().createPointer();
+        qtf.move(wa.getPoint() + n);
+        IDoublePointer wa1 = wa.getBase().createPointer();
+        wa1.move(wa.getPoint() + (n << 1));
+        IDoublePointer wa2 = wa.getBase().createPointer();
+        wa2.move(wa.getPoint() + n * 3);
+        IDoublePointer wa3 = wa.getBase().createPointer();
+        wa3.move(wa.getPoint() + (n << 2));
+        IDoublePointer wa4 = wa.getBase().createPointer();
+        wa4.move(wa.getPoint() + n * 5);
+
+        try (ArrayArena arena = ArrayArena.open()) {
+            IIntPointer nfev = arena.ints(1).createPointer();
+            info = hybrd(fcn, n, x, fvec, xtol, maxfev, ml, mu, epsfcn, wa, mode,
+                    factor, nprint, nfev, fjac, n, r, lr, qtf, wa1, wa2, wa3, wa4);
+        }
+        if (info == 5) {
+            info = 4;
+        }
+        return info;
+
+        /* last card of subroutine hybrd1. */
+    }
+
+    //======================== hybrj.c =====================================
+    public static int hybrj(final INNonlinearEquationsJacobi fcn,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final double xtol,
+                            final int maxfev,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IIntPointer njev,
+                            final IDoublePointer r,
+                            final int lr,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return hybrj(fcn, n, x, fvec, fjac, ldfjac, xtol, maxfev, diag, mode, factor,
+                    nprint, nfev, njev, r, lr, qtf, wa1, wa2, wa3, wa4,
+                    arena.ints(1).createPointer(), arena.ints(1).createPointer());
+        }
+    }
+
+    /**
+     * 与{@code hybrj}相同，但由调用者提供整型单元{@code iwa}和{@code singp}，
+     * 以便{@code PowellHybridWorkspace}重复调用时不产生任何分配。
+     */
+    static int hybrj(final INNonlinearEquationsJacobi fcn,
+                     final int n,
+                     final IDoublePointer x,
+                     final IDoublePointer fvec,
+                     final IDoublePointer fjac,
+                     final int ldfjac,
+                     final double xtol,
+                     final int maxfev,
+                     final IDoublePointer diag,
+                     final int mode,
+                     final double factor,
+                     final int nprint,
+                     final IIntPointer nfev,
+                     final IIntPointer njev,
+                     final IDoublePointer r,
+                     final int lr,
+                     final IDoublePointer qtf,
+                     final IDoublePointer wa1,
+                     final IDoublePointer wa2,
+                     final IDoublePointer wa3,
+                     final IDoublePointer wa4,
+                     final IIntPointer iwa,
+                     final IIntPointer singp) {
+
+        /* Initialized data */
+        final double p1 = .1;
+        final double p5 = .5;
+        final double p001 = .001;
+        final double p0001 = 1e-4;
+
+        /* System generated locals */
+        double d1, d2;
+
+        /* Local variables */
+        int i, j, l;
+        double sum;
+        int sing;
+        int iter;
+        double temp;
+        int iflag;
+        double delta = 0.;
+        int jeval;
+        int ncsuc;
+        double ratio;
+        double fnorm;
+        double pnorm, xnorm = 0., fnorm1;
+        int nslow1, nslow2;
+        int ncfail;
+        double actred, epsmch, prered;
+        int info;
+
+        /* epsmch is the machine precision. */
+        epsmch = DPMPAR1;
+
+        info = 0;
+        iflag = 0;
+        nfev.set(0);
+        njev.set(0);
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || ldfjac < n || xtol < 0. || maxfev <= 0 || factor <= 0. ||
+                lr < n * (n + 1) / 2) {
+            // goto TERMINATE;
+            if (iflag < 0) {
+                info = iflag;
+            }
+            if (nprint > 0) {
+                fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+            }
+            return info;
+        }
+        if (mode == 2) {
+            for (j = 0; j < n; ++j) {
+                if (diag.get(j) <= 0.) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+            }
+        }
+
+        /* evaluate the function at the starting point */
+        /* and calculate its norm. */
+        iflag = fcn.call(n, x, fvec, fjac, ldfjac, 1, NO_POINTERS);
+        nfev.set(1);
+        if (iflag < 0) {
+            // goto TERMINATE;
+            if (iflag < 0) {
+                info = iflag;
+            }
+            if (nprint > 0) {
+                fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+            }
+            return info;
+        }
+        fnorm = enorm(n, fvec);
+
+        /* initialize iteration counter and monitors. */
+        iter = 1;
+        ncsuc = 0;
+        ncfail = 0;
+        nslow1 = 0;
+        nslow2 = 0;
+
+        /* beginning of the outer loop. */
+        for (; ; ) {
+            jeval = TRUE;
+
+            /* calculate the jacobian matrix. */
+            iflag = fcn.call(n, x, fvec, fjac, ldfjac, 2, NO_POINTERS);
+            njev.set(njev.get() + 1);
+            if (iflag < 0) {
+                // goto TERMINATE;
+                if (iflag < 0) {
+                    info = iflag;
+                }
+                if (nprint > 0) {
+                    fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                }
+                return info;
+            }
+
+            /* compute the qr factorization of the jacobian. */
+            qrfac(n, n, fjac, ldfjac, FALSE, iwa, 1, wa1, wa2, wa3);
+
+            /* on the first iteration and if mode is 1, scale according */
+            /* to the norms of the columns of the initial jacobian. */
+            if (iter == 1) {
+                if (mode != 2) {
+                    for (j = 0; j < n; ++j) {
+                        diag.set(j, wa2.get(j));
+                        if (wa2.get(j) == 0.) {
+                            diag.set(j, 1.);
+                        }
+                    }
+                }
+
+                /* on the first iteration, calculate the norm of the scaled x */
+                /* and initialize the step bound delta. */
+                for (j = 0; j < n; ++j) {
+                    wa3.set(j, diag.get(j) * x.get(j));
+                }
+                xnorm = enorm(n, wa3);
+                delta = factor * xnorm;
+                if (delta == 0.) {
+                    delta = factor;
+                }
+            }
+
+            /* form (q transpose)*fvec and store in qtf. */
+            for (i = 0; i < n; ++i) {
+                qtf.set(i, fvec.get(i));
+            }
+            for (j = 0; j < n; ++j) {
+                if (fjac.get(j + j * ldfjac) != 0.) {
+                    sum = 0.;
+                    for (i = j; i < n; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * qtf.get(i);
+                    }
+                    temp = -sum / fjac.get(j + j * ldfjac);
+                    for (i = j; i < n; ++i) {
+                        qtf.set(i, qtf.get(i) + fjac.get(i + j * ldfjac) * temp);
+                    }
+                }
+            }
+
+            /* copy the triangular factor of the qr factorization into r. */
+            sing = FALSE;
+            for (j = 0; j < n; ++j) {
+                l = j;
+                for (i = 0; i < j; ++i) {
+                    r.set(l, fjac.get(i + j * ldfjac));
+                    l = l + n - i - 1;
+                }
+                r.set(l, wa1.get(j));
+                if (wa1.get(j) == 0.) {
+                    sing = TRUE;
+                }
+            }
+
+            /* accumulate the orthogonal factor in fjac. */
+            qform(n, n, fjac, ldfjac, wa1);
+
+            /* rescale if necessary. */
+            if (mode != 2) {
+                for (j = 0; j < n; ++j) {
+                    /* Computing MAX */
+                    d1 = diag.get(j);
+                    d2 = wa2.get(j);
+                    diag.set(j, max(d1, d2));
+                }
+            }
+
+            /* beginning of the inner loop. */
+            for (; ; ) {
+
+                /* if requested, call fcn to enable printing of iterates. */
+                if (nprint > 0) {
+                    iflag = 0;
+                    if ((iter - 1) % nprint == 0) {
+                        iflag = fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                    }
+                    if (iflag < 0) {
+                        // goto TERMINATE;
+                        if (iflag < 0) {
+                            info = iflag;
+                        }
+                        if (nprint > 0) {
+                            fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                        }
+                        return info;
+                    }
+                }
+
+                /* determine the direction p. */
+                dogleg(n, r, lr, diag, qtf, delta, wa1, wa2, wa3);
+
+                /* store the direction p and x + p. calculate the norm of p. */
+                for (j = 0; j < n; ++j) {
+                    wa1.set(j, -wa1.get(j));
+                    wa2.set(j, x.get(j) + wa1.get(j));
+                    wa3.set(j, diag.get(j) * wa1.get(j));
+                }
+                pnorm = enorm(n, wa3);
+
+                /* on the first iteration, adjust the initial step bound. */
+                if (iter == 1) {
+                    delta = min(delta, pnorm);
+                }
+
+                /* evaluate the function at x + p and calculate its norm. */
+                iflag = fcn.call(n, wa2, wa4, fjac, ldfjac, 1, NO_POINTERS);
+                nfev.set(nfev.get() + 1);
+                if (iflag < 0) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+                fnorm1 = enorm(n, wa4);
+
+                /* compute the scaled actual reduction. */
+                actred = -1.;
+                if (fnorm1 < fnorm) {
+                    /* Computing 2nd power */
+                    d1 = fnorm1 / fnorm;
+                    actred = 1. - d1 * d1;
+                }
+
+                /* compute the scaled predicted reduction. */
+                l = 0;
+                for (i = 0; i < n; ++i) {
+                    sum = 0.;
+                    for (j = i; j < n; ++j) {
+                        sum += r.get(l) * wa1.get(j);
+                        ++l;
+                    }
+                    wa3.set(i, qtf.get(i) + sum);
+                }
+                temp = enorm(n, wa3);
+                prered = 0.;
+                if (temp < fnorm) {
+                    /* Computing 2nd power */
+                    d1 = temp / fnorm;
+                    prered = 1. - d1 * d1;
+                }
+
+                /* compute the ratio of the actual to the predicted */
+                /* reduction. */
+                ratio = 0.;
+                if (prered > 0.) {
+                    ratio = actred / prered;
+                }
+
+                /* update the step bound. */
+                if (ratio < p1) {
+                    ncsuc = 0;
+                    ++ncfail;
+                    delta = p5 * delta;
+                } else {
+                    ncfail = 0;
+                    ++ncsuc;
+                    if (ratio >= p5 || ncsuc > 1) {
+                        /* Computing MAX */
+                        d1 = pnorm / p5;
+                        delta = max(delta, d1);
+                    }
+                    if (abs(ratio - 1.) <= p1) {
+                        delta = pnorm / p5;
+                    }
+                }
+
+                /* test for successful iteration. */
+                if (ratio >= p0001) {
+
+                    /* successful iteration. update x, fvec, and their norms. */
+                    for (j = 0; j < n; ++j) {
+                        x.set(j, wa2.get(j));
+                        wa2.set(j, diag.get(j) * x.get(j));
+                        fvec.set(j, wa4.get(j));
+                    }
+                    xnorm = enorm(n, wa2);
+                    fnorm = fnorm1;
+                    ++iter;
+                }
+
+                /* determine the progress of the iteration. */
+                ++nslow1;
+                if (actred >= p001) {
+                    nslow1 = 0;
+                }
+                if (jeval == TRUE) {
+                    ++nslow2;
+                }
+                if (actred >= p1) {
+                    nslow2 = 0;
+                }
+
+                /* test for convergence. */
+                if (delta <= xtol * xnorm || fnorm == 0.) {
+                    info = 1;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+
+                /* tests for termination and stringent tolerances. */
+                if (nfev.get() >= maxfev) {
+                    info = 2;
+                }
+                /* Computing MAX */
+                d1 = p1 * delta;
+                if (p1 * max(d1, pnorm) <= epsmch * xnorm) {
+                    info = 3;
+                }
+                if (nslow2 == 5) {
+                    info = 4;
+                }
+                if (nslow1 == 10) {
+                    info = 5;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    if (iflag < 0) {
+                        info = iflag;
+                    }
+                    if (nprint > 0) {
+                        fcn.call(n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                    }
+                    return info;
+                }
+
+                /* criterion for recalculating jacobian. */
+                if (ncfail == 2) {
+                    break;
+                }
+
+                /* calculate the rank one modification to the jacobian */
+                /* and update qtf if necessary. */
+                for (j = 0; j < n; ++j) {
+                    sum = 0.;
+                    for (i = 0; i < n; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * wa4.get(i);
+                    }
+                    wa2.set(j, (sum - wa3.get(j)) / pnorm);
+                    wa1.set(j, diag.get(j) * (diag.get(j) * wa1.get(j) / pnorm));
+                    if (ratio >= p0001) {
+                        qtf.set(j, sum);
+                    }
+                }
+
+                /* compute the qr factorization of the updated jacobian. */
+                r1updt(n, n, r, lr, wa1, wa2, wa3, singp);
+                sing = singp.get();
+                r1mpyq(n, n, fjac, ldfjac, wa2, wa3);
+                r1mpyq(1, n, qtf, 1, wa2, wa3);
+
+                /* end of the inner loop. */
+                jeval = FALSE;
+            }
+
+            /* end of the outer loop. */
+        }
+
+        /* TERMINATE: termination, either normal or user imposed. */
+
+        /* last card of subroutine hybrj. */
+    }
+
+    //======================== hybrj1.c =====================================
+    public static int hybrj1(final INNonlinearEquationsJacobi fcn,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final double tol,
+                             final IDoublePointer wa,
+                             final int lwa) {
+
+        /* Initialized data */
+        final double factor = 100.;
+
+        /* Local variables */
+        int j, lr, mode;
+        double xtol;
+        int maxfev, nprint;
+        int info;
+
+        info = 0;
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || ldfjac < n || tol < 0. || lwa < n * (n + 13) / 2) {
+            return info;
+        }
+
+        /* call hybrj. */
+        maxfev = (n + 1) * 100;
+        xtol = tol;
+        mode = 2;
+        for (j = 0; j < n; ++j) {
+            wa.set(j, 1.);
+        }
+        nprint = 0;
+        lr = n * (n + 1) / 2;
+
+        IDoublePointer r = wa.getBase().createPointer();
+        r.move(wa.getPoint() + n * 6);
+        IDoublePointer qtf = wa.getBase().createPointer();
+        qtf.move(wa.getPoint() + n);
+        IDoublePointer wa1 = wa.getBase().createPointer();
+        wa1.move(wa.getPoint() + (n << 1));
+        IDoublePointer wa2 = wa.getBase().createPointer();
+        wa2.move(wa.getPoint() + n * 3);
+        IDoublePointer wa3 = wa.getBase().createPointer();
+        wa3.move(wa.getPoint() + (n << 2));
+        IDoublePointer wa4 = wa.getBase().createPointer();
+        wa4.move(wa.getPoint() + n * 5);
+
+        try (ArrayArena arena = ArrayArena.open()) {
+            IIntPointer nfev = arena.ints(1).createPointer();
+            IIntPointer njev = arena.ints(1).createPointer();
+            info = hybrj(fcn, n, x, fvec, fjac, ldfjac, xtol, maxfev, wa, mode,
+                    factor, nprint, nfev, njev, r, lr, qtf, wa1, wa2, wa3, wa4);
+        }
+        if (info == 5) {
+            info = 4;
+        }
+        return info;
+
+        /* last card of subroutine hybrj1. */
+    }
+
+    //======================== lmder.c =====================================
+    public static int lmder(final IMNNonlinearLeastSquaresJacobi fcn,
+                            final int m,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final double ftol,
+                            final double xtol,
+                            final double gtol,
+                            final int maxfev,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IIntPointer njev,
+                            final IIntPointer ipvt,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return lmder(fcn, m, n, x, fvec, fjac, ldfjac, ftol, xtol, gtol, maxfev,
+                    diag, mode, factor, nprint, nfev, njev, ipvt, qtf, wa1, wa2, wa3, wa4,
+                    arena.doubles(1).createPointer());
+        }
+    }
+
+    /**
+     * 与{@code lmder}相同，但由调用者提供保存levenberg-marquardt参数的单元{@code parp}，
+     * 以便{@code LevenbergMarquardtWorkspace}重复调用时不产生任何分配。
+     */
+    static int lmder(final IMNNonlinearLeastSquaresJacobi fcn,
+                     final int m,
+                     final int n,
+                     final IDoublePointer x,
+                     final IDoublePointer fvec,
+                     final IDoublePointer fjac,
+                     final int ldfjac,
+                     final double ftol,
+                     final double xtol,
+                     final double gtol,
+                     final int maxfev,
+                     final IDoublePointer diag,
+                     final int mode,
+                     final double factor,
+                     final int nprint,
+                     final IIntPointer nfev,
+                     final IIntPointer njev,
+                     final IIntPointer ipvt,
+                     final IDoublePointer qtf,
+                     final IDoublePointer wa1,
+                     final IDoublePointer wa2,
+                     final IDoublePointer wa3,
+                     final IDoublePointer wa4,
+                     final IDoublePointer parp) {
+
+        /* Initialized data */
+        double p1 = .1;
+        double p5 = .5;
+        double p25 = .25;
+        double p75 = .75;
+        double p0001 = 1e-4;
+
+        /* System generated locals */
+        double d1, d2;
+
+        /* Local variables */
+        int i, j, l;
+        double par, sum;
+        int iter;
+        double temp, temp1, temp2;
+        int iflag;
+        double delta = 0.;
+        double ratio;
+        double fnorm, gnorm, pnorm, xnorm = 0.,
+                fnorm1, actred, dirder, epsmch, prered;
+        int info;
+
+        /* epsmch is the machine precision. */
+        epsmch = DPMPAR1;
+
+        info = 0;
+        iflag = 0;
+        nfev.set(0);
+        njev.set(0);
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || m < n || ldfjac < m || ftol < 0. || xtol < 0. ||
+                gtol < 0. || maxfev <= 0 || factor <= 0.) {
+            // goto TERMINATE;
+            return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+        }
+
+        if (mode == 2) {
+            for (j = 0; j < n; ++j) {
+                if (diag.get(j) <= 0.) {
+                    // goto TERMINATE;
+                    return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+                }
+            }
+        }
+
+        /* evaluate the function at the starting point */
+        /* and calculate its norm. */
+        iflag = fcn.call(m, n, x, fvec, fjac, ldfjac, 1, NO_POINTERS);
+        nfev.set(1);
+        if (iflag < 0) {
+            // goto TERMINATE;
+            return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+        }
+        fnorm = enorm(m, fvec);
+
+        /* initialize levenberg-marquardt parameter and iteration counter. */
+
+        par = 0.;
+        iter = 1;
+
+        /* beginning of the outer loop. */
+        for (; ; ) {
+
+            /* calculate the jacobian matrix. */
+            iflag = fcn.call(m, n, x, fvec, fjac, ldfjac, 2, NO_POINTERS);
+            njev.set(njev.get() + 1);
+            if (iflag < 0) {
+                // goto TERMINATE;
+                return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+            }
+
+            /* if requested, call fcn to enable printing of iterates. */
+            if (nprint > 0) {
+                iflag = 0;
+                if ((iter - 1) % nprint == 0) {
+                    iflag = fcn.call(m, n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+                }
+                if (iflag < 0) {
+                    // goto TERMINATE;
+                    return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+                }
+            }
+
+            /* compute the qr factorization of the jacobian. */
+            qrfac(m, n, fjac, ldfjac, TRUE, ipvt, n, wa1, wa2, wa3);
+
+            /* on the first iteration and if mode is 1, scale according */
+            /* to the norms of the columns of the initial jacobian. */
+            if (iter == 1) {
+                if (mode != 2) {
+                    for (j = 0; j < n; ++j) {
+                        diag.set(j, wa2.get(j));
+                        if (wa2.get(j) == 0.) {
+                            diag.set(j, 1.);
+                        }
+                    }
+                }
+
+                /* on the first iteration, calculate the norm of the scaled x */
+                /* and initialize the step bound delta. */
+                for (j = 0; j < n; ++j) {
+                    wa3.set(j, diag.get(j) * x.get(j));
+                }
+                xnorm = enorm(n, wa3);
+                delta = factor * xnorm;
+                if (delta == 0.) {
+                    delta = factor;
+                }
+            }
+
+            /* form (q transpose)*fvec and store the first n components in */
+            /* qtf. */
+            for (i = 0; i < m; ++i) {
+                wa4.set(i, fvec.get(i));
+            }
+            for (j = 0; j < n; ++j) {
+                if (fjac.get(j + j * ldfjac) != 0.) {
+                    sum = 0.;
+                    for (i = j; i < m; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * wa4.get(i);
+                    }
+                    temp = -sum / fjac.get(j + j * ldfjac);
+                    for (i = j; i < m; ++i) {
+                        wa4.set(i, wa4.get(i) + fjac.get(i + j * ldfjac) * temp);
+                    }
+                }
+                fjac.set(j + j * ldfjac, wa1.get(j));
+                qtf.set(j, wa4.get(j));
+            }
+
+            /* compute the norm of the scaled gradient. */
+            gnorm = 0.;
+            if (fnorm != 0.) {
+                for (j = 0; j < n; ++j) {
+                    l = ipvt.get(j) - 1;
+                    if (wa2.get(l) != 0.) {
+                        sum = 0.;
+                        for (i = 0; i <= j; ++i) {
+                            sum += fjac.get(i + j * ldfjac) * (qtf.get(i) / fnorm);
+                        }
+                        /* Computing MAX */
+                        d1 = abs(sum / wa2.get(l));
+                        gnorm = max(gnorm, d1);
+                    }
+                }
+            }
+
+            /* test for convergence of the gradient norm. */
+            if (gnorm <= gtol) {
+                info = 4;
+            }
+            if (info != 0) {
+                // goto TERMINATE;
+                return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+            }
+
+            /* rescale if necessary. */
+            if (mode != 2) {
+                for (j = 0; j < n; ++j) {
+                    /* Computing MAX */
+                    d1 = diag.get(j);
+                    d2 = wa2.get(j);
+                    diag.set(j, max(d1, d2));
+                }
+            }
+
+            /* beginning of the inner loop. */
+            do {
+
+                /* determine the levenberg-marquardt parameter. */
+                parp.set(par);
+                lmpar(n, fjac, ldfjac, ipvt, diag, qtf, delta, parp, wa1, wa2, wa3, wa4);
+                par = parp.get();
+
+                /* store the direction p and x + p. calculate the norm of p. */
+                for (j = 0; j < n; ++j) {
+                    wa1.set(j, -wa1.get(j));
+                    wa2.set(j, x.get(j) + wa1.get(j));
+                    wa3.set(j, diag.get(j) * wa1.get(j));
+                }
+                pnorm = enorm(n, wa3);
+
+                /* on the first iteration, adjust the initial step bound. */
+                if (iter == 1) {
+                    delta = min(delta, pnorm);
+                }
+
+                /* evaluate the function at x + p and calculate its norm. */
+                iflag = fcn.call(m, n, wa2, wa4, fjac, ldfjac, 1, NO_POINTERS);
+                nfev.set(nfev.get() + 1);
+                if (iflag < 0) {
+                    // goto TERMINATE;
+                    return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+                }
+                fnorm1 = enorm(m, wa4);
+
+                /* compute the scaled actual reduction. */
+                actred = -1.;
+                if (p1 * fnorm1 < fnorm) {
+                    /* Computing 2nd power */
+                    d1 = fnorm1 / fnorm;
+                    actred = 1. - d1 * d1;
+                }
+
+                /* compute the scaled predicted reduction and */
+                /* the scaled directional derivative. */
+                for (j = 0; j < n; ++j) {
+                    wa3.set(j, 0.);
+                    l = ipvt.get(j) - 1;
+                    temp = wa1.get(l);
+                    for (i = 0; i <= j; ++i) {
+                        wa3.set(i, wa3.get(i) + fjac.get(i + j * ldfjac) * temp);
+                    }
+                }
+                temp1 = enorm(n, wa3) / fnorm;
+                temp2 = (sqrt(par) * pnorm) / fnorm;
+                prered = temp1 * temp1 + temp2 * temp2 / p5;
+                dirder = -(temp1 * temp1 + temp2 * temp2);
+
+                /* compute the ratio of the actual to the predicted */
+                /* reduction. */
+                ratio = 0.;
+                if (prered != 0.) {
+                    ratio = actred / prered;
+                }
+
+                /* update the step bound. */
+                if (ratio <= p25) {
+                    if (actred >= 0.) {
+                        temp = p5;
+                    } else {
+                        temp = p5 * dirder / (dirder + p5 * actred);
+                    }
+                    if (p1 * fnorm1 >= fnorm || temp < p1) {
+                        temp = p1;
+                    }
+                    /* Computing MIN */
+                    d1 = pnorm / p1;
+                    delta = temp * min(delta, d1);
+                    par /= temp;
+                } else {
+                    if (par == 0. || ratio >= p75) {
+                        delta = pnorm / p5;
+                        par = p5 * par;
+                    }
+                }
+
+                /* test for successful iteration. */
+                if (ratio >= p0001) {
+
+                    /* successful iteration. update x, fvec, and their norms. */
+                    for (j = 0; j < n; ++j) {
+                        x.set(j, wa2.get(j));
+                        wa2.set(j, diag.get(j) * x.get(j));
+                    }
+                    for (i = 0; i < m; ++i) {
+                        fvec.set(i, wa4.get(i));
+                    }
+                    xnorm = enorm(n, wa2);
+                    fnorm = fnorm1;
+                    ++iter;
+                }
+
+                /* tests for convergence. */
+                if (abs(actred) <= ftol && prered <= ftol && p5 * ratio <= 1.) {
+                    info = 1;
+                }
+                if (delta <= xtol * xnorm) {
+                    info = 2;
+                }
+                if (abs(actred) <= ftol && prered <= ftol && p5 * ratio <= 1. && info == 2) {
+                    info = 3;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+                }
+
+                /* tests for termination and stringent tolerances. */
+                if (nfev.get() >= maxfev) {
+                    info = 5;
+                }
+                if (abs(actred) <= epsmch && prered <= epsmch && p5 * ratio <= 1.) {
+                    info = 6;
+                }
+                if (delta <= epsmch * xnorm) {
+                    info = 7;
+                }
+                if (gnorm <= epsmch) {
+                    info = 8;
+                }
+                if (info != 0) {
+                    // goto TERMINATE;
+                    return lmderTerminate(fcn, m, n, x, fvec, fjac, ldfjac, nprint, info, iflag);
+                }
+                /* end of the inner loop. repeat if iteration unsuccessful. */
+            } while (ratio < p0001);
+
+            /* end of the outer loop. */
+        }
+
+        /* TERMINATE: termination, either normal or user imposed. */
+
+        /* last card of subroutine lmder. */
+    }
+
+    /**
+     * {@code lmder}的终止处理，对应C代码中的{@code TERMINATE}标签：
+     * 若用户终止（{@code iflag < 0}）则返回{@code iflag}，
+     * 若{@code nprint > 0}则在返回前调用一次{@code fcn}以打印最终结果。
+     */
+    private static int lmderTerminate(final IMNNonlinearLeastSquaresJacobi fcn,
+                                      final int m,
+                                      final int n,
+                                      final IDoublePointer x,
+                                      final IDoublePointer fvec,
+                                      final IDoublePointer fjac,
+                                      final int ldfjac,
+                                      final int nprint,
+                                      final int info,
+                                      final int iflag) {
+        if (nprint > 0) {
+            fcn.call(m, n, x, fvec, fjac, ldfjac, 0, NO_POINTERS);
+        }
+        return iflag < 0 ? iflag : info;
+    }
+
+    //======================== lmder1.c =====================================
+    public static int lmder1(final IMNNonlinearLeastSquaresJacobi fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final double tol,
+                             final IIntPointer ipvt,
+                             final IDoublePointer wa,
+                             final int lwa) {
+
+        /* Initialized data */
+        final double factor = 100.;
+
+        /* Local variables */
+        int mode = 1;
+
+        double ftol = tol;
+        double gtol = 0.;
+        double xtol = tol;
+        int maxfev = (n + 1) * 100;
+        int nprint = 0;
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || m < n || ldfjac < m || tol < 0. || lwa < n * 5 + m) {
+            return 0;
+        }
+
+        IDoublePointer qtf = wa.getBase().createPointer();
+        qtf.move(wa.getPoint() + n);
+        IDoublePointer wa1 = wa.getBase().createPointer();
+        wa1.move(wa.getPoint() + (n << 1));
+        IDoublePointer wa2 = wa.getBase().createPointer();
+        wa2.move(wa.getPoint() + n * 3);
+        IDoublePointer wa3 = wa.getBase().createPointer();
+        wa3.move(wa.getPoint() + (n << 2));
+        IDoublePointer wa4 = wa.getBase().createPointer();
+        wa4.move(wa.getPoint() + n * 5);
+
+        /* call lmder. */
+        int info;
+        try (ArrayArena arena = ArrayArena.open()) {
+            IIntPointer nfev = arena.ints(1).createPointer();
+            IIntPointer njev = arena.ints(1).createPointer();
+            info = lmder(fcn, m, n, x, fvec, fjac, ldfjac,
+                    ftol, xtol, gtol, maxfev, wa, mode, factor,
+                    nprint, nfev, njev, ipvt, qtf, wa1, wa2,
+                    wa3, wa4);
+        }
+
+        if (info == 8) {
+            info = 4;
+        }
+
+        return info;
+
+        /* last card of subroutine lmder1. */
+    }
+
+    //======================== lmdif.c =====================================
+    public static int lmdif(final IMNNonlinearLeastSquares fcn,
+                            final int m,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final double ftol,
+                            final double xtol,
+                            final double gtol,
+                            final int maxfev,
+                            final double epsfcn,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final IIntPointer ipvt,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4) {
+        return lmdif(fcn, m, n, x, fvec, ftol, xtol, gtol, maxfev, epsfcn, diag,
+                mode, factor, nprint, nfev, fjac, ldfjac, ipvt, qtf, wa1, wa2, wa3, wa4,
+                null, 1, null);
+    }
+
+    /**
+     * 与{@code lmdif}相同，但雅可比矩阵由并行的{@code fdjac2}计算，
+     * 参数{@code executor}和{@code parallelism}的含义见{@code fdjac2}，
+     * 得到的结果与串行的{@code lmdif}逐位相同。
+     */
+    public static int lmdif(final IMNNonlinearLeastSquares fcn,
+                            final int m,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final double ftol,
+                            final double xtol,
+                            final double gtol,
+                            final int maxfev,
+                            final double epsfcn,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final IIntPointer ipvt,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4,
+                            final Executor executor,
+                            final int parallelism) {
+        return lmdif(fcn, m, n, x, fvec, ftol, xtol, gtol, maxfev, epsfcn, diag,
+                mode, factor, nprint, nfev, fjac, ldfjac, ipvt, qtf, wa1, wa2, wa3, wa4,
+                executor, parallelism, null);
+    }
+
+    /**
+     * 与{@code lmdif}相同，但雅可比矩阵由稀疏的{@code fdjac2}按{@code sparsity}的列着色计算，
+     * 每次计算雅可比矩阵调用函数{@code sparsity.getColorCount()}次而不是{@code n}次，
+     * {@code wa3}同时用作保存扰动前的{@code x}的工作数组。
+     * 只要结构正确，得到的结果与{@code lmdif}逐位相同。
+     * 当{@code sparsity}不是{@code m×n}的结构时，返回{@code info = 0}。
+     */
+    public static int lmdif(final IMNNonlinearLeastSquares fcn,
+                            final int m,
+                            final int n,
+                            final IDoublePointer x,
+                            final IDoublePointer fvec,
+                            final double ftol,
+                            final double xtol,
+                            final double gtol,
+                            final int maxfev,
+                            final double epsfcn,
+                            final IDoublePointer diag,
+                            final int mode,
+                            final double factor,
+                            final int nprint,
+                            final IIntPointer nfev,
+                            final IDoublePointer fjac,
+                            final int ldfjac,
+                            final IIntPointer ipvt,
+                            final IDoublePointer qtf,
+                            final IDoublePointer wa1,
+                            final IDoublePointer wa2,
+                            final IDoublePointer wa3,
+                            final IDoublePointer wa4,
+                            final JacobianSparsity sparsity) {
+        return lmdif(fcn, m, n, x, fvec, ftol, xtol, gtol, maxfev, epsfcn, diag,
+                mode, factor, nprint, nfev, fjac, ldfjac, ipvt, qtf, wa1, wa2, wa3, wa4,
+                null, 1, sparsity);
+    }
+
+    private static int lmdif(final IMNNonlinearLeastSquares fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final double ftol,
+                             final double xtol,
+                             final double gtol,
+                             final int maxfev,
+                             final double epsfcn,
+                             final IDoublePointer diag,
+                             final int mode,
+                             final double factor,
+                             final int nprint,
+                             final IIntPointer nfev,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final IIntPointer ipvt,
+                             final IDoublePointer qtf,
+                             final IDoublePointer wa1,
+                             final IDoublePointer wa2,
+                             final IDoublePointer wa3,
+                             final IDoublePointer wa4,
+                             final Executor executor,
+                             final int parallelism,
+                             final JacobianSparsity sparsity) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return lmdif(fcn, m, n, x, fvec, ftol, xtol, gtol, maxfev, epsfcn, diag,
+                    mode, factor, nprint, nfev, fjac, ldfjac, ipvt, qtf, wa1, wa2, wa3, wa4,
+                    executor, parallelism, sparsity, arena.doubles(1).createPointer());
+        }
+    }
+
+    /**
+     * 与{@code lmdif}相同，但由调用者提供保存levenberg-marquardt参数的单元{@code parp}。
+     */
+    private static int lmdif(final IMNNonlinearLeastSquares fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final double ftol,
+                             final double xtol,
+                             final double gtol,
+                             final int maxfev,
+                             final double epsfcn,
+                             final IDoublePointer diag,
+                             final int mode,
+                             final double factor,
+                             final int nprint,
+                             final IIntPointer nfev,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final IIntPointer ipvt,
+                             final IDoublePointer qtf,
+                             final IDoublePointer wa1,
+                             final IDoublePointer wa2,
+                             final IDoublePointer wa3,
+                             final IDoublePointer wa4,
+                             final Executor executor,
+                             final int parallelism,
+                             final JacobianSparsity sparsity,
+                             final IDoublePointer parp) {
+
+        /* Initialized data */
+        double p1 = .1;
+        double p5 = .5;
+        double p25 = .25;
+        double p75 = .75;
+        double p0001 = 1e-4;
+
+        /* System generated locals */
+        double d1, d2;
+
+        /* Local variables */
+        int i, j, l;
+        double par, sum;
+        int iter;
+        double temp, temp1, temp2;
+        int iflag;
+        double delta = 0.;
+        double ratio;
+        double fnorm, gnorm, pnorm, xnorm = 0.,
+                fnorm1, actred, dirder, epsmch, prered;
+        int info;
+
+        /* epsmch is the machine precision. */
+        epsmch = DPMPAR1;
+
+        info = 0;
+        iflag = 0;
+        nfev.set(0);
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || m < n || ldfjac < m || ftol < 0. || xtol < 0. ||
+                gtol < 0. || maxfev <= 0 || factor <= 0. ||
+                (sparsity != null && (sparsity.getM() != m || sparsity.getN() != n))) {
+            // goto TERMINATE;
+            return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+        }
+
+        if (mode == 2) {
+            for (j = 0; j < n; ++j) {
+                if (diag.get(j) <= 0.) {
+                    // goto TERMINATE;
+                    return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+                }
+            }
+        }
+
+        /* evaluate the function at the starting point */
+        /* and calculate its norm. */
+        iflag = fcn.call(m, n, x, fvec, 1, NO_POINTERS);
+        nfev.set(1);
+        if (iflag < 0) {
+            // goto TERMINATE;
+            return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+        }
+        fnorm = enorm(m, fvec);
+
+        /* initialize levenberg-marquardt parameter and iteration counter. */
+
+        par = 0.;
+        iter = 1;
+
+        /* beginning of the outer loop. */
+        for (; ; ) {
+
+            /* calculate the jacobian matrix. */
+            if (sparsity == null) {
+                iflag = fdjac2(fcn, m, n, x, fvec, fjac, ldfjac, epsfcn, wa4, executor, parallelism);
+                nfev.set(nfev.get() + n);
+            } else {
+                iflag = fdjac2(fcn, m, n, x, fvec, fjac, ldfjac, sparsity, epsfcn, wa4, wa3);
+                nfev.set(nfev.get() + sparsity.getColorCount());
+            }
+            if (iflag < 0) {
+                // goto TERMINATE;
+                return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+            }
+
+            /* if requested, call fcn to enable printing of iterates. */
+            if (nprint > 0) {
+                iflag = 0;
+                if ((iter - 1) % nprint == 0) {
+                    iflag = fcn.call(m, n, x, fvec, 0, NO_POINTERS);
+                }
+                if (iflag < 0) {
+                    // goto TERMINATE;
+                    return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+                }
+            }
+
+            /* compute the qr factorization of the jacobian. */
+            qrfac(m, n, fjac, ldfjac, TRUE, ipvt, n, wa1, wa2, wa3);
+
+            /* on the first iteration and if mode is 1, scale according */
+            /* to the norms of the columns of the initial jacobian. */
+            if (iter == 1) {
+                if (mode != 2) {
+                    for (j = 0; j < n; ++j) {
+                        diag.set(j, wa2.get(j));
+                        if (wa2.get(j) == 0.) {
+                            diag.set(j, 1.);
+                        }
+                    }
+                }
+
+                /* on the first iteration, calculate the norm of the scaled x */
+                /* and initialize the step bound delta. */
+                for (j = 0; j < n; ++j) {
+                    wa3.set(j, diag.get(j) * x.get(j));
+                }
+                xnorm = enorm(n, wa3);
+                delta = factor * xnorm;
+                if (delta == 0.) {
+                    delta = factor;
+                }
+            }
+
+            /* form (q transpose)*fvec and store the first n components in */
+            /* qtf. */
+            for (i = 0; i < m; ++i) {
+                wa4.set(i, fvec.get(i));
+            }
+            for (j = 0; j < n; ++j) {
+                if (fjac.get(j + j * ldfjac) != 0.) {
+                    sum = 0.;
+                    for (i = j; i < m; ++i) {
+                        sum += fjac.get(i + j * ldfjac) * wa4.get(i);
+                    }
+                    temp = -sum / fjac.get(j + j * ldfjac);
+                    for (i = j; i < m; ++i) {
+                        wa4.set(i, wa4.get(i) + fjac.get(i + j * ldfjac) * temp);
+                    }
+                }
+                fjac.set(j + j * ldfjac, wa1.get(j));
+                qtf.set(j, wa4.get(j));
+            }
+
+            /* compute the norm of the scaled gradient. */
+            gnorm = 0.;
+            if (fnorm != 0.) {
+                for (j = 0; j < n; ++j) {
+                    l = ipvt.get(j) - 1;
+                    if (wa2.get(l) != 0.) {
+                        sum = 0.;
+                        for (i = 0; i <= j; ++i) {
+                            sum += fjac.get(i + j * ldfjac) * (qtf.get(i) / fnorm);
+                        }
+                        /* Computing MAX */
+                        d1 = abs(sum / wa2.get(l));
+                        gnorm = max(gnorm, d1);
+                    }
+                }
+            }
+
+            /* test for convergence of the gradient norm. */
+            if (gnorm <= gtol) {
+                info = 4;
+            }
+            if (info != 0) {
+                // goto TERMINATE;
+                return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+            }
+
+            /* rescale if necessary. */
+            if (mode != 2) {
+                for (j = 0; j < n; ++j) {
+                    /* Computing MAX */
+                    d1 = diag.get(j);
+                    d2 = wa2.get(j);
+                    diag.set(j, max(d1, d2));
+                }
+            }
+
+            /* beginning of the inner loop. */
+            do {
+
+                /* determine the levenberg-marquardt parameter. */
+                parp.set(par);
+                lmpar(n, fjac, ldfjac, ipvt, diag, qtf, delta, parp, wa1, wa2, wa3, wa4);
+                par = parp.get();
+
+                /* store the direction p and x + p. calculate the norm of p. */
+                for (j = 0; j < n; ++j) {
+                    wa1.set(j, -wa1.get(j));
+                    wa2.set(j, x.get(j) + wa1.get(j));
+                    wa3.set(j, diag.get(j) * wa1.get(j));
+                }
+                pnorm = enorm(n, wa3);
+
+                /* on the first iteration, adjust the initial step bound. */
+                if (iter == 1) {
+                    delta = min(delta, pnorm);
+                }
+
+                /* evaluate the function at x + p and calculate its norm. */
+                iflag = fcn.call(m, n, wa2, wa4, 1, NO_POINTERS);
+                nfev.set(nfev.get() + 1);
+                if (iflag < 0) {
+                    // goto TERMINATE;
+                    return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
+                }
+                fnorm1 = enorm(m, wa4);
+
+                /* compute the scaled actual reduction. */
+                actred = -1.;
+                if (p1 * fnorm1 < fnorm) {
+                    /* Computing 2nd power */
+                    d1 = fnorm1 / fnorm;
+                    actred = 1. - d1 * d1;
+                }
+
+                /* compute the scaled predicted reduction and */
+                /* the scaled directional derivative. */
+                for (j = 0; j < n; ++j) {
+                    wa3.set(j, 0.);
+                    l = ipvt.get(j) - 1;
+                    temp = wa1.get(l);
+                    for (i = 0; i <= j; ++i) {
+                        wa3.set(i, wa3.get(i) + fjac.get(i + j * ldfjac) * temp);
+                    }
+                }
+                temp1 = enorm(n, wa3) / fnorm;
+                temp2 = (sqrt(par) * pnorm) / fnorm;
+                prered = temp1 * temp1 + temp2 * temp2 / p5;
+                dirder = -(temp1 * temp1 + temp2 * temp2);
+
+                /* compute the ratio of the actual to the predicted */
+                /* reduction. */
+                ratio = 0.;
+                if (prered != 0.) {
+                    ratio = actred / prered;
+                }
+
+                /* update the step bound. */
+                if (ratio <= p25) {
+                    if (actred >= 0.) {
+                        temp = p5;
+                    } else {
+                        temp = p5 * dirder / (dirder + p5 * actred);
+                    }
+                    if (p1 * fnorm1 >= fnorm || temp < p1) {
+                        temp = p1;
+                    }
+                    /* Computing MIN */
+                    d1 = pnorm / p1;
+                    delta = temp * min(delta, d1);
+                    par /= temp;
+                } else {
+                    if (par == 0. || ratio >= p75) {
                         delta = pnorm / p5;
+                        par = p5 * par;
                     }
                 }
 
                 /* test for successful iteration. */
-
                 if (ratio >= p0001) {
 
                     /* successful iteration. update x, fvec, and their norms. */
-
-                    for (j = 1; j <= n; ++j) {
+                    for (j = 0; j < n; ++j) {
                         x.set(j, wa2.get(j));
                         wa2.set(j, diag.get(j) * x.get(j));
-                        fvec.set(j, wa4.get(j));
                     }
-                    xnorm = enorm(n, wa2.getBase().createPointer());
+                    for (i = 0; i < m; ++i) {
+                        fvec.set(i, wa4.get(i));
+                    }
+                    xnorm = enorm(n, wa2);
                     fnorm = fnorm1;
                     ++iter;
                 }
 
-                /* determine the progress of the iteration. */
-
-                ++nslow1;
-                if (actred >= p001) {
-                    nslow1 = 0;
-                }
-                if (jeval == TRUE) {
-                    ++nslow2;
+                /* tests for convergence. */
+                if (abs(actred) <= ftol && prered <= ftol && p5 * ratio <= 1.) {
+                    info = 1;
                 }
-                if (actred >= p1) {
-                    nslow2 = 0;
+                if (delta <= xtol * xnorm) {
+                    info = 2;
                 }
-
-                /* test for convergence. */
-
-                if (delta <= xtol * xnorm || fnorm == 0.) {
-                    info = 1;
+                if (abs(actred) <= ftol && prered <= ftol && p5 * ratio <= 1. && info == 2) {
+                    info = 3;
                 }
                 if (info != 0) {
-                    if (nprint > 0) {
-                        fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
-                    }
-                    return info;
+                    // goto TERMINATE;
+                    return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
                 }
 
                 /* tests for termination and stringent tolerances. */
-
                 if (nfev.get() >= maxfev) {
-                    info = 2;
+                    info = 5;
                 }
-                /* Computing MAX */
-                d1 = p1 * delta;
-                if (p1 * max(d1, pnorm) <= epsmch * xnorm) {
-                    info = 3;
+                if (abs(actred) <= epsmch && prered <= epsmch && p5 * ratio <= 1.) {
+                    info = 6;
                 }
-                if (nslow2 == 5) {
-                    info = 4;
+                if (delta <= epsmch * xnorm) {
+                    info = 7;
                 }
-                if (nslow1 == 10) {
-                    info = 5;
+                if (gnorm <= epsmch) {
+                    info = 8;
                 }
                 if (info != 0) {
-
-                    if (nprint > 0) {
-                        fcn.call(n, x.getBase().createPointer(), fvec.getBase().createPointer(), 0);
-                    }
-                    return info;
-                }
-
-                /* criterion for recalculating jacobian approximation */
-                /* by forward differences. */
-
-                if (ncfail == 2) {
-                    break;
-                }
-
-                /* calculate the rank one modification to the jacobian */
-                /* and update qtf if necessary. */
-
-                for (j = 1; j <= n; ++j) {
-                    sum = 0.;
-                    for (i = 1; i <= n; ++i) {
-                        sum += fjac.get(i + j * fjac_dim1) * wa4.get(i);
-                    }
-                    wa2.set(j, (sum - wa3.get(j)) / pnorm);
-                    wa1.set(j, diag.get(j) * (diag.get(j) * wa1.get(j) / pnorm));
-                    if (ratio >= p0001) {
-                        qtf.set(j, sum);
-                    }
+                    // goto TERMINATE;
+                    return lmdifTerminate(fcn, m, n, x, fvec, nprint, info, iflag);
                 }
+                /* end of the inner loop. repeat if iteration unsuccessful. */
+            } while (ratio < p0001);
 
-                /* compute the qr factorization of the updated jacobian. */
+            /* end of the outer loop. */
+        }
 
-                r1updt(n, n, r.getBase().createPointer(), lr, wa1.getBase().createPointer(), wa2.getBase().createPointer(),
-                        wa3.getBase().createPointer(), new IntArray(1, sing).createPointer());
-                r1mpyq(n, n, fjac.getBase().createPointer(), ldfjac, wa2.getBase().createPointer(), wa3.getBase().createPointer());
-                r1mpyq(1, n, qtf.getBase().createPointer(), 1, wa2.getBase().createPointer(), wa3.getBase().createPointer());
+        /* TERMINATE: termination, either normal or user imposed. */
 
-                /* end of the inner loop. */
+        /* last card of subroutine lmdif. */
+    }
 
-                jeval = FALSE;
-            }
+    /**
+     * {@code lmdif}的终止处理，对应C代码中的{@code TERMINATE}标签：
+     * 若用户终止（{@code iflag < 0}）则返回{@code iflag}，
+     * 若{@code nprint > 0}则在返回前调用一次{@code fcn}以打印最终结果。
+     */
+    private static int lmdifTerminate(final IMNNonlinearLeastSquares fcn,
+                                      final int m,
+                                      final int n,
+                                      final IDoublePointer x,
+                                      final IDoublePointer fvec,
+                                      final int nprint,
+                                      final int info,
+                                      final int iflag) {
+        if (nprint > 0) {
+            fcn.call(m, n, x, fvec, 0, NO_POINTERS);
         }
-        /* last card of subroutine hybrd. */
+        return iflag < 0 ? iflag : info;
     }
 
-    //======================== hybrd1.c =====================================
-    public static int hybrd1(final INNonlinearEquations fcn,
+    //======================== lmdif1.c =====================================
+    public static int lmdif1(final IMNNonlinearLeastSquares fcn,
+                             final int m,
                              final int n,
                              final IDoublePointer x,
                              final IDoublePointer fvec,
                              final double tol,
+                             final IIntPointer iwa,
                              final IDoublePointer wa,
                              final int lwa) {
-        return 0;
-    }
-
-    //======================== hybrj.c =====================================
-    public static int hybrj(final INNonlinearEquationsJacobi fcn,
-                            final int n,
-                            final IDoublePointer x,
-                            final IDoublePointer fvec,
-                            final IDoublePointer fjac,
-                            final int ldfjac,
-                            final double xtol,
-                            final int maxfev,
-                            final IDoublePointer diag,
-                            final int mode,
-                            final double factor,
-                            final int nprint,
-                            final IIntPointer nfev,
-                            final IIntPointer njev,
-                            final IDoublePointer r,
-                            final int lr,
-                            final IDoublePointer qtf,
-                            final IDoublePointer wa1,
-                            final IDoublePointer wa2,
-                            final IDoublePointer wa3,
-                            final IDoublePointer wa4) {
-        return 0;
+        return lmdif1(fcn, m, n, x, fvec, tol, iwa, wa, lwa, null, 1, null);
     }
 
-    //======================== hybrj1.c =====================================
-    public static int hybrj1(final INNonlinearEquationsJacobi fcn,
+    /**
+     * 与{@code lmdif1}相同，但雅可比矩阵由并行的{@code fdjac2}计算，
+     * 参数{@code executor}和{@code parallelism}的含义见{@code fdjac2}。
+     */
+    public static int lmdif1(final IMNNonlinearLeastSquares fcn,
+                             final int m,
                              final int n,
                              final IDoublePointer x,
                              final IDoublePointer fvec,
-                             final IDoublePointer fjac,
-                             final int ldfjac,
                              final double tol,
+                             final IIntPointer iwa,
                              final IDoublePointer wa,
-                             final int lwa) {
-        return 0;
-    }
-
-    //======================== lmder.c =====================================
-    public static int lmder(final IMNNonlinearLeastSquares fcn,
-                            final int m,
-                            final int n,
-                            final IDoublePointer x,
-                            final IDoublePointer fvec,
-                            final IDoublePointer fjac,
-                            final int ldfjac,
-                            final double ftol,
-                            final double xtol,
-                            final double gtol,
-                            final int maxfev,
-                            final IDoublePointer diag,
-                            final int mode,
-                            final double factor,
-                            final int nprint,
-                            final IIntPointer nfev,
-                            final IIntPointer njev,
-                            final IIntPointer ipvt,
-                            final IDoublePointer qtf,
-                            final IDoublePointer wa1,
-                            final IDoublePointer wa2,
-                            final IDoublePointer wa3,
-                            final IDoublePointer wa4) {
-        return 0;
+                             final int lwa,
+                             final Executor executor,
+                             final int parallelism) {
+        return lmdif1(fcn, m, n, x, fvec, tol, iwa, wa, lwa, executor, parallelism, null);
     }
 
-    //======================== lmder1.c =====================================
-    public static int lmder1(final IMNNonlinearLeastSquares fcn,
+    /**
+     * 与{@code lmdif1}相同，但雅可比矩阵由稀疏的{@code fdjac2}按{@code sparsity}的列着色计算，
+     * 参见稀疏的{@code lmdif}。
+     */
+    public static int lmdif1(final IMNNonlinearLeastSquares fcn,
                              final int m,
                              final int n,
                              final IDoublePointer x,
                              final IDoublePointer fvec,
-                             final IDoublePointer fjac,
-                             final int ldfjac,
                              final double tol,
-                             final IIntPointer ipvt,
+                             final IIntPointer iwa,
                              final IDoublePointer wa,
-                             final int lwa) {
-        return 0;
+                             final int lwa,
+                             final JacobianSparsity sparsity) {
+        return lmdif1(fcn, m, n, x, fvec, tol, iwa, wa, lwa, null, 1, sparsity);
     }
 
-    //======================== lmdif.c =====================================
-    public static int lmdif(final IMNNonlinearLeastSquaresJacobi fcn,
-                            final int m,
-                            final int n,
-                            final IDoublePointer x,
-                            final IDoublePointer fvec,
-                            double ftol,
-                            double xtol,
-                            double gtol,
-                            final int maxfev,
-                            final double epsfcn,
-                            final IDoublePointer diag,
-                            final int mode,
-                            final double factor,
-                            final int nprint,
-                            final IIntPointer nfev,
-                            final IDoublePointer fjac,
-                            final int ldfjac,
-                            final IIntPointer ipvt,
-                            final IDoublePointer qtf,
-                            final IDoublePointer wa1,
-                            final IDoublePointer wa2,
-                            final IDoublePointer wa3,
-                            final IDoublePointer wa4) {
-        return 0;
-    }
+    private static int lmdif1(final IMNNonlinearLeastSquares fcn,
+                              final int m,
+                              final int n,
+                              final IDoublePointer x,
+                              final IDoublePointer fvec,
+                              final double tol,
+                              final IIntPointer iwa,
+                              final IDoublePointer wa,
+                              final int lwa,
+                              final Executor executor,
+                              final int parallelism,
+                              final JacobianSparsity sparsity) {
 
-    //======================== lmdif1.c =====================================
-    public static int lmdif1(final IMNNonlinearLeastSquaresJacobi fcn,
-                             final int m,
-                             final int n,
-                             final IDoublePointer x,
-                             final IDoublePointer fvec,
-                             final double tol,
-                             final IIntPointer iwa,
-                             final IDoublePointer wa,
-                             final int lwa) {
-        return 0;
+        /* Initialized data */
+        final double factor = 100.;
+
+        /* Local variables */
+        int mode = 1;
+
+        double ftol = tol;
+        double gtol = 0.;
+        double xtol = tol;
+        double epsfcn = 0.;
+        int maxfev = (n + 1) * 200;
+        int nprint = 0;
+        int mp5n = m + n * 5;
+
+        /* check the input parameters for errors. */
+        if (n <= 0 || m < n || tol < 0. || lwa < m * n + n * 5 + m) {
+            return 0;
+        }
+
+        IDoublePointer fjac = wa.getBase().createPointer();
+        fjac.move(wa.getPoint() + mp5n);
+        IDoublePointer qtf = wa.getBase().createPointer();
+        qtf.move(wa.getPoint() + n);
+        IDoublePointer wa1 = wa.getBase().createPointer();
+        wa1.move(wa.getPoint() + (n << 1));
+        IDoublePointer wa2 = wa.getBase().createPointer();
+        wa2.move(wa.getPoint() + n * 3);
+        IDoublePointer wa3 = wa.getBase().createPointer();
+        wa3.move(wa.getPoint() + (n << 2));
+        IDoublePointer wa4 = wa.getBase().createPointer();
+        wa4.move(wa.getPoint() + n * 5);
+
+        /* call lmdif. */
+        int info;
+        try (ArrayArena arena = ArrayArena.open()) {
+            IIntPointer nfev = arena.ints(1).createPointer();
+            info = lmdif(fcn, m, n, x, fvec, ftol, xtol, gtol, maxfev,
+                    epsfcn, wa, mode, factor, nprint, nfev, fjac, m,
+                    iwa, qtf, wa1, wa2, wa3, wa4, executor, parallelism, sparsity);
+        }
+
+        if (info == 8) {
+            info = 4;
+        }
+
+        return info;
+
+        /* last card of subroutine lmdif1. */
     }
 
     //======================== lmstr.c =====================================
@@ -2547,6 +4411,42 @@ public class JavaMinpack {
                             final IDoublePointer wa2,
                             final IDoublePointer wa3,
                             final IDoublePointer wa4) {
+        try (ArrayArena arena = ArrayArena.open()) {
+            return lmstr(fcn, m, n, x, fvec, fjac, ldfjac, ftol, xtol, gtol, maxfev,
+                    diag, mode, factor, nprint, nfev, njev, ipvt, qtf, wa1, wa2, wa3, wa4,
+                    arena.doubles(1).createPointer(), arena.doubles(1).createPointer());
+        }
+    }
+
+    /**
+     * 与{@code lmstr}相同，但由调用者提供保存levenberg-marquardt参数的单元{@code parp}
+     * 和{@code rwupdt}使用的单元{@code alpha}。
+     */
+    private static int lmstr(final IMNNonlinearLeastSquaresConserving fcn,
+                             final int m,
+                             final int n,
+                             final IDoublePointer x,
+                             final IDoublePointer fvec,
+                             final IDoublePointer fjac,
+                             final int ldfjac,
+                             final double ftol,
+                             final double xtol,
+                             final double gtol,
+                             final int maxfev,
+                             final IDoublePointer diag,
+                             final int mode,
+                             final double factor,
+                             final int nprint,
+                             final IIntPointer nfev,
+                             final IIntPointer njev,
+                             final IIntPointer ipvt,
+                             final IDoublePointer qtf,
+                             final IDoublePointer wa1,
+                             final IDoublePointer wa2,
+                             final IDoublePointer wa3,
+                             final IDoublePointer wa4,
+                             final IDoublePointer parp,
+                             final IDoublePointer alpha) {
 
         /* Initialized data */
         double p1 = .1;
@@ -2659,7 +4559,8 @@ public class JavaMinpack {
                     return info;
                 }
                 temp = fvec.get(i);
-                rwupdt(n, fjac, ldfjac, wa3, qtf, new DoubleArray(1, temp).createPointer(), wa1, wa2);
+                alpha.set(temp);
+                rwupdt(n, fjac, ldfjac, wa3, qtf, alpha, wa1, wa2);
                 ++iflag;
             }
             njev.set(njev.get() + 1);
@@ -2672,9 +4573,7 @@ public class JavaMinpack {
                     sing = TRUE;
                 }
                 ipvt.set(j, j + 1);
-                IDoublePointer fjacp = fjac.getBase().createPointer();
-                fjacp.move(j * ldfjac);
-                wa2.set(j, enorm(j + 1, fjacp));
+                wa2.set(j, enorm(j + 1, fjac, j * ldfjac));
             }
             if (sing == TRUE) {
                 qrfac(n, n, fjac, ldfjac, TRUE, ipvt, n,
@@ -2765,9 +4664,9 @@ public class JavaMinpack {
             do {
 
                 /* determine the levenberg-marquardt parameter. */
-                lmpar(n, fjac, ldfjac, ipvt, diag, qtf, delta,
-                        new DoubleArray(1, par).createPointer(),
-                        wa1, wa2, wa3, wa4);
+                parp.set(par);
+                lmpar(n, fjac, ldfjac, ipvt, diag, qtf, delta, parp, wa1, wa2, wa3, wa4);
+                par = parp.get();
 
                 /* store the direction p and x + p. calculate the norm of p. */
                 for (j = 0; j < n; ++j) {
@@ -2934,9 +4833,6 @@ public class JavaMinpack {
         /* Local variables */
         int mode = 1;
 
-        IIntPointer nfev = new IntArray(1).createPointer();
-        IIntPointer njev = new IntArray(1).createPointer();
-
         double ftol = tol;
         double gtol = 0.;
         double xtol = tol;
@@ -2960,10 +4856,15 @@ public class JavaMinpack {
         wa4.move(n * 5);
 
         /* call lmstr. */
-        int info = lmstr(fcn, m, n, x, fvec, fjac, ldfjac,
-                ftol, xtol, gtol, maxfev, wa, mode, factor,
-                nprint, nfev, njev, ipvt, qtf, wa1, wa2,
-                wa3, wa4);
+        int info;
+        try (ArrayArena arena = ArrayArena.open()) {
+            IIntPointer nfev = arena.ints(1).createPointer();
+            IIntPointer njev = arena.ints(1).createPointer();
+            info = lmstr(fcn, m, n, x, fvec, fjac, ldfjac,
+                    ftol, xtol, gtol, maxfev, wa, mode, factor,
+                    nprint, nfev, njev, ipvt, qtf, wa1, wa2,
+                    wa3, wa4);
+        }
 
         if (info == 8) {
             info = 4;
@@ -0,0 +1,285 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+
+/**
+ * 类{@code LevenbergMarquardtWorkspace}是按问题规模{@code (m, n)}分配的levenberg-marquardt求解器工作区，
+ * 拥有{@code JavaMinpack.lmder}所需的全部工作数组：{@code fjac}（{@code m×n}，{@code ldfjac = m}）、
+ * {@code ipvt}、{@code qtf}、{@code diag}、{@code wa1}、{@code wa2}、{@code wa3}（长度均为{@code n}）
+ * 和{@code wa4}（长度为{@code m}），以及计数器{@code nfev}、{@code njev}。
+ * <p>
+ * 工作数组及其指针只在构造时创建一次，之后通过同一个工作区反复求解规模相同的问题时，
+ * 求解器本身不再产生任何分配，适用于需要进行大量拟合的场合：
+ * <pre>{@code
+ * LevenbergMarquardtWorkspace workspace = new LevenbergMarquardtWorkspace(m, n);
+ * for (...) {
+ *     int info = workspace.lmder1(fcn, x, fvec, tol);
+ * }
+ * }</pre>
+ * 求解结束后，{@code getFjac()}、{@code getIpvt()}和{@code getQtf()}中保存着与{@code lmder}
+ * 相同含义的输出，可以进一步用于{@code JavaMinpack.covar}等计算。
+ * 工作区不是线程安全的，每个线程应使用各自的工作区。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class LevenbergMarquardtWorkspace {
+
+    /**
+     * 函数的个数。
+     */
+    private final int m;
+
+    /**
+     * 变量的个数。
+     */
+    private final int n;
+
+    private final IDoublePointer fjac;
+
+    private final IIntPointer ipvt;
+
+    private final IDoublePointer qtf;
+
+    private final IDoublePointer diag;
+
+    private final IDoublePointer wa1;
+
+    private final IDoublePointer wa2;
+
+    private final IDoublePointer wa3;
+
+    private final IDoublePointer wa4;
+
+    private final IIntPointer nfev;
+
+    private final IIntPointer njev;
+
+    /**
+     * 保存levenberg-marquardt参数的单元。
+     */
+    private final IDoublePointer par;
+
+    /**
+     * 构造器，按问题规模分配全部工作数组。
+     *
+     * @param m 函数的个数，{@code m >= n}。
+     * @param n 变量的个数，{@code n > 0}。
+     */
+    public LevenbergMarquardtWorkspace(int m, int n) {
+        if (n <= 0 || m < n) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {0 < n <= m}, but got {m = %d, n = %d}.", m, n));
+        }
+        this.m = m;
+        this.n = n;
+        this.fjac = new DoubleArray(Math.multiplyExact(m, n)).createPointer();
+        this.ipvt = new IntArray(n).createPointer();
+        this.qtf = new DoubleArray(n).createPointer();
+        this.diag = new DoubleArray(n).createPointer();
+        this.wa1 = new DoubleArray(n).createPointer();
+        this.wa2 = new DoubleArray(n).createPointer();
+        this.wa3 = new DoubleArray(n).createPointer();
+        this.wa4 = new DoubleArray(m).createPointer();
+        this.nfev = new IntArray(1).createPointer();
+        this.njev = new IntArray(1).createPointer();
+        this.par = new DoubleArray(1).createPointer();
+    }
+
+    /**
+     * 使用工作区调用{@code JavaMinpack.lmder}，参数的含义与{@code lmder}相同。
+     * 当{@code mode == 2}时，应事先通过{@code getDiag()}设置缩放因子。
+     *
+     * @param fcn    计算函数值及其雅可比矩阵的函数，其{@code m}和{@code n}应与工作区相同。
+     * @param x      长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec   长度为{@code m}的数组，输出时为函数在{@code x}处的值。
+     * @param ftol   平方和的相对误差容限。
+     * @param xtol   近似解的相对误差容限。
+     * @param gtol   函数向量与雅可比矩阵各列夹角余弦的容限。
+     * @param maxfev 以{@code iflag = 1}调用{@code fcn}的最大次数。
+     * @param mode   为{@code 1}时自动缩放变量，为{@code 2}时使用{@code getDiag()}中的缩放因子。
+     * @param factor 初始步长的界限因子。
+     * @param nprint 每隔{@code nprint}次迭代以{@code iflag = 0}调用{@code fcn}，不大于{@code 0}时不调用。
+     * @return 与{@code lmder}相同的{@code info}。
+     * @throws IllegalArgumentException 如果{@code fcn}的规模与工作区不同，或{@code x}、{@code fvec}的长度不足。
+     */
+    public int lmder(JavaMinpack.IMNNonlinearLeastSquaresJacobi fcn,
+                     IDoublePointer x,
+                     IDoublePointer fvec,
+                     double ftol,
+                     double xtol,
+                     double gtol,
+                     int maxfev,
+                     int mode,
+                     double factor,
+                     int nprint) {
+        checkSizes(fcn, x, fvec);
+        resetPointers();
+        return JavaMinpack.lmder(fcn, m, n, x, fvec, fjac, m, ftol, xtol, gtol, maxfev,
+                diag, mode, factor, nprint, nfev, njev, ipvt, qtf, wa1, wa2, wa3, wa4, par);
+    }
+
+    /**
+     * 使用工作区以{@code lmder1}的默认设置求解，即{@code ftol = xtol = tol}、{@code gtol = 0}、
+     * {@code maxfev = 100 * (n + 1)}、{@code mode = 1}、{@code factor = 100}，
+     * 并与{@code lmder1}一样将{@code info = 8}转换为{@code 4}。
+     *
+     * @param fcn  计算函数值及其雅可比矩阵的函数。
+     * @param x    长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec 长度为{@code m}的数组，输出时为函数在{@code x}处的值。
+     * @param tol  误差容限，{@code tol >= 0}。
+     * @return 与{@code lmder1}相同的{@code info}。
+     * @throws IllegalArgumentException 如果{@code fcn}的规模与工作区不同，或{@code x}、{@code fvec}的长度不足。
+     */
+    public int lmder1(JavaMinpack.IMNNonlinearLeastSquaresJacobi fcn,
+                      IDoublePointer x,
+                      IDoublePointer fvec,
+                      double tol) {
+        if (tol < 0.) {
+            return 0;
+        }
+        int info = lmder(fcn, x, fvec, tol, tol, 0., (n + 1) * 100, 1, 100., 0);
+        return info == 8 ? 4 : info;
+    }
+
+    /**
+     * 检查问题的规模与工作区一致，且{@code x}、{@code fvec}从当前位置起分别至少有{@code n}和{@code m}个元素。
+     */
+    private void checkSizes(JavaMinpack.IMNNonlinearLeastSquaresJacobi fcn, IDoublePointer x, IDoublePointer fvec) {
+        if (fcn.getM() != m || fcn.getN() != n) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {fcn} of size {m = %d, n = %d}, but got {m = %d, n = %d}.",
+                    m, n, fcn.getM(), fcn.getN()));
+        }
+        if (x.getCapacity() - x.getPoint() < n || fvec.getCapacity() - fvec.getPoint() < m) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected {x} and {fvec} to hold at least %d and %d elements, but got {%d} and {%d}.",
+                    n, m, x.getCapacity() - x.getPoint(), fvec.getCapacity() - fvec.getPoint()));
+        }
+    }
+
+    /**
+     * 将所有工作数组的指针重置到起点，使上一次求解因异常中断时残留的指针移动不影响本次求解。
+     */
+    private void resetPointers() {
+        fjac.reset();
+        ipvt.reset();
+        qtf.reset();
+        diag.reset();
+        wa1.reset();
+        wa2.reset();
+        wa3.reset();
+        wa4.reset();
+        nfev.reset();
+        njev.reset();
+        par.reset();
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * 获取雅可比矩阵的工作数组，求解结束后其上三角部分为{@code R}。
+     *
+     * @return 按列保存的{@code m×n}数组，{@code ldfjac = m}。
+     */
+    public IDoubleConstPointer getFjac() {
+        return fjac.getBase().createConstPointer();
+    }
+
+    /**
+     * 获取列主元置换，元素是从{@code 1}开始的列号。
+     *
+     * @return 长度为{@code n}的数组。
+     */
+    public IIntConstPointer getIpvt() {
+        return ipvt.getBase().createConstPointer();
+    }
+
+    /**
+     * 获取{@code (q transpose) * fvec}的前{@code n}个元素。
+     *
+     * @return 长度为{@code n}的数组。
+     */
+    public IDoubleConstPointer getQtf() {
+        return qtf.getBase().createConstPointer();
+    }
+
+    /**
+     * 获取变量的缩放因子，{@code mode == 2}时在求解前设置，否则由求解器计算。
+     *
+     * @return 长度为{@code n}的数组。
+     */
+    public IDoublePointer getDiag() {
+        return diag.getBase().createPointer();
+    }
+
+    /**
+     * 获取最近一次求解中以{@code iflag = 1}调用函数的次数。
+     *
+     * @return 函数的调用次数。
+     */
+    public int getNfev() {
+        return nfev.get();
+    }
+
+    /**
+     * 获取最近一次求解中以{@code iflag = 2}调用函数的次数。
+     *
+     * @return 雅可比矩阵的计算次数。
+     */
+    public int getNjev() {
+        return njev.get();
+    }
+}
@@ -0,0 +1,521 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+
+/**
+ * 类{@code PowellHybridWorkspace}是powell混合法求解器（{@code JavaMinpack.hybrd}、{@code hybrj}
+ * 及其简化版本{@code hybrd1}、{@code hybrj1}）的工作区规划器。
+ * <p>
+ * 工作区按变量的个数{@code n}计算所需的长度{@code lwa = n * (3 * n + 13) / 2}
+ * 和{@code lr = n * (n + 1) / 2}，只分配一个连续的{@code DoubleArray}，
+ * 并按与{@code hybrd1}相同的布局划分为互不重叠的视图：<p>
+ * {@code [0, n)}：{@code diag}；<p>
+ * {@code [n, 6n)}：{@code qtf}、{@code wa1}、{@code wa2}、{@code wa3}、{@code wa4}，各{@code n}个元素；<p>
+ * {@code [6n, 6n + lr)}：{@code r}；<p>
+ * {@code [6n + lr, lwa)}：{@code fjac}，{@code ldfjac = n}。<p>
+ * 迭代中频繁访问的向量排列在一起，其后是三角矩阵{@code r}和正交矩阵{@code fjac}。
+ * 整型的计数器和工作单元保存在另一个长度为{@code 4}的{@code IntArray}中。
+ * <p>
+ * 视图只在构造时创建一次，通过同一个工作区反复求解时，求解器本身不再产生任何分配。
+ * {@code of(n)}返回当前线程中按{@code n}缓存的工作区（最多缓存{@code MAX_CACHED_SIZES}种规模），
+ * 若缓存的工作区正被外层的求解使用（例如在{@code fcn}中嵌套求解同一规模的问题），则返回一个新的、不缓存的工作区。
+ * 在求解过程中重入同一个工作区将抛出{@code IllegalStateException}。
+ * 工作区不是线程安全的，不应在线程之间共享。
+ * <pre>{@code
+ * int info = PowellHybridWorkspace.of(n).hybrd1(fcn, x, fvec, tol);
+ * }</pre>
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class PowellHybridWorkspace {
+
+    /**
+     * 每个线程缓存的工作区规模的最大种数，超出时淘汰最久未使用的工作区。
+     */
+    public static final int MAX_CACHED_SIZES = 16;
+
+    private static final ThreadLocal<Cache> CACHE = ThreadLocal.withInitial(Cache::new);
+
+    /**
+     * 变量的个数。
+     */
+    private final int n;
+
+    /**
+     * 三角矩阵{@code r}的长度。
+     */
+    private final int lr;
+
+    /**
+     * 连续的工作数组。
+     */
+    private final DoubleArray slab;
+
+    private final IDoublePointer diag;
+
+    private final IDoublePointer qtf;
+
+    private final IDoublePointer wa1;
+
+    private final IDoublePointer wa2;
+
+    private final IDoublePointer wa3;
+
+    private final IDoublePointer wa4;
+
+    private final IDoublePointer r;
+
+    private final IDoublePointer fjac;
+
+    private final IIntPointer nfev;
+
+    private final IIntPointer njev;
+
+    private final IIntPointer iwa;
+
+    private final IIntPointer sing;
+
+    /**
+     * 是否正在求解，用于检测重入。
+     */
+    private boolean busy;
+
+    /**
+     * 构造器，按变量的个数分配工作区。
+     *
+     * @param n 变量的个数，{@code n > 0}。
+     */
+    public PowellHybridWorkspace(int n) {
+        this.n = n;
+        this.lr = requiredLr(n);
+        this.slab = new DoubleArray(requiredLength(n));
+        this.diag = slab.createPointer();
+        this.qtf = slab.createPointer();
+        this.wa1 = slab.createPointer();
+        this.wa2 = slab.createPointer();
+        this.wa3 = slab.createPointer();
+        this.wa4 = slab.createPointer();
+        this.r = slab.createPointer();
+        this.fjac = slab.createPointer();
+        IntArray cells = new IntArray(4);
+        this.nfev = cells.createPointer();
+        this.njev = cells.createPointer();
+        this.iwa = cells.createPointer();
+        this.sing = cells.createPointer();
+        resetViews();
+    }
+
+    /**
+     * 获取当前线程中变量个数为{@code n}的工作区，如果没有缓存则创建一个。
+     * 如果缓存的工作区正在求解（嵌套求解），则返回一个新的、不缓存的工作区，
+     * 以免覆盖外层求解的状态。
+     *
+     * @param n 变量的个数，{@code n > 0}。
+     * @return 工作区。
+     */
+    public static PowellHybridWorkspace of(int n) {
+        checkSize(n);
+        return CACHE.get().get(n);
+    }
+
+    /**
+     * 计算{@code hybrd1}所需的工作数组的长度{@code lwa}，也是本工作区的长度。
+     *
+     * @param n 变量的个数，{@code n > 0}。
+     * @return {@code n * (3 * n + 13) / 2}。
+     */
+    public static int requiredLength(int n) {
+        checkSize(n);
+        return Math.toIntExact((long) n * (3L * n + 13) / 2);
+    }
+
+    /**
+     * 计算三角矩阵{@code r}的长度{@code lr}。
+     *
+     * @param n 变量的个数，{@code n > 0}。
+     * @return {@code n * (n + 1) / 2}。
+     */
+    public static int requiredLr(int n) {
+        checkSize(n);
+        return Math.toIntExact((long) n * (n + 1) / 2);
+    }
+
+    private static void checkSize(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {n > 0}, but got {%d}.", n));
+        }
+    }
+
+    /**
+     * 将各视图重新指向其在工作数组中的起点，
+     * 使上一次求解因异常中断时残留的指针移动不影响本次求解。
+     */
+    private void resetViews() {
+        place(diag, 0);
+        place(qtf, n);
+        place(wa1, 2 * n);
+        place(wa2, 3 * n);
+        place(wa3, 4 * n);
+        place(wa4, 5 * n);
+        place(r, 6 * n);
+        place(fjac, 6 * n + lr);
+        place(nfev, 0);
+        place(njev, 1);
+        place(iwa, 2);
+        place(sing, 3);
+    }
+
+    /**
+     * 开始一次求解：检查工作区没有被外层的求解使用，并重新放置各视图。
+     */
+    private void enter() {
+        if (busy) {
+            throw new IllegalStateException(String.format(
+                    "The workspace of n = %d is already in use by an enclosing solve.", n));
+        }
+        busy = true;
+        resetViews();
+    }
+
+    private static void place(IDoublePointer view, int offset) {
+        view.reset();
+        view.move(offset);
+    }
+
+    private static void place(IIntPointer cell, int offset) {
+        cell.reset();
+        cell.move(offset);
+    }
+
+    /**
+     * 使用工作区调用{@code JavaMinpack.hybrd}，参数的含义与{@code hybrd}相同。
+     * 当{@code mode == 2}时，应事先通过{@code getDiag()}设置缩放因子。
+     *
+     * @param fcn    计算函数值的函数。
+     * @param x      长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec   长度为{@code n}的数组，输出时为函数在{@code x}处的值。
+     * @param xtol   相邻两次迭代之间的相对误差容限。
+     * @param maxfev 调用{@code fcn}的最大次数。
+     * @param ml     雅可比矩阵的下带宽。
+     * @param mu     雅可比矩阵的上带宽。
+     * @param epsfcn 函数值的相对误差，用于确定前向差分的步长。
+     * @param mode   为{@code 1}时自动缩放变量，为{@code 2}时使用{@code getDiag()}中的缩放因子。
+     * @param factor 初始步长的界限因子。
+     * @param nprint 每隔{@code nprint}次迭代以{@code iflag = 0}调用{@code fcn}，不大于{@code 0}时不调用。
+     * @return 与{@code hybrd}相同的{@code info}。
+     */
+    public int hybrd(JavaMinpack.INNonlinearEquations fcn,
+                     IDoublePointer x,
+                     IDoublePointer fvec,
+                     double xtol,
+                     int maxfev,
+                     int ml,
+                     int mu,
+                     double epsfcn,
+                     int mode,
+                     double factor,
+                     int nprint) {
+        enter();
+        try {
+            return JavaMinpack.hybrd(fcn, n, x, fvec, xtol, maxfev, ml, mu, epsfcn, diag, mode, factor,
+                    nprint, nfev, fjac, n, r, lr, qtf, wa1, wa2, wa3, wa4, iwa, sing, null);
+        } finally {
+            busy = false;
+        }
+    }
+
+    /**
+     * 使用工作区调用稀疏的{@code JavaMinpack.hybrd}，雅可比矩阵按{@code sparsity}的列着色计算，
+     * 其余参数的含义与{@code hybrd}相同。
+     *
+     * @param fcn      计算函数值的函数。
+     * @param x        长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec     长度为{@code n}的数组，输出时为函数在{@code x}处的值。
+     * @param xtol     相邻两次迭代之间的相对误差容限。
+     * @param maxfev   调用{@code fcn}的最大次数。
+     * @param sparsity {@code n×n}的稀疏结构。
+     * @param epsfcn   函数值的相对误差，用于确定前向差分的步长。
+     * @param mode     为{@code 1}时自动缩放变量，为{@code 2}时使用{@code getDiag()}中的缩放因子。
+     * @param factor   初始步长的界限因子。
+     * @param nprint   每隔{@code nprint}次迭代以{@code iflag = 0}调用{@code fcn}，不大于{@code 0}时不调用。
+     * @return 与{@code hybrd}相同的{@code info}。
+     */
+    public int hybrd(JavaMinpack.INNonlinearEquations fcn,
+                     IDoublePointer x,
+                     IDoublePointer fvec,
+                     double xtol,
+                     int maxfev,
+                     JacobianSparsity sparsity,
+                     double epsfcn,
+                     int mode,
+                     double factor,
+                     int nprint) {
+        enter();
+        try {
+            return JavaMinpack.hybrd(fcn, n, x, fvec, xtol, maxfev, n - 1, n - 1, epsfcn, diag, mode, factor,
+                    nprint, nfev, fjac, n, r, lr, qtf, wa1, wa2, wa3, wa4, iwa, sing, sparsity);
+        } finally {
+            busy = false;
+        }
+    }
+
+    /**
+     * 使用工作区以{@code hybrd1}的默认设置求解，即{@code xtol = tol}、{@code maxfev = 200 * (n + 1)}、
+     * {@code ml = mu = n - 1}、{@code epsfcn = 0}、{@code mode = 2}（缩放因子均为{@code 1}）、{@code factor = 100}，
+     * 并与{@code hybrd1}一样将{@code info = 5}转换为{@code 4}。
+     *
+     * @param fcn  计算函数值的函数。
+     * @param x    长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec 长度为{@code n}的数组，输出时为函数在{@code x}处的值。
+     * @param tol  误差容限，{@code tol >= 0}。
+     * @return 与{@code hybrd1}相同的{@code info}。
+     */
+    public int hybrd1(JavaMinpack.INNonlinearEquations fcn,
+                      IDoublePointer x,
+                      IDoublePointer fvec,
+                      double tol) {
+        if (tol < 0.) {
+            return 0;
+        }
+        enter();
+        try {
+            for (int j = 0; j < n; ++j) {
+                diag.set(j, 1.);
+            }
+            int info = JavaMinpack.hybrd(fcn, n, x, fvec, tol, (n + 1) * 200, n - 1, n - 1, 0., diag, 2, 100.,
+                    0, nfev, fjac, n, r, lr, qtf, wa1, wa2, wa3, wa4, iwa, sing, null);
+            return info == 5 ? 4 : info;
+        } finally {
+            busy = false;
+        }
+    }
+
+    /**
+     * 使用工作区调用{@code JavaMinpack.hybrj}，参数的含义与{@code hybrj}相同。
+     * 当{@code mode == 2}时，应事先通过{@code getDiag()}设置缩放因子。
+     *
+     * @param fcn    计算函数值及其雅可比矩阵的函数。
+     * @param x      长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec   长度为{@code n}的数组，输出时为函数在{@code x}处的值。
+     * @param xtol   相邻两次迭代之间的相对误差容限。
+     * @param maxfev 以{@code iflag = 1}调用{@code fcn}的最大次数。
+     * @param mode   为{@code 1}时自动缩放变量，为{@code 2}时使用{@code getDiag()}中的缩放因子。
+     * @param factor 初始步长的界限因子。
+     * @param nprint 每隔{@code nprint}次迭代以{@code iflag = 0}调用{@code fcn}，不大于{@code 0}时不调用。
+     * @return 与{@code hybrj}相同的{@code info}。
+     */
+    public int hybrj(JavaMinpack.INNonlinearEquationsJacobi fcn,
+                     IDoublePointer x,
+                     IDoublePointer fvec,
+                     double xtol,
+                     int maxfev,
+                     int mode,
+                     double factor,
+                     int nprint) {
+        enter();
+        try {
+            return JavaMinpack.hybrj(fcn, n, x, fvec, fjac, n, xtol, maxfev, diag, mode, factor,
+                    nprint, nfev, njev, r, lr, qtf, wa1, wa2, wa3, wa4, iwa, sing);
+        } finally {
+            busy = false;
+        }
+    }
+
+    /**
+     * 使用工作区以{@code hybrj1}的默认设置求解，即{@code xtol = tol}、{@code maxfev = 100 * (n + 1)}、
+     * {@code mode = 2}（缩放因子均为{@code 1}）、{@code factor = 100}，
+     * 并与{@code hybrj1}一样将{@code info = 5}转换为{@code 4}。
+     *
+     * @param fcn  计算函数值及其雅可比矩阵的函数。
+     * @param x    长度为{@code n}的数组，输入时为初始估计，输出时为最终估计。
+     * @param fvec 长度为{@code n}的数组，输出时为函数在{@code x}处的值。
+     * @param tol  误差容限，{@code tol >= 0}。
+     * @return 与{@code hybrj1}相同的{@code info}。
+     */
+    public int hybrj1(JavaMinpack.INNonlinearEquationsJacobi fcn,
+                      IDoublePointer x,
+                      IDoublePointer fvec,
+                      double tol) {
+        if (tol < 0.) {
+            return 0;
+        }
+        enter();
+        try {
+            for (int j = 0; j < n; ++j) {
+                diag.set(j, 1.);
+            }
+            int info = JavaMinpack.hybrj(fcn, n, x, fvec, fjac, n, tol, (n + 1) * 100, diag, 2, 100.,
+                    0, nfev, njev, r, lr, qtf, wa1, wa2, wa3, wa4, iwa, sing);
+            return info == 5 ? 4 : info;
+        } finally {
+            busy = false;
+        }
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * 获取工作数组的长度{@code lwa}。
+     *
+     * @return 工作数组的长度。
+     */
+    public int getLwa() {
+        return slab.getCapacity();
+    }
+
+    /**
+     * 获取三角矩阵{@code r}的长度{@code lr}。
+     *
+     * @return 三角矩阵的长度。
+     */
+    public int getLr() {
+        return lr;
+    }
+
+    /**
+     * 获取变量的缩放因子，{@code mode == 2}时在求解前设置，否则由求解器计算。
+     *
+     * @return 指向缩放因子的指针，长度为{@code n}。
+     */
+    public IDoublePointer getDiag() {
+        return slab.createPointer();
+    }
+
+    /**
+     * 获取求解结束时雅可比矩阵的{@code qr}分解的正交因子{@code q}。
+     *
+     * @return 指向按列保存的{@code n×n}矩阵的常量指针，{@code ldfjac = n}。
+     */
+    public IDoubleConstPointer getFjac() {
+        IDoubleConstPointer view = slab.createConstPointer();
+        view.move(6 * n + lr);
+        return view;
+    }
+
+    /**
+     * 获取求解结束时按行压缩保存的上三角矩阵{@code r}。
+     *
+     * @return 指向长度为{@code lr}的数组的常量指针。
+     */
+    public IDoubleConstPointer getR() {
+        IDoubleConstPointer view = slab.createConstPointer();
+        view.move(6 * n);
+        return view;
+    }
+
+    /**
+     * 获取求解结束时的{@code (q transpose) * fvec}。
+     *
+     * @return 指向长度为{@code n}的数组的常量指针。
+     */
+    public IDoubleConstPointer getQtf() {
+        IDoubleConstPointer view = slab.createConstPointer();
+        view.move(n);
+        return view;
+    }
+
+    /**
+     * 获取最近一次求解中调用函数计算函数值的次数。
+     *
+     * @return 函数的调用次数。
+     */
+    public int getNfev() {
+        return nfev.get();
+    }
+
+    /**
+     * 获取最近一次{@code hybrj}求解中计算雅可比矩阵的次数。
+     *
+     * @return 雅可比矩阵的计算次数。
+     */
+    public int getNjev() {
+        return njev.get();
+    }
+
+    /**
+     * 每个线程按变量的个数缓存的工作区，按最近使用的顺序排列，
+     * 以{@code int}数组保存规模，查找时不产生任何分配。
+     */
+    private static final class Cache {
+
+        private final int[] sizes = new int[MAX_CACHED_SIZES];
+
+        private final PowellHybridWorkspace[] workspaces = new PowellHybridWorkspace[MAX_CACHED_SIZES];
+
+        private int count;
+
+        PowellHybridWorkspace get(int n) {
+            int k = 0;
+            while (k < count && sizes[k] != n) {
+                k++;
+            }
+            PowellHybridWorkspace workspace;
+            if (k < count) {
+                workspace = workspaces[k];
+                if (workspace.busy) {
+                    return new PowellHybridWorkspace(n);
+                }
+            } else {
+                workspace = new PowellHybridWorkspace(n);
+                if (count < MAX_CACHED_SIZES) {
+                    count++;
+                }
+                k = count - 1;
+            }
+            System.arraycopy(sizes, 0, sizes, 1, k);
+            System.arraycopy(workspaces, 0, workspaces, 1, k);
+            sizes[0] = n;
+            workspaces[0] = workspace;
+            return workspace;
+        }
+    }
+}
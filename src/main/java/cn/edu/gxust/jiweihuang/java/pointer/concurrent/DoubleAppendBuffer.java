@@ -0,0 +1,299 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.concurrent;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.ring.Sequence;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 类{@code DoubleAppendBuffer}是一个无锁的、可并发追加的{@code double}型缓冲区，
+ * 适用于多个生产者线程向同一个数组收集测量值的场合。
+ * <p>
+ * 追加时，生产者先以原子操作（{@code getAndAdd}）推进尾部计数器，预留一个或一批位置，
+ * 然后直接写入预留的位置，最后以{@code LongAdder}登记已完成的写入，整个过程不使用锁。
+ * 批量追加只需要一次原子操作，适合每个线程先在本地累积一批再追加。
+ * <p>
+ * 存储由若干个块组成，第{@code k}个块的长度为{@code chunkSize * 2^k}，
+ * 块在首次被用到时才分配（多个线程同时分配时只有一个被采用），
+ * 已写入的元素永远不会因扩容而被复制。
+ * <p>
+ * {@code seal()}关闭缓冲区：此后的追加将抛出{@code java.lang.IllegalStateException}异常；
+ * 它等待所有已预留位置的写入完成，然后返回一个包含全部元素的普通数组，所有写入对调用线程可见。
+ * 元素的顺序即位置被预留的顺序。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class DoubleAppendBuffer {
+
+    /**
+     * 缓冲区最多能容纳的元素个数。
+     */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * {@code seal()}时加到尾部计数器上的值，使此后预留的位置都超出{@code MAX_CAPACITY}。
+     */
+    private static final long CLOSED = 1L << 62;
+
+    /**
+     * 最多的块数，{@code chunkSize}为{@code 1}时也足以容纳{@code MAX_CAPACITY}个元素。
+     */
+    private static final int MAX_CHUNKS = 32;
+
+    /**
+     * 第{@code 0}个块的长度。
+     */
+    private final int chunkSize;
+
+    /**
+     * 存储的各个块。
+     */
+    private final AtomicReferenceArray<double[]> chunks;
+
+    /**
+     * 尾部计数器，即已预留的位置数。
+     */
+    private final Sequence tail;
+
+    /**
+     * 已完成写入的元素个数。
+     */
+    private final LongAdder committed;
+
+    /**
+     * {@code seal()}时的元素个数，未关闭时为{@code -1}。
+     */
+    private volatile long sealedSize = -1;
+
+    /**
+     * 类{@code DoubleAppendBuffer}的主构造函数。
+     *
+     * @param chunkSize 第{@code 0}个块的长度，应大于{@code 0}。
+     */
+    public DoubleAppendBuffer(final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {chunkSize > 0}, but got {%d}.", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+        this.tail = new Sequence(0L);
+        this.committed = new LongAdder();
+    }
+
+    /**
+     * 类{@code DoubleAppendBuffer}次级构造函数，第{@code 0}个块的长度为{@code 1024}。
+     */
+    public DoubleAppendBuffer() {
+        this(1024);
+    }
+
+    /**
+     * 追加一个元素。
+     *
+     * @param value 元素的值。
+     * @return 元素在缓冲区中的位置。
+     */
+    public int append(double value) {
+        int position = reserve(1);
+        try {
+            int k = chunkIndex(position);
+            chunk(k)[position - chunkStart(k)] = value;
+        } finally {
+            committed.increment();
+        }
+        return position;
+    }
+
+    /**
+     * 追加{@code source[0, length)}中的一批元素，它们在缓冲区中占据连续的位置。<p>
+     * 注意：如果读取源指针时抛出异常，已预留的位置仍然有效，其中未写入的位置保持缺省值{@code 0}。
+     *
+     * @param source 源指针。
+     * @param length 元素的个数。
+     * @return 第一个元素在缓冲区中的位置。
+     */
+    public int append(final IDoubleConstPointer source, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {length >= 0}, but got {%d}.", length));
+        }
+        int position = reserve(length);
+        int written = 0;
+        try {
+            while (written < length) {
+                int p = position + written;
+                int k = chunkIndex(p);
+                double[] values = chunk(k);
+                int offset = p - chunkStart(k);
+                int n = Math.min(length - written, values.length - offset);
+                for (int i = 0; i < n; i++) {
+                    values[offset + i] = source.get(written + i);
+                }
+                written += n;
+            }
+        } finally {
+            //复制失败（如源指针的长度不足）时仍登记整批预留的位置，使seal()不会一直等待。
+            committed.add(length);
+        }
+        return position;
+    }
+
+    /**
+     * 预留{@code n}个连续的位置。
+     */
+    private int reserve(int n) {
+        long position = tail.getAndAdd(n);
+        if (position + n > MAX_CAPACITY) {
+            if (position >= CLOSED) {
+                throw new IllegalStateException("The append buffer has been sealed.");
+            }
+            if (position < MAX_CAPACITY) {
+                //预留失败时仍登记容量范围内的位置，使seal()不会一直等待，这些位置保持缺省值。
+                committed.add(MAX_CAPACITY - position);
+            }
+            throw new IllegalStateException(String.format(
+                    "The append buffer cannot hold more than %d elements.", MAX_CAPACITY));
+        }
+        return (int) position;
+    }
+
+    /**
+     * 计算位置所在的块的序号。
+     */
+    private int chunkIndex(int position) {
+        long q = position / chunkSize + 1L;
+        return 63 - Long.numberOfLeadingZeros(q);
+    }
+
+    /**
+     * 计算第{@code k}个块的第一个位置。
+     */
+    private int chunkStart(int k) {
+        return (int) (chunkSize * ((1L << k) - 1));
+    }
+
+    /**
+     * 获取第{@code k}个块，如果尚未分配，则分配它。
+     */
+    private double[] chunk(int k) {
+        double[] values = chunks.get(k);
+        if (values == null) {
+            long length = Math.min((long) chunkSize << k, (long) MAX_CAPACITY - chunkStart(k));
+            chunks.compareAndSet(k, null, new double[(int) length]);
+            values = chunks.get(k);
+        }
+        return values;
+    }
+
+    /**
+     * 获取已预留的位置数，即当前或{@code seal()}时的元素个数，其中可能有尚未完成的写入。
+     *
+     * @return 已预留的位置数。
+     */
+    public int size() {
+        long sealed = sealedSize;
+        if (sealed >= 0) {
+            return (int) sealed;
+        }
+        return (int) Math.min(tail.get(), MAX_CAPACITY);
+    }
+
+    /**
+     * 判断缓冲区是否已关闭。
+     *
+     * @return {@code true} 如果缓冲区已关闭。
+     */
+    public boolean isSealed() {
+        return sealedSize >= 0;
+    }
+
+    /**
+     * 关闭缓冲区，等待所有已预留位置的写入完成，并返回包含全部元素的普通数组。
+     * 可以被多次调用，每次返回一个新的数组。
+     *
+     * @return 包含全部元素的数组。
+     */
+    public DoubleArray seal() {
+        synchronized (this) {
+            if (sealedSize < 0) {
+                long reserved = tail.getAndAdd(CLOSED);
+                sealedSize = Math.min(reserved, MAX_CAPACITY);
+            }
+        }
+        long size = sealedSize;
+        while (committed.sum() < size) {
+            Thread.onSpinWait();
+        }
+        DoubleArray array = new DoubleArray((int) size);
+        IDoublePointer pointer = array.createPointer();
+        int position = 0;
+        for (int k = 0; position < size; k++) {
+            double[] values = chunks.get(k);
+            int n = (int) Math.min(Math.min((long) chunkSize << k, (long) MAX_CAPACITY - position), size - position);
+            if (values != null) {
+                for (int i = 0; i < n; i++) {
+                    pointer.set(position + i, values[i]);
+                }
+            }
+            position += n;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "DoubleAppendBuffer{" +
+                "size=" + size() +
+                ", sealed=" + isSealed() +
+                '}';
+    }
+}
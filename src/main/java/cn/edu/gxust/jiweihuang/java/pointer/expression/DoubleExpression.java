@@ -0,0 +1,649 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.expression;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IArrayPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.ForkJoinBlocks;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 类{@code DoubleExpression}用于表征一个惰性求值的逐元素{@code double}型表达式。
+ * <p>
+ * 表达式由{@code IDoubleConstPointer}数据源和常量通过运算组合成一棵表达式树，
+ * 组合时不进行任何计算，直到调用{@code assign}将其写入一个{@code IDoublePointer}时，
+ * 才在一个融合的循环中对每个索引计算整棵表达式树，不产生与数据长度相关的临时数组。
+ * 例如，{@code r = y - a * exp(-b * x) + c}可以写作：
+ * <pre>{@code
+ * DoubleExpression.of(y)
+ *         .minus(DoubleExpression.of(x).times(-b).exp().times(a))
+ *         .plus(c)
+ *         .assign(r, n);
+ * }</pre>
+ * 表达式中索引{@code i}处的值由各数据源的{@code get(i)}计算得到，
+ * 求值前一次性检查所有数据源与目标在{@code [0, length)}范围内不会越界，
+ * 因此不会出现写入一部分后才因越界而失败的情形。
+ * <p>
+ * 求值有两种方式：<p>
+ * （1）逐元素方式（缺省），对每个索引遍历一次表达式树；<p>
+ * （2）分段方式，以{@code 1024}个元素为一段，对每个节点在一段上执行紧凑的数组循环，
+ * 这些循环可被即时编译器向量化，每个线程只需要{@code depth * 1024}个元素的临时存储。<p>
+ * 两种方式都可以选择在公共的{@code ForkJoinPool}中分块并行执行。
+ * <p>
+ * 目标指针可以与某个数据源指向同一个位置（如{@code y = 2 * y}），
+ * 但不应与数据源指向同一数组中错开的位置。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public abstract class DoubleExpression {
+
+    /**
+     * 分段求值时每一段的元素个数。
+     */
+    static final int CHUNK = 1024;
+
+    /**
+     * 表达式的运算种类。
+     */
+    enum Operation {
+        PLUS, MINUS, TIMES, DIVIDE, POW, NEGATE, ABS, EXP, LOG, SQRT, SIN, COS, CUSTOM
+    }
+
+    DoubleExpression() {
+    }
+
+    /**
+     * 以指针为数据源创建表达式，表达式在索引{@code i}处的值为{@code source.get(i)}。
+     *
+     * @param source 数据源指针。
+     * @return 表达式。
+     */
+    public static DoubleExpression of(final IDoubleConstPointer source) {
+        return new Source(Objects.requireNonNull(source, "Expected the parameter {source != null}."));
+    }
+
+    /**
+     * 创建常量表达式。
+     *
+     * @param value 常量的值。
+     * @return 表达式。
+     */
+    public static DoubleExpression constant(double value) {
+        return new Constant(value);
+    }
+
+    /**
+     * 计算表达式在索引{@code index}处的值。
+     *
+     * @param index 索引。
+     * @return 表达式的值。
+     */
+    public abstract double evaluate(int index);
+
+    /**
+     * 计算表达式在{@code [from, from + n)}上的值，并保存到{@code buffers[level][0, n)}中，
+     * {@code level}之后的缓冲区可被用作临时存储。
+     */
+    abstract void evaluate(int from, int n, double[][] buffers, int level);
+
+    /**
+     * 获取分段求值所需的缓冲区个数。
+     */
+    abstract int depth();
+
+    /**
+     * 将表达式树中的所有数据源指针添加到{@code sources}中。
+     */
+    abstract void collectSources(List<IDoubleConstPointer> sources);
+
+    //======================== 运算 =====================================
+
+    /**
+     * 创建表达式{@code this + that}。
+     *
+     * @param that 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression plus(final DoubleExpression that) {
+        return new Binary(Operation.PLUS, this, that, null);
+    }
+
+    /**
+     * 创建表达式{@code this + value}。
+     *
+     * @param value 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression plus(double value) {
+        return plus(constant(value));
+    }
+
+    /**
+     * 创建表达式{@code this - that}。
+     *
+     * @param that 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression minus(final DoubleExpression that) {
+        return new Binary(Operation.MINUS, this, that, null);
+    }
+
+    /**
+     * 创建表达式{@code this - value}。
+     *
+     * @param value 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression minus(double value) {
+        return minus(constant(value));
+    }
+
+    /**
+     * 创建表达式{@code this * that}。
+     *
+     * @param that 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression times(final DoubleExpression that) {
+        return new Binary(Operation.TIMES, this, that, null);
+    }
+
+    /**
+     * 创建表达式{@code this * value}。
+     *
+     * @param value 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression times(double value) {
+        return times(constant(value));
+    }
+
+    /**
+     * 创建表达式{@code this / that}。
+     *
+     * @param that 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression divide(final DoubleExpression that) {
+        return new Binary(Operation.DIVIDE, this, that, null);
+    }
+
+    /**
+     * 创建表达式{@code this / value}。
+     *
+     * @param value 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression divide(double value) {
+        return divide(constant(value));
+    }
+
+    /**
+     * 创建表达式{@code pow(this, that)}。
+     *
+     * @param that 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression pow(final DoubleExpression that) {
+        return new Binary(Operation.POW, this, that, null);
+    }
+
+    /**
+     * 创建表达式{@code pow(this, value)}。
+     *
+     * @param value 右操作数。
+     * @return 表达式。
+     */
+    public DoubleExpression pow(double value) {
+        return pow(constant(value));
+    }
+
+    /**
+     * 以自定义的二元运算组合两个表达式。
+     *
+     * @param that     右操作数。
+     * @param operator 二元运算。
+     * @return 表达式。
+     */
+    public DoubleExpression combine(final DoubleExpression that, final DoubleBinaryOperator operator) {
+        return new Binary(Operation.CUSTOM, this, that,
+                Objects.requireNonNull(operator, "Expected the parameter {operator != null}."));
+    }
+
+    /**
+     * 创建表达式{@code -this}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression negate() {
+        return new Unary(Operation.NEGATE, this, null);
+    }
+
+    /**
+     * 创建表达式{@code abs(this)}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression abs() {
+        return new Unary(Operation.ABS, this, null);
+    }
+
+    /**
+     * 创建表达式{@code exp(this)}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression exp() {
+        return new Unary(Operation.EXP, this, null);
+    }
+
+    /**
+     * 创建表达式{@code log(this)}，即自然对数。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression log() {
+        return new Unary(Operation.LOG, this, null);
+    }
+
+    /**
+     * 创建表达式{@code sqrt(this)}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression sqrt() {
+        return new Unary(Operation.SQRT, this, null);
+    }
+
+    /**
+     * 创建表达式{@code sin(this)}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression sin() {
+        return new Unary(Operation.SIN, this, null);
+    }
+
+    /**
+     * 创建表达式{@code cos(this)}。
+     *
+     * @return 表达式。
+     */
+    public DoubleExpression cos() {
+        return new Unary(Operation.COS, this, null);
+    }
+
+    /**
+     * 对表达式的值应用自定义的一元运算。
+     *
+     * @param operator 一元运算。
+     * @return 表达式。
+     */
+    public DoubleExpression map(final DoubleUnaryOperator operator) {
+        return new Unary(Operation.CUSTOM, this,
+                Objects.requireNonNull(operator, "Expected the parameter {operator != null}."));
+    }
+
+    //======================== 求值 =====================================
+
+    /**
+     * 以逐元素方式串行求值，{@code target[i] = evaluate(i)}，{@code 0 <= i < length}。
+     *
+     * @param target 目标指针。
+     * @param length 元素的个数。
+     */
+    public void assign(final IDoublePointer target, int length) {
+        assign(target, length, false, false);
+    }
+
+    /**
+     * 求值，{@code target[i] = evaluate(i)}，{@code 0 <= i < length}。
+     *
+     * @param target     目标指针。
+     * @param length     元素的个数。
+     * @param vectorized 如果为{@code true}，则以分段方式求值。
+     * @param parallel   如果为{@code true}，则在元素较多时分块并行求值。
+     */
+    public void assign(final IDoublePointer target, int length, boolean vectorized, boolean parallel) {
+        ForkJoinBlocks.checkLength(length);
+        checkRange(target, length);
+        List<IDoubleConstPointer> sources = new ArrayList<>();
+        collectSources(sources);
+        for (IDoubleConstPointer source : sources) {
+            checkRange(source, length);
+        }
+        int blocks = parallel ? ForkJoinBlocks.blockCount(length) : 1;
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        if (vectorized) {
+            final int depth = depth();
+            ForkJoinBlocks.invoke(blocks, b -> assignChunks(target, b * size,
+                    Math.min(length, b * size + size), new double[depth][CHUNK]));
+        } else {
+            ForkJoinBlocks.invoke(blocks, b -> {
+                int to = Math.min(length, b * size + size);
+                for (int i = b * size; i < to; i++) {
+                    target.set(i, evaluate(i));
+                }
+            });
+        }
+    }
+
+    private void assignChunks(final IDoublePointer target, int from, int to, double[][] buffers) {
+        double[] values = buffers[0];
+        for (int start = from; start < to; start += CHUNK) {
+            int n = Math.min(CHUNK, to - start);
+            evaluate(start, n, buffers, 0);
+            for (int k = 0; k < n; k++) {
+                target.set(start + k, values[k]);
+            }
+        }
+    }
+
+    /**
+     * 以分段方式将表达式求值为一个新的数组。
+     *
+     * @param length 元素的个数。
+     * @return 新的数组。
+     */
+    public DoubleArray toArray(int length) {
+        DoubleArray array = new DoubleArray(length);
+        assign(array.createPointer(), length, true, true);
+        return array;
+    }
+
+    private static void checkRange(final IArrayPointer pointer, int length) {
+        if (pointer.getPoint() < 0 || (long) pointer.getPoint() + length > pointer.getCapacity()) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= point && point + length <= %d}, but got {%d, %d}.",
+                    pointer.getCapacity(), pointer.getPoint(), length));
+        }
+    }
+
+    //======================== 表达式树的节点 =====================================
+
+    /**
+     * 类{@code Source}表征以指针为数据源的叶节点。
+     */
+    private static final class Source extends DoubleExpression {
+
+        private final IDoubleConstPointer source;
+
+        Source(IDoubleConstPointer source) {
+            this.source = source;
+        }
+
+        @Override
+        public double evaluate(int index) {
+            return source.get(index);
+        }
+
+        @Override
+        void evaluate(int from, int n, double[][] buffers, int level) {
+            double[] out = buffers[level];
+            for (int k = 0; k < n; k++) {
+                out[k] = source.get(from + k);
+            }
+        }
+
+        @Override
+        int depth() {
+            return 1;
+        }
+
+        @Override
+        void collectSources(List<IDoubleConstPointer> sources) {
+            sources.add(source);
+        }
+    }
+
+    /**
+     * 类{@code Constant}表征常量叶节点。
+     */
+    private static final class Constant extends DoubleExpression {
+
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double evaluate(int index) {
+            return value;
+        }
+
+        @Override
+        void evaluate(int from, int n, double[][] buffers, int level) {
+            Arrays.fill(buffers[level], 0, n, value);
+        }
+
+        @Override
+        int depth() {
+            return 1;
+        }
+
+        @Override
+        void collectSources(List<IDoubleConstPointer> sources) {
+        }
+    }
+
+    /**
+     * 类{@code Unary}表征一元运算节点。
+     */
+    private static final class Unary extends DoubleExpression {
+
+        private final Operation operation;
+
+        private final DoubleExpression operand;
+
+        private final DoubleUnaryOperator operator;
+
+        Unary(Operation operation, DoubleExpression operand, DoubleUnaryOperator operator) {
+            this.operation = operation;
+            this.operand = Objects.requireNonNull(operand, "Expected the parameter {operand != null}.");
+            this.operator = operator;
+        }
+
+        private double apply(double x) {
+            switch (operation) {
+                case NEGATE:
+                    return -x;
+                case ABS:
+                    return Math.abs(x);
+                case EXP:
+                    return Math.exp(x);
+                case LOG:
+                    return Math.log(x);
+                case SQRT:
+                    return Math.sqrt(x);
+                case SIN:
+                    return Math.sin(x);
+                case COS:
+                    return Math.cos(x);
+                default:
+                    return operator.applyAsDouble(x);
+            }
+        }
+
+        @Override
+        public double evaluate(int index) {
+            return apply(operand.evaluate(index));
+        }
+
+        @Override
+        void evaluate(int from, int n, double[][] buffers, int level) {
+            operand.evaluate(from, n, buffers, level);
+            double[] out = buffers[level];
+            switch (operation) {
+                case NEGATE:
+                    for (int k = 0; k < n; k++) {
+                        out[k] = -out[k];
+                    }
+                    break;
+                case ABS:
+                    for (int k = 0; k < n; k++) {
+                        out[k] = Math.abs(out[k]);
+                    }
+                    break;
+                case SQRT:
+                    for (int k = 0; k < n; k++) {
+                        out[k] = Math.sqrt(out[k]);
+                    }
+                    break;
+                default:
+                    for (int k = 0; k < n; k++) {
+                        out[k] = apply(out[k]);
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        int depth() {
+            return operand.depth();
+        }
+
+        @Override
+        void collectSources(List<IDoubleConstPointer> sources) {
+            operand.collectSources(sources);
+        }
+    }
+
+    /**
+     * 类{@code Binary}表征二元运算节点。
+     */
+    private static final class Binary extends DoubleExpression {
+
+        private final Operation operation;
+
+        private final DoubleExpression left;
+
+        private final DoubleExpression right;
+
+        private final DoubleBinaryOperator operator;
+
+        Binary(Operation operation, DoubleExpression left, DoubleExpression right,
+               DoubleBinaryOperator operator) {
+            this.operation = operation;
+            this.left = Objects.requireNonNull(left, "Expected the parameter {left != null}.");
+            this.right = Objects.requireNonNull(right, "Expected the parameter {right != null}.");
+            this.operator = operator;
+        }
+
+        private double apply(double x, double y) {
+            switch (operation) {
+                case PLUS:
+                    return x + y;
+                case MINUS:
+                    return x - y;
+                case TIMES:
+                    return x * y;
+                case DIVIDE:
+                    return x / y;
+                case POW:
+                    return Math.pow(x, y);
+                default:
+                    return operator.applyAsDouble(x, y);
+            }
+        }
+
+        @Override
+        public double evaluate(int index) {
+            return apply(left.evaluate(index), right.evaluate(index));
+        }
+
+        @Override
+        void evaluate(int from, int n, double[][] buffers, int level) {
+            left.evaluate(from, n, buffers, level);
+            right.evaluate(from, n, buffers, level + 1);
+            double[] x = buffers[level];
+            double[] y = buffers[level + 1];
+            switch (operation) {
+                case PLUS:
+                    for (int k = 0; k < n; k++) {
+                        x[k] += y[k];
+                    }
+                    break;
+                case MINUS:
+                    for (int k = 0; k < n; k++) {
+                        x[k] -= y[k];
+                    }
+                    break;
+                case TIMES:
+                    for (int k = 0; k < n; k++) {
+                        x[k] *= y[k];
+                    }
+                    break;
+                case DIVIDE:
+                    for (int k = 0; k < n; k++) {
+                        x[k] /= y[k];
+                    }
+                    break;
+                default:
+                    for (int k = 0; k < n; k++) {
+                        x[k] = apply(x[k], y[k]);
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        int depth() {
+            return Math.max(left.depth(), right.depth() + 1);
+        }
+
+        @Override
+        void collectSources(List<IDoubleConstPointer> sources) {
+            left.collectSources(sources);
+            right.collectSources(sources);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.function;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类{@code FunctionPointers}是函数指针的注册表，用于把函数指针按约定命名为{@code call}的方法
+ * 解析为{@code MethodHandle}，使调用者不必知道函数指针具体的子接口，也不必使用反射调用。
+ * <p>
+ * 解析的结果按类型缓存在{@code ClassValue}中，每个类型只解析一次，提供以下几种调用方式：<p>
+ * （1）{@code findCall(type)}：返回未绑定的方法句柄，其第一个参数为函数指针本身；<p>
+ * （2）{@code bind(function)}：返回绑定了函数指针的方法句柄，其类型与{@code call}方法的声明完全相同，
+ * 可以直接以{@code invokeExact}调用；将其保存在{@code static final}字段
+ * 或{@code callSite(function)}返回的常量调用点中时，即时编译器会将其视为常量并内联目标方法，
+ * 其性能与直接调用相同；<p>
+ * （3）{@code adapt(function, type)}：通过{@code LambdaMetafactory}生成一个实现函数式接口{@code type}的对象，
+ * 其抽象方法直接调用函数指针的{@code call}方法，例如将{@code IDoubleArrayInitFunction}
+ * 适配为{@code IntToDoubleFunction}，生成的类按（接口，{@code call}方法的类型）缓存。
+ * <pre>{@code
+ * MethodHandle call = FunctionPointers.bind(model);
+ * int iflag = (int) call.invokeExact(n, x, fvec, 1, new IPointer[0]);
+ * }</pre>
+ * 如果一个类型具有多个参数列表不同的{@code call}方法，则无法确定要调用哪一个，
+ * 此时应使用带有接口参数的{@code findCall}和{@code bind}方法指定声明{@code call}方法的接口。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class FunctionPointers {
+
+    /**
+     * 函数指针所指向的方法的名称。
+     */
+    public static final String CALL = "call";
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 各类型的{@code call}方法的句柄。
+     */
+    private static final ClassValue<MethodHandle> CALLS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return unreflect(resolveCall(type));
+        }
+    };
+
+    /**
+     * 各函数式接口的适配器工厂，以{@code call}方法句柄的类型为键，
+     * 工厂的类型为{@code (receiver)F}。
+     */
+    private static final ClassValue<Map<MethodType, MethodHandle>> ADAPTERS =
+            new ClassValue<Map<MethodType, MethodHandle>>() {
+                @Override
+                protected Map<MethodType, MethodHandle> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final MethodHandle PROXY;
+
+    static {
+        try {
+            PROXY = LOOKUP.findStatic(FunctionPointers.class, "proxy", MethodType.methodType(Object.class,
+                    Class.class, MethodHandle.class, MethodType.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionPointers() {
+    }
+
+    /**
+     * 获取类型{@code type}的{@code call}方法的句柄，句柄的第一个参数为声明该方法的接口（或类），
+     * 其余参数和返回值与{@code call}方法的声明相同。
+     *
+     * @param type 函数指针的类型，可以是接口，也可以是实现类。
+     * @return {@code call}方法的句柄。
+     * @throws IllegalArgumentException 如果该类型没有或有多个可访问的{@code call}方法。
+     */
+    public static MethodHandle findCall(Class<?> type) {
+        Objects.requireNonNull(type, "Expected the parameter {type != null}.");
+        return CALLS.get(type);
+    }
+
+    /**
+     * 获取函数指针的{@code call}方法的句柄，并将函数指针绑定为其接收者，
+     * 返回的句柄的类型与{@code call}方法的声明完全相同。
+     *
+     * @param function 函数指针。
+     * @return 绑定了函数指针的方法句柄。
+     * @throws IllegalArgumentException 如果函数指针的类型没有或有多个可访问的{@code call}方法。
+     */
+    public static MethodHandle bind(IFunctionPointer function) {
+        Objects.requireNonNull(function, "Expected the parameter {function != null}.");
+        return findCall(function.getClass()).bindTo(function);
+    }
+
+    /**
+     * 获取接口{@code type}中声明的{@code call}方法的句柄，并将函数指针绑定为其接收者，
+     * 用于函数指针实现了多个声明{@code call}方法的接口的情形。
+     *
+     * @param function 函数指针。
+     * @param type     声明{@code call}方法的接口。
+     * @param <T>      接口的类型。
+     * @return 绑定了函数指针的方法句柄。
+     */
+    public static <T extends IFunctionPointer> MethodHandle bind(T function, Class<? super T> type) {
+        Objects.requireNonNull(function, "Expected the parameter {function != null}.");
+        return findCall(type).bindTo(function);
+    }
+
+    /**
+     * 创建一个以绑定了函数指针的方法句柄为目标的常量调用点，
+     * 调用点的{@code dynamicInvoker()}可以保存在{@code static final}字段中并以{@code invokeExact}调用。
+     *
+     * @param function 函数指针。
+     * @return 常量调用点。
+     */
+    public static CallSite callSite(IFunctionPointer function) {
+        return new ConstantCallSite(bind(function));
+    }
+
+    /**
+     * 将函数指针适配为函数式接口{@code type}的实现，该实现的抽象方法直接调用函数指针的{@code call}方法，
+     * 参数和返回值按{@code LambdaMetafactory}的规则（基本类型的拓宽、装箱和拆箱等）转换。
+     * 如果函数指针已经是{@code type}的实例，则直接返回该函数指针。
+     *
+     * @param function 函数指针。
+     * @param type     函数式接口，即只有一个抽象方法的接口。
+     * @param <F>      函数式接口的类型。
+     * @return 函数式接口的实现。
+     * @throws IllegalArgumentException 如果{@code type}不是函数式接口，
+     *                                  或者{@code call}方法的类型不能转换为其抽象方法的类型。
+     */
+    public static <F> F adapt(IFunctionPointer function, Class<F> type) {
+        Objects.requireNonNull(function, "Expected the parameter {function != null}.");
+        Objects.requireNonNull(type, "Expected the parameter {type != null}.");
+        if (type.isInstance(function)) {
+            return type.cast(function);
+        }
+        MethodHandle call = findCall(function.getClass());
+        MethodHandle factory = ADAPTERS.get(type).computeIfAbsent(call.type(), t -> spinAdapter(type, call));
+        try {
+            return type.cast(factory.invoke(function));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 生成适配器工厂，工厂的类型为{@code (receiver)F}，
+     * 当{@code LambdaMetafactory}不能完成类型转换时，退而使用{@code MethodHandleProxies}。
+     */
+    private static MethodHandle spinAdapter(Class<?> type, MethodHandle call) {
+        Method sam = findAbstractMethod(type);
+        MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+        Class<?> receiver = call.type().parameterType(0);
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, sam.getName(),
+                    MethodType.methodType(type, receiver), samType, call, samType);
+            return site.getTarget();
+        } catch (LambdaConversionException e) {
+            try {
+                call.asType(samType.insertParameterTypes(0, receiver));
+            } catch (WrongMethodTypeException ex) {
+                IllegalArgumentException iae = new IllegalArgumentException(String.format(
+                        "The method %s cannot be adapted to %s.", call.type(), sam), ex);
+                iae.addSuppressed(e);
+                throw iae;
+            }
+            return MethodHandles.insertArguments(PROXY, 0, type, call, samType)
+                    .asType(MethodType.methodType(type, receiver));
+        }
+    }
+
+    /**
+     * 以{@code MethodHandleProxies}创建适配器，仅在{@code LambdaMetafactory}不能完成类型转换时使用，
+     * 其调用速度不及{@code LambdaMetafactory}生成的实现。
+     */
+    private static Object proxy(Class<?> type, MethodHandle call, MethodType samType, Object receiver) {
+        return MethodHandleProxies.asInterfaceInstance(type, call.bindTo(receiver).asType(samType));
+    }
+
+    /**
+     * 查找函数式接口中唯一的抽象方法，{@code Object}类的公共方法除外。
+     */
+    private static Method findAbstractMethod(Class<?> type) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected a functional interface, but got {%s}.", type.getName()));
+        }
+        Method sam = null;
+        for (Method method : type.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            if (sam != null && !(sam.getName().equals(method.getName())
+                    && Arrays.equals(sam.getParameterTypes(), method.getParameterTypes()))) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected a functional interface, but %s declares both %s and %s.",
+                        type.getName(), sam.getName(), method.getName()));
+            }
+            sam = method;
+        }
+        if (sam == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected a functional interface, but %s has no abstract method.", type.getName()));
+        }
+        return sam;
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析类型的{@code call}方法：对于每个参数列表，优先使用声明在公共类型中的方法，
+     * 否则（如lambda表达式和匿名类）在该类型实现的公共接口中查找相同参数列表的声明。
+     */
+    private static Method resolveCall(Class<?> type) {
+        Map<List<Class<?>>, Method> calls = new LinkedHashMap<>();
+        for (Method method : type.getMethods()) {
+            if (!CALL.equals(method.getName()) || method.isBridge() || method.isSynthetic()
+                    || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Method accessible = isAccessible(method.getDeclaringClass()) ? method
+                    : findInInterfaces(type, method.getParameterTypes());
+            if (accessible != null) {
+                calls.putIfAbsent(Arrays.asList(method.getParameterTypes()), accessible);
+            }
+        }
+        if (calls.size() != 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected exactly one accessible method named call in %s, but got %s.",
+                    type.getName(), calls.values()));
+        }
+        return calls.values().iterator().next();
+    }
+
+    private static Method findInInterfaces(Class<?> type, Class<?>[] parameterTypes) {
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            pending.addAll(Arrays.asList(c.getInterfaces()));
+        }
+        while (!pending.isEmpty()) {
+            Class<?> candidate = pending.poll();
+            if (!visited.add(candidate)) {
+                continue;
+            }
+            if (isAccessible(candidate)) {
+                try {
+                    return candidate.getMethod(CALL, parameterTypes);
+                } catch (NoSuchMethodException e) {
+                    // 该接口中没有相同参数列表的call方法，继续查找其父接口。
+                }
+            }
+            pending.addAll(Arrays.asList(candidate.getInterfaces()));
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(String.format(
+                    "The method %s is not accessible.", method), e);
+        }
+    }
+}
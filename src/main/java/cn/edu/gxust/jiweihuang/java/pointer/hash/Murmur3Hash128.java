@@ -0,0 +1,241 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.hash;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 类{@code Murmur3Hash128}实现128位的MurmurHash3（x64_128）哈希算法，每次处理16个字节（2个字），
+ * 其结果与参考实现{@code MurmurHash3_x64_128}相同。
+ * <p>
+ * 128位的哈希值由低64位{@code h1}和高64位{@code h2}组成，
+ * {@code getValue()}返回低64位，{@code getValue128()}返回完整的哈希值，
+ * 适用于去重等对碰撞概率要求较高的场合。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class Murmur3Hash128 extends StreamingHash {
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    /**
+     * 种子。
+     */
+    private final int seed;
+
+    private long h1;
+    private long h2;
+
+    /**
+     * 以种子{@code 0}创建哈希。
+     */
+    public Murmur3Hash128() {
+        this(0);
+    }
+
+    /**
+     * 以指定的种子创建哈希。
+     *
+     * @param seed 种子。
+     */
+    public Murmur3Hash128(int seed) {
+        super(2);
+        this.seed = seed;
+        resetState();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的128位哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值，{@code {h1, h2}}。
+     */
+    public static long[] hash(IByteConstPointer p, int from, int to) {
+        Murmur3Hash128 hash = new Murmur3Hash128();
+        hash.update(p, from, to);
+        return hash.getValue128();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的128位哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值，{@code {h1, h2}}。
+     */
+    public static long[] hash(IIntConstPointer p, int from, int to) {
+        Murmur3Hash128 hash = new Murmur3Hash128();
+        hash.update(p, from, to);
+        return hash.getValue128();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的128位哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值，{@code {h1, h2}}。
+     */
+    public static long[] hash(ILongConstPointer p, int from, int to) {
+        Murmur3Hash128 hash = new Murmur3Hash128();
+        hash.update(p, from, to);
+        return hash.getValue128();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的128位哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值，{@code {h1, h2}}。
+     */
+    public static long[] hash(IDoubleConstPointer p, int from, int to) {
+        Murmur3Hash128 hash = new Murmur3Hash128();
+        hash.update(p, from, to);
+        return hash.getValue128();
+    }
+
+    /**
+     * 计算缓冲区中{@code [position, limit)}范围内数据的128位哈希值（种子为{@code 0}）。
+     *
+     * @param buffer 缓冲区。
+     * @return 哈希值，{@code {h1, h2}}。
+     */
+    public static long[] hash(ByteBuffer buffer) {
+        Murmur3Hash128 hash = new Murmur3Hash128();
+        hash.update(buffer);
+        return hash.getValue128();
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void processBlock(long[] block) {
+        h1 ^= mixK1(block[0]);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52DCE729;
+        h2 ^= mixK2(block[1]);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495AB5;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void resetState() {
+        h1 = seed & 0xFFFFFFFFL;
+        h2 = seed & 0xFFFFFFFFL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getValue() {
+        return getValue128()[0];
+    }
+
+    /**
+     * 计算当前已输入数据的128位哈希值，不改变哈希的状态，之后可以继续输入数据。
+     *
+     * @return 哈希值，{@code {h1, h2}}，按小端序依次排列即为参考实现输出的16个字节。
+     */
+    public long[] getValue128() {
+        long k1;
+        long k2 = 0;
+        if (getWords() == 1) {
+            k1 = getBlock()[0];
+            k2 = getPending();
+        } else {
+            k1 = getPending();
+        }
+        long a = h1 ^ mixK1(k1);
+        long b = h2 ^ mixK2(k2);
+        long length = getLength();
+        a ^= length;
+        b ^= length;
+        a += b;
+        b += a;
+        a = fmix(a);
+        b = fmix(b);
+        a += b;
+        b += a;
+        return new long[]{a, b};
+    }
+}
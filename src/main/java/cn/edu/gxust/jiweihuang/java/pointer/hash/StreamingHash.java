@@ -0,0 +1,363 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.hash;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 类{@code StreamingHash}是增量（流式）非加密哈希的基类，
+ * 负责将输入的数据拼接成64位的字，并按块（若干个字）交给具体的哈希算法处理。
+ * <p>
+ * 数据可以分多次输入，只要输入的字节序列相同，哈希值就相同，与分块方式无关。
+ * 各种元素均按其小端序（little-endian）的字节表示参与哈希，
+ * 因此同样内容的数组无论存储在堆内（如{@code IntArray}）、堆外或映射文件中（如{@code ByteBuffer}），
+ * 哈希值都相同；{@code double}型元素按{@code Double.doubleToRawLongBits}的位模式参与哈希。
+ * <p>
+ * 对于由{@code ByteArray}创建的指针，输入时通过{@code ByteArray.asReadOnlyBuffer()}每次读取8个字节。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public abstract class StreamingHash {
+
+    /**
+     * 待处理的块。
+     */
+    private final long[] block;
+
+    /**
+     * 块中已填充的字的个数。
+     */
+    private int words;
+
+    /**
+     * 不足一个字的剩余字节（小端序）。
+     */
+    private long pending;
+
+    /**
+     * 剩余字节的个数，在{@code [0, 8)}范围内。
+     */
+    private int pendingBytes;
+
+    /**
+     * 已输入的字节总数。
+     */
+    private long length;
+
+    StreamingHash(int blockWords) {
+        this.block = new long[blockWords];
+    }
+
+    /**
+     * 处理一个完整的块。
+     *
+     * @param block 块中的字。
+     */
+    abstract void processBlock(long[] block);
+
+    /**
+     * 重置算法的内部状态。
+     */
+    abstract void resetState();
+
+    /**
+     * 计算当前已输入数据的哈希值，不改变哈希的状态，之后可以继续输入数据。
+     *
+     * @return 64位的哈希值。
+     */
+    public abstract long getValue();
+
+    /**
+     * 获取块中已填充的字，供计算最终哈希值时使用。
+     */
+    final long[] getBlock() {
+        return block;
+    }
+
+    final int getWords() {
+        return words;
+    }
+
+    final long getPending() {
+        return pending;
+    }
+
+    final int getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * 获取已输入的字节总数。
+     *
+     * @return 已输入的字节总数。
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * 重置哈希，丢弃已输入的全部数据。
+     *
+     * @return 本对象。
+     */
+    public StreamingHash reset() {
+        words = 0;
+        pending = 0;
+        pendingBytes = 0;
+        length = 0;
+        resetState();
+        return this;
+    }
+
+    private void push(long word) {
+        block[words++] = word;
+        if (words == block.length) {
+            processBlock(block);
+            words = 0;
+        }
+    }
+
+    /**
+     * 输入一个字（8个字节）。
+     */
+    private void word(long word) {
+        if (pendingBytes == 0) {
+            push(word);
+        } else {
+            int shift = pendingBytes << 3;
+            push(pending | word << shift);
+            pending = word >>> (Long.SIZE - shift);
+        }
+        length += Long.BYTES;
+    }
+
+    /**
+     * 输入{@code word}的低{@code count}个字节，{@code 0 < count < 8}。
+     */
+    private void bytes(long word, int count) {
+        word &= -1L >>> (Long.SIZE - (count << 3));
+        pending |= word << (pendingBytes << 3);
+        pendingBytes += count;
+        if (pendingBytes >= Long.BYTES) {
+            push(pending);
+            pendingBytes -= Long.BYTES;
+            pending = pendingBytes == 0 ? 0 : word >>> ((count - pendingBytes) << 3);
+        }
+        length += count;
+    }
+
+    /**
+     * 输入一个{@code byte}型数据。
+     *
+     * @param value 输入的数据。
+     * @return 本对象。
+     */
+    public StreamingHash update(byte value) {
+        bytes(value, 1);
+        return this;
+    }
+
+    /**
+     * 输入一个{@code int}型数据（4个字节）。
+     *
+     * @param value 输入的数据。
+     * @return 本对象。
+     */
+    public StreamingHash update(int value) {
+        bytes(value, Integer.BYTES);
+        return this;
+    }
+
+    /**
+     * 输入一个{@code long}型数据（8个字节）。
+     *
+     * @param value 输入的数据。
+     * @return 本对象。
+     */
+    public StreamingHash update(long value) {
+        word(value);
+        return this;
+    }
+
+    /**
+     * 输入一个{@code double}型数据（8个字节）。
+     *
+     * @param value 输入的数据。
+     * @return 本对象。
+     */
+    public StreamingHash update(double value) {
+        word(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * 输入{@code byte}型数组{@code values[from, to)}中的数据。
+     *
+     * @param values 数组。
+     * @param from   起始索引（包含）。
+     * @param to     结束索引（不包含）。
+     * @return 本对象。
+     */
+    public StreamingHash update(byte[] values, int from, int to) {
+        checkRange(from, to, values.length);
+        return update(ByteBuffer.wrap(values, from, to - from));
+    }
+
+    /**
+     * 输入缓冲区中{@code [position, limit)}范围内的数据，缓冲区的位置和字节序不会改变。
+     * 缓冲区可以是堆内、堆外或映射文件的缓冲区。
+     *
+     * @param buffer 缓冲区。
+     * @return 本对象。
+     */
+    public StreamingHash update(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int i = view.position();
+        int end = view.limit();
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            word(view.getLong(i));
+        }
+        for (; i < end; i++) {
+            bytes(view.get(i), 1);
+        }
+        return this;
+    }
+
+    /**
+     * 输入指针区间{@code [from, to)}中的数据，索引为相对于指针的索引。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 本对象。
+     */
+    public StreamingHash update(IByteConstPointer p, int from, int to) {
+        checkRange(p.getPoint(), p.getCapacity(), from, to);
+        if (p.hasBase()) {
+            ByteBuffer buffer = p.getBase().asReadOnlyBuffer();
+            return update(buffer.position(p.getPoint() + from).limit(p.getPoint() + to));
+        }
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = 0;
+            for (int k = Long.BYTES - 1; k >= 0; k--) {
+                word = word << Byte.SIZE | (p.get(i + k) & 0xFFL);
+            }
+            word(word);
+        }
+        for (; i < to; i++) {
+            bytes(p.get(i), 1);
+        }
+        return this;
+    }
+
+    /**
+     * 输入指针区间{@code [from, to)}中的数据，索引为相对于指针的索引，每两个元素组成一个字。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 本对象。
+     */
+    public StreamingHash update(IIntConstPointer p, int from, int to) {
+        checkRange(p.getPoint(), p.getCapacity(), from, to);
+        int i = from;
+        for (; i + 2 <= to; i += 2) {
+            word((p.get(i) & 0xFFFFFFFFL) | (long) p.get(i + 1) << Integer.SIZE);
+        }
+        if (i < to) {
+            bytes(p.get(i), Integer.BYTES);
+        }
+        return this;
+    }
+
+    /**
+     * 输入指针区间{@code [from, to)}中的数据，索引为相对于指针的索引。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 本对象。
+     */
+    public StreamingHash update(ILongConstPointer p, int from, int to) {
+        checkRange(p.getPoint(), p.getCapacity(), from, to);
+        for (int i = from; i < to; i++) {
+            word(p.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * 输入指针区间{@code [from, to)}中的数据，索引为相对于指针的索引。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 本对象。
+     */
+    public StreamingHash update(IDoubleConstPointer p, int from, int to) {
+        checkRange(p.getPoint(), p.getCapacity(), from, to);
+        for (int i = from; i < to; i++) {
+            word(Double.doubleToRawLongBits(p.get(i)));
+        }
+        return this;
+    }
+
+    private static void checkRange(int from, int to, int capacity) {
+        checkRange(0, capacity, from, to);
+    }
+
+    private static void checkRange(int point, int capacity, int from, int to) {
+        if (from > to || point + from < 0 || (long) point + to > capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= from <= to <= %d}, but got {%d, %d}.",
+                    -point, capacity - point, from, to));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.hash;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 类{@code XXHash64}实现64位的XXH64哈希算法，每次处理32个字节（4个字），
+ * 其结果与参考实现{@code XXH64}相同。
+ * <p>
+ * 静态方法{@code hash}用于一次性计算数组区间的哈希值，
+ * 需要分多次输入数据时，应创建对象并调用{@code update}方法。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class XXHash64 extends StreamingHash {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * 种子。
+     */
+    private final long seed;
+
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    /**
+     * 以种子{@code 0}创建哈希。
+     */
+    public XXHash64() {
+        this(0L);
+    }
+
+    /**
+     * 以指定的种子创建哈希。
+     *
+     * @param seed 种子。
+     */
+    public XXHash64(long seed) {
+        super(4);
+        this.seed = seed;
+        resetState();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值。
+     */
+    public static long hash(IByteConstPointer p, int from, int to) {
+        return new XXHash64().update(p, from, to).getValue();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值。
+     */
+    public static long hash(IIntConstPointer p, int from, int to) {
+        return new XXHash64().update(p, from, to).getValue();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值。
+     */
+    public static long hash(ILongConstPointer p, int from, int to) {
+        return new XXHash64().update(p, from, to).getValue();
+    }
+
+    /**
+     * 计算指针区间{@code [from, to)}中数据的哈希值（种子为{@code 0}）。
+     *
+     * @param p    指针。
+     * @param from 起始索引（包含）。
+     * @param to   结束索引（不包含）。
+     * @return 哈希值。
+     */
+    public static long hash(IDoubleConstPointer p, int from, int to) {
+        return new XXHash64().update(p, from, to).getValue();
+    }
+
+    /**
+     * 计算缓冲区中{@code [position, limit)}范围内数据的哈希值（种子为{@code 0}）。
+     *
+     * @param buffer 缓冲区。
+     * @return 哈希值。
+     */
+    public static long hash(ByteBuffer buffer) {
+        return new XXHash64().update(buffer).getValue();
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long merge(long hash, long acc) {
+        hash ^= round(0, acc);
+        return hash * PRIME1 + PRIME4;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void processBlock(long[] block) {
+        v1 = round(v1, block[0]);
+        v2 = round(v2, block[1]);
+        v3 = round(v3, block[2]);
+        v4 = round(v4, block[3]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void resetState() {
+        v1 = seed + PRIME1 + PRIME2;
+        v2 = seed + PRIME2;
+        v3 = seed;
+        v4 = seed - PRIME1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getValue() {
+        long length = getLength();
+        long hash;
+        if (length >= 32) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7)
+                    + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = merge(hash, v1);
+            hash = merge(hash, v2);
+            hash = merge(hash, v3);
+            hash = merge(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += length;
+        long[] block = getBlock();
+        for (int k = 0; k < getWords(); k++) {
+            hash ^= round(0, block[k]);
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        long tail = getPending();
+        int count = getPendingBytes();
+        if (count >= Integer.BYTES) {
+            hash ^= (tail & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            tail >>>= Integer.SIZE;
+            count -= Integer.BYTES;
+        }
+        for (; count > 0; count--, tail >>>= Byte.SIZE) {
+            hash ^= (tail & 0xFF) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+}
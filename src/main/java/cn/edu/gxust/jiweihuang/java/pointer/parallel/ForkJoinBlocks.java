@@ -0,0 +1,164 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 类{@code ForkJoinBlocks}用于将长度为{@code length}的区间划分为若干连续的块，
+ * 并在公共的{@code ForkJoinPool}中并行处理各块，供本包及其他包中的并行内核使用。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class ForkJoinBlocks {
+
+    /**
+     * 并行计算的长度阈值，长度小于该值时串行计算。
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * 每个块的最小长度。
+     */
+    public static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    /**
+     * 每个工作线程平均分得的块数，多于1个块以便工作窃取（work stealing）平衡负载。
+     */
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    /**
+     * 代替公共池并行度的值，仅供测试使用，使单核机器上也能执行并行路径；为{@code 0}时使用公共池的并行度。
+     */
+    static volatile int parallelismOverride;
+
+    private ForkJoinBlocks() {
+    }
+
+    /**
+     * 计算长度为{@code length}的区间应划分的块数，
+     * 如果长度小于{@code PARALLEL_THRESHOLD}或公共池只有一个工作线程，则返回{@code 1}。
+     *
+     * @param length 区间的长度。
+     * @return 块数。
+     */
+    public static int blockCount(int length) {
+        int override = parallelismOverride;
+        int parallelism = override > 0 ? override : ForkJoinPool.getCommonPoolParallelism();
+        if (length < PARALLEL_THRESHOLD || parallelism <= 1) {
+            return 1;
+        }
+        int blocks = (int) (((long) length + MIN_BLOCK_SIZE - 1) / MIN_BLOCK_SIZE);
+        return Math.min(blocks, parallelism * BLOCKS_PER_THREAD);
+    }
+
+    /**
+     * 计算划分为{@code blocks}块时每块的长度，最后一块可能较短。
+     *
+     * @param length 区间的长度。
+     * @param blocks 块数。
+     * @return 每块的长度。
+     */
+    public static int blockSize(int length, int blocks) {
+        return (int) (((long) length + blocks - 1) / blocks);
+    }
+
+    /**
+     * 检查区间的长度。
+     *
+     * @param length 区间的长度。
+     */
+    public static void checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {length >= 0}, but got {%d}.", length));
+        }
+    }
+
+    /**
+     * 在公共的{@code ForkJoinPool}中并行处理{@code [0, blocks)}中的每一个块，所有块处理完毕后返回。
+     * 各块的处理结果对调用线程可见。
+     *
+     * @param blocks 块数。
+     * @param body   处理一个块的函数，其参数为块的序号。
+     */
+    public static void invoke(int blocks, IntConsumer body) {
+        if (blocks == 1) {
+            body.accept(0);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BlockAction(0, blocks, body));
+        }
+    }
+
+    /**
+     * 类{@code BlockAction}以二分的方式递归地划分块的序号区间。
+     */
+    private static final class BlockAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final IntConsumer body;
+
+        BlockAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlockAction(from, middle, body), new BlockAction(middle, to, body));
+            }
+        }
+    }
+}
@@ -0,0 +1,1679 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.arena.ArrayArena;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBytePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortPointer;
+
+/**
+ * 类{@code GatherScatter}提供各基本类型指针上的批量索引操作：<p>
+ * （1）收集（gather）：{@code dst[i] = src[index[i]]}；<p>
+ * （2）分散（scatter）：{@code dst[index[i]] = src[i]}；<p>
+ * （3）压缩（compress）：按{@code boolean}型掩码依次保留{@code src}中被选中的元素；<p>
+ * （4）置换（permute）：按置换就地重排，{@code data[i] = data'[permutation[i]]}，
+ * 其中{@code data'}为重排前的数据；逆置换（permuteInverse）：{@code data[permutation[i]] = data'[i]}。
+ * <p>
+ * 收集、分散与压缩在运算过程中不分配与数据长度相关的内存；
+ * 置换以当前线程分配区（{@code ArrayArena}）中的位图标记已访问的位置，
+ * 稳定状态下不分配新的内存，也不修改{@code permutation}，因此同一个置换可以被多个线程同时使用。
+ * 当长度不小于{@code 65536}且公共{@code ForkJoinPool}有多个工作线程时，
+ * 收集、分散与压缩将分块并行执行，此时源与目标的区间不应重叠；
+ * 就地压缩与就地置换总是串行执行；串行执行时直接循环，不创建{@code lambda}对象。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class GatherScatter {
+
+    private GatherScatter() {
+    }
+
+    private static int countBlock(final IBooleanConstPointer mask, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从当前线程的分配区取得可标记{@code length}个位置的位图，各位均为{@code 0}，用毕以{@code ArrayArena.release}归还。
+     */
+    private static IntArray acquireBitmap(int length) {
+        return ArrayArena.acquireInts((length + Integer.SIZE - 1) >>> 5);
+    }
+
+    private static boolean isVisited(final IIntPointer visited, int i) {
+        return (visited.get(i >>> 5) & (1 << i)) != 0;
+    }
+
+    private static void markVisited(final IIntPointer visited, int i) {
+        int word = i >>> 5;
+        visited.set(word, visited.get(word) | (1 << i));
+    }
+
+    /**
+     * 创建表示置换无效的异常。
+     */
+    private static IllegalArgumentException invalidPermutation(int length) {
+        return new IllegalArgumentException(String.format(
+                "Expected the parameter {permutation} to be a permutation of [0, %d).", length));
+    }
+
+    //============================= boolean =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IBooleanConstPointer src, final IIntConstPointer index,
+                              final IBooleanPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IBooleanConstPointer src, final IIntConstPointer index,
+                               final IBooleanPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IBooleanConstPointer src, final IBooleanConstPointer mask,
+                               final IBooleanPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IBooleanPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IBooleanConstPointer src, final IBooleanConstPointer mask,
+                                     final IBooleanPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IBooleanPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                boolean first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IBooleanPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                boolean carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    boolean next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= byte =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IByteConstPointer src, final IIntConstPointer index,
+                              final IBytePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IByteConstPointer src, final IIntConstPointer index,
+                               final IBytePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IByteConstPointer src, final IBooleanConstPointer mask,
+                               final IBytePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IBytePointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IByteConstPointer src, final IBooleanConstPointer mask,
+                                     final IBytePointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IBytePointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                byte first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IBytePointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                byte carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    byte next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= char =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final ICharConstPointer src, final IIntConstPointer index,
+                              final ICharPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final ICharConstPointer src, final IIntConstPointer index,
+                               final ICharPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final ICharConstPointer src, final IBooleanConstPointer mask,
+                               final ICharPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final ICharPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final ICharConstPointer src, final IBooleanConstPointer mask,
+                                     final ICharPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final ICharPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                char first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final ICharPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                char carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    char next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= short =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IShortConstPointer src, final IIntConstPointer index,
+                              final IShortPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IShortConstPointer src, final IIntConstPointer index,
+                               final IShortPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IShortConstPointer src, final IBooleanConstPointer mask,
+                               final IShortPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IShortPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IShortConstPointer src, final IBooleanConstPointer mask,
+                                     final IShortPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IShortPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                short first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IShortPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                short carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    short next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= int =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IIntConstPointer src, final IIntConstPointer index,
+                              final IIntPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IIntConstPointer src, final IIntConstPointer index,
+                               final IIntPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IIntConstPointer src, final IBooleanConstPointer mask,
+                               final IIntPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IIntPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IIntConstPointer src, final IBooleanConstPointer mask,
+                                     final IIntPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IIntPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                int first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IIntPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                int carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    int next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= long =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final ILongConstPointer src, final IIntConstPointer index,
+                              final ILongPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final ILongConstPointer src, final IIntConstPointer index,
+                               final ILongPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final ILongConstPointer src, final IBooleanConstPointer mask,
+                               final ILongPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final ILongPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final ILongConstPointer src, final IBooleanConstPointer mask,
+                                     final ILongPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final ILongPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                long first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final ILongPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                long carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    long next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= float =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IFloatConstPointer src, final IIntConstPointer index,
+                              final IFloatPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IFloatConstPointer src, final IIntConstPointer index,
+                               final IFloatPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IFloatConstPointer src, final IBooleanConstPointer mask,
+                               final IFloatPointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IFloatPointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IFloatConstPointer src, final IBooleanConstPointer mask,
+                                     final IFloatPointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IFloatPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                float first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IFloatPointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                float carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    float next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    //============================= double =====================================
+
+    /**
+     * 收集：{@code dst[i] = src[index[i]]}，{@code 0 <= i < length}。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void gather(final IDoubleConstPointer src, final IIntConstPointer index,
+                              final IDoublePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(i, src.get(index.get(i)));
+            }
+        });
+    }
+
+    /**
+     * 分散：{@code dst[index[i]] = src[i]}，{@code 0 <= i < length}。<p>
+     * 注意：{@code index}中不应有重复的值，否则并行执行时哪个元素被写入是不确定的。
+     *
+     * @param src    源指针。
+     * @param index  索引指针。
+     * @param dst    目标指针，不应与源指针的区间重叠。
+     * @param length 元素的个数。
+     */
+    public static void scatter(final IDoubleConstPointer src, final IIntConstPointer index,
+                               final IDoublePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            for (int i = 0; i < length; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+            return;
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        ForkJoinBlocks.invoke(blocks, b -> {
+            int to = Math.min(length, b * size + size);
+            for (int i = b * size; i < to; i++) {
+                dst.set(index.get(i), src.get(i));
+            }
+        });
+    }
+
+    /**
+     * 压缩：将{@code src[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次写入{@code dst}。
+     *
+     * @param src    源指针。
+     * @param mask   掩码指针。
+     * @param dst    目标指针，不应与源指针的区间重叠，就地压缩请使用{@code compress(data, mask, length)}。
+     * @param length 元素的个数。
+     * @return 写入{@code dst}的元素个数。
+     */
+    public static int compress(final IDoubleConstPointer src, final IBooleanConstPointer mask,
+                               final IDoublePointer dst, int length) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return compressBlock(src, mask, dst, 0, length, 0);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = countBlock(mask, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int count = offsets[b];
+            offsets[b] = total;
+            total += count;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> compressBlock(src, mask, dst, b * size,
+                Math.min(length, b * size + size), offsets[b]));
+        return total;
+    }
+
+    /**
+     * 就地压缩：将{@code data[0, length)}中{@code mask}为{@code true}的元素按原有顺序依次移到前部。
+     *
+     * @param data   指针。
+     * @param mask   掩码指针。
+     * @param length 元素的个数。
+     * @return 保留的元素个数。
+     */
+    public static int compress(final IDoublePointer data, final IBooleanConstPointer mask, int length) {
+        ForkJoinBlocks.checkLength(length);
+        return compressBlock(data, mask, data, 0, length, 0);
+    }
+
+    private static int compressBlock(final IDoubleConstPointer src, final IBooleanConstPointer mask,
+                                     final IDoublePointer dst, int from, int to, int offset) {
+        int k = offset;
+        for (int i = from; i < to; i++) {
+            if (mask.get(i)) {
+                dst.set(k++, src.get(i));
+            }
+        }
+        return k - offset;
+    }
+
+    /**
+     * 就地置换：{@code data[i] = data'[permutation[i]]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据。<p>
+     * 采用循环跟踪（cycle-following）算法，每个元素只移动一次，
+     * 以当前线程分配区中的位图标记已访问的位置，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permute(final IDoublePointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                double first = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    if (k == i) {
+                        data.set(j, first);
+                        break;
+                    }
+                    data.set(j, data.get(k));
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+
+    /**
+     * 就地逆置换：{@code data[permutation[i]] = data'[i]}，{@code 0 <= i < length}，
+     * 其中{@code data'}为重排前的数据，即{@code permute}的逆运算。<p>
+     * 算法与{@code permute}相同，沿循环的方向依次移动元素，不修改{@code permutation}。
+     * 如果{@code permutation}不是{@code [0, length)}的一个置换，
+     * 则抛出{@code java.lang.IllegalArgumentException}异常，此时{@code data}可能已被部分重排。
+     *
+     * @param data        指针。
+     * @param permutation 置换指针。
+     * @param length      元素的个数。
+     */
+    public static void permuteInverse(final IDoublePointer data, final IIntConstPointer permutation, int length) {
+        ForkJoinBlocks.checkLength(length);
+        IntArray bitmap = acquireBitmap(length);
+        try {
+            IIntPointer visited = bitmap.createPointer();
+            for (int i = 0; i < length; i++) {
+                if (isVisited(visited, i)) {
+                    continue;
+                }
+                double carry = data.get(i);
+                int j = i;
+                while (true) {
+                    int k = permutation.get(j);
+                    if (k < 0 || k >= length || (k != i && isVisited(visited, k))) {
+                        throw invalidPermutation(length);
+                    }
+                    markVisited(visited, j);
+                    double next = data.get(k);
+                    data.set(k, carry);
+                    if (k == i) {
+                        break;
+                    }
+                    carry = next;
+                    j = k;
+                }
+            }
+        } finally {
+            ArrayArena.release(bitmap);
+        }
+    }
+}
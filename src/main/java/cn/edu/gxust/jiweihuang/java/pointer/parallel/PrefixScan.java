@@ -0,0 +1,347 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+
+/**
+ * 类{@code PrefixScan}提供{@code int}、{@code long}和{@code double}型指针区间上的并行前缀和（扫描）。
+ * <p>
+ * 包含型扫描（inclusive scan）的结果为{@code dst[i] = src[0] + ... + src[i]}，
+ * 排除型扫描（exclusive scan）的结果为{@code dst[i] = src[0] + ... + src[i - 1]}，{@code dst[0] = 0}，
+ * 后者可直接用于计算CSR格式的行偏移量、桶的起始位置等。
+ * 源指针与目标指针可以指向同一个位置，此时就地计算。
+ * <p>
+ * 当长度不小于{@code 65536}且公共{@code ForkJoinPool}有多个工作线程时，采用分块两遍算法：
+ * 第一遍并行计算各块的和，串行求出各块的起始偏移量，第二遍并行地在各块内从该偏移量开始扫描。
+ * 整型的运算溢出时按补码回绕，与串行计算结果一致；
+ * 浮点型的并行结果与串行结果可能在舍入误差范围内有差异。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class PrefixScan {
+
+    private PrefixScan() {
+    }
+
+    /**
+     * 计算{@code src[0, length)}的包含型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static int inclusiveScan(final IIntConstPointer src, final IIntPointer dst, int length) {
+        return scan(src, dst, length, true);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的包含型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static int inclusiveScan(final IIntPointer data, int length) {
+        return scan(data, data, length, true);
+    }
+
+    /**
+     * 计算{@code src[0, length)}的排除型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code dst[length]}应有的值。
+     */
+    public static int exclusiveScan(final IIntConstPointer src, final IIntPointer dst, int length) {
+        return scan(src, dst, length, false);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的排除型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code data[length]}应有的值。
+     */
+    public static int exclusiveScan(final IIntPointer data, int length) {
+        return scan(data, data, length, false);
+    }
+
+    private static int scan(final IIntConstPointer src, final IIntPointer dst, int length, boolean inclusive) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return scanBlock(src, dst, 0, length, 0, inclusive);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] offsets = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = sumBlock(src, b * size, Math.min(length, b * size + size)));
+        int total = 0;
+        for (int b = 0; b < blocks; b++) {
+            int sum = offsets[b];
+            offsets[b] = total;
+            total += sum;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> scanBlock(src, dst, b * size,
+                Math.min(length, b * size + size), offsets[b], inclusive));
+        return total;
+    }
+
+    private static int sumBlock(final IIntConstPointer src, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += src.get(i);
+        }
+        return sum;
+    }
+
+    private static int scanBlock(final IIntConstPointer src, final IIntPointer dst,
+                                  int from, int to, int offset, boolean inclusive) {
+        int sum = offset;
+        if (inclusive) {
+            for (int i = from; i < to; i++) {
+                sum += src.get(i);
+                dst.set(i, sum);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                int value = src.get(i);
+                dst.set(i, sum);
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 计算{@code src[0, length)}的包含型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static long inclusiveScan(final ILongConstPointer src, final ILongPointer dst, int length) {
+        return scan(src, dst, length, true);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的包含型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static long inclusiveScan(final ILongPointer data, int length) {
+        return scan(data, data, length, true);
+    }
+
+    /**
+     * 计算{@code src[0, length)}的排除型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code dst[length]}应有的值。
+     */
+    public static long exclusiveScan(final ILongConstPointer src, final ILongPointer dst, int length) {
+        return scan(src, dst, length, false);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的排除型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code data[length]}应有的值。
+     */
+    public static long exclusiveScan(final ILongPointer data, int length) {
+        return scan(data, data, length, false);
+    }
+
+    private static long scan(final ILongConstPointer src, final ILongPointer dst, int length, boolean inclusive) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return scanBlock(src, dst, 0, length, 0L, inclusive);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final long[] offsets = new long[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = sumBlock(src, b * size, Math.min(length, b * size + size)));
+        long total = 0L;
+        for (int b = 0; b < blocks; b++) {
+            long sum = offsets[b];
+            offsets[b] = total;
+            total += sum;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> scanBlock(src, dst, b * size,
+                Math.min(length, b * size + size), offsets[b], inclusive));
+        return total;
+    }
+
+    private static long sumBlock(final ILongConstPointer src, int from, int to) {
+        long sum = 0L;
+        for (int i = from; i < to; i++) {
+            sum += src.get(i);
+        }
+        return sum;
+    }
+
+    private static long scanBlock(final ILongConstPointer src, final ILongPointer dst,
+                                  int from, int to, long offset, boolean inclusive) {
+        long sum = offset;
+        if (inclusive) {
+            for (int i = from; i < to; i++) {
+                sum += src.get(i);
+                dst.set(i, sum);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                long value = src.get(i);
+                dst.set(i, sum);
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 计算{@code src[0, length)}的包含型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static double inclusiveScan(final IDoubleConstPointer src, final IDoublePointer dst, int length) {
+        return scan(src, dst, length, true);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的包含型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和。
+     */
+    public static double inclusiveScan(final IDoublePointer data, int length) {
+        return scan(data, data, length, true);
+    }
+
+    /**
+     * 计算{@code src[0, length)}的排除型前缀和，并保存到{@code dst[0, length)}中。
+     *
+     * @param src    源指针。
+     * @param dst    目标指针，可以与源指针指向同一个位置。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code dst[length]}应有的值。
+     */
+    public static double exclusiveScan(final IDoubleConstPointer src, final IDoublePointer dst, int length) {
+        return scan(src, dst, length, false);
+    }
+
+    /**
+     * 就地计算{@code data[0, length)}的排除型前缀和。
+     *
+     * @param data   指针。
+     * @param length 区间的长度。
+     * @return 区间内所有元素的和，即{@code data[length]}应有的值。
+     */
+    public static double exclusiveScan(final IDoublePointer data, int length) {
+        return scan(data, data, length, false);
+    }
+
+    private static double scan(final IDoubleConstPointer src, final IDoublePointer dst, int length, boolean inclusive) {
+        ForkJoinBlocks.checkLength(length);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return scanBlock(src, dst, 0, length, 0.0, inclusive);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final double[] offsets = new double[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> offsets[b] = sumBlock(src, b * size, Math.min(length, b * size + size)));
+        double total = 0.0;
+        for (int b = 0; b < blocks; b++) {
+            double sum = offsets[b];
+            offsets[b] = total;
+            total += sum;
+        }
+        ForkJoinBlocks.invoke(blocks, b -> scanBlock(src, dst, b * size,
+                Math.min(length, b * size + size), offsets[b], inclusive));
+        return total;
+    }
+
+    private static double sumBlock(final IDoubleConstPointer src, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += src.get(i);
+        }
+        return sum;
+    }
+
+    private static double scanBlock(final IDoubleConstPointer src, final IDoublePointer dst,
+                                  int from, int to, double offset, boolean inclusive) {
+        double sum = offset;
+        if (inclusive) {
+            for (int i = from; i < to; i++) {
+                sum += src.get(i);
+                dst.set(i, sum);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                double value = src.get(i);
+                dst.set(i, sum);
+                sum += value;
+            }
+        }
+        return sum;
+    }
+}
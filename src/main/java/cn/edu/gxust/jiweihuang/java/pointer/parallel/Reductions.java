@@ -0,0 +1,763 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+
+/**
+ * 类{@code Reductions}提供{@code int}、{@code long}和{@code double}型指针区间上的归约运算，
+ * 包括求和（可选补偿求和）、最小值、最大值、最小值索引、最大值索引，以及单遍计算的均值与方差。
+ * <p>
+ * 区间{@code [from, to)}中的索引是相对于指针的索引，即与{@code get(int index)}的参数含义相同。
+ * 当区间长度不小于{@code 65536}且公共{@code ForkJoinPool}有多个工作线程时，
+ * 区间被划分为若干块并行归约，再按块的顺序合并各块的结果；否则串行计算。
+ * 块内的求和使用4个相互独立的累加器，以减少循环携带的依赖。
+ * <p>
+ * {@code argmax}与{@code argmin}采用严格比较（{@code >}与{@code <}），
+ * 返回第一个最大（最小）元素的索引，与串行扫描
+ * {@code if (p.get(k) > p.get(kmax)) kmax = k;}的结果完全一致，包括存在{@code NaN}的情形：
+ * 区间的第一个元素为{@code NaN}时返回{@code from}，否则{@code NaN}元素不会被选中。
+ * 为此{@code double}型的各块跳过块首的{@code NaN}元素，再按块的顺序与当前的最优元素严格比较。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class Reductions {
+
+    private Reductions() {
+    }
+
+    /**
+     * 类{@code MeanVariance}用于保存单遍计算的元素个数、均值与方差。
+     */
+    public static final class MeanVariance {
+
+        private final long count;
+
+        private final double mean;
+
+        private final double m2;
+
+        MeanVariance(long count, double mean, double m2) {
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
+        }
+
+        /**
+         * 按Chan等人的方法合并两组统计量。
+         */
+        MeanVariance merge(MeanVariance that) {
+            if (that.count == 0) {
+                return this;
+            }
+            if (this.count == 0) {
+                return that;
+            }
+            long n = this.count + that.count;
+            double delta = that.mean - this.mean;
+            double mean = this.mean + delta * that.count / n;
+            double m2 = this.m2 + that.m2 + delta * delta * ((double) this.count * that.count / n);
+            return new MeanVariance(n, mean, m2);
+        }
+
+        /**
+         * 获取元素的个数。
+         *
+         * @return 元素的个数。
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 获取元素的均值，如果元素个数为{@code 0}，返回{@code NaN}。
+         *
+         * @return 元素的均值。
+         */
+        public double getMean() {
+            return count == 0 ? Double.NaN : mean;
+        }
+
+        /**
+         * 获取元素的总体方差（除以{@code n}），如果元素个数为{@code 0}，返回{@code NaN}。
+         *
+         * @return 元素的总体方差。
+         */
+        public double getVariance() {
+            return count == 0 ? Double.NaN : m2 / count;
+        }
+
+        /**
+         * 获取元素的样本方差（除以{@code n - 1}），如果元素个数小于{@code 2}，返回{@code NaN}。
+         *
+         * @return 元素的样本方差。
+         */
+        public double getSampleVariance() {
+            return count < 2 ? Double.NaN : m2 / (count - 1);
+        }
+
+        @Override
+        public String toString() {
+            return "MeanVariance{" +
+                    "count=" + count +
+                    ", mean=" + getMean() +
+                    ", variance=" + getVariance() +
+                    '}';
+        }
+    }
+
+    private static int checkRange(int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {from <= to}, but got {%d, %d}.", from, to));
+        }
+        return to - from;
+    }
+
+    private static int checkNotEmpty(int from, int to) {
+        if (from >= to) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {from < to}, but got {%d, %d}.", from, to));
+        }
+        return to - from;
+    }
+
+    //============================= int =====================================
+
+    /**
+     * 计算区间{@code [from, to)}中元素的和，以{@code long}型累加，不会溢出（区间长度不超过{@code 2^31 - 1}）。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 区间中元素的和。
+     */
+    public static long sum(final IIntConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return sumBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final long[] sums = new long[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> sums[b] = sumBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        long sum = 0L;
+        for (long s : sums) {
+            sum += s;
+        }
+        return sum;
+    }
+
+    private static long sumBlock(final IIntConstPointer p, int from, int to) {
+        long s0 = 0L;
+        long s1 = 0L;
+        long s2 = 0L;
+        long s3 = 0L;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += p.get(i);
+            s1 += p.get(i + 1);
+            s2 += p.get(i + 2);
+            s3 += p.get(i + 3);
+        }
+        for (; i < to; i++) {
+            s0 += p.get(i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最大元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最大元素的索引。
+     */
+    public static int argmax(final IIntConstPointer p, int from, int to) {
+        return argBest(p, from, to, true);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最小元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最小元素的索引。
+     */
+    public static int argmin(final IIntConstPointer p, int from, int to) {
+        return argBest(p, from, to, false);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最大元素，即{@code p.get(argmax(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最大元素。
+     */
+    public static int max(final IIntConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, true));
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最小元素，即{@code p.get(argmin(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最小元素。
+     */
+    public static int min(final IIntConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, false));
+    }
+
+    private static int argBest(final IIntConstPointer p, int from, int to, boolean greatest) {
+        int length = checkNotEmpty(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return argBestBlock(p, from, to, greatest);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] indexes = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> indexes[b] = argBestBlock(p, from + b * size,
+                Math.min(to, from + b * size + size), greatest));
+        int best = indexes[0];
+        int bestValue = p.get(best);
+        for (int b = 1; b < blocks; b++) {
+            int value = p.get(indexes[b]);
+            if (greatest ? value > bestValue : value < bestValue) {
+                best = indexes[b];
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    private static int argBestBlock(final IIntConstPointer p, int from, int to, boolean greatest) {
+        int best = from;
+        int bestValue = p.get(from);
+        if (greatest) {
+            for (int i = from + 1; i < to; i++) {
+                int value = p.get(i);
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        } else {
+            for (int i = from + 1; i < to; i++) {
+                int value = p.get(i);
+                if (value < bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 单遍计算区间{@code [from, to)}中元素的均值与方差（Welford算法，各块的结果按Chan等人的方法合并）。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 元素的个数、均值与方差。
+     */
+    public static MeanVariance meanVariance(final IIntConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return meanVarianceBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final MeanVariance[] results = new MeanVariance[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> results[b] = meanVarianceBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        MeanVariance result = results[0];
+        for (int b = 1; b < blocks; b++) {
+            result = result.merge(results[b]);
+        }
+        return result;
+    }
+
+    private static MeanVariance meanVarianceBlock(final IIntConstPointer p, int from, int to) {
+        double mean = 0.0;
+        double m2 = 0.0;
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            double value = p.get(i);
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+        return new MeanVariance(n, mean, m2);
+    }
+
+    //============================= long =====================================
+
+    /**
+     * 计算区间{@code [from, to)}中元素的和，溢出时按补码回绕，与串行计算结果一致。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 区间中元素的和。
+     */
+    public static long sum(final ILongConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return sumBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final long[] sums = new long[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> sums[b] = sumBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        long sum = 0L;
+        for (long s : sums) {
+            sum += s;
+        }
+        return sum;
+    }
+
+    private static long sumBlock(final ILongConstPointer p, int from, int to) {
+        long s0 = 0L;
+        long s1 = 0L;
+        long s2 = 0L;
+        long s3 = 0L;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += p.get(i);
+            s1 += p.get(i + 1);
+            s2 += p.get(i + 2);
+            s3 += p.get(i + 3);
+        }
+        for (; i < to; i++) {
+            s0 += p.get(i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最大元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最大元素的索引。
+     */
+    public static int argmax(final ILongConstPointer p, int from, int to) {
+        return argBest(p, from, to, true);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最小元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最小元素的索引。
+     */
+    public static int argmin(final ILongConstPointer p, int from, int to) {
+        return argBest(p, from, to, false);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最大元素，即{@code p.get(argmax(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最大元素。
+     */
+    public static long max(final ILongConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, true));
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最小元素，即{@code p.get(argmin(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最小元素。
+     */
+    public static long min(final ILongConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, false));
+    }
+
+    private static int argBest(final ILongConstPointer p, int from, int to, boolean greatest) {
+        int length = checkNotEmpty(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return argBestBlock(p, from, to, greatest);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] indexes = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> indexes[b] = argBestBlock(p, from + b * size,
+                Math.min(to, from + b * size + size), greatest));
+        int best = indexes[0];
+        long bestValue = p.get(best);
+        for (int b = 1; b < blocks; b++) {
+            long value = p.get(indexes[b]);
+            if (greatest ? value > bestValue : value < bestValue) {
+                best = indexes[b];
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    private static int argBestBlock(final ILongConstPointer p, int from, int to, boolean greatest) {
+        int best = from;
+        long bestValue = p.get(from);
+        if (greatest) {
+            for (int i = from + 1; i < to; i++) {
+                long value = p.get(i);
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        } else {
+            for (int i = from + 1; i < to; i++) {
+                long value = p.get(i);
+                if (value < bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 单遍计算区间{@code [from, to)}中元素的均值与方差（Welford算法，各块的结果按Chan等人的方法合并）。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 元素的个数、均值与方差。
+     */
+    public static MeanVariance meanVariance(final ILongConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return meanVarianceBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final MeanVariance[] results = new MeanVariance[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> results[b] = meanVarianceBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        MeanVariance result = results[0];
+        for (int b = 1; b < blocks; b++) {
+            result = result.merge(results[b]);
+        }
+        return result;
+    }
+
+    private static MeanVariance meanVarianceBlock(final ILongConstPointer p, int from, int to) {
+        double mean = 0.0;
+        double m2 = 0.0;
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            double value = p.get(i);
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+        return new MeanVariance(n, mean, m2);
+    }
+
+    //============================= double =====================================
+
+    /**
+     * 计算区间{@code [from, to)}中元素的和。<p>
+     * 注意：由于使用多个累加器并分块计算，结果与串行逐个累加的结果可能在舍入误差范围内有差异，
+     * 需要更高精度时使用{@code compensatedSum}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 区间中元素的和。
+     */
+    public static double sum(final IDoubleConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return sumBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final double[] sums = new double[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> sums[b] = sumBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        double sum = 0.0;
+        for (double s : sums) {
+            sum += s;
+        }
+        return sum;
+    }
+
+    private static double sumBlock(final IDoubleConstPointer p, int from, int to) {
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += p.get(i);
+            s1 += p.get(i + 1);
+            s2 += p.get(i + 2);
+            s3 += p.get(i + 3);
+        }
+        for (; i < to; i++) {
+            s0 += p.get(i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最大元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最大元素的索引。
+     */
+    public static int argmax(final IDoubleConstPointer p, int from, int to) {
+        return argBest(p, from, to, true);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中第一个最小元素的索引。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 第一个最小元素的索引。
+     */
+    public static int argmin(final IDoubleConstPointer p, int from, int to) {
+        return argBest(p, from, to, false);
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最大元素，即{@code p.get(argmax(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最大元素。
+     */
+    public static double max(final IDoubleConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, true));
+    }
+
+    /**
+     * 获取区间{@code [from, to)}中的最小元素，即{@code p.get(argmin(p, from, to))}。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含），应大于{@code from}。
+     * @return 最小元素。
+     */
+    public static double min(final IDoubleConstPointer p, int from, int to) {
+        return p.get(argBest(p, from, to, false));
+    }
+
+    private static int argBest(final IDoubleConstPointer p, int from, int to, boolean greatest) {
+        int length = checkNotEmpty(from, to);
+        if (Double.isNaN(p.get(from))) {
+            // 串行扫描中没有元素能与NaN严格比较成功，kmax始终停留在from。
+            return from;
+        }
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return argBestBlock(p, from, to, greatest);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final int[] indexes = new int[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> indexes[b] = argBestBlock(p, from + b * size,
+                Math.min(to, from + b * size + size), greatest));
+        int best = indexes[0];
+        double bestValue = p.get(best);
+        for (int b = 1; b < blocks; b++) {
+            if (indexes[b] < 0) {
+                continue;
+            }
+            double value = p.get(indexes[b]);
+            if (greatest ? value > bestValue : value < bestValue) {
+                best = indexes[b];
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 获取块{@code [from, to)}中第一个最大（最小）的非{@code NaN}元素的索引，
+     * 块中的元素全部为{@code NaN}时返回{@code -1}。
+     * 块首的{@code NaN}元素被跳过，使块的结果不会被块首的{@code NaN}所遮蔽。
+     */
+    private static int argBestBlock(final IDoubleConstPointer p, int from, int to, boolean greatest) {
+        int best = from;
+        while (best < to && Double.isNaN(p.get(best))) {
+            best++;
+        }
+        if (best == to) {
+            return -1;
+        }
+        double bestValue = p.get(best);
+        if (greatest) {
+            for (int i = best + 1; i < to; i++) {
+                double value = p.get(i);
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        } else {
+            for (int i = best + 1; i < to; i++) {
+                double value = p.get(i);
+                if (value < bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 单遍计算区间{@code [from, to)}中元素的均值与方差（Welford算法，各块的结果按Chan等人的方法合并）。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 元素的个数、均值与方差。
+     */
+    public static MeanVariance meanVariance(final IDoubleConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        if (blocks == 1) {
+            return meanVarianceBlock(p, from, to);
+        }
+        int size = ForkJoinBlocks.blockSize(length, blocks);
+        final MeanVariance[] results = new MeanVariance[blocks];
+        ForkJoinBlocks.invoke(blocks, b -> results[b] = meanVarianceBlock(p, from + b * size,
+                Math.min(to, from + b * size + size)));
+        MeanVariance result = results[0];
+        for (int b = 1; b < blocks; b++) {
+            result = result.merge(results[b]);
+        }
+        return result;
+    }
+
+    private static MeanVariance meanVarianceBlock(final IDoubleConstPointer p, int from, int to) {
+        double mean = 0.0;
+        double m2 = 0.0;
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            double value = p.get(i);
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+        return new MeanVariance(n, mean, m2);
+    }
+
+    /**
+     * 以补偿求和（Kahan-Babuška-Neumaier算法）计算区间{@code [from, to)}中元素的和，
+     * 其舍入误差与元素个数基本无关，适用于大量数值相差悬殊的元素求和。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @return 区间中元素的和。
+     */
+    public static double compensatedSum(final IDoubleConstPointer p, int from, int to) {
+        int length = checkRange(from, to);
+        int blocks = ForkJoinBlocks.blockCount(length);
+        final double[] sums = new double[blocks];
+        final double[] compensations = new double[blocks];
+        if (blocks == 1) {
+            compensatedSumBlock(p, from, to, sums, compensations, 0);
+        } else {
+            int size = ForkJoinBlocks.blockSize(length, blocks);
+            ForkJoinBlocks.invoke(blocks, b -> compensatedSumBlock(p, from + b * size,
+                    Math.min(to, from + b * size + size), sums, compensations, b));
+        }
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int b = 0; b < blocks; b++) {
+            double t = sum + sums[b];
+            compensation += Math.abs(sum) >= Math.abs(sums[b]) ? (sum - t) + sums[b] : (sums[b] - t) + sum;
+            sum = t;
+            compensation += compensations[b];
+        }
+        return sum + compensation;
+    }
+
+    private static void compensatedSumBlock(final IDoubleConstPointer p, int from, int to,
+                                            double[] sums, double[] compensations, int block) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int i = from; i < to; i++) {
+            double value = p.get(i);
+            double t = sum + value;
+            compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+            sum = t;
+        }
+        sums[block] = sum;
+        compensations[block] = compensation;
+    }
+}
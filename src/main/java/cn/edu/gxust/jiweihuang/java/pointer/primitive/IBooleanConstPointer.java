@@ -73,9 +73,12 @@ public interface IBooleanConstPointer extends IArrayPointer {
     }
 
     /**
-     * 获取指针关联的数组对象。
+     * 获取指针关联的数组对象。<p>
+     * 注意：这是一个可选的操作，没有关联数组对象的指针（{@code hasBase()}返回{@code false}）
+     * 将抛出{@code java.lang.UnsupportedOperationException}异常。
      *
      * @return 指针关联的数组对象。
+     * @throws UnsupportedOperationException 如果指针没有关联的数组对象。
      */
     BooleanArray getBase();
 
@@ -0,0 +1,81 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+/**
+ * 接口{@code IRecordArray}用于表征一个记录数组，即由若干条结构相同的记录组成的数组。<p>
+ * 此接口有两种实现：<p>
+ * （1）{@code StructOfArrays}，“数组结构”布局，每个字段保存在一个独立的基本类型数组中；<p>
+ * （2）{@code PackedRecordArray}，“紧凑”布局，所有记录按固定步长保存在一块连续的字节存储中。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public interface IRecordArray {
+    /**
+     * 获取记录的结构。
+     *
+     * @return 记录的结构。
+     */
+    RecordSchema getSchema();
+
+    /**
+     * 获取数组的容量，即记录的数量。
+     *
+     * @return 数组的容量。
+     */
+    int getCapacity();
+
+    /**
+     * 创建一个指向该记录数组的指针。
+     *
+     * @return 一个指向该记录数组的指针。
+     */
+    IRecordPointer createPointer();
+
+    /**
+     * 创建一个指向该记录数组的常量指针。
+     *
+     * @return 一个指向该记录数组的常量指针。
+     */
+    IRecordConstPointer createConstPointer();
+}
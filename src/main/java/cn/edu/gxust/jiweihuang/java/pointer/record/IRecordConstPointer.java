@@ -0,0 +1,217 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IArrayPointer;
+
+/**
+ * 接口{@code IRecordConstPointer}用于表征一个指向记录数组的“享元（flyweight）”指针，
+ * 属于常量指针，即该类型的指针不可改变所指向记录的值。<p>
+ * 指针本身不保存任何记录对象，通过{@code move}在记录之间移动，
+ * 并通过类型化的方法读取字段的值，因此遍历记录时不会创建任何对象。<p>
+ * 注意：字段类型必须与访问方法一致，
+ * 否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public interface IRecordConstPointer extends IArrayPointer {
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code boolean}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    boolean getBoolean(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code boolean}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default boolean getBoolean(int field) {
+        return getBoolean(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code byte}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    byte getByte(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code byte}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default byte getByte(int field) {
+        return getByte(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code char}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    char getChar(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code char}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default char getChar(int field) {
+        return getChar(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code short}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    short getShort(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code short}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default short getShort(int field) {
+        return getShort(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code int}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    int getInt(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code int}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default int getInt(int field) {
+        return getInt(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code long}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    long getLong(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code long}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default long getLong(int field) {
+        return getLong(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code float}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    float getFloat(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code float}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default float getFloat(int field) {
+        return getFloat(0, field);
+    }
+
+    /**
+     * 获取第{@code index}条记录（相对于指针指向）中{@code double}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    double getDouble(int index, int field);
+
+    /**
+     * 获取指针当前指向记录中{@code double}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @return 字段的值。
+     */
+    default double getDouble(int field) {
+        return getDouble(0, field);
+    }
+
+    /**
+     * 获取指针关联的记录数组。
+     *
+     * @return 指针关联的记录数组。
+     */
+    IRecordArray getBase();
+}
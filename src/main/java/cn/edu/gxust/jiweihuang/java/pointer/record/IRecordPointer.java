@@ -0,0 +1,203 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+/**
+ * 接口{@code IRecordPointer}用于表征一个指向记录数组的“享元（flyweight）”指针。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public interface IRecordPointer extends IRecordConstPointer {
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code boolean}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setBoolean(int index, int field, boolean value);
+
+    /**
+     * 设置指针当前指向记录中{@code boolean}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setBoolean(int field, boolean value) {
+        setBoolean(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code byte}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setByte(int index, int field, byte value);
+
+    /**
+     * 设置指针当前指向记录中{@code byte}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setByte(int field, byte value) {
+        setByte(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code char}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setChar(int index, int field, char value);
+
+    /**
+     * 设置指针当前指向记录中{@code char}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setChar(int field, char value) {
+        setChar(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code short}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setShort(int index, int field, short value);
+
+    /**
+     * 设置指针当前指向记录中{@code short}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setShort(int field, short value) {
+        setShort(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code int}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setInt(int index, int field, int value);
+
+    /**
+     * 设置指针当前指向记录中{@code int}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setInt(int field, int value) {
+        setInt(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code long}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setLong(int index, int field, long value);
+
+    /**
+     * 设置指针当前指向记录中{@code long}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setLong(int field, long value) {
+        setLong(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code float}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setFloat(int index, int field, float value);
+
+    /**
+     * 设置指针当前指向记录中{@code float}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setFloat(int field, float value) {
+        setFloat(0, field, value);
+    }
+
+    /**
+     * 设置第{@code index}条记录（相对于指针指向）中{@code double}型字段的值。
+     *
+     * @param index 记录的索引，{@code getPoint() + index}才是记录在数组中的索引。
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    void setDouble(int index, int field, double value);
+
+    /**
+     * 设置指针当前指向记录中{@code double}型字段的值。
+     *
+     * @param field 字段的序号。
+     * @param value 需要设置的值。
+     */
+    default void setDouble(int field, double value) {
+        setDouble(0, field, value);
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * 类{@code PackedRecordArray}是记录数组的“紧凑”布局实现，
+ * 所有记录按{@code RecordSchema.getStride()}的固定步长保存在一块连续的字节存储中，
+ * 存储可以位于堆内（{@code ByteBuffer.allocate}），
+ * 也可以位于堆外（{@code ByteBuffer.allocateDirect}）。<p>
+ * 同一记录的所有字段在内存中相邻，适用于逐条记录访问多个字段的场景。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class PackedRecordArray implements IRecordArray {
+
+    /**
+     * 记录的结构。
+     */
+    private final RecordSchema schema;
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 记录的步长。
+     */
+    private final int stride;
+
+    /**
+     * 数组的存储。
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 类{@code PackedRecordArray}的主构造函数。<p>
+     * 创建一个指定容量的记录数组，所有字段的值均被初始化为{@code 0}。
+     * <p>
+     * 注意：参数 {@code capacity}必须大于等于{@code 0}，
+     * 且{@code capacity * schema.getStride()}不能超过{@code Integer.MAX_VALUE}，
+     * 否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param schema   记录的结构。
+     * @param capacity 数组的容量。
+     * @param direct   如果为{@code true}，则采用堆外存储。
+     */
+    public PackedRecordArray(final RecordSchema schema, final int capacity, final boolean direct) {
+        Objects.requireNonNull(schema, "Expected the parameter {schema != null}.");
+        this.schema = schema;
+        this.stride = schema.getStride();
+        if (capacity < 0 || (long) capacity * stride > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {0 <= capacity <= %d}, but got {%d}.",
+                    Integer.MAX_VALUE / stride, capacity));
+        }
+        this.capacity = capacity;
+        this.buffer = (direct ? ByteBuffer.allocateDirect(capacity * stride)
+                : ByteBuffer.allocate(capacity * stride)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 类{@code PackedRecordArray}的次级构造函数，创建采用堆内存储的记录数组。
+     *
+     * @param schema   记录的结构。
+     * @param capacity 数组的容量。
+     */
+    public PackedRecordArray(final RecordSchema schema, final int capacity) {
+        this(schema, capacity, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 判断数组是否采用堆外存储。
+     *
+     * @return {@code true} 如果数组采用堆外存储。
+     */
+    public boolean isDirect() {
+        return buffer.isDirect();
+    }
+
+    /**
+     * 重置数组内所有字段的值至{@code 0}。
+     *
+     * @return 值被重置后的数组对象。
+     */
+    public PackedRecordArray reset() {
+        int limit = capacity * stride;
+        int i = 0;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            buffer.putLong(i, 0L);
+        }
+        for (; i < limit; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IRecordPointer createPointer() {
+        return new PackedRecordPointer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IRecordConstPointer createConstPointer() {
+        return new PackedRecordConstPointer();
+    }
+
+    /**
+     * 类{@code PackedRecordConstPointer}是{@code IRecordConstPointer}的实现。<p>
+     * 因为是私有类，所以此类的外部无法访问，
+     * 因为是内部类，故其拥有对其外部类数据的引用。
+     */
+    private class PackedRecordConstPointer implements IRecordConstPointer {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * 主构造器，也是唯一的构造器。
+         * 该构造器将指针的指向设置为0，
+         * 构造器是私有的，意味着该类不能被外部初始化。
+         */
+        private PackedRecordConstPointer() {
+            this.point = 0;
+        }
+
+        /**
+         * 将相对于指针指向的记录索引转换为数组索引，并检查其是否越界。
+         */
+        final int recordIndex(int index) {
+            int i = index + point;
+            if (i >= 0 && i < capacity) {
+                return i;
+            }
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= index < %d}.", -point, capacity - point));
+        }
+
+        /**
+         * 计算字段的字节偏移量，并检查字段类型。
+         */
+        final int offset(int index, int field, RecordSchema.FieldType type) {
+            schema.checkType(field, type);
+            return recordIndex(index) * stride + schema.getOffset(field);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean getBoolean(int index, int field) {
+            return buffer.get(offset(index, field, RecordSchema.FieldType.BOOLEAN)) != 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte getByte(int index, int field) {
+            return buffer.get(offset(index, field, RecordSchema.FieldType.BYTE));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public char getChar(int index, int field) {
+            return buffer.getChar(offset(index, field, RecordSchema.FieldType.CHAR));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public short getShort(int index, int field) {
+            return buffer.getShort(offset(index, field, RecordSchema.FieldType.SHORT));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getInt(int index, int field) {
+            return buffer.getInt(offset(index, field, RecordSchema.FieldType.INT));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getLong(int index, int field) {
+            return buffer.getLong(offset(index, field, RecordSchema.FieldType.LONG));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public float getFloat(int index, int field) {
+            return buffer.getFloat(offset(index, field, RecordSchema.FieldType.FLOAT));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public double getDouble(int index, int field) {
+            return buffer.getDouble(offset(index, field, RecordSchema.FieldType.DOUBLE));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PackedRecordArray getBase() {
+            return PackedRecordArray.this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    private final class PackedRecordPointer extends PackedRecordConstPointer implements IRecordPointer {
+
+        private PackedRecordPointer() {
+            super();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setBoolean(int index, int field, boolean value) {
+            buffer.put(offset(index, field, RecordSchema.FieldType.BOOLEAN), value ? (byte) 1 : (byte) 0);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setByte(int index, int field, byte value) {
+            buffer.put(offset(index, field, RecordSchema.FieldType.BYTE), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setChar(int index, int field, char value) {
+            buffer.putChar(offset(index, field, RecordSchema.FieldType.CHAR), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setShort(int index, int field, short value) {
+            buffer.putShort(offset(index, field, RecordSchema.FieldType.SHORT), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setInt(int index, int field, int value) {
+            buffer.putInt(offset(index, field, RecordSchema.FieldType.INT), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setLong(int index, int field, long value) {
+            buffer.putLong(offset(index, field, RecordSchema.FieldType.LONG), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setFloat(int index, int field, float value) {
+            buffer.putFloat(offset(index, field, RecordSchema.FieldType.FLOAT), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setDouble(int index, int field, double value) {
+            buffer.putDouble(offset(index, field, RecordSchema.FieldType.DOUBLE), value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PackedRecordArray{" +
+                "schema=" + schema +
+                ", capacity=" + capacity +
+                ", direct=" + isDirect() +
+                '}';
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 类{@code RecordSchema}用于描述一种记录（record）的结构，
+ * 即记录中各字段的名称与类型，字段均为基本类型。<p>
+ * 例如，记录{@code (time, x, y, weight, flag)}可描述为：<p>
+ * {@code new RecordSchema(new String[]{"time", "x", "y", "weight", "flag"},
+ * new FieldType[]{DOUBLE, DOUBLE, DOUBLE, DOUBLE, INT})}
+ * <p>
+ * 字段以其在结构中的序号（从{@code 0}开始）访问，
+ * 对于紧凑布局（{@code PackedRecordArray}），每个字段按其自身长度对齐，
+ * 记录的步长（stride）按最大字段长度对齐。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class RecordSchema {
+
+    /**
+     * 枚举{@code FieldType}用于表征字段的类型。
+     */
+    public enum FieldType {
+        BOOLEAN(1), BYTE(1), CHAR(2), SHORT(2), INT(4), LONG(8), FLOAT(4), DOUBLE(8);
+
+        /**
+         * 字段在紧凑布局中所占的字节数。
+         */
+        private final int size;
+
+        FieldType(int size) {
+            this.size = size;
+        }
+
+        /**
+         * 获取字段在紧凑布局中所占的字节数。
+         *
+         * @return 字段所占的字节数。
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * 字段的名称。
+     */
+    private final String[] names;
+
+    /**
+     * 字段的类型。
+     */
+    private final FieldType[] types;
+
+    /**
+     * 字段在紧凑布局中的字节偏移量。
+     */
+    private final int[] offsets;
+
+    /**
+     * 记录在紧凑布局中的步长（字节数）。
+     */
+    private final int stride;
+
+    /**
+     * 类{@code RecordSchema}的主构造函数，也是唯一的构造函数。<p>
+     * 注意：参数{@code names}与{@code types}的长度必须一致且大于{@code 0}，
+     * 字段名称不能重复，否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param names 字段的名称。
+     * @param types 字段的类型。
+     */
+    public RecordSchema(final String[] names, final FieldType[] types) {
+        Objects.requireNonNull(names, "Expected the parameter {names != null}.");
+        Objects.requireNonNull(types, "Expected the parameter {types != null}.");
+        if (names.length == 0 || names.length != types.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {0 < names.length == types.length}, but got {%d, %d}.",
+                    names.length, types.length));
+        }
+        this.names = names.clone();
+        this.types = types.clone();
+        this.offsets = new int[names.length];
+        int offset = 0;
+        int align = 1;
+        for (int i = 0; i < names.length; i++) {
+            Objects.requireNonNull(this.names[i], "Expected the parameter {names[i] != null}.");
+            Objects.requireNonNull(this.types[i], "Expected the parameter {types[i] != null}.");
+            for (int j = 0; j < i; j++) {
+                if (this.names[j].equals(this.names[i])) {
+                    throw new IllegalArgumentException(
+                            "Duplicate field name: " + this.names[i] + ".");
+                }
+            }
+            int size = this.types[i].getSize();
+            offset = (offset + size - 1) / size * size;
+            this.offsets[i] = offset;
+            offset += size;
+            align = Math.max(align, size);
+        }
+        this.stride = (offset + align - 1) / align * align;
+    }
+
+    /**
+     * 获取字段的数量。
+     *
+     * @return 字段的数量。
+     */
+    public int getFieldCount() {
+        return names.length;
+    }
+
+    /**
+     * 获取指定字段的名称。
+     *
+     * @param field 字段的序号。
+     * @return 字段的名称。
+     */
+    public String getName(int field) {
+        return names[field];
+    }
+
+    /**
+     * 获取指定字段的类型。
+     *
+     * @param field 字段的序号。
+     * @return 字段的类型。
+     */
+    public FieldType getType(int field) {
+        return types[field];
+    }
+
+    /**
+     * 获取指定字段在紧凑布局中的字节偏移量。
+     *
+     * @param field 字段的序号。
+     * @return 字段的字节偏移量。
+     */
+    public int getOffset(int field) {
+        return offsets[field];
+    }
+
+    /**
+     * 获取记录在紧凑布局中的步长（字节数）。
+     *
+     * @return 记录的步长。
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * 获取指定名称字段的序号，如果不存在该字段，返回{@code -1}。<p>
+     * 该方法为线性查找，应在遍历记录之前调用并保存其结果。
+     *
+     * @param name 字段的名称。
+     * @return 字段的序号。
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 检查指定字段是否为指定类型，如果不是，
+     * 抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param field 字段的序号。
+     * @param type  期望的字段类型。
+     */
+    void checkType(int field, FieldType type) {
+        if (types[field] != type) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the field {%s} to be of type {%s}, but got {%s}.",
+                    names[field], type, types[field]));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RecordSchema)) {
+            return false;
+        }
+        RecordSchema that = (RecordSchema) obj;
+        return Arrays.equals(names, that.names) && Arrays.equals(types, that.types);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(names);
+        result = 31 * result + Arrays.hashCode(types);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RecordSchema{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names[i]).append(':').append(types[i]);
+        }
+        return builder.append(", stride=").append(stride).append('}').toString();
+    }
+}
@@ -0,0 +1,593 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.record;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.BooleanArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.ByteArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.CharArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.FloatArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.ShortArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBytePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IFloatPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IShortPointer;
+
+import java.util.Objects;
+
+/**
+ * 类{@code StructOfArrays}是记录数组的“数组结构（struct of arrays）”布局实现，
+ * 记录的每个字段保存在一个独立的基本类型数组（列）中，
+ * 例如，{@code double}型字段保存在{@code DoubleArray}中，{@code int}型字段保存在{@code IntArray}中。<p>
+ * 与手工维护多个并行数组相比，该类保证各列容量一致，
+ * 并通过一个记录指针同时在所有列上移动；
+ * 与对象数组相比，该类不为每条记录创建对象。
+ * 对单个字段的顺序扫描只访问该字段所在的列，对缓存友好。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class StructOfArrays implements IRecordArray {
+
+    /**
+     * 记录的结构。
+     */
+    private final RecordSchema schema;
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 各字段的列，按字段序号索引。
+     */
+    private final Object[] columns;
+
+    /**
+     * {@code boolean}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IBooleanPointer[] booleanColumns;
+
+    /**
+     * {@code byte}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IBytePointer[] byteColumns;
+
+    /**
+     * {@code char}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final ICharPointer[] charColumns;
+
+    /**
+     * {@code short}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IShortPointer[] shortColumns;
+
+    /**
+     * {@code int}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IIntPointer[] intColumns;
+
+    /**
+     * {@code long}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final ILongPointer[] longColumns;
+
+    /**
+     * {@code float}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IFloatPointer[] floatColumns;
+
+    /**
+     * {@code double}型字段的列指针，按字段序号索引，其他类型的字段为{@code null}。
+     */
+    private final IDoublePointer[] doubleColumns;
+
+    /**
+     * 类{@code StructOfArrays}的主构造函数。<p>
+     * 为每个字段创建一个容量为{@code capacity}的列，所有字段的值均为其缺省值。
+     *
+     * @param schema   记录的结构。
+     * @param capacity 数组的容量。
+     */
+    public StructOfArrays(final RecordSchema schema, final int capacity) {
+        this(schema, allocate(schema, capacity));
+    }
+
+    /**
+     * 类{@code StructOfArrays}的次级构造函数。<p>
+     * 将已有的基本类型数组包装为记录数组，数组不会被拷贝。<p>
+     * 注意：参数{@code columns}的数量必须与字段数量一致，
+     * 每个列的类型必须与相应字段的类型一致（如{@code DOUBLE}字段对应{@code DoubleArray}），
+     * 且所有列的容量必须相同，否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param schema  记录的结构。
+     * @param columns 各字段的列。
+     */
+    public StructOfArrays(final RecordSchema schema, final Object... columns) {
+        Objects.requireNonNull(schema, "Expected the parameter {schema != null}.");
+        Objects.requireNonNull(columns, "Expected the parameter {columns != null}.");
+        int count = schema.getFieldCount();
+        if (columns.length != count) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected parameters {columns.length == %d}, but got {%d}.",
+                    count, columns.length));
+        }
+        this.schema = schema;
+        this.columns = columns.clone();
+        this.booleanColumns = new IBooleanPointer[count];
+        this.byteColumns = new IBytePointer[count];
+        this.charColumns = new ICharPointer[count];
+        this.shortColumns = new IShortPointer[count];
+        this.intColumns = new IIntPointer[count];
+        this.longColumns = new ILongPointer[count];
+        this.floatColumns = new IFloatPointer[count];
+        this.doubleColumns = new IDoublePointer[count];
+        int cap = -1;
+        for (int i = 0; i < count; i++) {
+            int length;
+            try {
+                switch (schema.getType(i)) {
+                case BOOLEAN:
+                    booleanColumns[i] = ((BooleanArray) columns[i]).createPointer();
+                    length = ((BooleanArray) columns[i]).getCapacity();
+                    break;
+                case BYTE:
+                    byteColumns[i] = ((ByteArray) columns[i]).createPointer();
+                    length = ((ByteArray) columns[i]).getCapacity();
+                    break;
+                case CHAR:
+                    charColumns[i] = ((CharArray) columns[i]).createPointer();
+                    length = ((CharArray) columns[i]).getCapacity();
+                    break;
+                case SHORT:
+                    shortColumns[i] = ((ShortArray) columns[i]).createPointer();
+                    length = ((ShortArray) columns[i]).getCapacity();
+                    break;
+                case INT:
+                    intColumns[i] = ((IntArray) columns[i]).createPointer();
+                    length = ((IntArray) columns[i]).getCapacity();
+                    break;
+                case LONG:
+                    longColumns[i] = ((LongArray) columns[i]).createPointer();
+                    length = ((LongArray) columns[i]).getCapacity();
+                    break;
+                case FLOAT:
+                    floatColumns[i] = ((FloatArray) columns[i]).createPointer();
+                    length = ((FloatArray) columns[i]).getCapacity();
+                    break;
+                case DOUBLE:
+                    doubleColumns[i] = ((DoubleArray) columns[i]).createPointer();
+                    length = ((DoubleArray) columns[i]).getCapacity();
+                    break;
+                    default:
+                        throw new AssertionError(schema.getType(i));
+                }
+            } catch (ClassCastException | NullPointerException e) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected the column of field {%s} to be an array of type {%s}.",
+                        schema.getName(i), schema.getType(i)), e);
+            }
+            if (cap >= 0 && length != cap) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected all columns to have the same capacity, but got {%d, %d}.",
+                        cap, length));
+            }
+            cap = length;
+        }
+        this.capacity = cap;
+    }
+
+    /**
+     * 为每个字段创建一个指定容量的列。
+     */
+    private static Object[] allocate(RecordSchema schema, int capacity) {
+        Objects.requireNonNull(schema, "Expected the parameter {schema != null}.");
+        Object[] columns = new Object[schema.getFieldCount()];
+        for (int i = 0; i < columns.length; i++) {
+            switch (schema.getType(i)) {
+                case BOOLEAN:
+                    columns[i] = new BooleanArray(capacity);
+                    break;
+                case BYTE:
+                    columns[i] = new ByteArray(capacity);
+                    break;
+                case CHAR:
+                    columns[i] = new CharArray(capacity);
+                    break;
+                case SHORT:
+                    columns[i] = new ShortArray(capacity);
+                    break;
+                case INT:
+                    columns[i] = new IntArray(capacity);
+                    break;
+                case LONG:
+                    columns[i] = new LongArray(capacity);
+                    break;
+                case FLOAT:
+                    columns[i] = new FloatArray(capacity);
+                    break;
+                case DOUBLE:
+                    columns[i] = new DoubleArray(capacity);
+                    break;
+                default:
+                    throw new AssertionError(schema.getType(i));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取指定字段的列，列的实际类型由字段类型决定，
+     * 如{@code DOUBLE}字段的列为{@code DoubleArray}。<p>
+     * 列未被拷贝，对列的修改即对记录数组的修改。
+     *
+     * @param field 字段的序号。
+     * @return 字段的列。
+     */
+    public Object getColumn(int field) {
+        return columns[field];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IRecordPointer createPointer() {
+        return new StructRecordPointer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IRecordConstPointer createConstPointer() {
+        return new StructRecordConstPointer();
+    }
+
+    /**
+     * 类{@code StructRecordConstPointer}是{@code IRecordConstPointer}的实现。<p>
+     * 因为是私有类，所以此类的外部无法访问，
+     * 因为是内部类，故其拥有对其外部类数据的引用。
+     */
+    private class StructRecordConstPointer implements IRecordConstPointer {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * 主构造器，也是唯一的构造器。
+         * 该构造器将指针的指向设置为0，
+         * 构造器是私有的，意味着该类不能被外部初始化。
+         */
+        private StructRecordConstPointer() {
+            this.point = 0;
+        }
+
+        /**
+         * 将相对于指针指向的记录索引转换为数组索引，并检查其是否越界。
+         */
+        final int recordIndex(int index) {
+            int i = index + point;
+            if (i >= 0 && i < capacity) {
+                return i;
+            }
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= index < %d}.", -point, capacity - point));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean getBoolean(int index, int field) {
+            IBooleanPointer column = booleanColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.BOOLEAN);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte getByte(int index, int field) {
+            IBytePointer column = byteColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.BYTE);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public char getChar(int index, int field) {
+            ICharPointer column = charColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.CHAR);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public short getShort(int index, int field) {
+            IShortPointer column = shortColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.SHORT);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getInt(int index, int field) {
+            IIntPointer column = intColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.INT);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getLong(int index, int field) {
+            ILongPointer column = longColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.LONG);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public float getFloat(int index, int field) {
+            IFloatPointer column = floatColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.FLOAT);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public double getDouble(int index, int field) {
+            IDoublePointer column = doubleColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.DOUBLE);
+            }
+            return column.get(recordIndex(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public StructOfArrays getBase() {
+            return StructOfArrays.this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    private final class StructRecordPointer extends StructRecordConstPointer implements IRecordPointer {
+
+        private StructRecordPointer() {
+            super();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setBoolean(int index, int field, boolean value) {
+            IBooleanPointer column = booleanColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.BOOLEAN);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setByte(int index, int field, byte value) {
+            IBytePointer column = byteColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.BYTE);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setChar(int index, int field, char value) {
+            ICharPointer column = charColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.CHAR);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setShort(int index, int field, short value) {
+            IShortPointer column = shortColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.SHORT);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setInt(int index, int field, int value) {
+            IIntPointer column = intColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.INT);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setLong(int index, int field, long value) {
+            ILongPointer column = longColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.LONG);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setFloat(int index, int field, float value) {
+            IFloatPointer column = floatColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.FLOAT);
+            }
+            column.set(recordIndex(index), value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setDouble(int index, int field, double value) {
+            IDoublePointer column = doubleColumns[field];
+            if (column == null) {
+                schema.checkType(field, RecordSchema.FieldType.DOUBLE);
+            }
+            column.set(recordIndex(index), value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "StructOfArrays{" +
+                "schema=" + schema +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.ring;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * 类{@code LongRingBuffer}是建立在{@code LongArray}之上的无锁有界环形缓冲区，
+ * 用于在线程之间传递{@code long}型数据，既不加锁，也不装箱。<p>
+ * 缓冲区的容量必须是{@code 2}的幂，槽位索引通过掩码{@code sequence & (capacity - 1)}计算，
+ * 读、写计数器是单调递增的{@code long}型序号，并以缓存行填充（{@code Sequence}）避免伪共享。<p>
+ * 缓冲区支持两种并发模式（{@code RingBufferMode}）：<p>
+ * （1）{@code SPSC}，单生产者、单消费者；<p>
+ * （2）{@code MPMC}，多生产者、多消费者。<p>
+ * 此外，方法{@code createWrappingPointer}可创建一个“回绕”指针，
+ * 指针的指向与索引均按容量取模，可用于流式数据的滑动窗口。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public class LongRingBuffer {
+
+    /**
+     * 槽位序号数组元素的变量句柄。
+     */
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * 缓冲区的并发模式。
+     */
+    private final RingBufferMode mode;
+
+    /**
+     * 缓冲区的容量。
+     */
+    private final int capacity;
+
+    /**
+     * 槽位索引的掩码，即{@code capacity - 1}。
+     */
+    private final int mask;
+
+    /**
+     * 缓冲区的存储。
+     */
+    private final LongArray array;
+
+    /**
+     * 指向存储的指针，指向固定为{@code 0}。
+     */
+    private final ILongPointer slots;
+
+    /**
+     * 每个槽位的序号，仅用于{@code MPMC}模式。
+     */
+    private final long[] sequences;
+
+    /**
+     * 写计数器，即下一个待写入数据的序号。
+     */
+    private final Sequence tail = new Sequence(0L);
+
+    /**
+     * 读计数器，即下一个待读取数据的序号。
+     */
+    private final Sequence head = new Sequence(0L);
+
+    /**
+     * 类{@code LongRingBuffer}的主构造函数。<p>
+     * 注意：参数{@code capacity}必须是大于{@code 0}的{@code 2}的幂，
+     * 否则，抛出{@code java.lang.IllegalArgumentException} 异常。
+     *
+     * @param capacity 缓冲区的容量。
+     * @param mode     缓冲区的并发模式。
+     */
+    public LongRingBuffer(final int capacity, final RingBufferMode mode) {
+        Objects.requireNonNull(mode, "Expected the parameter {mode != null}.");
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {capacity} to be a positive power of two, but got {%d}.",
+                    capacity));
+        }
+        this.mode = mode;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.array = new LongArray(capacity);
+        this.slots = array.createPointer();
+        if (mode == RingBufferMode.MPMC) {
+            this.sequences = new long[capacity];
+            for (int i = 0; i < capacity; i++) {
+                SEQUENCES.setRelease(sequences, i, (long) i);
+            }
+        } else {
+            this.sequences = null;
+        }
+    }
+
+    /**
+     * 获取缓冲区的容量。
+     *
+     * @return 缓冲区的容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取缓冲区的并发模式。
+     *
+     * @return 缓冲区的并发模式。
+     */
+    public RingBufferMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 获取缓冲区内数据的数量，在并发读写时该值仅为近似值。
+     *
+     * @return 缓冲区内数据的数量。
+     */
+    public int size() {
+        long h = head.get();
+        long t = tail.get();
+        long size = t - h;
+        return (int) Math.max(0L, Math.min(size, capacity));
+    }
+
+    /**
+     * 判断缓冲区是否为空，在并发读写时该值仅为近似值。
+     *
+     * @return {@code true} 如果缓冲区为空。
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 向缓冲区写入一个数据。
+     *
+     * @param value 需要写入的数据。
+     * @return {@code true} 如果写入成功，{@code false} 如果缓冲区已满。
+     */
+    public boolean offer(long value) {
+        if (sequences == null) {
+            long t = tail.getPlain();
+            if (t - head.getAcquire() >= capacity) {
+                return false;
+            }
+            slots.set((int) t & mask, value);
+            tail.setRelease(t + 1);
+            return true;
+        }
+        long t = tail.get();
+        for (; ; ) {
+            int index = (int) t & mask;
+            long diff = (long) SEQUENCES.getAcquire(sequences, index) - t;
+            if (diff == 0L) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    slots.set(index, value);
+                    SEQUENCES.setRelease(sequences, index, t + 1);
+                    return true;
+                }
+                t = tail.get();
+            } else if (diff < 0L) {
+                return false;
+            } else {
+                t = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 批量写入数据，直到写完{@code length}个数据或缓冲区已满。<p>
+     * 在{@code SPSC}模式下，整批数据只发布一次；
+     * 在{@code MPMC}模式下，数据被逐个写入，不同生产者的数据可能交错。
+     *
+     * @param src    指向需要写入数据的指针，写入{@code src.get(0)}至{@code src.get(length - 1)}。
+     * @param length 需要写入数据的数量。
+     * @return 实际写入数据的数量。
+     */
+    public int offer(ILongConstPointer src, int length) {
+        if (sequences == null) {
+            long t = tail.getPlain();
+            int n = (int) Math.max(0L, Math.min(length, capacity - (t - head.getAcquire())));
+            for (int k = 0; k < n; k++) {
+                slots.set((int) (t + k) & mask, src.get(k));
+            }
+            tail.setRelease(t + n);
+            return n;
+        }
+        int k = 0;
+        while (k < length && offer(src.get(k))) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * 从缓冲区读取一个数据，并将其保存至{@code dst.get(0)}处。
+     *
+     * @param dst 用于保存数据的指针。
+     * @return {@code true} 如果读取成功，{@code false} 如果缓冲区为空。
+     */
+    public boolean poll(ILongPointer dst) {
+        if (sequences == null) {
+            long h = head.getPlain();
+            if (h >= tail.getAcquire()) {
+                return false;
+            }
+            dst.set(slots.get((int) h & mask));
+            head.setRelease(h + 1);
+            return true;
+        }
+        long h = head.get();
+        for (; ; ) {
+            int index = (int) h & mask;
+            long diff = (long) SEQUENCES.getAcquire(sequences, index) - (h + 1);
+            if (diff == 0L) {
+                if (head.compareAndSet(h, h + 1)) {
+                    dst.set(slots.get(index));
+                    SEQUENCES.setRelease(sequences, index, h + capacity);
+                    return true;
+                }
+                h = head.get();
+            } else if (diff < 0L) {
+                return false;
+            } else {
+                h = head.get();
+            }
+        }
+    }
+
+    /**
+     * 批量读取数据，直到读取{@code maxLength}个数据或缓冲区为空，
+     * 数据依次保存至{@code dst.get(0)}，{@code dst.get(1)}，……
+     *
+     * @param dst       用于保存数据的指针。
+     * @param maxLength 最多读取数据的数量。
+     * @return 实际读取数据的数量。
+     */
+    public int drain(ILongPointer dst, int maxLength) {
+        if (sequences == null) {
+            long h = head.getPlain();
+            int n = (int) Math.max(0L, Math.min(maxLength, tail.getAcquire() - h));
+            for (int k = 0; k < n; k++) {
+                dst.set(k, slots.get((int) (h + k) & mask));
+            }
+            head.setRelease(h + n);
+            return n;
+        }
+        int k = 0;
+        while (k < maxLength && poll(dst)) {
+            dst.move(1);
+            k++;
+        }
+        dst.move(-k);
+        return k;
+    }
+
+    /**
+     * 创建一个指向缓冲区存储的“回绕”指针。<p>
+     * 指针的指向与索引均按容量取模，即{@code get(index)}读取存储中
+     * 索引为{@code (getPoint() + index) & (capacity - 1)}的数据，
+     * 因此指针永远不会越界，{@code move}之后亦是如此。<p>
+     * 注意：该指针直接访问存储，不参与读写计数器的同步，
+     * 仅应由消费者线程在其已读取的范围内使用（如滑动窗口计算），
+     * 或在没有并发写入时使用。
+     *
+     * @return 一个指向缓冲区存储的回绕指针。
+     */
+    public ILongPointer createWrappingPointer() {
+        return new WrappingPointer();
+    }
+
+    /**
+     * 获取下一个待读取数据在存储中的索引，
+     * 可与{@code createWrappingPointer}配合使用，例如{@code pointer.move(getHeadIndex())}。
+     *
+     * @return 下一个待读取数据在存储中的索引。
+     */
+    public int getHeadIndex() {
+        return (int) head.get() & mask;
+    }
+
+    /**
+     * 类{@code WrappingPointer}是{@code ILongPointer}的实现，
+     * 其指向与索引均按缓冲区的容量取模。<p>
+     * 因为是私有类，所以此类的外部无法访问，
+     * 因为是内部类，故其拥有对其外部类数据的引用。
+     */
+    private final class WrappingPointer implements ILongPointer {
+
+        /**
+         * 指针的指向，始终在{@code [0, capacity)}范围内。
+         */
+        private int point;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long get(int index) {
+            return slots.get((point + index) & mask);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(int index, long value) {
+            slots.set((point + index) & mask, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public LongArray getBase() {
+            return array;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = (this.point + offset) & mask;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "LongRingBuffer{" +
+                "mode=" + mode +
+                ", capacity=" + capacity +
+                ", head=" + head +
+                ", tail=" + tail +
+                '}';
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.ring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 类{@code SequenceLeftPadding}用于在序号值的左侧填充一个缓存行，避免伪共享（false sharing）。
+ */
+abstract class SequenceLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * 类{@code SequenceValue}保存序号的值。
+ */
+abstract class SequenceValue extends SequenceLeftPadding {
+    volatile long value;
+}
+
+/**
+ * 类{@code Sequence}是一个两侧均以缓存行填充的{@code long}型序号，
+ * 用于环形缓冲区的读、写计数器，避免生产者与消费者的计数器位于同一缓存行而相互干扰。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class Sequence extends SequenceValue {
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    /**
+     * 字段{@code value}的变量句柄。
+     */
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 类{@code Sequence}的主构造函数。
+     *
+     * @param initialValue 序号的初始值。
+     */
+    public Sequence(final long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    /**
+     * 以{@code volatile}语义读取序号的值。
+     *
+     * @return 序号的值。
+     */
+    public long get() {
+        return value;
+    }
+
+    /**
+     * 以{@code acquire}语义读取序号的值。
+     *
+     * @return 序号的值。
+     */
+    public long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * 以普通语义读取序号的值，仅适用于该序号的唯一写者读取自己的值。
+     *
+     * @return 序号的值。
+     */
+    public long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    /**
+     * 以{@code release}语义设置序号的值，使之前的所有写操作对以{@code acquire}语义读取该值的线程可见。
+     *
+     * @param newValue 新的值。
+     */
+    public void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    /**
+     * 原子地比较并设置序号的值。
+     *
+     * @param expected 期望的当前值。
+     * @param newValue 新的值。
+     * @return {@code true} 如果设置成功。
+     */
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    /**
+     * 原子地将序号的值增加{@code delta}，并返回增加前的值。
+     *
+     * @param delta 增量。
+     * @return 增加前的值。
+     */
+    public long getAndAdd(long delta) {
+        return (long) VALUE.getAndAdd(this, delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.search;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * 类{@code ByteSearch}提供{@code byte}型指针区间上的查找内核，
+ * 包括查找字节值、查找字节集合中的任一值、计数、比较两段字节的第一个差异，以及子串查找。
+ * <p>
+ * 区间{@code [from, to)}中的索引和返回的索引都是相对于指针的索引，
+ * 即与{@code get(int index)}的参数含义相同，未找到时返回{@code -1}。
+ * <p>
+ * 对于由{@code ByteArray}创建的指针，内核通过{@code ByteArray.asReadOnlyBuffer()}
+ * 每次读取8个字节（一个{@code long}），并以SWAR（SIMD within a register）的方法
+ * 同时比较这8个字节，无需逐字节调用指针；
+ * 子串查找先以首字节和尾字节在8个位置上同时过滤候选位置，再逐个验证候选位置。
+ * 对于其他指针（其{@code getBase()}不可用），内核退化为逐字节访问。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class ByteSearch {
+
+    /**
+     * 每个字节均为{@code 0x01}的字。
+     */
+    private static final long ONES = 0x0101010101010101L;
+
+    /**
+     * 每个字节均为{@code 0x7F}的字。
+     */
+    private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+    private ByteSearch() {
+    }
+
+    /**
+     * 对字中等于{@code 0}的字节，将其最高位置{@code 1}，其余位均为{@code 0}（精确，无误报）。
+     */
+    private static long zeros(long word) {
+        return ~(((word & LOWS) + LOWS) | word | LOWS);
+    }
+
+    /**
+     * 对字中等于{@code pattern}所表示的字节值的字节，将其最高位置{@code 1}。
+     */
+    private static long matches(long word, long pattern) {
+        return zeros(word ^ pattern);
+    }
+
+    /**
+     * 获取指针关联数组的只读缓冲区，如果指针没有关联的{@code ByteArray}（{@code hasBase()}返回{@code false}），则返回{@code null}。
+     */
+    private static ByteBuffer bufferOf(IByteConstPointer p) {
+        return p.hasBase() ? p.getBase().asReadOnlyBuffer() : null;
+    }
+
+    private static void checkRange(IByteConstPointer p, int from, int to) {
+        if (from > to || p.getPoint() + from < 0 || (long) p.getPoint() + to > p.getCapacity()) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= from <= to <= %d}, but got {%d, %d}.",
+                    -p.getPoint(), p.getCapacity() - p.getPoint(), from, to));
+        }
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一个等于{@code value}的字节。
+     *
+     * @param p     指针。
+     * @param from  区间的起始索引（包含）。
+     * @param to    区间的结束索引（不包含）。
+     * @param value 要查找的字节值。
+     * @return 第一个等于{@code value}的字节的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOf(IByteConstPointer p, int from, int to, byte value) {
+        checkRange(p, from, to);
+        ByteBuffer buffer = bufferOf(p);
+        if (buffer == null) {
+            for (int i = from; i < to; i++) {
+                if (p.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int point = p.getPoint();
+        int i = indexOf(buffer, point + from, point + to, value);
+        return i < 0 ? -1 : i - point;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int start, int end, byte value) {
+        long pattern = ONES * (value & 0xFF);
+        int i = start;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            long found = matches(buffer.getLong(i), pattern);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一个属于{@code set}的字节。
+     * 字节集合不超过4个值时以SWAR方法同时比较，否则以256位的位图逐字节比较。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @param set  要查找的字节集合，如{@code ',', '\t', '\n'}。
+     * @return 第一个属于{@code set}的字节的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOfAny(IByteConstPointer p, int from, int to, byte... set) {
+        checkRange(p, from, to);
+        Objects.requireNonNull(set, "Expected the parameter {set != null}.");
+        //以4个long表示256位的集合，不分配查找表。
+        long m0 = 0;
+        long m1 = 0;
+        long m2 = 0;
+        long m3 = 0;
+        for (byte b : set) {
+            int v = b & 0xFF;
+            switch (v >>> 6) {
+                case 0:
+                    m0 |= 1L << v;
+                    break;
+                case 1:
+                    m1 |= 1L << v;
+                    break;
+                case 2:
+                    m2 |= 1L << v;
+                    break;
+                default:
+                    m3 |= 1L << v;
+                    break;
+            }
+        }
+        ByteBuffer buffer = bufferOf(p);
+        int point = p.getPoint();
+        int i = point + from;
+        int end = point + to;
+        if (buffer != null && set.length > 0 && set.length <= 4) {
+            //不足4个值时重复第一个值。
+            long p0 = ONES * (set[0] & 0xFF);
+            long p1 = set.length > 1 ? ONES * (set[1] & 0xFF) : p0;
+            long p2 = set.length > 2 ? ONES * (set[2] & 0xFF) : p0;
+            long p3 = set.length > 3 ? ONES * (set[3] & 0xFF) : p0;
+            for (; i + Long.BYTES <= end; i += Long.BYTES) {
+                long word = buffer.getLong(i);
+                long found = matches(word, p0) | matches(word, p1) | matches(word, p2) | matches(word, p3);
+                if (found != 0) {
+                    return i + (Long.numberOfTrailingZeros(found) >>> 3) - point;
+                }
+            }
+        }
+        if (buffer == null) {
+            for (; i < end; i++) {
+                if (inSet(m0, m1, m2, m3, p.get(i - point) & 0xFF)) {
+                    return i - point;
+                }
+            }
+            return -1;
+        }
+        for (; i < end; i++) {
+            if (inSet(m0, m1, m2, m3, buffer.get(i) & 0xFF)) {
+                return i - point;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 判断{@code v}（{@code 0 <= v < 256}）是否属于以{@code m0}至{@code m3}表示的256位集合。
+     */
+    static boolean inSet(long m0, long m1, long m2, long m3, int v) {
+        long word = v < 128 ? (v < 64 ? m0 : m1) : (v < 192 ? m2 : m3);
+        //移位量只取低6位。
+        return ((word >>> v) & 1L) != 0;
+    }
+
+    /**
+     * 统计区间{@code [from, to)}中等于{@code value}的字节的个数。
+     *
+     * @param p     指针。
+     * @param from  区间的起始索引（包含）。
+     * @param to    区间的结束索引（不包含）。
+     * @param value 要统计的字节值。
+     * @return 等于{@code value}的字节的个数。
+     */
+    public static int count(IByteConstPointer p, int from, int to, byte value) {
+        checkRange(p, from, to);
+        ByteBuffer buffer = bufferOf(p);
+        int count = 0;
+        if (buffer == null) {
+            for (int i = from; i < to; i++) {
+                if (p.get(i) == value) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        long pattern = ONES * (value & 0xFF);
+        int i = p.getPoint() + from;
+        int end = p.getPoint() + to;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            count += Long.bitCount(matches(buffer.getLong(i), pattern));
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 比较{@code a[aFrom, aFrom + length)}与{@code b[bFrom, bFrom + length)}，
+     * 返回第一个不相等字节的相对位置。
+     *
+     * @param a      第一个指针。
+     * @param aFrom  第一段字节的起始索引。
+     * @param b      第二个指针。
+     * @param bFrom  第二段字节的起始索引。
+     * @param length 比较的字节个数。
+     * @return 第一个不相等字节相对于起始索引的位置，在{@code [0, length)}范围内；完全相等时返回{@code -1}。
+     */
+    public static int mismatch(IByteConstPointer a, int aFrom, IByteConstPointer b, int bFrom, int length) {
+        checkRange(a, aFrom, aFrom + length);
+        checkRange(b, bFrom, bFrom + length);
+        ByteBuffer x = bufferOf(a);
+        ByteBuffer y = bufferOf(b);
+        int k = 0;
+        if (x != null && y != null) {
+            int i = a.getPoint() + aFrom;
+            int j = b.getPoint() + bFrom;
+            for (; k + Long.BYTES <= length; k += Long.BYTES) {
+                long difference = x.getLong(i + k) ^ y.getLong(j + k);
+                if (difference != 0) {
+                    return k + (Long.numberOfTrailingZeros(difference) >>> 3);
+                }
+            }
+        }
+        for (; k < length; k++) {
+            if (a.get(aFrom + k) != b.get(bFrom + k)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一次出现子串{@code needle}的位置。
+     *
+     * @param p      指针。
+     * @param from   区间的起始索引（包含）。
+     * @param to     区间的结束索引（不包含）。
+     * @param needle 要查找的子串，长度为{@code 0}时返回{@code from}。
+     * @return 子串第一次出现的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOf(IByteConstPointer p, int from, int to, byte[] needle) {
+        checkRange(p, from, to);
+        Objects.requireNonNull(needle, "Expected the parameter {needle != null}.");
+        int m = needle.length;
+        if (m == 0) {
+            return from;
+        }
+        if (m == 1) {
+            return indexOf(p, from, to, needle[0]);
+        }
+        ByteBuffer buffer = bufferOf(p);
+        int point = p.getPoint();
+        int last = point + to - m;
+        int i = point + from;
+        if (buffer != null) {
+            long first = ONES * (needle[0] & 0xFF);
+            long tail = ONES * (needle[m - 1] & 0xFF);
+            for (; i + Long.BYTES - 1 <= last; i += Long.BYTES) {
+                long candidates = matches(buffer.getLong(i), first)
+                        & matches(buffer.getLong(i + m - 1), tail);
+                while (candidates != 0) {
+                    int k = i + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                    if (regionMatches(buffer, k, needle)) {
+                        return k - point;
+                    }
+                    candidates &= candidates - 1;
+                }
+            }
+        }
+        for (; i <= last; i++) {
+            int k = 0;
+            while (k < m && p.get(i - point + k) == needle[k]) {
+                k++;
+            }
+            if (k == m) {
+                return i - point;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 验证候选位置：首字节和尾字节已经匹配，只比较中间的字节。
+     */
+    private static boolean regionMatches(ByteBuffer buffer, int start, byte[] needle) {
+        for (int k = 1; k < needle.length - 1; k++) {
+            if (buffer.get(start + k) != needle[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
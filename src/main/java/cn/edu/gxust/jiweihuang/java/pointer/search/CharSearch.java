@@ -0,0 +1,271 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.search;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharConstPointer;
+
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * 类{@code CharSearch}提供{@code char}型指针区间上的查找内核，
+ * 包括查找字符、查找字符集合中的任一字符、计数、比较两段字符的第一个差异，以及子串查找。
+ * <p>
+ * 区间{@code [from, to)}中的索引和返回的索引都是相对于指针的索引，
+ * 即与{@code get(int index)}的参数含义相同，未找到时返回{@code -1}。
+ * <p>
+ * 对于由{@code CharArray}创建的指针，内核直接读取{@code CharArray.asReadOnlyBuffer()}，
+ * 避免逐字符调用指针；子串查找先比较候选位置的首字符和尾字符，再比较中间的字符。
+ * 字符集合查找对{@code Latin-1}范围内的字符使用查找表。
+ * 对于其他指针（其{@code getBase()}不可用），内核退化为逐字符访问。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class CharSearch {
+
+    private CharSearch() {
+    }
+
+    /**
+     * 获取指针关联数组的只读缓冲区，如果指针没有关联的{@code CharArray}（{@code hasBase()}返回{@code false}），则返回{@code null}。
+     */
+    private static CharBuffer bufferOf(ICharConstPointer p) {
+        return p.hasBase() ? p.getBase().asReadOnlyBuffer() : null;
+    }
+
+    private static void checkRange(ICharConstPointer p, int from, int to) {
+        if (from > to || p.getPoint() + from < 0 || (long) p.getPoint() + to > p.getCapacity()) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {%d <= from <= to <= %d}, but got {%d, %d}.",
+                    -p.getPoint(), p.getCapacity() - p.getPoint(), from, to));
+        }
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一个等于{@code value}的字符。
+     *
+     * @param p     指针。
+     * @param from  区间的起始索引（包含）。
+     * @param to    区间的结束索引（不包含）。
+     * @param value 要查找的字符。
+     * @return 第一个等于{@code value}的字符的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOf(ICharConstPointer p, int from, int to, char value) {
+        checkRange(p, from, to);
+        CharBuffer buffer = bufferOf(p);
+        if (buffer == null) {
+            for (int i = from; i < to; i++) {
+                if (p.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int point = p.getPoint();
+        for (int i = point + from, end = point + to; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i - point;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一个属于{@code set}的字符。
+     *
+     * @param p    指针。
+     * @param from 区间的起始索引（包含）。
+     * @param to   区间的结束索引（不包含）。
+     * @param set  要查找的字符集合。
+     * @return 第一个属于{@code set}的字符的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOfAny(ICharConstPointer p, int from, int to, char... set) {
+        checkRange(p, from, to);
+        Objects.requireNonNull(set, "Expected the parameter {set != null}.");
+        //小于256的字符以4个long表示的位图判断，不分配查找表。
+        long m0 = 0;
+        long m1 = 0;
+        long m2 = 0;
+        long m3 = 0;
+        boolean wide = false;
+        for (char c : set) {
+            switch (c >>> 6) {
+                case 0:
+                    m0 |= 1L << c;
+                    break;
+                case 1:
+                    m1 |= 1L << c;
+                    break;
+                case 2:
+                    m2 |= 1L << c;
+                    break;
+                case 3:
+                    m3 |= 1L << c;
+                    break;
+                default:
+                    wide = true;
+                    break;
+            }
+        }
+        CharBuffer buffer = bufferOf(p);
+        int point = p.getPoint();
+        for (int i = point + from, end = point + to; i < end; i++) {
+            char c = buffer == null ? p.get(i - point) : buffer.get(i);
+            if (c < 256 ? ByteSearch.inSet(m0, m1, m2, m3, c) : wide && contains(set, c)) {
+                return i - point;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean contains(char[] set, char c) {
+        for (char s : set) {
+            if (s == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 统计区间{@code [from, to)}中等于{@code value}的字符的个数。
+     *
+     * @param p     指针。
+     * @param from  区间的起始索引（包含）。
+     * @param to    区间的结束索引（不包含）。
+     * @param value 要统计的字符。
+     * @return 等于{@code value}的字符的个数。
+     */
+    public static int count(ICharConstPointer p, int from, int to, char value) {
+        checkRange(p, from, to);
+        CharBuffer buffer = bufferOf(p);
+        int count = 0;
+        if (buffer == null) {
+            for (int i = from; i < to; i++) {
+                if (p.get(i) == value) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        for (int i = p.getPoint() + from, end = p.getPoint() + to; i < end; i++) {
+            if (buffer.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 比较{@code a[aFrom, aFrom + length)}与{@code b[bFrom, bFrom + length)}，
+     * 返回第一个不相等字符的相对位置。
+     *
+     * @param a      第一个指针。
+     * @param aFrom  第一段字符的起始索引。
+     * @param b      第二个指针。
+     * @param bFrom  第二段字符的起始索引。
+     * @param length 比较的字符个数。
+     * @return 第一个不相等字符相对于起始索引的位置，在{@code [0, length)}范围内；完全相等时返回{@code -1}。
+     */
+    public static int mismatch(ICharConstPointer a, int aFrom, ICharConstPointer b, int bFrom, int length) {
+        checkRange(a, aFrom, aFrom + length);
+        checkRange(b, bFrom, bFrom + length);
+        CharBuffer x = bufferOf(a);
+        CharBuffer y = bufferOf(b);
+        if (x != null && y != null) {
+            int i = a.getPoint() + aFrom;
+            int j = b.getPoint() + bFrom;
+            for (int k = 0; k < length; k++) {
+                if (x.get(i + k) != y.get(j + k)) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+        for (int k = 0; k < length; k++) {
+            if (a.get(aFrom + k) != b.get(bFrom + k)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找区间{@code [from, to)}中第一次出现子串{@code needle}的位置。
+     *
+     * @param p      指针。
+     * @param from   区间的起始索引（包含）。
+     * @param to     区间的结束索引（不包含）。
+     * @param needle 要查找的子串，长度为{@code 0}时返回{@code from}。
+     * @return 子串第一次出现的索引，未找到时返回{@code -1}。
+     */
+    public static int indexOf(ICharConstPointer p, int from, int to, CharSequence needle) {
+        checkRange(p, from, to);
+        Objects.requireNonNull(needle, "Expected the parameter {needle != null}.");
+        int m = needle.length();
+        if (m == 0) {
+            return from;
+        }
+        CharBuffer buffer = bufferOf(p);
+        int point = p.getPoint();
+        char first = needle.charAt(0);
+        char last = needle.charAt(m - 1);
+        for (int i = point + from, end = point + to - m; i <= end; i++) {
+            if (charAt(p, buffer, i) != first || charAt(p, buffer, i + m - 1) != last) {
+                continue;
+            }
+            int k = 1;
+            while (k < m - 1 && charAt(p, buffer, i + k) == needle.charAt(k)) {
+                k++;
+            }
+            if (k >= m - 1) {
+                return i - point;
+            }
+        }
+        return -1;
+    }
+
+    private static char charAt(ICharConstPointer p, CharBuffer buffer, int i) {
+        return buffer == null ? p.get(i - p.getPoint()) : buffer.get(i);
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.shared;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IFunctionPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * 类{@code SharedIntArray}用于表征一个映射到共享文件（通常位于{@code /dev/shm}）上的{@code int}型数组，
+ * 同一主机上的多个JVM进程映射同一个文件，即可零拷贝地交换数组，而无需序列化。
+ * <p>
+ * 文件的头部保存容量、版本号和写序号（见{@code SharedRegion}），
+ * 由{@code create}创建并初始化，由{@code open}在其他进程中映射。<p>
+ * 写者通过{@code write}在seqlock的保护下修改数组，多个写者（包括不同进程中的写者）相互排斥；
+ * 读者通过{@code read}或{@code snapshot}获取一致的快照：如果复制期间发生了写入，则重新复制。<p>
+ * 也可以通过{@code createPointer}和{@code createConstPointer}直接访问共享区域，
+ * 此时不经过seqlock，适用于写者唯一且读者能容忍不一致的场合。
+ * <p>
+ * 注意：如果写者在写入期间崩溃，写序号将保持为奇数，读者将一直等待，
+ * 此时应由{@code create}重新创建文件。
+ * <p>
+ * 注意：共享文件不会被自动删除，应由创建它的进程在不再需要时删除（如{@code Files.deleteIfExists}），
+ * 否则将一直占用{@code /dev/shm}的内存。删除后，已映射的数组仍可继续使用，但其他进程无法再{@code open}它。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+public final class SharedIntArray {
+
+    /**
+     * 共享内存区域。
+     */
+    private final SharedRegion region;
+
+    /**
+     * 映射的内存区域。
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * 数组的容量。
+     */
+    private final int capacity;
+
+    private SharedIntArray(SharedRegion region) {
+        this.region = region;
+        this.buffer = region.getBuffer();
+        this.capacity = region.getCapacity();
+    }
+
+    /**
+     * 创建（或覆盖）共享文件，并在其上创建容量为{@code capacity}的数组，所有元素的值为{@code 0}。
+     *
+     * @param path     共享文件的路径，如{@code /dev/shm/fit-residuals}。
+     * @param capacity 数组的容量。
+     * @return 共享数组。
+     */
+    public static SharedIntArray create(Path path, int capacity) {
+        return new SharedIntArray(SharedRegion.create(path, SharedRegion.TYPE_INT, Integer.BYTES, capacity));
+    }
+
+    /**
+     * 映射一个已由{@code create}创建的共享文件。
+     * 如果文件未被初始化或元素类型不是{@code int}，则抛出{@code java.lang.IllegalStateException}异常。
+     *
+     * @param path 共享文件的路径。
+     * @return 共享数组。
+     */
+    public static SharedIntArray open(Path path) {
+        return new SharedIntArray(SharedRegion.open(path, SharedRegion.TYPE_INT, Integer.BYTES));
+    }
+
+    /**
+     * 一个函数指针，用于在seqlock的保护下修改共享数组，
+     * 参数{@code data}为指向共享数组起始位置的指针。
+     */
+    public interface ISharedIntArrayWriter extends IFunctionPointer {
+        /**
+         * 修改共享数组的函数。
+         *
+         * @param data 指向共享数组起始位置的指针。
+         */
+        void call(IIntPointer data);
+    }
+
+    /**
+     * 获取共享文件的路径。
+     *
+     * @return 共享文件的路径。
+     */
+    public Path getPath() {
+        return region.getPath();
+    }
+
+    /**
+     * 获取数组的容量。
+     *
+     * @return 数组的容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取数组的版本号，即已完成的写入次数。
+     *
+     * @return 数组的版本号。
+     */
+    public long getVersion() {
+        return region.getVersion();
+    }
+
+    /**
+     * 在seqlock的保护下修改共享数组。
+     *
+     * @param writer 修改共享数组的函数指针。
+     * @return 写入完成后的版本号。
+     */
+    public long write(ISharedIntArrayWriter writer) {
+        region.beginWrite();
+        try {
+            writer.call(new SharedIntPointer());
+        } finally {
+            region.endWrite();
+        }
+        return region.getVersion();
+    }
+
+    /**
+     * 在seqlock的保护下，将{@code source[0, length)}复制到共享数组的{@code [from, from + length)}中。
+     *
+     * @param from   共享数组中的起始索引。
+     * @param source 源指针。
+     * @param length 元素的个数。
+     * @return 写入完成后的版本号。
+     */
+    public long write(int from, IIntConstPointer source, int length) {
+        region.checkRange(from, length);
+        return write(data -> {
+            for (int i = 0; i < length; i++) {
+                data.set(from + i, source.get(i));
+            }
+        });
+    }
+
+    /**
+     * 将共享数组的{@code [from, from + length)}复制到{@code target[0, length)}中，
+     * 复制的内容是某一次写入完成后的一致快照。
+     *
+     * @param from   共享数组中的起始索引。
+     * @param target 目标指针。
+     * @param length 元素的个数。
+     * @return 快照的版本号。
+     */
+    public long read(int from, IIntPointer target, int length) {
+        region.checkRange(from, length);
+        while (true) {
+            long sequence = region.beginRead();
+            long version = region.getVersion();
+            for (int i = 0; i < length; i++) {
+                target.set(i, load(from + i));
+            }
+            if (region.validateRead(sequence)) {
+                return version;
+            }
+        }
+    }
+
+    /**
+     * 获取整个共享数组的一致快照。
+     *
+     * @return 一个新的数组对象。
+     */
+    public IntArray snapshot() {
+        IntArray array = new IntArray(capacity);
+        read(0, array.createPointer(), capacity);
+        return array;
+    }
+
+    /**
+     * 创建一个直接指向共享区域的指针，通过该指针的访问不经过seqlock。
+     *
+     * @return 指向共享区域的指针。
+     */
+    public IIntPointer createPointer() {
+        return new SharedIntPointer();
+    }
+
+    /**
+     * 创建一个直接指向共享区域的常量指针，通过该指针的访问不经过seqlock。
+     *
+     * @return 指向共享区域的常量指针。
+     */
+    public IIntConstPointer createConstPointer() {
+        return new SharedIntConstPointer();
+    }
+
+    private int load(int i) {
+        return buffer.getInt(SharedRegion.HEADER_SIZE + i * Integer.BYTES);
+    }
+
+    private void store(int i, int value) {
+        buffer.putInt(SharedRegion.HEADER_SIZE + i * Integer.BYTES, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "SharedIntArray{" +
+                "path=" + getPath() +
+                ", capacity=" + capacity +
+                ", version=" + getVersion() +
+                '}';
+    }
+
+    /**
+     * 类{@code SharedIntConstPointer}表征指向共享区域的常量指针。<p>
+     * 注意：共享数组没有关联的{@code IntArray}，{@code hasBase()}返回{@code false}，
+     * 调用{@code getBase()}将抛出{@code java.lang.UnsupportedOperationException}异常。
+     */
+    private class SharedIntConstPointer implements IIntConstPointer {
+
+        /**
+         * 指针的指向。
+         */
+        private int point;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int get(int index) {
+            int i = index + getPoint();
+            if (i >= 0 && i < capacity) {
+                return load(i);
+            } else {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {%d <= index < %d}", -getPoint(),
+                        capacity - getPoint()));
+            }
+        }
+
+        /**
+         * 共享数组没有关联的{@code IntArray}，总是抛出异常。
+         */
+        @Override
+        public IntArray getBase() {
+            throw new UnsupportedOperationException("A SharedIntArray has no backing IntArray.");
+        }
+
+        /**
+         * 共享数组没有关联的{@code IntArray}。
+         *
+         * @return {@code false}。
+         */
+        @Override
+        public boolean hasBase() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getPoint() {
+            return point;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(int offset) {
+            this.point = this.point + offset;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            this.point = 0;
+        }
+    }
+
+    /**
+     * 类{@code SharedIntPointer}表征指向共享区域的指针。
+     */
+    private final class SharedIntPointer extends SharedIntConstPointer implements IIntPointer {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(int index, int value) {
+            int i = index + getPoint();
+            if (i >= 0 && i < capacity) {
+                store(i, value);
+            } else {
+                throw new ArrayIndexOutOfBoundsException(String.format(
+                        "Expected parameters {%d <= index < %d}", -getPoint(),
+                        capacity - getPoint()));
+            }
+        }
+    }
+}
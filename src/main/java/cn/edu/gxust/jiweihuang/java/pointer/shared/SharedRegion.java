@@ -0,0 +1,273 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.shared;
+
+import cn.edu.gxust.jiweihuang.java.pointer.accounting.ArrayAccounting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 类{@code SharedRegion}表征一个映射到文件（通常位于{@code /dev/shm}）的共享内存区域，
+ * 由一个64字节的头部和紧随其后的数据区组成，头部的布局为：<p>
+ * （1）{@code [0, 8)}：魔数，在其他字段初始化完成后才以release语义写入；<p>
+ * （2）{@code [8, 12)}：元素类型；<p>
+ * （3）{@code [12, 16)}：容量；<p>
+ * （4）{@code [16, 24)}：版本号，每完成一次写入加{@code 1}；<p>
+ * （5）{@code [24, 32)}：写序号（seqlock），写入期间为奇数，写入完成后为偶数。<p>
+ * 头部字段以本机字节序保存，通过{@code VarHandle}进行原子访问，
+ * 因为映射区域按页对齐，所以这些字段在各个进程中都是8字节对齐的。
+ * <p>
+ * Development status：Finished     # Developing, Finished  <p>
+ * Javadoc status: Finished         # Missing, Developing, Finished  <p>
+ * Test status: None                # None, Missing, Developing, Finished  <p>
+ * Last revision date: 2026-10-19 <p>
+ *
+ * @author JiweiHuang
+ * @since 20261019
+ */
+final class SharedRegion {
+
+    /**
+     * 头部的长度。
+     */
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * 元素类型：{@code int}。
+     */
+    static final int TYPE_INT = 1;
+
+    /**
+     * 元素类型：{@code long}。
+     */
+    static final int TYPE_LONG = 2;
+
+    /**
+     * 元素类型：{@code double}。
+     */
+    static final int TYPE_DOUBLE = 3;
+
+    private static final long MAGIC = 0x4A50_5348_4152_4501L;
+
+    private static final int MAGIC_OFFSET = 0;
+
+    private static final int TYPE_OFFSET = 8;
+
+    private static final int CAPACITY_OFFSET = 12;
+
+    private static final int VERSION_OFFSET = 16;
+
+    private static final int SEQUENCE_OFFSET = 24;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final VarHandle INTS =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    /**
+     * 映射文件的路径。
+     */
+    private final Path path;
+
+    /**
+     * 映射的内存区域，字节序为本机字节序。
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * 区域中元素的个数。
+     */
+    private final int capacity;
+
+    private SharedRegion(Path path, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 创建（或覆盖）映射文件，并初始化头部。
+     *
+     * @param path        映射文件的路径。
+     * @param type        元素类型。
+     * @param elementSize 每个元素的字节数。
+     * @param capacity    元素的个数。
+     * @return 共享内存区域。
+     */
+    static SharedRegion create(Path path, int type, int elementSize, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the parameter {capacity >= 0}, but got {%d}.", capacity));
+        }
+        long size = HEADER_SIZE + (long) elementSize * capacity;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "The shared region of %d bytes exceeds %d bytes.", size, Integer.MAX_VALUE));
+        }
+        MappedByteBuffer buffer = map(path, size, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        INTS.set(buffer, TYPE_OFFSET, type);
+        INTS.set(buffer, CAPACITY_OFFSET, capacity);
+        LONGS.set(buffer, VERSION_OFFSET, 0L);
+        LONGS.set(buffer, SEQUENCE_OFFSET, 0L);
+        LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        return record(new SharedRegion(path, buffer, capacity), type, elementSize);
+    }
+
+    /**
+     * 映射一个已由{@code create}初始化的文件。
+     *
+     * @param path        映射文件的路径。
+     * @param type        期望的元素类型。
+     * @param elementSize 每个元素的字节数。
+     * @return 共享内存区域。
+     */
+    static SharedRegion open(Path path, int type, int elementSize) {
+        MappedByteBuffer buffer = map(path, -1);
+        if (buffer.capacity() < HEADER_SIZE || (long) LONGS.getAcquire(buffer, MAGIC_OFFSET) != MAGIC) {
+            throw new IllegalStateException(String.format("The file %s is not an initialized shared array.", path));
+        }
+        int actualType = (int) INTS.get(buffer, TYPE_OFFSET);
+        int capacity = (int) INTS.get(buffer, CAPACITY_OFFSET);
+        if (actualType != type || buffer.capacity() < HEADER_SIZE + (long) elementSize * capacity) {
+            throw new IllegalStateException(String.format(
+                    "The file %s holds element type %d and capacity %d, expected element type %d.",
+                    path, actualType, capacity, type));
+        }
+        return record(new SharedRegion(path, buffer, capacity), type, elementSize);
+    }
+
+    /**
+     * 将映射的数据区记入数组的分配统计。
+     */
+    private static SharedRegion record(SharedRegion region, int type, int elementSize) {
+        ArrayAccounting.ElementType elementType = type == TYPE_INT ? ArrayAccounting.ElementType.INT
+                : type == TYPE_LONG ? ArrayAccounting.ElementType.LONG : ArrayAccounting.ElementType.DOUBLE;
+        ArrayAccounting.record(region, elementType, ArrayAccounting.Backend.MAPPED,
+                (long) elementSize * region.capacity);
+        return region;
+    }
+
+    private static MappedByteBuffer map(Path path, long size, StandardOpenOption... options) {
+        StandardOpenOption[] all = new StandardOpenOption[options.length + 2];
+        all[0] = StandardOpenOption.READ;
+        all[1] = StandardOpenOption.WRITE;
+        System.arraycopy(options, 0, all, 2, options.length);
+        try (FileChannel channel = FileChannel.open(path, all)) {
+            long length = size < 0 ? channel.size() : size;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.order(ByteOrder.nativeOrder());
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    MappedByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getVersion() {
+        return (long) LONGS.getAcquire(buffer, VERSION_OFFSET);
+    }
+
+    /**
+     * 开始写入：将写序号由偶数以CAS操作改为奇数，如果其他线程或进程正在写入，则自旋等待。
+     */
+    void beginWrite() {
+        while (true) {
+            long sequence = (long) LONGS.getVolatile(buffer, SEQUENCE_OFFSET);
+            if ((sequence & 1L) == 0 && LONGS.compareAndSet(buffer, SEQUENCE_OFFSET, sequence, sequence + 1)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 结束写入：版本号加{@code 1}，并以release语义将写序号改为偶数，使写入的数据对读者可见。
+     */
+    void endWrite() {
+        LONGS.getAndAdd(buffer, VERSION_OFFSET, 1L);
+        LONGS.getAndAdd(buffer, SEQUENCE_OFFSET, 1L);
+    }
+
+    /**
+     * 开始读取：等待写序号变为偶数，并返回该序号。
+     */
+    long beginRead() {
+        while (true) {
+            long sequence = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+            if ((sequence & 1L) == 0) {
+                return sequence;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 验证读取：如果自{@code beginRead}以来没有发生写入，则读取到的数据是一致的快照。
+     */
+    boolean validateRead(long sequence) {
+        VarHandle.acquireFence();
+        return (long) LONGS.getVolatile(buffer, SEQUENCE_OFFSET) == sequence;
+    }
+
+    void checkRange(int from, int length) {
+        if (from < 0 || length < 0 || (long) from + length > capacity) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Expected parameters {0 <= from && 0 <= length && from + length <= %d}, but got {%d, %d}.",
+                    capacity, from, length));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.ndarray;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NDArrayReduceTest {
+
+    @Test
+    void sumAlongAxes() {
+        //[[0, 1, 2], [3, 4, 5]]
+        DoubleNDArray array = new DoubleNDArray(new DoubleArray(6, i -> i), 2, 3);
+        DoubleNDArray rows = array.sum(1);
+        assertArrayEquals(new int[]{2}, rows.getLayout().getShape());
+        assertEquals(3., rows.get(0));
+        assertEquals(12., rows.get(1));
+        DoubleNDArray columns = array.transpose().sum(1);
+        assertArrayEquals(new int[]{3}, columns.getLayout().getShape());
+        assertEquals(7., columns.get(2));
+        assertEquals(10., array.reduce(0, 1., (a, b) -> a * b).get(2));
+    }
+
+    @Test
+    void emptyAxisGivesIdentity() {
+        DoubleNDArray rows = new DoubleNDArray(3, 0).sum(1);
+        assertArrayEquals(new int[]{3}, rows.getLayout().getShape());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0., rows.get(i));
+        }
+        DoubleNDArray products = new DoubleNDArray(2, 0, 4).reduce(1, 1., (a, b) -> a * b);
+        assertArrayEquals(new int[]{2, 4}, products.getLayout().getShape());
+        assertEquals(1., products.get(1, 3));
+        //其他轴为空时，结果为空。
+        assertArrayEquals(new int[]{0}, new DoubleNDArray(3, 0).sum(0).getLayout().getShape());
+        FloatNDArray floats = new FloatNDArray(3, 0).reduce(1, -1f, Math::max);
+        assertArrayEquals(new int[]{3}, floats.getLayout().getShape());
+        assertEquals(-1f, floats.get(2));
+    }
+
+    @Test
+    void invalidAxisRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleNDArray(3, 0).sum(2));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.arena;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//池是线程局部且跨测试保留的，各测试使用互不相同的容量，避免相互影响。
+class ArrayArenaTest {
+
+    @Test
+    void nestedScopesReleaseOnlyTheirOwnArrays() {
+        DoubleArray outer;
+        DoubleArray inner;
+        try (ArrayArena arena = ArrayArena.open()) {
+            int depth = arena.getDepth();
+            outer = arena.doubles(1001);
+            try (ArrayArena nested = ArrayArena.open()) {
+                assertSame(arena, nested);
+                assertEquals(depth + 1, nested.getDepth());
+                inner = nested.doubles(1001);
+                assertNotSame(outer, inner);
+            }
+            assertEquals(depth, arena.getDepth());
+            //内层作用域关闭后归还了inner，外层作用域的outer仍在使用，不会被再次分配。
+            DoubleArray again = arena.doubles(1001);
+            assertSame(inner, again);
+            assertNotSame(outer, arena.doubles(1001));
+        }
+        //外层作用域关闭后outer也已归还。
+        try (ArrayArena arena = ArrayArena.open()) {
+            DoubleArray a = arena.doubles(1001);
+            DoubleArray b = arena.doubles(1001);
+            DoubleArray c = arena.doubles(1001);
+            assertTrue(a == outer || b == outer || c == outer);
+            assertTrue(a == inner || b == inner || c == inner);
+        }
+    }
+
+    @Test
+    void reusedArraysAreZeroed() {
+        DoubleArray doubles;
+        IntArray ints;
+        try (ArrayArena arena = ArrayArena.open()) {
+            doubles = arena.doubles(1003);
+            ints = arena.ints(1003);
+            IDoublePointer dp = doubles.createPointer();
+            IIntPointer ip = ints.createPointer();
+            for (int i = 0; i < 1003; i++) {
+                dp.set(i, i + 0.5);
+                ip.set(i, i + 1);
+            }
+        }
+        try (ArrayArena arena = ArrayArena.open()) {
+            DoubleArray d = arena.doubles(1003);
+            IntArray n = arena.ints(1003);
+            assertSame(doubles, d);
+            assertSame(ints, n);
+            assertEquals(new DoubleArray(1003), d);
+            assertEquals(new IntArray(1003), n);
+        }
+        //指定初始值的分配。
+        try (ArrayArena arena = ArrayArena.open()) {
+            assertEquals(new DoubleArray(1003, 2.5), arena.doubles(1003, 2.5));
+            assertEquals(new IntArray(1003, -3), arena.ints(1003, -3));
+        }
+        //acquire取得的数组同样被重置。
+        DoubleArray acquired = ArrayArena.acquireDoubles(1003);
+        acquired.createPointer().set(0, 9.);
+        ArrayArena.release(acquired);
+        DoubleArray reacquired = ArrayArena.acquireDoubles(1003);
+        assertSame(acquired, reacquired);
+        assertEquals(new DoubleArray(1003), reacquired);
+        ArrayArena.release(reacquired);
+    }
+
+    @Test
+    void poolKeepsAtMostMaxPooledPerCapacity() {
+        int count = ArrayArena.MAX_POOLED_PER_CAPACITY + 4;
+        IntArray[] first = new IntArray[count];
+        for (int i = 0; i < count; i++) {
+            first[i] = ArrayArena.acquireInts(1005);
+        }
+        for (IntArray array : first) {
+            ArrayArena.release(array);
+        }
+        //池中只保留了先归还的MAX_POOLED_PER_CAPACITY个数组，其余的数组是新建的。
+        int reused = 0;
+        IntArray[] second = new IntArray[count];
+        for (int i = 0; i < count; i++) {
+            second[i] = ArrayArena.acquireInts(1005);
+            for (IntArray array : first) {
+                if (array == second[i]) {
+                    reused++;
+                }
+            }
+        }
+        assertEquals(ArrayArena.MAX_POOLED_PER_CAPACITY, reused);
+        for (IntArray array : second) {
+            ArrayArena.release(array);
+        }
+    }
+
+    @Test
+    void poolDropsArraysBeyondMaxPooledElements() {
+        int capacity = (int) ArrayArena.MAX_POOLED_ELEMENTS + 1;
+        IntArray big = ArrayArena.acquireInts(capacity);
+        ArrayArena.release(big);
+        IntArray again = ArrayArena.acquireInts(capacity);
+        assertNotSame(big, again);
+    }
+
+    @Test
+    void allocationOutsideAScopeIsRejected() {
+        ArrayArena arena;
+        try (ArrayArena scope = ArrayArena.open()) {
+            arena = scope;
+        }
+        //本测试之前没有打开的作用域，关闭后深度为0。
+        assertEquals(0, arena.getDepth());
+        assertThrows(IllegalStateException.class, () -> arena.doubles(4));
+        assertThrows(IllegalStateException.class, () -> arena.ints(4));
+        assertThrows(IllegalStateException.class, arena::close);
+    }
+
+    @Test
+    void accessFromAnotherThreadIsRejected() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (ArrayArena arena = ArrayArena.open()) {
+            Thread thread = new Thread(() -> {
+                try {
+                    arena.doubles(4);
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            thread.start();
+            thread.join(60_000);
+            assertFalse(thread.isAlive());
+            //其他线程的访问被拒绝后，本线程的作用域不受影响。
+            assertEquals(4, arena.doubles(4).getCapacity());
+        }
+        assertTrue(failure.get() instanceof IllegalStateException, String.valueOf(failure.get()));
+    }
+
+    @Test
+    void negativeCapacityIsRejected() {
+        try (ArrayArena arena = ArrayArena.open()) {
+            assertThrows(IllegalArgumentException.class, () -> arena.doubles(-1));
+            assertThrows(IllegalArgumentException.class, () -> ArrayArena.acquireInts(-1));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermutationTest {
+
+    //随机置换，由Fisher-Yates洗牌得到。
+    static int[] shuffle(int n, long seed) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = p[i];
+            p[i] = p[j];
+            p[j] = t;
+        }
+        return p;
+    }
+
+    //按定义data[i] = data'[p[i]]得到的置换结果。
+    static DoubleArray gathered(DoubleArray data, Permutation p) {
+        IDoublePointer d = data.createPointer();
+        return new DoubleArray(p.getSize(), i -> d.get(p.get(i)));
+    }
+
+    static DoubleArray data(int n) {
+        return new DoubleArray(n, i -> 10. * i + 0.5);
+    }
+
+    @Test
+    void identityLeavesDataUnchanged() {
+        Permutation identity = new Permutation(7);
+        assertTrue(identity.isIdentity());
+        assertEquals(new IntArray(7, i -> i), identity.toIntArray());
+        DoubleArray d = data(7);
+        identity.apply(d.createPointer());
+        assertEquals(data(7), d);
+        identity.applyInverse(d.createPointer());
+        assertEquals(data(7), d);
+        assertTrue(identity.inverse().isIdentity());
+        assertTrue(new Permutation(0).isIdentity());
+    }
+
+    @Test
+    void applyFollowsCycles() {
+        //包含不动点、2-循环和3-循环的置换：(0)(1 4)(2 3 5)。
+        Permutation p = Permutation.of(0, 4, 3, 5, 1, 2);
+        assertFalse(p.isIdentity());
+        DoubleArray d = data(6);
+        p.apply(d.createPointer());
+        assertEquals(gathered(data(6), p), d);
+        assertEquals(DoubleArray.of(0.5, 40.5, 30.5, 50.5, 10.5, 20.5), d);
+        p.applyInverse(d.createPointer());
+        assertEquals(data(6), d);
+        //一个n-循环与随机置换。
+        Permutation cycle = Permutation.of(1, 2, 3, 4, 5, 0);
+        d = data(6);
+        cycle.apply(d.createPointer());
+        assertEquals(gathered(data(6), cycle), d);
+        for (int n : new int[]{1, 2, 31, 32, 33, 1000}) {
+            Permutation random = Permutation.of(shuffle(n, n));
+            d = data(n);
+            random.apply(d.createPointer());
+            assertEquals(gathered(data(n), random), d);
+            random.applyInverse(d.createPointer());
+            assertEquals(data(n), d);
+        }
+    }
+
+    @Test
+    void applyWorksFromAPointerOffset() {
+        Permutation p = Permutation.of(2, 0, 1);
+        DoubleArray d = data(5);
+        IDoublePointer pointer = d.createPointer();
+        pointer.move(2);
+        p.apply(pointer);
+        assertEquals(DoubleArray.of(0.5, 10.5, 40.5, 20.5, 30.5), d);
+        //指针之后的元素不足getSize()个。
+        pointer.move(1);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.apply(pointer));
+        assertEquals(DoubleArray.of(0.5, 10.5, 40.5, 20.5, 30.5), d);
+    }
+
+    @Test
+    void inverseAndInvertAgree() {
+        for (int n : new int[]{1, 6, 33, 257}) {
+            int[] values = shuffle(n, 7 * n);
+            Permutation p = Permutation.of(values);
+            Permutation inverse = p.inverse();
+            //inverse不修改原置换。
+            assertEquals(IntArray.of(values), p.toIntArray());
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, inverse.get(p.get(i)));
+            }
+            assertTrue(p.compose(inverse).isIdentity());
+            assertTrue(inverse.compose(p).isIdentity());
+            //inverse的apply等价于applyInverse。
+            DoubleArray a = data(n);
+            DoubleArray b = data(n);
+            inverse.apply(a.createPointer());
+            p.applyInverse(b.createPointer());
+            assertEquals(a, b);
+            //就地求逆两次还原为原置换，且不残留临时标记。
+            Permutation q = Permutation.of(values);
+            assertEquals(inverse, q.invert());
+            assertEquals(p, q.invert());
+        }
+    }
+
+    @Test
+    void composeAppliesThisThenOther() {
+        Permutation p = Permutation.of(shuffle(40, 1));
+        Permutation q = Permutation.of(shuffle(40, 2));
+        Permutation r = p.compose(q);
+        for (int i = 0; i < 40; i++) {
+            assertEquals(p.get(q.get(i)), r.get(i));
+        }
+        DoubleArray a = data(40);
+        p.apply(a.createPointer());
+        q.apply(a.createPointer());
+        DoubleArray b = data(40);
+        r.apply(b.createPointer());
+        assertEquals(a, b);
+        assertThrows(IllegalArgumentException.class, () -> p.compose(new Permutation(39)));
+    }
+
+    @Test
+    void swapExchangesTwoPositions() {
+        Permutation p = new Permutation(4).swap(0, 3).swap(1, 3);
+        assertEquals(IntArray.of(3, 0, 2, 1), p.toIntArray());
+        DoubleArray d = data(4);
+        p.apply(d.createPointer());
+        assertEquals(DoubleArray.of(30.5, 0.5, 20.5, 10.5), d);
+    }
+
+    @Test
+    void oneBasedRoundTrip() {
+        IntArray ipvt = IntArray.of(3, 1, 4, 2);
+        Permutation p = Permutation.fromOneBased(ipvt.createConstPointer(), 4);
+        assertEquals(Permutation.of(2, 0, 3, 1), p);
+        IntArray back = new IntArray(4);
+        p.copyToOneBased(back.createPointer());
+        assertEquals(ipvt, back);
+        //从0开始的值不是有效的从1开始的置换。
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutation.fromOneBased(IntArray.of(0, 1, 2).createConstPointer(), 3));
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Permutation.of(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Permutation.of(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> Permutation.of(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Permutation(-1));
+        assertThrows(NullPointerException.class, () -> Permutation.of((IntArray) null));
+        //of(IntArray)复制给定的值，之后修改原数组不影响置换。
+        IntArray values = IntArray.of(1, 0);
+        Permutation p = Permutation.of(values);
+        IIntPointer v = values.createPointer();
+        v.set(0, 0);
+        assertEquals(1, p.get(0));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseDoubleArrayTest {
+
+    @Test
+    void insertAndRemoveKeepIndicesSorted() {
+        SparseDoubleArray array = new SparseDoubleArray(10, 1);
+        //逆序插入，每次都插入到最前面，并超过初始的存储长度。
+        for (int i = 9; i >= 0; i -= 2) {
+            array.set(i, i + 0.5);
+        }
+        assertEquals(5, array.getNonZeroCount());
+        assertEquals(DoubleArray.of(0, 1.5, 0, 3.5, 0, 5.5, 0, 7.5, 0, 9.5), array.toDense());
+        //覆盖已有的元素不改变非零元素的数量。
+        array.set(5, -1.);
+        assertEquals(5, array.getNonZeroCount());
+        assertEquals(-1., array.get(5));
+        //设置为0即移除，移除不存在的元素没有影响。
+        array.set(1, 0.);
+        array.set(9, -0.);
+        array.set(4, 0.);
+        assertEquals(3, array.getNonZeroCount());
+        assertEquals(DoubleArray.of(0, 0, 0, 3.5, 0, -1., 0, 7.5, 0, 0), array.toDense());
+        //在中间插入。
+        array.set(4, 4.);
+        assertEquals(DoubleArray.of(0, 0, 0, 3.5, 4., -1., 0, 7.5, 0, 0), array.toDense());
+        assertEquals(SparseDoubleArray.of(array.toDense().createConstPointer(), 10), array);
+        array.reset();
+        assertEquals(0, array.getNonZeroCount());
+        assertEquals(new SparseDoubleArray(10), array);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.set(10, 1.));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.get(-1));
+        assertThrows(NegativeArraySizeException.class, () -> new SparseDoubleArray(-1));
+    }
+
+    @Test
+    void randomUpdatesMatchDenseArray() {
+        Random random = new Random(29);
+        int n = 200;
+        SparseDoubleArray sparse = new SparseDoubleArray(n);
+        DoubleArray dense = new DoubleArray(n);
+        IDoublePointer d = dense.createPointer();
+        IDoublePointer p = sparse.createPointer();
+        for (int k = 0; k < 5_000; k++) {
+            int i = random.nextInt(n);
+            //约一半的写入为0，使插入与移除交替发生。
+            double value = random.nextBoolean() ? 0. : random.nextInt(100) - 50;
+            if (random.nextBoolean()) {
+                sparse.set(i, value);
+            } else {
+                p.set(i, value);
+            }
+            d.set(i, value);
+            int j = random.nextInt(n);
+            assertEquals(d.get(j), sparse.get(j));
+            assertEquals(d.get(j), p.get(j));
+        }
+        assertEquals(dense, sparse.toDense());
+        assertEquals(SparseDoubleArray.of(dense.createConstPointer(), n), sparse);
+        assertEquals(SparseDoubleArray.of(dense.createConstPointer(), n).hashCode(), sparse.hashCode());
+    }
+
+    @Test
+    void cursorVisitsNonZerosWithinBounds() {
+        SparseDoubleArray array = SparseDoubleArray.of(
+                DoubleArray.of(0, 1, 0, 3, 4, 0, 0, 7, 0, 9).createConstPointer(), 10);
+        assertEquals("1 3 4 7 9", visit(array.createCursor()));
+        //边界可以落在非零元素上或零元素上，终点不包含在内。
+        assertEquals("3 4", visit(array.createCursor(3, 7)));
+        assertEquals("3 4 7", visit(array.createCursor(2, 8)));
+        assertEquals("9", visit(array.createCursor(8, 10)));
+        assertEquals("", visit(array.createCursor(5, 7)));
+        assertEquals("", visit(array.createCursor(4, 4)));
+        assertEquals("", visit(new SparseDoubleArray(0).createCursor()));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.createCursor(-1, 3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.createCursor(0, 11));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.createCursor(5, 4));
+        //遍历结束后next()保持返回false，reset()后可以重新遍历。
+        SparseDoubleArray.NonZeroCursor cursor = array.createCursor(0, 5);
+        assertEquals("1 3 4", visit(cursor));
+        assertFalse(cursor.next());
+        cursor.reset();
+        assertEquals("1 3 4", visit(cursor));
+        assertEquals(1. * 1 + 3. * 3 + 4. * 4 + 7. * 7 + 9. * 9, array.dot(array.toDense().createConstPointer()));
+        assertEquals(1. * 1 + 3. * 3 + 4. * 4 + 7. * 7 + 9. * 9, array.dot(array));
+    }
+
+    static String visit(SparseDoubleArray.NonZeroCursor cursor) {
+        StringBuilder builder = new StringBuilder();
+        while (cursor.next()) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            assertEquals(cursor.getIndex(), (int) cursor.getValue());
+            builder.append(cursor.getIndex());
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void pointerHintFollowsSequentialAndRandomAccess() {
+        DoubleArray dense = DoubleArray.of(0, 1, 2, 0, 0, 5, 0, 7, 8, 0);
+        SparseDoubleArray array = SparseDoubleArray.of(dense.createConstPointer(), 10);
+        IDoubleConstPointer d = dense.createConstPointer();
+        IDoubleConstPointer p = array.createConstPointer();
+        //顺序访问走提示位置的快速路径，逆序与跳跃访问回退到二分查找。
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(d.get(i), p.get(i), "forward " + i);
+            }
+            for (int i = 9; i >= 0; i--) {
+                assertEquals(d.get(i), p.get(i), "backward " + i);
+            }
+            for (int i : new int[]{7, 1, 9, 5, 0, 8, 2, 6}) {
+                assertEquals(d.get(i), p.get(i), "jump " + i);
+            }
+        }
+        //提示位置在元素被移除、插入后失效，不应返回过时的值。
+        assertEquals(8., p.get(8));
+        array.set(8, 0.);
+        array.set(7, 0.);
+        assertEquals(0., p.get(8));
+        assertEquals(0., p.get(9));
+        array.reset();
+        assertEquals(0., p.get(8));
+        array.set(3, 3.);
+        assertEquals(3., p.get(3));
+        array.set(0, -1.);
+        assertEquals(3., p.get(3));
+        assertEquals(0., p.get(4));
+        assertEquals(-1., p.get(0));
+    }
+
+    @Test
+    void pointerMovesRelativeToItsPoint() {
+        SparseDoubleArray array = new SparseDoubleArray(6);
+        IDoublePointer p = array.createPointer();
+        p.move(2);
+        p.set(1, 3.);
+        assertEquals(3., array.get(3));
+        assertEquals(3., p.get(1));
+        assertEquals(0., p.get(-2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(-3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.set(4, 1.));
+        assertEquals(2, p.getPoint());
+        assertEquals(6, p.getCapacity());
+        assertFalse(p.hasBase());
+        assertThrows(UnsupportedOperationException.class, p::getBase);
+        p.reset();
+        assertEquals(3., p.get(3));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseIntArrayTest {
+
+    @Test
+    void randomUpdatesMatchDenseArray() {
+        Random random = new Random(31);
+        int n = 200;
+        SparseIntArray sparse = new SparseIntArray(n, 1);
+        IntArray dense = new IntArray(n);
+        IIntPointer d = dense.createPointer();
+        IIntPointer p = sparse.createPointer();
+        IIntConstPointer c = sparse.createConstPointer();
+        for (int k = 0; k < 5_000; k++) {
+            int i = random.nextInt(n);
+            int value = random.nextBoolean() ? 0 : random.nextInt(100) - 50;
+            if (random.nextBoolean()) {
+                sparse.set(i, value);
+            } else {
+                p.set(i, value);
+            }
+            d.set(i, value);
+            //交替顺序与随机读取，覆盖提示位置的快速路径和二分查找。
+            int j = random.nextInt(n);
+            assertEquals(d.get(j), sparse.get(j));
+            assertEquals(d.get(j), c.get(j));
+            if (j + 1 < n) {
+                assertEquals(d.get(j + 1), c.get(j + 1));
+            }
+        }
+        assertEquals(dense, sparse.toDense());
+        assertEquals(SparseIntArray.of(dense.createConstPointer(), n), sparse);
+    }
+
+    @Test
+    void cursorVisitsNonZerosWithinBounds() {
+        SparseIntArray array = SparseIntArray.of(IntArray.of(0, 1, 0, 3, 4, 0, 0, 7).createConstPointer(), 8);
+        SparseIntArray.NonZeroCursor cursor = array.createCursor(1, 7);
+        int count = 0;
+        int sum = 0;
+        while (cursor.next()) {
+            assertEquals(cursor.getIndex(), cursor.getValue());
+            count++;
+            sum += cursor.getValue();
+        }
+        assertEquals(3, count);
+        assertEquals(8, sum);
+        assertFalse(array.createCursor(5, 7).next());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.createCursor(0, 9));
+    }
+
+    @Test
+    void dotProductsDoNotOverflow() {
+        SparseIntArray a = new SparseIntArray(1_000);
+        SparseIntArray b = new SparseIntArray(1_000);
+        a.set(10, Integer.MAX_VALUE);
+        a.set(500, Integer.MAX_VALUE);
+        b.set(500, Integer.MAX_VALUE);
+        b.set(999, 1);
+        long expected = (long) Integer.MAX_VALUE * Integer.MAX_VALUE;
+        assertEquals(expected, a.dot(b));
+        assertEquals(expected, b.dot(a));
+        assertEquals(2 * expected, a.dot(a.toDense().createConstPointer()));
+    }
+}
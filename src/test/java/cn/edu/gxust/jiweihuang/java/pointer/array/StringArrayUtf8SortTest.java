@@ -0,0 +1,223 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.ForkJoinBlocks;
+import cn.edu.gxust.jiweihuang.java.pointer.parallel.ForkJoinBlocksOverride;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringArrayUtf8SortTest {
+
+    @AfterEach
+    void restoreParallelism() {
+        ForkJoinBlocksOverride.set(0);
+    }
+
+    //以Arrays.sort（稳定）按UTF-8无符号字节序得到的排序索引，null排在最前面。
+    static int[] expectedOrder(String[] values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = values[i] == null ? null : values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> bytes[i],
+                Comparator.nullsFirst(Arrays::compareUnsigned)));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    //普通模式、堆内与堆外UTF-8紧凑模式的排序结果均与参考结果相同。
+    static void assertSorted(String[] values) {
+        IntArray expected = IntArray.of(expectedOrder(values));
+        StringArray array = StringArray.of(values);
+        assertEquals(expected, array.argsortUtf8());
+        assertEquals(expected, array.toUtf8(false).argsortUtf8());
+        assertEquals(expected, array.toUtf8(true).argsortUtf8());
+    }
+
+    static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    @Test
+    void sharedPrefixesLongerThanTheInsertionThreshold() {
+        //共同前缀长于32个字节，且每个区间都多于32个元素，走基数分配而非插入排序。
+        Random random = new Random(41);
+        String prefix = repeat('p', 40);
+        String[] values = new String[300];
+        for (int i = 0; i < values.length; i++) {
+            StringBuilder builder = new StringBuilder(prefix);
+            if (random.nextBoolean()) {
+                builder.append(repeat('q', 35));
+            }
+            int tail = random.nextInt(4);
+            for (int k = 0; k < tail; k++) {
+                builder.append((char) ('a' + random.nextInt(3)));
+            }
+            values[i] = builder.toString();
+        }
+        assertSorted(values);
+        //所有元素都相同时，沿共同前缀一直比较到结束，并保持原有的顺序。
+        String[] same = new String[100];
+        Arrays.fill(same, prefix + prefix);
+        assertSorted(same);
+        assertEquals(new IntArray(100, i -> i), StringArray.of(same).argsortUtf8());
+    }
+
+    @Test
+    void emptyStringsAndNullsComeFirstAndStayStable() {
+        String[] values = {"b", null, "", "a", null, "", "ab", "a", null, "", "b"};
+        assertSorted(values);
+        assertEquals(IntArray.of(1, 4, 8, 2, 5, 9, 3, 7, 6, 0, 10), StringArray.of(values).argsortUtf8());
+        //较大的区间中的null与空字符串。
+        Random random = new Random(42);
+        String[] many = new String[500];
+        for (int i = 0; i < many.length; i++) {
+            int kind = random.nextInt(5);
+            many[i] = kind == 0 ? null : kind == 1 ? "" : kind == 2 ? "x" : "x" + random.nextInt(3);
+        }
+        assertSorted(many);
+        assertSorted(new String[0]);
+        assertSorted(new String[]{null});
+    }
+
+    @Test
+    void utf8OrderDiffersFromUtf16Order() {
+        //U+FF61的UTF-16编码大于代理对，但UTF-8编码（EF ...）小于四字节编码（F0 ...）。
+        String[] values = {"😀", "｡", "é", "e", "😀a", "｡"};
+        assertTrue("😀".compareTo("｡") < 0);
+        assertSorted(values);
+        assertEquals(IntArray.of(3, 2, 1, 5, 0, 4), StringArray.of(values).argsortUtf8());
+    }
+
+    @Test
+    void randomStrings() {
+        Random random = new Random(43);
+        String[] alphabet = {"a", "b", "é", "中", "😀", ""};
+        for (int t = 0; t < 20; t++) {
+            String[] values = new String[random.nextInt(200)];
+            for (int i = 0; i < values.length; i++) {
+                if (random.nextInt(20) == 0) {
+                    continue;
+                }
+                StringBuilder builder = new StringBuilder();
+                int length = random.nextInt(6);
+                for (int k = 0; k < length; k++) {
+                    builder.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                values[i] = builder.toString();
+            }
+            assertSorted(values);
+        }
+    }
+
+    @Test
+    void parallelPathMatchesArraysSort() {
+        ForkJoinBlocksOverride.set(4);
+        int n = ForkJoinBlocks.PARALLEL_THRESHOLD + 1000;
+        assertTrue(ForkJoinBlocks.blockCount(n) > 1);
+        Random random = new Random(44);
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            int kind = random.nextInt(50);
+            if (kind == 0) {
+                values[i] = null;
+            } else if (kind == 1) {
+                values[i] = "";
+            } else {
+                //首字节分布在多个桶中，部分桶内有长的共同前缀和大量重复。
+                values[i] = (char) ('a' + random.nextInt(6)) + (kind < 10 ? repeat('z', 40) : "")
+                        + random.nextInt(kind < 25 ? 100 : 100_000);
+            }
+        }
+        assertSorted(values);
+        StringArrayGroups groups = StringArray.of(values).groupUtf8();
+        assertGroups(values, groups);
+    }
+
+    //检查分组与排序索引一致：组内元素相等，相邻组的键按字节序严格递增，首个元素是组内最小的索引。
+    static void assertGroups(String[] values, StringArrayGroups groups) {
+        int[] order = expectedOrder(values);
+        assertEquals(IntArray.of(order), groups.getOrder());
+        IntArray ids = groups.getGroupIds();
+        int total = 0;
+        for (int g = 0; g < groups.getGroupCount(); g++) {
+            int start = groups.getGroupStart(g);
+            int size = groups.getGroupSize(g);
+            assertEquals(total, start);
+            total += size;
+            assertEquals(order[start], groups.getFirstIndex(g));
+            String key = groups.getKey(g);
+            for (int k = start; k < start + size; k++) {
+                assertEquals(key, values[order[k]]);
+                assertEquals(g, ids.createConstPointer().get(order[k]));
+                assertTrue(order[k] >= groups.getFirstIndex(g));
+            }
+            if (g > 0) {
+                String previous = groups.getKey(g - 1);
+                assertTrue(previous == null || key != null && Arrays.compareUnsigned(
+                        previous.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)) < 0);
+            }
+        }
+        assertEquals(values.length, total);
+    }
+
+    @Test
+    void groupsCountDistinctValues() {
+        String[] values = {"b", null, "", "a", null, "", "ab", "a", null, "", "b"};
+        StringArrayGroups groups = StringArray.of(values).groupUtf8();
+        assertGroups(values, groups);
+        assertEquals(StringArray.of(null, "", "a", "ab", "b"), groups.getKeys());
+        assertEquals(IntArray.of(3, 3, 2, 1, 2), groups.getCounts());
+        assertEquals(IntArray.of(4, 0, 1, 2, 0, 1, 3, 2, 0, 1, 4), groups.getGroupIds());
+        assertEquals(groups.getKeys(), StringArray.of(values).distinctUtf8());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> groups.getGroupSize(5));
+        assertEquals(0, StringArray.of().groupUtf8().getGroupCount());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.array;
+
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualArrayTest {
+
+    //记录函数被调用的次数。
+    static final class Counting implements DoubleArray.IDoubleArrayInitFunction {
+
+        int calls;
+
+        @Override
+        public double call(int index) {
+            calls++;
+            return index * 0.5 - 1.;
+        }
+    }
+
+    @Test
+    void evictedChunksAreRecomputed() {
+        Counting function = new Counting();
+        //容量10、块长4，最后一块只有2个元素；2个槽，第0块与第2块共用第0个槽。
+        VirtualDoubleArray array = new VirtualDoubleArray(10, function, 4, 2);
+        assertTrue(array.isMemoized());
+        assertEquals(0, array.getCachedChunkCount());
+        assertEquals(-1., array.get(0));
+        assertEquals(4, function.calls);
+        assertEquals(0.5, array.get(3));
+        assertEquals(4, function.calls);
+        assertEquals(1, array.getCachedChunkCount());
+        //较短的最后一块只计算2个元素，并淘汰第0块。
+        assertEquals(3.5, array.get(9));
+        assertEquals(6, function.calls);
+        assertEquals(1, array.getCachedChunkCount());
+        assertEquals(1.5, array.get(5));
+        assertEquals(10, function.calls);
+        assertEquals(2, array.getCachedChunkCount());
+        assertEquals(3., array.get(8));
+        assertEquals(10, function.calls);
+        //被淘汰的第0块重新计算，值不变。
+        assertEquals(-0.5, array.get(1));
+        assertEquals(14, function.calls);
+        assertEquals(3.5, array.get(9));
+        assertEquals(16, function.calls);
+        array.clearCache();
+        assertEquals(0, array.getCachedChunkCount());
+        assertEquals(1.5, array.get(5));
+        assertEquals(20, function.calls);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.get(10));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.get(-1));
+    }
+
+    @Test
+    void pointerMovesAcrossChunkBoundaries() {
+        Counting function = new Counting();
+        VirtualDoubleArray array = new VirtualDoubleArray(10, function, 4, 1);
+        IDoubleConstPointer p = array.createConstPointer();
+        p.move(3);
+        assertEquals(3, p.getPoint());
+        assertEquals(10, p.getCapacity());
+        for (int i = -3; i < 7; i++) {
+            assertEquals((i + 3) * 0.5 - 1., p.get(i));
+        }
+        //顺序访问每个块只计算一次。
+        assertEquals(10, function.calls);
+        //反向访问跨越块的边界时，只有1个槽，块被重新计算。
+        assertEquals(1., p.get(1));
+        assertEquals(0.5, p.get(0));
+        assertEquals(18, function.calls);
+        p.move(4);
+        assertEquals(3.5, p.get(2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(-8));
+        p.reset();
+        assertEquals(-1., p.get(0));
+        //每个指针记住最近访问的块，即使它已被其他指针淘汰出缓存。
+        IDoubleConstPointer q = array.createConstPointer();
+        q.move(8);
+        q.get(0);
+        p.get(1);
+        int calls = function.calls;
+        for (int k = 0; k < 5; k++) {
+            assertEquals(-0.5, p.get(1));
+            assertEquals(3., q.get(0));
+        }
+        assertEquals(calls, function.calls);
+        assertFalse(p.hasBase());
+        assertThrows(UnsupportedOperationException.class, p::getBase);
+    }
+
+    @Test
+    void pureVirtualArrayCallsTheFunctionOnEveryAccess() {
+        Counting function = new Counting();
+        VirtualDoubleArray array = new VirtualDoubleArray(1 << 30, function);
+        assertFalse(array.isMemoized());
+        IDoubleConstPointer p = array.createConstPointer();
+        p.move((1 << 30) - 1);
+        assertEquals(((1 << 30) - 1) * 0.5 - 1., p.get(0));
+        assertEquals(((1 << 30) - 1) * 0.5 - 1., p.get(0));
+        assertEquals(2, function.calls);
+        assertEquals(0, array.getCachedChunkCount());
+        array.clearCache();
+        assertEquals(new DoubleArray(5, i -> i * 0.5 - 1.), new VirtualDoubleArray(5, function).toArray());
+    }
+
+    @Test
+    void memoizedArraysMatchTheirFunction() {
+        //容量恰为块长的整数倍、小于块长以及为0的情形。
+        for (int capacity : new int[]{0, 3, 8, 13}) {
+            IntArray.IIntArrayInitFunction f = i -> i * i - 7;
+            VirtualIntArray array = new VirtualIntArray(capacity, f, 4, 3);
+            IntArray expected = new IntArray(capacity, f);
+            assertEquals(expected, array.toArray());
+            IIntConstPointer p = array.createConstPointer();
+            for (int i = capacity - 1; i >= 0; i--) {
+                assertEquals(f.call(i), p.get(i));
+            }
+            assertEquals(Math.min(3, (capacity + 3) / 4), array.getCachedChunkCount());
+        }
+        assertEquals(new BooleanArray(9, i -> i % 3 == 0), new VirtualBooleanArray(9, i -> i % 3 == 0, 2, 2).toArray());
+        assertEquals(new ByteArray(9, i -> (byte) i), new VirtualByteArray(9, i -> (byte) i, 2, 2).toArray());
+        assertEquals(new CharArray(9, i -> (char) ('a' + i)), new VirtualCharArray(9, i -> (char) ('a' + i), 2, 2).toArray());
+        assertEquals(new FloatArray(9, i -> i / 4f), new VirtualFloatArray(9, i -> i / 4f, 2, 2).toArray());
+        assertEquals(new LongArray(9, i -> (long) i << 40), new VirtualLongArray(9, i -> (long) i << 40, 2, 2).toArray());
+        assertEquals(new ShortArray(9, i -> (short) -i), new VirtualShortArray(9, i -> (short) -i, 2, 2).toArray());
+    }
+
+    @Test
+    void constructorChecksArguments() {
+        DoubleArray.IDoubleArrayInitFunction f = i -> i;
+        assertThrows(IllegalArgumentException.class, () -> new VirtualDoubleArray(-1, f));
+        assertThrows(IllegalArgumentException.class, () -> new VirtualDoubleArray(4, f, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VirtualDoubleArray(4, f, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VirtualDoubleArray(4, null));
+        //块长为0时为纯虚拟模式。
+        assertFalse(new VirtualDoubleArray(4, f, 0, 0).isMemoized());
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacobianSparsityTest {
+
+    //第i个函数依赖第i - ml至i + mu个变量的带状问题，记录全部调用次数和iflag = 2的调用次数。
+    static class Banded implements JavaMinpack.IMNNonlinearLeastSquares, JavaMinpack.INNonlinearEquations {
+
+        final int m;
+        final int n;
+        final int ml;
+        final int mu;
+        int calls;
+        int differenceCalls;
+
+        Banded(int m, int n, int ml, int mu) {
+            this.m = m;
+            this.n = n;
+            this.ml = ml;
+            this.mu = mu;
+        }
+
+        @Override
+        public int getM() {
+            return m;
+        }
+
+        @Override
+        public int getN() {
+            return n;
+        }
+
+        int[][] rows() {
+            int[][] rows = new int[m][];
+            for (int i = 0; i < m; i++) {
+                int from = Math.max(0, i - ml);
+                int to = Math.min(n - 1, i + mu);
+                rows[i] = new int[Math.max(0, to - from + 1)];
+                for (int j = from; j <= to; j++) {
+                    rows[i][j - from] = j;
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public int call(int m, int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            calls++;
+            if (iflag == 2) {
+                differenceCalls++;
+            }
+            for (int i = 0; i < m; i++) {
+                double sum = 0.1 * (i + 1);
+                for (int j = Math.max(0, i - ml); j <= Math.min(n - 1, i + mu); j++) {
+                    double xj = x.get(j);
+                    sum += (j - i + 2.5) * xj + Math.sin(xj * (i + 1)) + xj * xj * xj / (j + 3);
+                }
+                fvec.set(i, sum);
+            }
+            return 0;
+        }
+
+        @Override
+        public int call(int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            return call(n, n, x, fvec, iflag, p);
+        }
+    }
+
+    static IDoublePointer point(int n) {
+        return new DoubleArray(n, j -> j % 3 == 0 ? 0. : 0.3 * j - 1.).createPointer();
+    }
+
+    static IDoublePointer values(Banded fcn, IDoublePointer x) {
+        IDoublePointer fvec = new DoubleArray(fcn.m).createPointer();
+        fcn.call(fcn.m, fcn.n, x, fvec, 1);
+        return fvec;
+    }
+
+    //结构之外的元素必须被置零，先以NaN填充输出数组。
+    static IDoublePointer output(int size) {
+        return new DoubleArray(size, Double.NaN).createPointer();
+    }
+
+    @Test
+    void coloredFdjac2MatchesDenseFdjac2() {
+        Banded fcn = new Banded(12, 10, 2, 0);
+        JacobianSparsity sparsity = JacobianSparsity.ofRows(12, 10, fcn.rows());
+        //第j列的非零行为j..j+2，相距不超过2的列相交，需要3种颜色。
+        assertEquals(3, sparsity.getColorCount());
+        assertEquals(30, sparsity.getNonZeros());
+        IDoublePointer x = point(10);
+        IDoublePointer fvec = values(fcn, x);
+        int ldfjac = 13;
+        IDoublePointer dense = output(ldfjac * 10);
+        IDoublePointer sparse = output(ldfjac * 10);
+        fcn.differenceCalls = 0;
+        assertEquals(0, JavaMinpack.fdjac2(fcn, 12, 10, x, fvec, dense, ldfjac, 0., new DoubleArray(12).createPointer()));
+        assertEquals(10, fcn.differenceCalls);
+        fcn.differenceCalls = 0;
+        assertEquals(0, JavaMinpack.fdjac2(fcn, 12, 10, x, fvec, sparse, ldfjac, sparsity, 0.,
+                new DoubleArray(12).createPointer(), new DoubleArray(10).createPointer()));
+        assertEquals(sparsity.getColorCount(), fcn.differenceCalls);
+        for (int j = 0; j < 10; j++) {
+            for (int i = 0; i < 12; i++) {
+                double expected = sparsity.isNonZero(i, j) ? dense.get(i + j * ldfjac) : 0.;
+                assertEquals(expected, sparse.get(i + j * ldfjac), i + " " + j);
+                assertEquals(sparsity.isNonZero(i, j), i - j >= 0 && i - j <= 2);
+            }
+            //主维数之外的行不被修改。
+            assertTrue(Double.isNaN(sparse.get(12 + j * ldfjac)));
+        }
+        //x恢复为原来的值。
+        IDoublePointer x0 = point(10);
+        for (int j = 0; j < 10; j++) {
+            assertEquals(x0.get(j), x.get(j));
+        }
+    }
+
+    @Test
+    void coloredFdjac1MatchesDenseAndBandedFdjac1() {
+        for (int[] band : new int[][]{{0, 0}, {1, 1}, {2, 1}, {0, 3}}) {
+            int n = 11;
+            int ml = band[0];
+            int mu = band[1];
+            Banded fcn = new Banded(n, n, ml, mu);
+            JacobianSparsity sparsity = JacobianSparsity.ofRows(n, n, fcn.rows());
+            //带状结构的列相距不超过ml + mu时相交，按自然顺序贪心着色得到ml + mu + 1种颜色。
+            assertEquals(ml + mu + 1, sparsity.getColorCount());
+            for (int j = 0; j < n; j++) {
+                assertEquals(j % (ml + mu + 1), sparsity.getColor(j));
+            }
+            IDoublePointer x = point(n);
+            IDoublePointer fvec = values(fcn, x);
+            IDoublePointer dense = output(n * n);
+            IDoublePointer banded = output(n * n);
+            IDoublePointer sparse = output(n * n);
+            JavaMinpack.fdjac1(fcn, n, x, fvec, dense, n, n - 1, n - 1, 0.,
+                    new DoubleArray(n).createPointer(), new DoubleArray(n).createPointer());
+            //带状的fdjac1以iflag = 1调用函数，因此比较全部调用次数。
+            fcn.calls = 0;
+            JavaMinpack.fdjac1(fcn, n, x, fvec, banded, n, ml, mu, 0.,
+                    new DoubleArray(n).createPointer(), new DoubleArray(n).createPointer());
+            assertEquals(ml + mu + 1, fcn.calls);
+            fcn.calls = 0;
+            JavaMinpack.fdjac1(fcn, n, x, fvec, sparse, n, sparsity, 0.,
+                    new DoubleArray(n).createPointer(), new DoubleArray(n).createPointer());
+            assertEquals(sparsity.getColorCount(), fcn.calls);
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < n; i++) {
+                    int k = i + j * n;
+                    if (sparsity.isNonZero(i, j)) {
+                        assertEquals(dense.get(k), sparse.get(k), ml + " " + mu + ": " + i + " " + j);
+                        assertEquals(banded.get(k), sparse.get(k));
+                    } else {
+                        assertEquals(0., sparse.get(k));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void diagonalDenseAndProbedPatterns() {
+        int[][] diagonal = new int[6][];
+        for (int i = 0; i < 6; i++) {
+            diagonal[i] = new int[]{i, i};
+        }
+        JacobianSparsity d = JacobianSparsity.ofRows(6, 6, diagonal);
+        assertEquals(1, d.getColorCount());
+        assertEquals(6, d.getNonZeros());
+        JacobianSparsity full = JacobianSparsity.dense(4, 3);
+        assertEquals(3, full.getColorCount());
+        assertEquals(12, full.getNonZeros());
+        //探测得到的结构与给出的结构相同，并且ofColumns与ofRows等价。
+        Banded fcn = new Banded(9, 7, 1, 2);
+        JacobianSparsity given = JacobianSparsity.ofRows(9, 7, fcn.rows());
+        JacobianSparsity probed = JacobianSparsity.probe(
+                (JavaMinpack.IMNNonlinearLeastSquares) fcn, 9, 7, point(7));
+        int[][] columns = new int[7][];
+        for (int j = 0; j < 7; j++) {
+            columns[j] = new int[9];
+            int count = 0;
+            for (int i = 0; i < 9; i++) {
+                if (given.isNonZero(i, j)) {
+                    columns[j][count++] = i;
+                }
+            }
+            columns[j] = Arrays.copyOf(columns[j], count);
+        }
+        JacobianSparsity byColumns = JacobianSparsity.ofColumns(9, 7, columns);
+        for (JacobianSparsity s : new JacobianSparsity[]{probed, byColumns}) {
+            assertEquals(given.getNonZeros(), s.getNonZeros());
+            assertEquals(given.getColorCount(), s.getColorCount());
+            for (int i = 0; i < 9; i++) {
+                for (int j = 0; j < 7; j++) {
+                    assertEquals(given.isNonZero(i, j), s.isNonZero(i, j));
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> JacobianSparsity.dense(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> JacobianSparsity.ofRows(2, 2, new int[1][]));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> JacobianSparsity.ofRows(2, 2, new int[][]{{0}, {2}}));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> d.getColor(6));
+        assertThrows(IllegalArgumentException.class, () -> JavaMinpack.fdjac2(fcn, 9, 7, point(7),
+                values(fcn, point(7)), output(63), 9, d, 0., output(9), output(7)));
+    }
+
+    @Test
+    void sparseLmdifMatchesDenseLmdifWithFewerEvaluations() {
+        int m = 14;
+        int n = 12;
+        double[][] x = new double[2][];
+        int[] nfev = new int[2];
+        int[] calls = new int[2];
+        for (int run = 0; run < 2; run++) {
+            Banded fcn = new Banded(m, n, 2, 0);
+            JacobianSparsity sparsity = run == 0 ? null : JacobianSparsity.ofRows(m, n, fcn.rows());
+            IDoublePointer xp = point(n);
+            IIntPointer nfevp = new IntArray(1).createPointer();
+            IDoublePointer fvec = new DoubleArray(m).createPointer();
+            IDoublePointer fjac = new DoubleArray(m * n).createPointer();
+            IIntPointer ipvt = new IntArray(n).createPointer();
+            IDoublePointer qtf = new DoubleArray(n).createPointer();
+            IDoublePointer diag = new DoubleArray(n).createPointer();
+            IDoublePointer wa1 = new DoubleArray(n).createPointer();
+            IDoublePointer wa2 = new DoubleArray(n).createPointer();
+            IDoublePointer wa3 = new DoubleArray(n).createPointer();
+            IDoublePointer wa4 = new DoubleArray(m).createPointer();
+            int info = sparsity == null
+                    ? JavaMinpack.lmdif(fcn, m, n, xp, fvec, 1e-12, 1e-12, 0., 2000, 0., diag, 1, 100., 0,
+                    nfevp, fjac, m, ipvt, qtf, wa1, wa2, wa3, wa4)
+                    : JavaMinpack.lmdif(fcn, m, n, xp, fvec, 1e-12, 1e-12, 0., 2000, 0., diag, 1, 100., 0,
+                    nfevp, fjac, m, ipvt, qtf, wa1, wa2, wa3, wa4, sparsity);
+            assertTrue(info >= 1 && info <= 4, "info = " + info);
+            x[run] = new double[n];
+            for (int j = 0; j < n; j++) {
+                x[run][j] = xp.get(j);
+            }
+            nfev[run] = nfevp.get();
+            calls[run] = fcn.differenceCalls;
+        }
+        assertArrayEquals(x[0], x[1]);
+        //迭代过程相同，只有每次计算雅可比矩阵的调用次数由n次减少为3次，并计入nfev。
+        assertEquals(nfev[0] - calls[0], nfev[1] - calls[1]);
+        assertEquals(0, calls[0] % n);
+        assertEquals(calls[0] / n * 3, calls[1]);
+    }
+}
@@ -0,0 +1,520 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.SparseDoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaMinpackTest {
+
+    //MINPACK文档中各示例程序使用的误差容限。
+    static final double TOL = Math.sqrt(JavaMinpack.DPMPAR1);
+
+    //Bard问题的数据，m = 15，n = 3，初始值为(1, 1, 1)。
+    static final double[] Y = {1.4e-1, 1.8e-1, 2.2e-1, 2.5e-1, 2.9e-1, 3.2e-1, 3.5e-1,
+            3.9e-1, 3.7e-1, 5.8e-1, 7.3e-1, 9.6e-1, 1.34, 2.1, 4.39};
+
+    //以Gauss-Newton迭代独立求得的Bard问题的解、残差的范数，
+    //以及在该解处的协方差矩阵inv(J^T J) * fnorm^2 / (m - n)。
+    static final double[] BARD_X = {0.08241055974978899, 1.1330360920297227, 2.343695178642536};
+    static final double BARD_FNORM = 0.09063596033903425;
+    static final double[] BARD_COVARIANCE = {
+            1.5311991016e-04, 2.8698292484e-03, -2.6565496805e-03,
+            2.8698292484e-03, 9.4802378950e-02, -9.0983122505e-02,
+            -2.6565496805e-03, -9.0983122505e-02, 8.7780595113e-02};
+
+    //以牛顿法独立求得的9元三对角方程组的解，初始值均为-1。
+    static final double[] TRIDIAGONAL_X = {-5.7065451246e-01, -6.8162834129e-01, -7.0173245136e-01,
+            -7.0421293969e-01, -7.0136904828e-01, -6.9186564447e-01, -6.6579201255e-01,
+            -5.9603420056e-01, -4.1641206282e-01};
+
+    //MINPACK的hybrd和hybrj示例程序输出的最终残差的范数。
+    static final double TRIDIAGONAL_FNORM = 1.192636e-08;
+
+    //Bard问题，记录以iflag = 1和iflag = 2调用的次数。
+    static class Bard implements JavaMinpack.IMNNonlinearLeastSquares,
+            JavaMinpack.IMNNonlinearLeastSquaresJacobi, JavaMinpack.IMNNonlinearLeastSquaresConserving {
+
+        int nfev;
+        int njev;
+
+        @Override
+        public int getM() {
+            return 15;
+        }
+
+        @Override
+        public int getN() {
+            return 3;
+        }
+
+        @Override
+        public int call(int m, int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            if (iflag != 0) {
+                nfev++;
+                residuals(x, fvec);
+            }
+            return 0;
+        }
+
+        @Override
+        public int call(int m, int n, IDoublePointer x, IDoublePointer fvec,
+                        IDoublePointer fjac, int ldfjac, int iflag, IPointer... p) {
+            if (iflag == 1) {
+                nfev++;
+                residuals(x, fvec);
+            } else if (iflag == 2) {
+                njev++;
+                for (int i = 0; i < 15; i++) {
+                    double tmp1 = i + 1;
+                    double tmp2 = 15 - i;
+                    double tmp3 = i > 7 ? tmp2 : tmp1;
+                    double tmp4 = x.get(1) * tmp2 + x.get(2) * tmp3;
+                    tmp4 *= tmp4;
+                    fjac.set(i, -1.);
+                    fjac.set(i + ldfjac, tmp1 * tmp2 / tmp4);
+                    fjac.set(i + 2 * ldfjac, tmp1 * tmp3 / tmp4);
+                }
+            }
+            return 0;
+        }
+
+        //lmstr逐行计算雅可比矩阵，iflag = i + 2时计算第i行。
+        @Override
+        public int call(int m, int n, IDoublePointer x, IDoublePointer fvec,
+                        IDoublePointer fjrow, int iflag, IPointer... p) {
+            if (iflag == 1) {
+                nfev++;
+                residuals(x, fvec);
+            } else if (iflag >= 2) {
+                int i = iflag - 2;
+                if (i == 0) {
+                    njev++;
+                }
+                double tmp1 = i + 1;
+                double tmp2 = 15 - i;
+                double tmp3 = i > 7 ? tmp2 : tmp1;
+                double tmp4 = x.get(1) * tmp2 + x.get(2) * tmp3;
+                tmp4 *= tmp4;
+                fjrow.set(0, -1.);
+                fjrow.set(1, tmp1 * tmp2 / tmp4);
+                fjrow.set(2, tmp1 * tmp3 / tmp4);
+            }
+            return 0;
+        }
+
+        static void residuals(IDoublePointer x, IDoublePointer fvec) {
+            for (int i = 0; i < 15; i++) {
+                double tmp1 = i + 1;
+                double tmp2 = 15 - i;
+                double tmp3 = i > 7 ? tmp2 : tmp1;
+                fvec.set(i, Y[i] - (x.get(0) + tmp1 / (x.get(1) * tmp2 + x.get(2) * tmp3)));
+            }
+        }
+    }
+
+    //三对角方程组(3 - 2x[k])x[k] - x[k-1] - 2x[k+1] + 1 = 0，k = 0, ..., 8。
+    static class Tridiagonal implements JavaMinpack.INNonlinearEquations,
+            JavaMinpack.INNonlinearEquationsJacobi {
+
+        int nfev;
+        int njev;
+
+        @Override
+        public int getM() {
+            return 9;
+        }
+
+        @Override
+        public int getN() {
+            return 9;
+        }
+
+        @Override
+        public int call(int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            if (iflag != 0) {
+                nfev++;
+                for (int k = 0; k < n; k++) {
+                    double temp = (3. - 2. * x.get(k)) * x.get(k);
+                    double temp1 = k > 0 ? x.get(k - 1) : 0.;
+                    double temp2 = k < n - 1 ? x.get(k + 1) : 0.;
+                    fvec.set(k, temp - temp1 - 2. * temp2 + 1.);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int call(int n, IDoublePointer x, IDoublePointer fvec,
+                        IDoublePointer fjac, int ldfjac, int iflag, IPointer... p) {
+            if (iflag == 1) {
+                return call(n, x, fvec, iflag, p);
+            }
+            if (iflag == 2) {
+                njev++;
+                for (int k = 0; k < n; k++) {
+                    for (int j = 0; j < n; j++) {
+                        fjac.set(k + ldfjac * j, 0.);
+                    }
+                    fjac.set(k + ldfjac * k, 3. - 4. * x.get(k));
+                    if (k > 0) {
+                        fjac.set(k + ldfjac * (k - 1), -1.);
+                    }
+                    if (k < n - 1) {
+                        fjac.set(k + ldfjac * (k + 1), -2.);
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    //无状态的m = 20，n = 12的最小二乘问题，可以被多个线程同时调用。
+    static class Trigonometric implements JavaMinpack.IMNNonlinearLeastSquares {
+
+        @Override
+        public int getM() {
+            return 20;
+        }
+
+        @Override
+        public int getN() {
+            return 12;
+        }
+
+        @Override
+        public int call(int m, int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            for (int i = 0; i < m; i++) {
+                double sum = 0.;
+                for (int j = 0; j < n; j++) {
+                    sum += Math.sin((i + 1) * x.get(j)) / (j + 1) + x.get(j) * x.get(j) * (i % 3);
+                }
+                fvec.set(i, sum - (i + 1) * 0.1);
+            }
+            return 0;
+        }
+    }
+
+    static void assertRelative(double[] expected, IDoublePointer actual, double tolerance) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual.get(i), tolerance * Math.abs(expected[i]), "index " + i);
+        }
+    }
+
+    @Test
+    void lmder1Bard() {
+        Bard fcn = new Bard();
+        IDoublePointer x = DoubleArray.of(1., 1., 1.).createPointer();
+        IDoublePointer fvec = new DoubleArray(15).createPointer();
+        int info = JavaMinpack.lmder1(fcn, 15, 3, x, fvec, new DoubleArray(45).createPointer(), 15, TOL,
+                new IntArray(3).createPointer(), new DoubleArray(30).createPointer(), 30);
+        assertEquals(1, info);
+        //与MINPACK示例程序输出的计数相同。
+        assertEquals(6, fcn.nfev);
+        assertEquals(5, fcn.njev);
+        assertRelative(BARD_X, x, 1e-6);
+        assertEquals(BARD_FNORM, JavaMinpack.enorm(15, fvec), 1e-12);
+    }
+
+    @Test
+    void lmstr1Bard() {
+        //MINPACK测试程序中Bard问题在初始值放大1、10和100倍时的计数，lmstr与lmder相同。
+        //若lmpar更新的Levenberg-Marquardt参数未被保留，放大10和100倍时的计数为48和35。
+        int[][] counts = {{1, 6, 5}, {10, 37, 36}, {100, 14, 13}};
+        for (int[] count : counts) {
+            double start = count[0];
+            Bard fcn = new Bard();
+            IDoublePointer x = DoubleArray.of(start, start, start).createPointer();
+            IDoublePointer fvec = new DoubleArray(15).createPointer();
+            int info = JavaMinpack.lmstr1(fcn, 15, 3, x, fvec, new DoubleArray(9).createPointer(), 3, TOL,
+                    new IntArray(3).createPointer(), new DoubleArray(30).createPointer(), 30);
+            assertEquals(1, info);
+            assertEquals(count[1], fcn.nfev, "start " + start);
+            assertEquals(count[2], fcn.njev, "start " + start);
+            IDoublePointer y = DoubleArray.of(start, start, start).createPointer();
+            JavaMinpack.lmder1(new Bard(), 15, 3, y, new DoubleArray(15).createPointer(),
+                    new DoubleArray(45).createPointer(), 15, TOL,
+                    new IntArray(3).createPointer(), new DoubleArray(30).createPointer(), 30);
+            assertRelative(new double[]{y.get(0), y.get(1), y.get(2)}, x, 1e-9);
+            if (start == 1.) {
+                assertRelative(BARD_X, x, 1e-6);
+                assertEquals(BARD_FNORM, JavaMinpack.enorm(15, fvec), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void r1updtReportsSingularUpdate() {
+        //S = I按列压缩保存为(1, 0, 1)，S + u v^T = diag(1 + u[0], 1)，hybrd从sing读取该标志。
+        for (double u0 : new double[]{-1., 1.}) {
+            IDoublePointer s = DoubleArray.of(1., 0., 1.).createPointer();
+            IDoublePointer v = DoubleArray.of(1., 0.).createPointer();
+            IIntPointer sing = IntArray.of(u0 < 0. ? 0 : 1).createPointer();
+            JavaMinpack.r1updt(2, 2, s, 3, DoubleArray.of(u0, 0.).createConstPointer(), v,
+                    new DoubleArray(2).createPointer(), sing);
+            assertEquals(1. + u0, s.get(0));
+            assertEquals(u0 < 0. ? 1 : 0, sing.get());
+        }
+    }
+
+    @Test
+    void lmdif1Bard() {
+        Bard fcn = new Bard();
+        IDoublePointer x = DoubleArray.of(1., 1., 1.).createPointer();
+        IDoublePointer fvec = new DoubleArray(15).createPointer();
+        int info = JavaMinpack.lmdif1(fcn, 15, 3, x, fvec, TOL,
+                new IntArray(3).createPointer(), new DoubleArray(75).createPointer(), 75);
+        assertEquals(1, info);
+        assertEquals(21, fcn.nfev);
+        assertRelative(BARD_X, x, 1e-6);
+        assertEquals(BARD_FNORM, JavaMinpack.enorm(15, fvec), 1e-12);
+    }
+
+    @Test
+    void hybrd1Tridiagonal() {
+        Tridiagonal fcn = new Tridiagonal();
+        IDoublePointer x = new DoubleArray(9, -1.).createPointer();
+        IDoublePointer fvec = new DoubleArray(9).createPointer();
+        int info = JavaMinpack.hybrd1(fcn, 9, x, fvec, TOL, new DoubleArray(180).createPointer(), 180);
+        assertEquals(1, info);
+        assertRelative(TRIDIAGONAL_X, x, 1e-7);
+        assertEquals(TRIDIAGONAL_FNORM, JavaMinpack.enorm(9, fvec), 1e-14);
+    }
+
+    @Test
+    void hybrdBandedTridiagonal() {
+        //MINPACK中hybrd的示例：ml = mu = 1，mode = 2，缩放因子均为1。
+        Tridiagonal fcn = new Tridiagonal();
+        IDoublePointer x = new DoubleArray(9, -1.).createPointer();
+        IDoublePointer fvec = new DoubleArray(9).createPointer();
+        PowellHybridWorkspace workspace = new PowellHybridWorkspace(9);
+        IDoublePointer diag = workspace.getDiag();
+        for (int j = 0; j < 9; j++) {
+            diag.set(j, 1.);
+        }
+        int info = workspace.hybrd(fcn, x, fvec, TOL, 2000, 1, 1, 0., 2, 100., 0);
+        assertEquals(1, info);
+        assertEquals(14, workspace.getNfev());
+        assertEquals(14, fcn.nfev);
+        assertRelative(TRIDIAGONAL_X, x, 1e-7);
+        assertEquals(TRIDIAGONAL_FNORM, JavaMinpack.enorm(9, fvec), 1e-14);
+    }
+
+    @Test
+    void hybrj1Tridiagonal() {
+        Tridiagonal fcn = new Tridiagonal();
+        IDoublePointer x = new DoubleArray(9, -1.).createPointer();
+        IDoublePointer fvec = new DoubleArray(9).createPointer();
+        int info = JavaMinpack.hybrj1(fcn, 9, x, fvec, new DoubleArray(81).createPointer(), 9, TOL,
+                new DoubleArray(99).createPointer(), 99);
+        assertEquals(1, info);
+        assertEquals(11, fcn.nfev);
+        assertEquals(1, fcn.njev);
+        assertRelative(TRIDIAGONAL_X, x, 1e-7);
+        assertEquals(TRIDIAGONAL_FNORM, JavaMinpack.enorm(9, fvec), 1e-14);
+    }
+
+    @Test
+    void covarBard() {
+        Bard fcn = new Bard();
+        IDoublePointer x = DoubleArray.of(BARD_X).createPointer();
+        IDoublePointer fvec = new DoubleArray(15).createPointer();
+        IDoublePointer fjac = new DoubleArray(45).createPointer();
+        fcn.call(15, 3, x, fvec, fjac, 15, 1);
+        fcn.call(15, 3, x, fvec, fjac, 15, 2);
+        //将在解处的雅可比矩阵做带列主元的qr分解，r的对角元素由rdiag放回fjac。
+        IIntPointer ipvt = new IntArray(3).createPointer();
+        IDoublePointer rdiag = new DoubleArray(3).createPointer();
+        JavaMinpack.qrfac(15, 3, fjac, 15, JavaMinpack.TRUE, ipvt, 3, rdiag,
+                new DoubleArray(3).createPointer(), new DoubleArray(3).createPointer());
+        for (int j = 0; j < 3; j++) {
+            fjac.set(j + 15 * j, rdiag.get(j));
+        }
+        JavaMinpack.covar(3, fjac, 15, ipvt, 1e-14, new DoubleArray(3).createPointer());
+        double fnorm = JavaMinpack.enorm(15, fvec);
+        assertEquals(BARD_FNORM, fnorm, 1e-15);
+        double scale = fnorm * fnorm / 12;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double expected = BARD_COVARIANCE[i * 3 + j];
+                assertEquals(expected, fjac.get(i + 15 * j) * scale, 1e-8 * Math.abs(expected));
+            }
+        }
+    }
+
+    @Test
+    void enormOfSparseMatchesDense() {
+        //元素跨越上溢与下溢的分段界限，约三分之一为0。
+        double[] scales = {1e-300, 1e-160, 1e-20, 1., 1e20, 1e160, 1e300};
+        Random random = new Random(29);
+        for (int t = 0; t < 500; t++) {
+            int n = 1 + random.nextInt(40);
+            DoubleArray dense = new DoubleArray(n);
+            IDoublePointer d = dense.createPointer();
+            for (int i = 0; i < n; i++) {
+                if (random.nextInt(3) > 0) {
+                    d.set(i, (random.nextDouble() - 0.5) * scales[random.nextInt(scales.length)]);
+                }
+            }
+            SparseDoubleArray sparse = SparseDoubleArray.of(dense.createConstPointer(), n);
+            assertEquals(JavaMinpack.enorm(n, dense.createConstPointer()), JavaMinpack.enorm(sparse));
+        }
+        assertEquals(0., JavaMinpack.enorm(new SparseDoubleArray(5)));
+        assertEquals(5., JavaMinpack.enorm(SparseDoubleArray.of(DoubleArray.of(0, 3, 0, -4).createConstPointer(), 4)));
+    }
+
+    //以高斯-约当消元求对称正定矩阵的逆，a按行存储。
+    static double[] invert(double[] a, int n) {
+        double[] w = a.clone();
+        double[] inv = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            inv[i * n + i] = 1.;
+        }
+        for (int k = 0; k < n; k++) {
+            double pivot = w[k * n + k];
+            for (int j = 0; j < n; j++) {
+                w[k * n + j] /= pivot;
+                inv[k * n + j] /= pivot;
+            }
+            for (int i = 0; i < n; i++) {
+                if (i != k) {
+                    double f = w[i * n + k];
+                    for (int j = 0; j < n; j++) {
+                        w[i * n + j] -= f * w[k * n + j];
+                        inv[i * n + j] -= f * inv[k * n + j];
+                    }
+                }
+            }
+        }
+        return inv;
+    }
+
+    @Test
+    void covarWithPivotedFactorization() {
+        //各列的范数相差很大，qrfac的列主元选取将列的顺序打乱。
+        int m = 6;
+        int n = 4;
+        double[] scale = {1., 30., 0.1, 5.};
+        DoubleArray a = new DoubleArray(m * n, k -> scale[k / m] * (1.5 + Math.sin((k % m + 1) * (k / m + 2))));
+        double[] ata = new double[n * n];
+        IDoublePointer ap = a.createPointer();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < m; k++) {
+                    ata[i * n + j] += ap.get(k + m * i) * ap.get(k + m * j);
+                }
+            }
+        }
+        double[] expected = invert(ata, n);
+
+        IDoublePointer r = a.copy().createPointer();
+        IIntPointer ipvt = new IntArray(n).createPointer();
+        IDoublePointer rdiag = new DoubleArray(n).createPointer();
+        JavaMinpack.qrfac(m, n, r, m, JavaMinpack.TRUE, ipvt, n, rdiag,
+                new DoubleArray(n).createPointer(), new DoubleArray(n).createPointer());
+        for (int j = 0; j < n; j++) {
+            r.set(j + m * j, rdiag.get(j));
+        }
+        //主元置换不是恒等置换，也不是其自身的逆。
+        assertEquals(IntArray.of(2, 4, 1, 3), new IntArray(n, ipvt::get));
+        JavaMinpack.covar(n, r, m, ipvt, 1e-14, new DoubleArray(n).createPointer());
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double e = expected[i * n + j];
+                assertEquals(e, r.get(i + m * j), 1e-9 * Math.abs(e), "(" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    @Test
+    void parallelFdjac2MatchesSerial() {
+        Trigonometric fcn = new Trigonometric();
+        IDoublePointer x = new DoubleArray(12, i -> 0.3 + 0.1 * i).createPointer();
+        IDoublePointer fvec = new DoubleArray(20).createPointer();
+        fcn.call(20, 12, x, fvec, 1);
+        DoubleArray serial = new DoubleArray(240);
+        assertEquals(0, JavaMinpack.fdjac2(fcn, 20, 12, x, fvec, serial.createPointer(), 20, 0.,
+                new DoubleArray(20).createPointer()));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int parallelism : new int[]{2, 3, 4, 12, 64}) {
+                DoubleArray parallel = new DoubleArray(240);
+                assertEquals(0, JavaMinpack.fdjac2(fcn, 20, 12, x, fvec, parallel.createPointer(), 20, 0.,
+                        new DoubleArray(20).createPointer(), executor, parallelism));
+                //逐位相同，且没有改变x。
+                assertEquals(serial, parallel);
+                for (int j = 0; j < 12; j++) {
+                    assertEquals(0.3 + 0.1 * j, x.get(j));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelLmdif1MatchesSerial() {
+        Trigonometric fcn = new Trigonometric();
+        DoubleArray serial = new DoubleArray(12, i -> 0.3 + 0.1 * i);
+        int lwa = 20 * 12 + 5 * 12 + 20;
+        int expected = JavaMinpack.lmdif1(fcn, 20, 12, serial.createPointer(), new DoubleArray(20).createPointer(),
+                TOL, new IntArray(12).createPointer(), new DoubleArray(lwa).createPointer(), lwa);
+        assertTrue(expected >= 1 && expected <= 4, "info = " + expected);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DoubleArray parallel = new DoubleArray(12, i -> 0.3 + 0.1 * i);
+            int info = JavaMinpack.lmdif1(fcn, 20, 12, parallel.createPointer(), new DoubleArray(20).createPointer(),
+                    TOL, new IntArray(12).createPointer(), new DoubleArray(lwa).createPointer(), lwa,
+                    executor, 4);
+            assertEquals(expected, info);
+            assertEquals(serial, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
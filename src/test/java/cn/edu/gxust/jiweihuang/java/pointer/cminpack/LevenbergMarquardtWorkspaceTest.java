@@ -0,0 +1,143 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LevenbergMarquardtWorkspaceTest {
+
+    //Bard问题的两个初始值。
+    static final double[][] STARTS = {{1., 1., 1.}, {0.5, 3., 1.}};
+
+    @Test
+    void reusedWorkspaceMatchesLmder1() {
+        LevenbergMarquardtWorkspace workspace = new LevenbergMarquardtWorkspace(15, 3);
+        for (double[] start : STARTS) {
+            JavaMinpackTest.Bard expectedFcn = new JavaMinpackTest.Bard();
+            DoubleArray expectedX = DoubleArray.of(start);
+            DoubleArray expectedFvec = new DoubleArray(15);
+            DoubleArray expectedFjac = new DoubleArray(45);
+            IntArray expectedIpvt = new IntArray(3);
+            int expectedInfo = JavaMinpack.lmder1(expectedFcn, 15, 3, expectedX.createPointer(),
+                    expectedFvec.createPointer(), expectedFjac.createPointer(), 15, JavaMinpackTest.TOL,
+                    expectedIpvt.createPointer(), new DoubleArray(30).createPointer(), 30);
+
+            JavaMinpackTest.Bard fcn = new JavaMinpackTest.Bard();
+            DoubleArray x = DoubleArray.of(start);
+            DoubleArray fvec = new DoubleArray(15);
+            int info = workspace.lmder1(fcn, x.createPointer(), fvec.createPointer(), JavaMinpackTest.TOL);
+
+            //第二次求解不受第一次求解残留在工作数组中的值影响，结果逐位相同。
+            assertEquals(expectedInfo, info);
+            assertEquals(expectedX, x);
+            assertEquals(expectedFvec, fvec);
+            assertEquals(expectedFjac, new DoubleArray(45, workspace.getFjac()::get));
+            assertEquals(expectedIpvt, new IntArray(3, workspace.getIpvt()::get));
+            assertEquals(expectedFcn.nfev, workspace.getNfev());
+            assertEquals(expectedFcn.njev, workspace.getNjev());
+            assertEquals(expectedFcn.nfev, fcn.nfev);
+            assertEquals(expectedFcn.njev, fcn.njev);
+        }
+    }
+
+    @Test
+    void sizesAreChecked() {
+        assertThrows(IllegalArgumentException.class, () -> new LevenbergMarquardtWorkspace(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LevenbergMarquardtWorkspace(2, 3));
+        LevenbergMarquardtWorkspace workspace = new LevenbergMarquardtWorkspace(15, 3);
+        assertEquals(15, workspace.getM());
+        assertEquals(3, workspace.getN());
+        JavaMinpackTest.Bard fcn = new JavaMinpackTest.Bard();
+        //函数的规模与工作区不同。
+        LevenbergMarquardtWorkspace other = new LevenbergMarquardtWorkspace(16, 3);
+        assertThrows(IllegalArgumentException.class, () -> other.lmder1(fcn,
+                new DoubleArray(3, 1.).createPointer(), new DoubleArray(16).createPointer(), JavaMinpackTest.TOL));
+        //x或fvec的长度不足，包括指针移动后剩余的长度不足。
+        assertThrows(IllegalArgumentException.class, () -> workspace.lmder1(fcn,
+                new DoubleArray(2, 1.).createPointer(), new DoubleArray(15).createPointer(), JavaMinpackTest.TOL));
+        assertThrows(IllegalArgumentException.class, () -> workspace.lmder1(fcn,
+                new DoubleArray(3, 1.).createPointer(), new DoubleArray(14).createPointer(), JavaMinpackTest.TOL));
+        IDoublePointer x = new DoubleArray(4, 1.).createPointer();
+        x.move(2);
+        assertThrows(IllegalArgumentException.class, () -> workspace.lmder1(fcn,
+                x, new DoubleArray(15).createPointer(), JavaMinpackTest.TOL));
+        assertEquals(0, fcn.nfev);
+        assertEquals(0, workspace.lmder1(fcn, x, new DoubleArray(15).createPointer(), -1.));
+    }
+
+    @Test
+    void reusedWorkspaceDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LevenbergMarquardtWorkspace workspace = new LevenbergMarquardtWorkspace(15, 3);
+        JavaMinpackTest.Bard fcn = new JavaMinpackTest.Bard();
+        IDoublePointer x = new DoubleArray(3).createPointer();
+        IDoublePointer fvec = new DoubleArray(15).createPointer();
+        IIntPointer infos = new IntArray(1).createPointer();
+        Runnable solve = () -> {
+            x.set(0, 1.);
+            x.set(1, 1.);
+            x.set(2, 1.);
+            infos.set(0, infos.get(0) | workspace.lmder1(fcn, x, fvec, JavaMinpackTest.TOL));
+        };
+        //预热，使即时编译器完成编译、分配区的池达到稳定状态。
+        for (int k = 0; k < 20_000; k++) {
+            solve.run();
+        }
+        int solves = 1_000;
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int k = 0; k < solves; k++) {
+            solve.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        assertEquals(1, infos.get(0));
+        //允许测量本身和偶发的即时编译产生少量分配，但远小于每次求解新建工作数组所需的内存。
+        assertTrue(allocated < 64L * solves, "allocated " + allocated + " bytes in " + solves + " solves");
+    }
+}
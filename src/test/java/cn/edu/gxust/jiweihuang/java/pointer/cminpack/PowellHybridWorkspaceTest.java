@@ -0,0 +1,128 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.cminpack;
+
+import cn.edu.gxust.jiweihuang.java.pointer.IPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowellHybridWorkspaceTest {
+
+    //x[i] * x[i] = c[i]，解为x[i] = sqrt(c[i])。
+    static class Squares implements JavaMinpack.INNonlinearEquations {
+
+        final double[] c;
+
+        Squares(double... c) {
+            this.c = c;
+        }
+
+        @Override
+        public int getN() {
+            return c.length;
+        }
+
+        @Override
+        public int call(int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+            for (int i = 0; i < n; i++) {
+                fvec.set(i, x.get(i) * x.get(i) - c[i]);
+            }
+            return 0;
+        }
+    }
+
+    static double[] solve(PowellHybridWorkspace workspace, JavaMinpack.INNonlinearEquations fcn) {
+        int n = fcn.getN();
+        DoubleArray x = new DoubleArray(n, 1.);
+        IDoublePointer xp = x.createPointer();
+        assertEquals(1, workspace.hybrd1(fcn, xp, new DoubleArray(n).createPointer(), 1e-12));
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = xp.get(i);
+        }
+        return result;
+    }
+
+    @Test
+    void cachedPerSize() {
+        PowellHybridWorkspace two = PowellHybridWorkspace.of(2);
+        assertSame(two, PowellHybridWorkspace.of(2));
+        assertNotSame(two, PowellHybridWorkspace.of(3));
+        assertEquals(3, PowellHybridWorkspace.of(3).getN());
+        for (int n = 4; n < 4 + PowellHybridWorkspace.MAX_CACHED_SIZES; n++) {
+            PowellHybridWorkspace.of(n);
+        }
+        //最久未使用的规模已被淘汰。
+        assertNotSame(two, PowellHybridWorkspace.of(2));
+        assertThrows(IllegalArgumentException.class, () -> PowellHybridWorkspace.of(0));
+    }
+
+    @Test
+    void nestedSolveOfSameSizeGetsItsOwnWorkspace() {
+        Squares inner = new Squares(3., 5.);
+        double[] expected = solve(new PowellHybridWorkspace(2), new Squares(2., 7.));
+        double[][] nested = new double[1][];
+        Squares outer = new Squares(2., 7.) {
+            @Override
+            public int call(int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+                nested[0] = solve(PowellHybridWorkspace.of(2), inner);
+                return super.call(n, x, fvec, iflag, p);
+            }
+        };
+        double[] actual = solve(PowellHybridWorkspace.of(2), outer);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(solve(new PowellHybridWorkspace(2), inner), nested[0]);
+    }
+
+    @Test
+    void reenteringTheSameWorkspaceThrows() {
+        PowellHybridWorkspace workspace = new PowellHybridWorkspace(2);
+        Squares outer = new Squares(2., 7.) {
+            @Override
+            public int call(int n, IDoublePointer x, IDoublePointer fvec, int iflag, IPointer... p) {
+                solve(workspace, new Squares(3., 5.));
+                return super.call(n, x, fvec, iflag, p);
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> solve(workspace, outer));
+        //异常结束后工作区可以继续使用。
+        assertEquals(Math.sqrt(2.), solve(workspace, new Squares(2., 2.))[0], 1e-12);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.concurrent;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendBufferTest {
+
+    static final int THREADS = 4;
+
+    static final int COUNT = 50_000;
+
+    //在多个线程中运行任务，等待全部结束，并重新抛出其中的失败。
+    static void run(Runnable... tasks) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            threads[i] = new Thread(tasks[i]);
+            threads[i].setUncaughtExceptionHandler((t, e) -> failure.compareAndSet(null, e));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(60_000);
+            assertFalse(thread.isAlive(), "Timed out: " + thread.getName());
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test
+    void concurrentAppendsLandAtTheirPositions() throws InterruptedException {
+        //块的长度为1，使追加跨越所有的块边界。
+        LongAppendBuffer buffer = new LongAppendBuffer(1);
+        //每个线程记录它得到的位置，值的高位为线程的编号，低位为该线程内的序号。
+        int[][] positions = new int[THREADS][COUNT];
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = () -> {
+                ILongPointer batch = new LongArray(5).createPointer();
+                int i = 0;
+                while (i < COUNT) {
+                    if (i % 2 == 0 && i + 5 <= COUNT) {
+                        for (int k = 0; k < 5; k++) {
+                            batch.set(k, (long) id << 32 | (i + k));
+                        }
+                        int first = buffer.append(batch, 5);
+                        //一批元素占据连续的位置。
+                        for (int k = 0; k < 5; k++) {
+                            positions[id][i + k] = first + k;
+                        }
+                        i += 5;
+                    } else {
+                        positions[id][i] = buffer.append((long) id << 32 | i);
+                        i++;
+                    }
+                }
+            };
+        }
+        run(tasks);
+        assertEquals(THREADS * COUNT, buffer.size());
+        LongArray sealed = buffer.seal();
+        assertEquals(THREADS * COUNT, sealed.getCapacity());
+        ILongConstPointer p = sealed.createConstPointer(0);
+        boolean[] taken = new boolean[THREADS * COUNT];
+        for (int t = 0; t < THREADS; t++) {
+            int last = -1;
+            for (int i = 0; i < COUNT; i++) {
+                int position = positions[t][i];
+                assertFalse(taken[position]);
+                taken[position] = true;
+                assertEquals((long) t << 32 | i, p.get(position));
+                //同一线程的追加按预留的顺序排列。
+                assertTrue(position > last);
+                last = position;
+            }
+        }
+    }
+
+    @Test
+    void sealRacingAppendersKeepsEverySuccessfulAppend() throws InterruptedException {
+        IntAppendBuffer buffer = new IntAppendBuffer(16);
+        int[] succeeded = new int[THREADS];
+        CountDownLatch started = new CountDownLatch(THREADS);
+        Runnable[] tasks = new Runnable[THREADS + 1];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = () -> {
+                started.countDown();
+                try {
+                    for (int i = 0; ; i++) {
+                        buffer.append(i * THREADS + id);
+                        succeeded[id]++;
+                    }
+                } catch (IllegalStateException expected) {
+                    assertTrue(buffer.isSealed());
+                }
+            };
+        }
+        AtomicReference<IntArray> sealed = new AtomicReference<>();
+        tasks[THREADS] = () -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            sealed.set(buffer.seal());
+        };
+        run(tasks);
+        IIntConstPointer p = sealed.get().createConstPointer();
+        int total = 0;
+        for (int t = 0; t < THREADS; t++) {
+            total += succeeded[t];
+        }
+        //成功的追加都已写入，且只有它们被写入，同一线程的追加按顺序排列。
+        assertEquals(total, sealed.get().getCapacity());
+        assertEquals(total, buffer.size());
+        int[] counts = new int[THREADS];
+        for (int i = 0; i < total; i++) {
+            int value = p.get(i);
+            int id = value % THREADS;
+            assertEquals(counts[id], value / THREADS);
+            counts[id]++;
+        }
+        assertArrayEquals(succeeded, counts);
+        assertThrows(IllegalStateException.class, () -> buffer.append(0));
+        //再次关闭返回相同的内容。
+        assertEquals(sealed.get(), buffer.seal());
+    }
+
+    @Test
+    void emptyAndBatchBoundaries() {
+        DoubleAppendBuffer buffer = new DoubleAppendBuffer(3);
+        assertEquals(0, buffer.append(new DoubleArray(0).createPointer(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleAppendBuffer(0));
+        assertEquals(0, buffer.seal().getCapacity());
+    }
+
+    @Test
+    void failedBatchCopyDoesNotBlockSeal() throws InterruptedException {
+        for (int chunkSize : new int[]{1, 16}) {
+            LongAppendBuffer buffer = new LongAppendBuffer(chunkSize);
+            buffer.append(7L);
+            //源指针只有2个元素，却要追加5个。
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> buffer.append(LongArray.of(1L, 2L).createConstPointer(0), 5));
+            buffer.append(8L);
+            AtomicReference<LongArray> sealed = new AtomicReference<>();
+            run(() -> sealed.set(buffer.seal()));
+            //预留的位置中已复制的元素保留，其余为0。
+            assertEquals(LongArray.of(7L, 1L, 2L, 0L, 0L, 0L, 8L), sealed.get());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.hash;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.ByteArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.VirtualByteArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingHashTest {
+
+    static final String FOX = "The quick brown fox jumps over the lazy dog";
+
+    //XXH64的种子。
+    static final long XX_SEED = 0x9E3779B97F4A7C15L;
+
+    //Murmur3的种子。
+    static final int MURMUR_SEED = 42;
+
+    //参考实现对字节序列{0, 1, 2, ..., 255, 0, 1, ...}的前length个字节计算的哈希值：
+    //{length, XXH64(seed = 0), XXH64(seed = XX_SEED)}。
+    static final long[][] XX_VECTORS = {
+            {0, 0xEF46DB3751D8E999L, 0xC4349FC93C010000L},
+            {1, 0xE934A84ADB052768L, 0x126BB57A12364AA5L},
+            {3, 0xE5C7BB4533BC65DDL, 0x67BC6ED5F6C6E4BAL},
+            {4, 0xFFCED8604453CC1EL, 0xD89842CD31E24E54L},
+            {7, 0x14CC643F630C72D2L, 0xECECF5FAA8A7490EL},
+            {8, 0x884A173614B81B8DL, 0xD18B6D7A5A668732L},
+            {9, 0x67D85784A7C78C5BL, 0x5E47193DADB91D9AL},
+            {15, 0xA948F5F0F6ABAC2DL, 0x7804C1FCFE249577L},
+            {16, 0x44B6EF2FB84169F7L, 0x1A1A343E4550D065L},
+            {17, 0x5603E60C527599B6L, 0xFA8565AE182D775CL},
+            {31, 0xC346D2B59B4D8EE1L, 0xF3DA6D05709C035DL},
+            {32, 0xCBF59C5116FF32B4L, 0xA1C89217E9D50750L},
+            {33, 0x0C535D1ACAFB8EADL, 0xE6A3C00CD6E74075L},
+            {63, 0xE26AA9E2A95F8E4FL, 0x26A0ACD772DE057EL},
+            {64, 0xF7C67301DB6713F0L, 0x2589245E62A1969BL},
+            {100, 0x6AC1E58032166597L, 0x3B97D91EBA03E785L},
+            {257, 0x80381162756D40E6L, 0x457364B5C9EF21F6L}
+    };
+
+    //{length, h1(seed = 0), h2(seed = 0), h1(seed = MURMUR_SEED), h2(seed = MURMUR_SEED)}。
+    static final long[][] MURMUR_VECTORS = {
+            {0, 0x0000000000000000L, 0x0000000000000000L, 0xF02AA77DFA1B8523L, 0xD1016610DA11CBB9L},
+            {1, 0x4610ABE56EFF5CB5L, 0x51622DAA78F83583L, 0x323EFED30B226DC8L, 0x16BDBDF28659C459L},
+            {3, 0xB872A12FEF53E6BEL, 0xFB6255C252B396B6L, 0x55E97282198ACF70L, 0x8AC79AFC40CAE619L},
+            {4, 0xE1C594AE0DDFAF10L, 0xD3D605BD13C2FDE2L, 0xB1E997578432F247L, 0x71C2BDA0028295BCL},
+            {7, 0xBD4C6987CA4B0D68L, 0x613ADDD4BD25C787L, 0xE2B98B65AA2D81DCL, 0xA5EB60B73E701FACL},
+            {8, 0x47A7E1BDD68E2FC8L, 0x60E6EE02EC31DCC7L, 0x5045FC347CE9218EL, 0x9F05810BE6648B7BL},
+            {9, 0xFBB4CB0F6E812D32L, 0x78DE751D0200FFB9L, 0x443643FAE0918397L, 0xED5AC840FDF71DF6L},
+            {15, 0x47231598FD4925E9L, 0xCD846DEE88C67DE9L, 0xCB82F98F96AB8545L, 0x9B8CADA0872083DCL},
+            {16, 0x444924B591903F30L, 0xAB906456762FE845L, 0x52B5FA4F1786DE29L, 0x3C4D5BC560421E40L},
+            {17, 0x5C76F40F9FE7C20EL, 0xC15F026B9EDAA824L, 0x8F08F89D332AA1FBL, 0x592BB498CD19DF6CL},
+            {31, 0x053DD3E1A32CD094L, 0x9EE59AEFB4005490L, 0x5FC4E026C822C888L, 0x343304C5C7AA92EBL},
+            {32, 0xC66D9022B62F500FL, 0x1C050A6E34C31151L, 0x35AC4EE2A375FE11L, 0xF5C12C4CBF068B69L},
+            {33, 0x7D41281BFABA4612L, 0x55AC8073A7D6A30BL, 0xD693141F9E1DF25EL, 0xAF456193EA9735C8L},
+            {63, 0x99A30D4634076094L, 0xEDA4C6A1D4C24367L, 0xC477A1CFDB2267B4L, 0xA1459B1EF89E0156L},
+            {64, 0xFFD5522D8D812301L, 0xA22238EB56338EA1L, 0xF1ADE7EF84A12D05L, 0x5AB6B814E60EAB4DL},
+            {100, 0xB06F9999C14051CAL, 0x0FBD6D93C8340799L, 0xD3D3D48BF69E8069L, 0x4E0E061CAF74D05FL},
+            {257, 0x096D5F99F9897DA6L, 0x4A7D408BE569A1F8L, 0x461A55E23EB6B8E8L, 0x9531D89E58F3454DL}
+    };
+
+    static byte[] sequence(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    //有关联数组的指针，走ByteBuffer的路径。
+    static IByteConstPointer backed(byte[] bytes) {
+        return ByteArray.of(bytes).createConstPointer();
+    }
+
+    //没有关联数组的指针，走逐个元素读取的路径。
+    static IByteConstPointer virtual(byte[] bytes) {
+        return new VirtualByteArray(bytes.length, i -> bytes[i]).createConstPointer();
+    }
+
+    static ByteBuffer wrap(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void xxHash64PublishedVectors() {
+        assertEquals(0xEF46DB3751D8E999L, XXHash64.hash(wrap("")));
+        assertEquals(0xD24EC4F1A98C6E5BL, XXHash64.hash(wrap("a")));
+        assertEquals(0x44BC2CF5AD770999L, XXHash64.hash(wrap("abc")));
+        assertEquals(0x0B242D361FDA71BCL, XXHash64.hash(wrap(FOX)));
+    }
+
+    @Test
+    void xxHash64Vectors() {
+        for (long[] vector : XX_VECTORS) {
+            int length = (int) vector[0];
+            byte[] bytes = sequence(length);
+            assertEquals(vector[1], XXHash64.hash(backed(bytes), 0, length), "length " + length);
+            assertEquals(vector[1], new XXHash64().update(virtual(bytes), 0, length).getValue(), "length " + length);
+            assertEquals(vector[2], new XXHash64(XX_SEED).update(backed(bytes), 0, length).getValue(),
+                    "length " + length);
+            StreamingHash streaming = new XXHash64(XX_SEED);
+            for (byte b : bytes) {
+                streaming.update(b);
+            }
+            assertEquals(vector[2], streaming.getValue(), "length " + length);
+            assertEquals(length, streaming.getLength());
+            assertEquals(vector[2], streaming.reset().update(bytes, 0, length).getValue(), "length " + length);
+        }
+    }
+
+    @Test
+    void murmur3PublishedVectors() {
+        assertArrayEquals(new long[]{0, 0}, Murmur3Hash128.hash(wrap("")));
+        //参考实现输出的16个字节按小端序读为{h1, h2}。
+        assertArrayEquals(new long[]{0xE271865701F54561L, 0x7EAF87E42BBA7D87L}, Murmur3Hash128.hash(wrap("foo")));
+        assertArrayEquals(new long[]{0xE34BBC7BBC071B6CL, 0x7A433CA9C49A9347L}, Murmur3Hash128.hash(wrap(FOX)));
+    }
+
+    @Test
+    void murmur3Vectors() {
+        for (long[] vector : MURMUR_VECTORS) {
+            int length = (int) vector[0];
+            byte[] bytes = sequence(length);
+            long[] expected = {vector[1], vector[2]};
+            long[] seeded = {vector[3], vector[4]};
+            assertArrayEquals(expected, Murmur3Hash128.hash(backed(bytes), 0, length), "length " + length);
+            Murmur3Hash128 hash = new Murmur3Hash128();
+            hash.update(virtual(bytes), 0, length);
+            assertArrayEquals(expected, hash.getValue128(), "length " + length);
+            assertEquals(vector[1], hash.getValue());
+            Murmur3Hash128 streaming = new Murmur3Hash128(MURMUR_SEED);
+            for (byte b : bytes) {
+                streaming.update(b);
+            }
+            assertArrayEquals(seeded, streaming.getValue128(), "length " + length);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.BooleanArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IBooleanPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatherScatterTest {
+
+    //包括位图字边界两侧的长度。
+    static final int[] LENGTHS = {0, 1, 2, 31, 32, 33, 64, 1000};
+
+    static IntArray shuffle(int n, long seed) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = p[i];
+            p[i] = p[j];
+            p[j] = t;
+        }
+        return IntArray.of(p);
+    }
+
+    @Test
+    void permuteMatchesGather() {
+        for (int n : LENGTHS) {
+            IntArray permutation = shuffle(n, n);
+            IIntConstPointer p = permutation.createConstPointer();
+            DoubleArray data = new DoubleArray(n, i -> i * 1.5);
+            GatherScatter.permute(data.createPointer(), p, n);
+            assertEquals(new DoubleArray(n, i -> p.get(i) * 1.5), data, "n = " + n);
+            //置换本身不被修改。
+            assertEquals(shuffle(n, n), permutation);
+            GatherScatter.permuteInverse(data.createPointer(), p, n);
+            assertEquals(new DoubleArray(n, i -> i * 1.5), data, "n = " + n);
+        }
+    }
+
+    @Test
+    void permuteInverseMatchesScatter() {
+        for (int n : LENGTHS) {
+            IIntConstPointer p = shuffle(n, 3L * n).createConstPointer();
+            LongArray data = new LongArray(n, i -> 7L * i);
+            GatherScatter.permuteInverse(data.createPointer(), p, n);
+            LongArray expected = new LongArray(n);
+            ILongPointer e = expected.createPointer();
+            for (int i = 0; i < n; i++) {
+                e.set(p.get(i), 7L * i);
+            }
+            assertEquals(expected, data, "n = " + n);
+        }
+    }
+
+    @Test
+    void permuteBooleans() {
+        //(0 1 2)(3 4)(5)
+        IIntConstPointer p = IntArray.of(1, 2, 0, 4, 3, 5).createConstPointer();
+        BooleanArray data = BooleanArray.of(true, false, false, true, false, true);
+        IBooleanPointer d = data.createPointer();
+        GatherScatter.permute(d, p, 6);
+        assertEquals(BooleanArray.of(false, false, true, false, true, true), data);
+        GatherScatter.permuteInverse(d, p, 6);
+        assertEquals(BooleanArray.of(true, false, false, true, false, true), data);
+    }
+
+    @Test
+    void identityAndSingleCycle() {
+        IIntConstPointer identity = new IntArray(33, i -> i).createConstPointer();
+        DoubleArray data = new DoubleArray(33, i -> i);
+        GatherScatter.permute(data.createPointer(), identity, 33);
+        assertEquals(new DoubleArray(33, i -> i), data);
+        //长度为33的单个循环，跨越位图的字边界。
+        IIntConstPointer cycle = new IntArray(33, i -> (i + 1) % 33).createConstPointer();
+        GatherScatter.permute(data.createPointer(), cycle, 33);
+        assertEquals(new DoubleArray(33, i -> (i + 1) % 33), data);
+        GatherScatter.permuteInverse(data.createPointer(), cycle, 33);
+        assertEquals(new DoubleArray(33, i -> i), data);
+    }
+
+    @Test
+    void invalidPermutationIsRejected() {
+        IDoublePointer d = new DoubleArray(4).createPointer();
+        //重复的值、越界的值和负值。
+        for (IntArray invalid : new IntArray[]{IntArray.of(0, 0, 2, 3), IntArray.of(1, 1, 2, 3),
+                IntArray.of(0, 1, 2, 4), IntArray.of(0, -1, 2, 3), IntArray.of(1, 2, 3, 3)}) {
+            IIntConstPointer p = invalid.createConstPointer();
+            assertThrows(IllegalArgumentException.class, () -> GatherScatter.permute(d, p, 4), invalid.toString());
+            assertThrows(IllegalArgumentException.class, () -> GatherScatter.permuteInverse(d, p, 4), invalid.toString());
+        }
+        //失败后位图被归还并清零，之后的置换不受影响。
+        DoubleArray data = DoubleArray.of(1, 2, 3, 4);
+        GatherScatter.permute(data.createPointer(), IntArray.of(3, 2, 1, 0).createConstPointer(), 4);
+        assertEquals(DoubleArray.of(4, 3, 2, 1), data);
+        assertThrows(IllegalArgumentException.class,
+                () -> GatherScatter.permute(d, IntArray.of(0).createConstPointer(), -1));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixScanTest {
+
+    //不小于并行阈值的长度，其中N + 3使最后一块较短；16走串行路径。
+    static final int N = 1 << 18;
+
+    static final int[] LENGTHS = {0, 1, 16, N, N + 3};
+
+    //不依赖公共池的并行度，在单核机器上也执行并行路径。
+    @BeforeEach
+    void forceParallel() {
+        ForkJoinBlocks.parallelismOverride = 4;
+        assertTrue(ForkJoinBlocks.blockCount(N) > 1);
+    }
+
+    @AfterEach
+    void restoreParallelism() {
+        ForkJoinBlocks.parallelismOverride = 0;
+    }
+
+    @Test
+    void intMatchesSerialWithOverflow() {
+        Random random = new Random(20261019L);
+        for (int length : LENGTHS) {
+            IntArray src = new IntArray(length, i -> random.nextInt());
+            IIntPointer s = src.createPointer();
+            int[] inclusive = new int[length];
+            int[] exclusive = new int[length];
+            int sum = 0;
+            for (int i = 0; i < length; i++) {
+                exclusive[i] = sum;
+                sum += s.get(i);
+                inclusive[i] = sum;
+            }
+            IIntPointer dst = new IntArray(length).createPointer();
+            assertEquals(sum, PrefixScan.inclusiveScan(s, dst, length));
+            for (int i = 0; i < length; i++) {
+                assertEquals(inclusive[i], dst.get(i));
+            }
+            assertEquals(sum, PrefixScan.exclusiveScan(s, dst, length));
+            for (int i = 0; i < length; i++) {
+                assertEquals(exclusive[i], dst.get(i));
+            }
+            //就地计算。
+            assertEquals(sum, PrefixScan.inclusiveScan(s, length));
+            for (int i = 0; i < length; i++) {
+                assertEquals(inclusive[i], s.get(i));
+            }
+        }
+    }
+
+    @Test
+    void longMatchesSerialWithOverflow() {
+        Random random = new Random(20261019L);
+        for (int length : LENGTHS) {
+            LongArray src = new LongArray(length, i -> random.nextLong());
+            ILongPointer s = src.createPointer();
+            long[] exclusive = new long[length];
+            long sum = 0;
+            for (int i = 0; i < length; i++) {
+                exclusive[i] = sum;
+                sum += s.get(i);
+            }
+            assertEquals(sum, PrefixScan.exclusiveScan(s, length));
+            for (int i = 0; i < length; i++) {
+                assertEquals(exclusive[i], s.get(i));
+            }
+        }
+    }
+
+    @Test
+    void doubleMatchesSerial() {
+        Random random = new Random(20261019L);
+        for (int length : LENGTHS) {
+            //整数值的和没有舍入误差，并行结果应与串行结果逐位相同。
+            DoubleArray exact = new DoubleArray(length, i -> random.nextInt(1000) - 500);
+            IDoublePointer e = exact.createPointer();
+            double[] inclusive = new double[length];
+            double sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += e.get(i);
+                inclusive[i] = sum;
+            }
+            IDoublePointer dst = new DoubleArray(length).createPointer();
+            assertEquals(sum, PrefixScan.inclusiveScan(e, dst, length));
+            for (int i = 0; i < length; i++) {
+                assertEquals(inclusive[i], dst.get(i));
+            }
+            //一般的浮点数只在舍入误差范围内相同。
+            DoubleArray values = new DoubleArray(length, i -> random.nextDouble());
+            IDoublePointer v = values.createPointer();
+            double[] exclusive = new double[length];
+            sum = 0;
+            for (int i = 0; i < length; i++) {
+                exclusive[i] = sum;
+                sum += v.get(i);
+            }
+            assertEquals(sum, PrefixScan.exclusiveScan(v, dst, length), 1e-12 * length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(exclusive[i], dst.get(i), 1e-12 * length);
+            }
+        }
+    }
+}
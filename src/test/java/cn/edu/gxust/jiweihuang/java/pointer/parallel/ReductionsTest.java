@@ -0,0 +1,190 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.parallel;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoubleConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntConstPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongConstPointer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReductionsTest {
+
+    //长度不小于并行阈值，在forceParallel()强制的并行度下划分为多个块。
+    static final int N = 1 << 18;
+
+    //串行扫描的参考实现。
+    static int serialArgmax(IDoubleConstPointer p, int from, int to) {
+        int kmax = from;
+        for (int k = from + 1; k < to; k++) {
+            if (p.get(k) > p.get(kmax)) {
+                kmax = k;
+            }
+        }
+        return kmax;
+    }
+
+    static int serialArgmin(IDoubleConstPointer p, int from, int to) {
+        int kmin = from;
+        for (int k = from + 1; k < to; k++) {
+            if (p.get(k) < p.get(kmin)) {
+                kmin = k;
+            }
+        }
+        return kmin;
+    }
+
+    //不依赖公共池的并行度，在单核机器上也执行并行路径。
+    @BeforeEach
+    void forceParallel() {
+        ForkJoinBlocks.parallelismOverride = 4;
+        assertTrue(ForkJoinBlocks.blockCount(N) > 1);
+    }
+
+    @AfterEach
+    void restoreParallelism() {
+        ForkJoinBlocks.parallelismOverride = 0;
+    }
+
+    static int blockSize() {
+        return ForkJoinBlocks.blockSize(N, ForkJoinBlocks.blockCount(N));
+    }
+
+    @Test
+    void argmaxNaNAtBlockStart() {
+        int size = blockSize();
+        IDoublePointer array = new DoubleArray(N).createPointer();
+        array.set(size, Double.NaN);
+        array.set(size + 5, 100);
+        IDoubleConstPointer p = array;
+        assertEquals(serialArgmax(p, 0, N), Reductions.argmax(p, 0, N));
+        assertEquals(size + 5, Reductions.argmax(p, 0, N));
+        array.set(size + 5, -100);
+        assertEquals(serialArgmin(p, 0, N), Reductions.argmin(p, 0, N));
+        assertEquals(size + 5, Reductions.argmin(p, 0, N));
+    }
+
+    @Test
+    void argmaxNaNEverywhere() {
+        int size = blockSize();
+        IDoublePointer array = new DoubleArray(N).createPointer();
+        IDoubleConstPointer p = array;
+        //整块都是NaN。
+        for (int i = size; i < 2 * size && i < N; i++) {
+            array.set(i, Double.NaN);
+        }
+        array.set(N - 1, 1);
+        assertEquals(serialArgmax(p, 0, N), Reductions.argmax(p, 0, N));
+        //区间的第一个元素为NaN时，串行扫描返回from。
+        array.set(0, Double.NaN);
+        assertEquals(0, Reductions.argmax(p, 0, N));
+        assertEquals(0, Reductions.argmin(p, 0, N));
+        assertTrue(Double.isNaN(Reductions.max(p, 0, N)));
+        //区间不从0开始。
+        assertEquals(serialArgmax(p, 1, N), Reductions.argmax(p, 1, N));
+        assertEquals(serialArgmin(p, 1, N), Reductions.argmin(p, 1, N));
+    }
+
+    @Test
+    void argBestMatchesSerial() {
+        Random random = new Random(20261019L);
+        DoubleArray array = new DoubleArray(N, i -> random.nextInt(1000) == 0
+                ? Double.NaN : random.nextInt(64));
+        IDoubleConstPointer p = array.createConstPointer();
+        for (int from : new int[]{0, 1, 7}) {
+            assertEquals(serialArgmax(p, from, N), Reductions.argmax(p, from, N));
+            assertEquals(serialArgmin(p, from, N), Reductions.argmin(p, from, N));
+        }
+    }
+
+    @Test
+    void intAndLongMatchSerial() {
+        Random random = new Random(20261019L);
+        IntArray ints = new IntArray(N, i -> random.nextInt(1000));
+        LongArray longs = new LongArray(N, i -> random.nextInt(1000) - 500L);
+        IIntConstPointer ip = ints.createConstPointer();
+        ILongConstPointer lp = longs.createConstPointer(0);
+        int imax = 0;
+        int imin = 0;
+        int lmax = 0;
+        int lmin = 0;
+        long isum = 0;
+        long lsum = 0;
+        for (int k = 0; k < N; k++) {
+            imax = ip.get(k) > ip.get(imax) ? k : imax;
+            imin = ip.get(k) < ip.get(imin) ? k : imin;
+            lmax = lp.get(k) > lp.get(lmax) ? k : lmax;
+            lmin = lp.get(k) < lp.get(lmin) ? k : lmin;
+            isum += ip.get(k);
+            lsum += lp.get(k);
+        }
+        assertEquals(imax, Reductions.argmax(ip, 0, N));
+        assertEquals(imin, Reductions.argmin(ip, 0, N));
+        assertEquals(lmax, Reductions.argmax(lp, 0, N));
+        assertEquals(lmin, Reductions.argmin(lp, 0, N));
+        assertEquals(isum, Reductions.sum(ip, 0, N));
+        assertEquals(lsum, Reductions.sum(lp, 0, N));
+    }
+
+    @Test
+    void meanVarianceMatchesSerial() {
+        Random random = new Random(20261019L);
+        DoubleArray array = new DoubleArray(N, i -> random.nextDouble());
+        IDoubleConstPointer p = array.createConstPointer();
+        double mean = 0;
+        for (int k = 0; k < N; k++) {
+            mean += p.get(k);
+        }
+        mean /= N;
+        double m2 = 0;
+        for (int k = 0; k < N; k++) {
+            m2 += (p.get(k) - mean) * (p.get(k) - mean);
+        }
+        assertEquals(mean, Reductions.meanVariance(p, 0, N).getMean(), 1e-12);
+        assertEquals(mean * N, Reductions.compensatedSum(p, 0, N), 1e-12 * N);
+        assertEquals(m2 / N, Reductions.meanVariance(p, 0, N).getVariance(), 1e-12);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.ring;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.LongArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IIntPointer;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ILongPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    //容量较小，使读写计数器多次回绕，缓冲区频繁地满和空。
+    static final int CAPACITY = 64;
+
+    static final int COUNT = 100_000;
+
+    //在多个线程中运行任务，等待全部结束，并重新抛出其中的失败。
+    static void run(Runnable... tasks) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            threads[i] = new Thread(tasks[i]);
+            threads[i].setUncaughtExceptionHandler((t, e) -> failure.compareAndSet(null, e));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(60_000);
+            assertFalse(thread.isAlive(), "Timed out: " + thread.getName());
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test
+    void boundsWithoutConcurrency() {
+        for (RingBufferMode mode : RingBufferMode.values()) {
+            IntRingBuffer buffer = new IntRingBuffer(4, mode);
+            IIntPointer cell = new IntArray(1).createPointer();
+            assertFalse(buffer.poll(cell));
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(i));
+            }
+            assertFalse(buffer.offer(4));
+            assertEquals(4, buffer.size());
+            assertTrue(buffer.poll(cell));
+            assertEquals(0, cell.get());
+            assertEquals(1, buffer.offer(IntArray.of(4, 5, 6).createPointer(), 3));
+            IIntPointer out = new IntArray(8).createPointer();
+            assertEquals(4, buffer.drain(out, 8));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i + 1, out.get(i));
+            }
+            assertTrue(buffer.isEmpty());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new IntRingBuffer(6, RingBufferMode.SPSC));
+    }
+
+    @Test
+    void wrappingPointerStaysInRange() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(8, RingBufferMode.SPSC);
+        for (int i = 0; i < 8; i++) {
+            buffer.offer(i);
+        }
+        IDoublePointer window = buffer.createWrappingPointer();
+        window.move(6);
+        assertEquals(6, window.get(0));
+        assertEquals(1, window.get(3));
+        window.move(5);
+        assertEquals(3, window.getPoint());
+        assertEquals(2, window.get(-1));
+    }
+
+    @Test
+    void spscDeliversEverythingInOrder() throws InterruptedException {
+        LongRingBuffer buffer = new LongRingBuffer(CAPACITY, RingBufferMode.SPSC);
+        Runnable producer = () -> {
+            LongArray batch = new LongArray(7);
+            ILongPointer b = batch.createPointer();
+            long next = 0;
+            while (next < COUNT) {
+                if (next % 3 == 0) {
+                    //批量写入，可能只写入一部分。
+                    int length = (int) Math.min(7, COUNT - next);
+                    for (int i = 0; i < length; i++) {
+                        b.set(i, next + i);
+                    }
+                    next += buffer.offer(b, length);
+                } else if (buffer.offer(next)) {
+                    next++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        };
+        Runnable consumer = () -> {
+            ILongPointer out = new LongArray(5).createPointer();
+            long expected = 0;
+            while (expected < COUNT) {
+                int n = buffer.drain(out, 5);
+                if (n == 0) {
+                    Thread.yield();
+                }
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected++, out.get(i));
+                }
+            }
+        };
+        run(producer, consumer);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void mpmcDeliversEachValueExactlyOnce() throws InterruptedException {
+        final int producers = 3;
+        final int consumers = 3;
+        LongRingBuffer buffer = new LongRingBuffer(CAPACITY, RingBufferMode.MPMC);
+        //值的高位为生产者的编号，低位为该生产者内的序号。
+        int[] seen = new int[producers * COUNT];
+        AtomicInteger received = new AtomicInteger();
+        Runnable[] tasks = new Runnable[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            final long id = p;
+            tasks[p] = () -> {
+                for (int i = 0; i < COUNT; i++) {
+                    while (!buffer.offer(id << 32 | i)) {
+                        Thread.yield();
+                    }
+                }
+            };
+        }
+        for (int c = 0; c < consumers; c++) {
+            tasks[producers + c] = () -> {
+                ILongPointer cell = new LongArray(1).createPointer();
+                //同一生产者的数据对每个消费者都按序号递增。
+                long[] last = {-1, -1, -1};
+                while (received.get() < producers * COUNT) {
+                    if (!buffer.poll(cell)) {
+                        Thread.yield();
+                        continue;
+                    }
+                    long value = cell.get();
+                    int id = (int) (value >>> 32);
+                    int i = (int) value;
+                    assertTrue(i > last[id]);
+                    last[id] = i;
+                    synchronized (seen) {
+                        seen[id * COUNT + i]++;
+                    }
+                    received.incrementAndGet();
+                }
+            };
+        }
+        run(tasks);
+        assertEquals(producers * COUNT, received.get());
+        for (int k = 0; k < seen.length; k++) {
+            assertEquals(1, seen[k], "value " + k);
+        }
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.search;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.ByteArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IByteConstPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteSearchTest {
+
+    //与SWAR的字节值相邻或共享高位的值，用于检查误报。
+    static final byte[] TRICKY = {0, 1, (byte) 0x7F, (byte) 0x80, (byte) 0x81, (byte) 0xFE, (byte) 0xFF};
+
+    //没有关联数组的指针，内核退化为逐字节访问。
+    static final class NoBase implements IByteConstPointer {
+
+        final IByteConstPointer pointer;
+
+        NoBase(ByteArray array, int point) {
+            this.pointer = array.createConstPointer();
+            this.pointer.move(point);
+        }
+
+        @Override
+        public byte get(int index) {
+            return pointer.get(index);
+        }
+
+        @Override
+        public boolean hasBase() {
+            return false;
+        }
+
+        @Override
+        public ByteArray getBase() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getPoint() {
+            return pointer.getPoint();
+        }
+
+        @Override
+        public int getCapacity() {
+            return pointer.getCapacity();
+        }
+
+        @Override
+        public void move(int offset) {
+            pointer.move(offset);
+        }
+
+        @Override
+        public void reset() {
+            pointer.reset();
+        }
+    }
+
+    static int naiveIndexOfAny(byte[] data, int from, int to, byte... set) {
+        for (int i = from; i < to; i++) {
+            for (byte b : set) {
+                if (data[i] == b) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    //以指针指向point的有基础数组与无基础数组的两种指针。
+    static IByteConstPointer[] pointers(byte[] data, int point) {
+        ByteArray array = ByteArray.of(data);
+        IByteConstPointer based = array.createConstPointer();
+        based.move(point);
+        return new IByteConstPointer[]{based, new NoBase(array, point)};
+    }
+
+    @Test
+    void matchAtEveryPositionAcrossWordBoundaries() {
+        //长度覆盖一个字以内、恰好整字和跨越多个字的情形，匹配位置落在字的首、中、尾字节及尾部剩余字节。
+        for (int length = 0; length <= 27; length++) {
+            for (int at = -1; at < length; at++) {
+                byte[] data = new byte[length + 3];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = (byte) 0x80;
+                }
+                if (at >= 0) {
+                    data[at + 3] = (byte) 0x81;
+                }
+                byte[] needle = {(byte) 0x81};
+                for (IByteConstPointer p : pointers(data, 3)) {
+                    int expected = at;
+                    assertEquals(expected, ByteSearch.indexOf(p, 0, length, (byte) 0x81), length + " " + at);
+                    assertEquals(expected, ByteSearch.indexOfAny(p, 0, length, (byte) 0x81), length + " " + at);
+                    assertEquals(expected, ByteSearch.indexOfAny(p, 0, length, (byte) 1, (byte) 0x81), length + " " + at);
+                    //超过4个值时走位图路径。
+                    assertEquals(expected, ByteSearch.indexOfAny(p, 0, length,
+                            (byte) 0, (byte) 1, (byte) 2, (byte) 3, (byte) 0x81), length + " " + at);
+                    assertEquals(expected, ByteSearch.indexOf(p, 0, length, needle), length + " " + at);
+                    assertEquals(at >= 0 ? 1 : 0, ByteSearch.count(p, 0, length, (byte) 0x81));
+                    assertEquals(length - (at >= 0 ? 1 : 0), ByteSearch.count(p, 0, length, (byte) 0x80));
+                    //区间之前的字节不被计入。
+                    assertEquals(-1, ByteSearch.indexOf(p, 0, Math.max(0, at), (byte) 0x81));
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomDataMatchesNaiveSearch() {
+        Random random = new Random(39);
+        for (int t = 0; t < 2_000; t++) {
+            int length = random.nextInt(70);
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = TRICKY[random.nextInt(TRICKY.length)];
+            }
+            int from = length == 0 ? 0 : random.nextInt(length);
+            int to = from + random.nextInt(length - from + 1);
+            byte[] set = new byte[1 + random.nextInt(6)];
+            for (int k = 0; k < set.length; k++) {
+                set[k] = TRICKY[random.nextInt(TRICKY.length)];
+            }
+            byte value = set[0];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (data[i] == value) {
+                    count++;
+                }
+            }
+            for (IByteConstPointer p : pointers(data, 0)) {
+                assertEquals(naiveIndexOfAny(data, from, to, value), ByteSearch.indexOf(p, from, to, value));
+                assertEquals(naiveIndexOfAny(data, from, to, set), ByteSearch.indexOfAny(p, from, to, set));
+                assertEquals(count, ByteSearch.count(p, from, to, value));
+            }
+        }
+    }
+
+    @Test
+    void everyByteValueIsInTheBitmap() {
+        //位图的4个long各覆盖64个值，检查每个值及其相邻值。
+        byte[] data = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            data[i] = (byte) i;
+        }
+        for (int v = 0; v < 256; v++) {
+            byte[] set = {(byte) v, (byte) v, (byte) v, (byte) v, (byte) v};
+            for (IByteConstPointer p : pointers(data, 0)) {
+                assertEquals(v, ByteSearch.indexOfAny(p, 0, 256, set));
+                assertEquals(-1, ByteSearch.indexOfAny(p, v + 1, 256, set));
+            }
+        }
+        assertEquals(-1, ByteSearch.indexOfAny(ByteArray.of(data).createConstPointer(), 0, 256));
+    }
+
+    @Test
+    void mismatchAndSubstringAcrossWordBoundaries() {
+        for (int length = 0; length <= 20; length++) {
+            for (int at = -1; at < length; at++) {
+                byte[] a = new byte[length + 1];
+                byte[] b = new byte[length + 5];
+                for (int i = 0; i < length; i++) {
+                    a[i + 1] = (byte) (0x70 + i);
+                    b[i + 5] = (byte) (0x70 + i);
+                }
+                if (at >= 0) {
+                    b[at + 5] ^= (byte) 0x80;
+                }
+                IByteConstPointer pa = ByteArray.of(a).createConstPointer();
+                IByteConstPointer pb = ByteArray.of(b).createConstPointer();
+                assertEquals(at, ByteSearch.mismatch(pa, 1, pb, 5, length), length + " " + at);
+                assertEquals(at, ByteSearch.mismatch(new NoBase(ByteArray.of(a), 0), 1, pb, 5, length));
+            }
+        }
+        //首尾字节相同的候选位置跨越字的边界。
+        byte[] text = "abxab.abxab.abxab.abyab".getBytes();
+        byte[] needle = "abyab".getBytes();
+        for (IByteConstPointer p : pointers(text, 0)) {
+            assertEquals(18, ByteSearch.indexOf(p, 0, text.length, needle));
+            assertEquals(-1, ByteSearch.indexOf(p, 0, text.length - 1, needle));
+            assertEquals(6, ByteSearch.indexOf(p, 1, text.length, "abxab".getBytes()));
+            assertEquals(4, ByteSearch.indexOf(p, 4, text.length, new byte[0]));
+        }
+    }
+
+    @Test
+    void rangesAreChecked() {
+        IByteConstPointer p = ByteArray.of(new byte[10]).createConstPointer();
+        p.move(2);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> ByteSearch.indexOf(p, -3, 4, (byte) 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> ByteSearch.indexOf(p, 0, 9, (byte) 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> ByteSearch.indexOfAny(p, 5, 4, (byte) 0));
+        assertThrows(NullPointerException.class, () -> ByteSearch.indexOfAny(p, 0, 4, (byte[]) null));
+        //区间可以从指针之前开始，返回的相对索引为负。
+        assertEquals(-2, ByteSearch.indexOf(p, -2, 8, (byte) 0));
+    }
+}
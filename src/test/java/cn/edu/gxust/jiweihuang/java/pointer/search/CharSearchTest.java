@@ -0,0 +1,91 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.search;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.CharArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.ICharConstPointer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharSearchTest {
+
+    @Test
+    void indexOfAnyCoversEveryLatin1Value() {
+        char[] data = new char[256];
+        for (int i = 0; i < 256; i++) {
+            data[i] = (char) i;
+        }
+        ICharConstPointer p = CharArray.of(data).createConstPointer();
+        for (int v = 0; v < 256; v++) {
+            assertEquals(v, CharSearch.indexOfAny(p, 0, 256, (char) v));
+            assertEquals(-1, CharSearch.indexOfAny(p, v + 1, 256, (char) v));
+            //与v的低8位相同的宽字符不属于位图。
+            assertEquals(-1, CharSearch.indexOfAny(p, 0, 256, (char) (v + 256)));
+        }
+    }
+
+    @Test
+    void indexOfAnyMatchesNaiveSearchWithWideChars() {
+        char[] alphabet = {'a', ',', '\n', (char) 0x7F, (char) 0xFF, (char) 0x100, '中', '￿'};
+        Random random = new Random(39);
+        for (int t = 0; t < 2_000; t++) {
+            int length = random.nextInt(40);
+            char[] data = new char[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            char[] set = new char[random.nextInt(4)];
+            for (int k = 0; k < set.length; k++) {
+                set[k] = alphabet[random.nextInt(alphabet.length)];
+            }
+            int expected = -1;
+            search:
+            for (int i = 0; i < length; i++) {
+                for (char c : set) {
+                    if (data[i] == c) {
+                        expected = i;
+                        break search;
+                    }
+                }
+            }
+            assertEquals(expected, CharSearch.indexOfAny(CharArray.of(data).createConstPointer(), 0, length, set));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *                           MIT License
+ *
+ * Copyright (c) 2019-2020, Jiwei Huang. All Rights Reserved.
+ *
+ * This file is a part of projects for java-pointer
+ *  (https://github.com/jiweihuang/java-pointer)
+ *
+ *  -------------------------Contact Author--------------------------------
+ *  Author: Jiwei Huang
+ *  E-mail: jiweihuang@yeah.net, huangjiwei@gxust.edu.cn
+ *  Organization: Guangxi University of Science and Technology
+ *  Postcode：545006
+ *  Contact number：0772-2687033(School Office), 0772-2687033（Fax）
+ *  Address：#268 Avenue Donghuan, Chengzhong District, Liuzhou, Guangxi, China
+ *  -----------------------------------------------------------------------
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package cn.edu.gxust.jiweihuang.java.pointer.shared;
+
+import cn.edu.gxust.jiweihuang.java.pointer.array.DoubleArray;
+import cn.edu.gxust.jiweihuang.java.pointer.array.IntArray;
+import cn.edu.gxust.jiweihuang.java.pointer.primitive.IDoublePointer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedDoubleArrayTest {
+
+    Path path;
+
+    //优先使用/dev/shm，没有时使用临时目录；每个测试结束后删除共享文件。
+    @BeforeEach
+    void createPath() throws IOException {
+        Path shm = Paths.get("/dev/shm");
+        path = Files.isDirectory(shm) && Files.isWritable(shm)
+                ? Files.createTempFile(shm, "java-pointer-", ".shm")
+                : Files.createTempFile("java-pointer-", ".shm");
+    }
+
+    @AfterEach
+    void deletePath() throws IOException {
+        Files.deleteIfExists(path);
+        assertFalse(Files.exists(path));
+    }
+
+    //写者把所有元素都改为版本号，读者检查每次得到的快照是否一致。
+    static Thread writer(SharedDoubleArray array, int writes, AtomicReference<Throwable> failure) {
+        return new Thread(() -> {
+            try {
+                for (int k = 0; k < writes; k++) {
+                    array.write(data -> {
+                        double next = data.get(0) + 1.;
+                        for (int i = 0; i < array.getCapacity(); i++) {
+                            data.set(i, next);
+                        }
+                    });
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+    }
+
+    @Test
+    void readersSeeConsistentSnapshotsWhileWriting() throws Exception {
+        int capacity = 4096;
+        int writes = 2_000;
+        SharedDoubleArray array = SharedDoubleArray.create(path, capacity);
+        //另一个映射模拟其他进程中的读者。
+        SharedDoubleArray reader = SharedDoubleArray.open(path);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = writer(array, writes, failure);
+        thread.start();
+        DoubleArray target = new DoubleArray(capacity);
+        IDoublePointer p = target.createPointer();
+        long last = 0;
+        int reads = 0;
+        while (thread.isAlive() || reads == 0) {
+            long version = reader.read(0, p, capacity);
+            assertTrue(version >= last);
+            last = version;
+            for (int i = 0; i < capacity; i++) {
+                assertEquals(version, p.get(i), "element " + i);
+            }
+            reads++;
+        }
+        thread.join();
+        assertNull(failure.get());
+        assertEquals(writes, reader.getVersion());
+        assertEquals(new DoubleArray(capacity, (double) writes), reader.snapshot());
+    }
+
+    @Test
+    void concurrentWritersAreMutuallyExclusive() throws Exception {
+        SharedDoubleArray array = SharedDoubleArray.create(path, 512);
+        SharedDoubleArray other = SharedDoubleArray.open(path);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        //两个映射上的写者各自读取旧值再加1，如果写入交错，就会丢失更新。
+        Thread first = writer(array, 1_000, failure);
+        Thread second = writer(other, 1_000, failure);
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+        assertNull(failure.get());
+        assertEquals(2_000, array.getVersion());
+        assertEquals(new DoubleArray(512, 2_000.), array.snapshot());
+    }
+
+    @Test
+    void headerAndRangesAreChecked() throws IOException {
+        SharedDoubleArray array = SharedDoubleArray.create(path, 8);
+        assertEquals(0, array.getVersion());
+        assertEquals(new DoubleArray(8), array.snapshot());
+        assertEquals(1, array.write(2, DoubleArray.of(1., 2., 3.).createConstPointer(), 3));
+        DoubleArray target = new DoubleArray(4);
+        assertEquals(1, SharedDoubleArray.open(path).read(1, target.createPointer(), 4));
+        assertEquals(DoubleArray.of(0., 1., 2., 3.), target);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.read(6, target.createPointer(), 3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.createPointer().set(8, 0.));
+        assertThrows(IllegalArgumentException.class, () -> SharedDoubleArray.create(path, -1));
+        //元素类型不同的共享文件不能被打开。
+        assertThrows(IllegalStateException.class, () -> SharedIntArray.open(path));
+        SharedIntArray ints = SharedIntArray.create(path, 3);
+        ints.write(0, IntArray.of(4, 5, 6).createConstPointer(), 3);
+        assertEquals(IntArray.of(4, 5, 6), SharedIntArray.open(path).snapshot());
+        assertThrows(IllegalStateException.class, () -> SharedDoubleArray.open(path));
+        //未初始化的文件没有魔数。
+        Files.write(path, new byte[SharedRegion.HEADER_SIZE]);
+        assertThrows(IllegalStateException.class, () -> SharedLongArray.open(path));
+    }
+
+    @Test
+    void deletedFileStaysMappedButCannotBeOpened() throws IOException {
+        SharedDoubleArray array = SharedDoubleArray.create(path, 4);
+        array.write(0, DoubleArray.of(1., 2., 3., 4.).createConstPointer(), 4);
+        Files.delete(path);
+        //删除文件只移除目录项，已映射的数组仍可读写。
+        array.write(data -> data.set(0, 5.));
+        assertEquals(DoubleArray.of(5., 2., 3., 4.), array.snapshot());
+        assertEquals(2, array.getVersion());
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> SharedDoubleArray.open(path));
+        assertTrue(e.getCause() instanceof NoSuchFileException);
+    }
+}